@@ -0,0 +1,76 @@
+package com.uber.benchmarks;
+
+import com.uber.ride.application.services.dispatch.BatchMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🧮 BENCHMARK - Emparejamiento por lotes del despacho
+ *
+ * Una ventana de despacho: 'rides' viajes con 'candidatesPerRide'
+ * candidatos cada uno, elegidos de un conjunto de conductores compartido
+ * (los mismos conductores compiten entre viajes, como en una zona densa).
+ * El resultado es ventanas/s: multiplicado por 'rides' da viajes/s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchMatcherBenchmark {
+
+    @Param({"100", "500", "2000"})
+    public int rides;
+
+    @Param({"8"})
+    public int candidatesPerRide;
+
+    private BatchMatcher matcher;
+    private double[] rideLat;
+    private double[] rideLon;
+    private int[] offsets;
+    private long[] driverIds;
+    private double[] driverLat;
+    private double[] driverLon;
+    private double[] driverRating;
+    private double[] driverIdle;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        matcher = new BatchMatcher(1.0, 2.0, 0.1, 30, 25);
+        int drivers = rides * 2;
+        int edges = rides * candidatesPerRide;
+        rideLat = new double[rides];
+        rideLon = new double[rides];
+        offsets = new int[rides + 1];
+        driverIds = new long[edges];
+        driverLat = new double[edges];
+        driverLon = new double[edges];
+        driverRating = new double[edges];
+        driverIdle = new double[edges];
+        for (int ride = 0; ride < rides; ride++) {
+            rideLat[ride] = 4.65 + random.nextDouble(-0.1, 0.1);
+            rideLon[ride] = -74.05 + random.nextDouble(-0.1, 0.1);
+            offsets[ride] = ride * candidatesPerRide;
+            for (int c = 0; c < candidatesPerRide; c++) {
+                int edge = ride * candidatesPerRide + c;
+                long driver = random.nextInt(drivers);
+                driverIds[edge] = driver;
+                driverLat[edge] = rideLat[ride] + random.nextDouble(-0.02, 0.02);
+                driverLon[edge] = rideLon[ride] + random.nextDouble(-0.02, 0.02);
+                driverRating[edge] = 3.0 + (driver % 20) / 10.0;
+                driverIdle[edge] = driver % 30;
+            }
+        }
+        offsets[rides] = edges;
+    }
+
+    @Benchmark
+    public long[] matchWindow() {
+        return matcher.match(rideLat, rideLon, offsets, driverIds, driverLat, driverLon, driverRating, driverIdle);
+    }
+}
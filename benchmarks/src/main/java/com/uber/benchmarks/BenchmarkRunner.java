@@ -0,0 +1,35 @@
+package com.uber.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 🚀 PUNTO DE ENTRADA - Benchmarks JMH
+ *
+ * Igual que org.openjdk.jmh.Main, pero siempre agrega el profiler de GC:
+ * cada resultado trae gc.alloc.rate.norm (bytes asignados por operación),
+ * que es la línea base que se compara en cada cambio de rendimiento.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar                 # todo
+ *   java -jar benchmarks/target/benchmarks.jar Distance -f 1   # filtro + opciones JMH
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("com\\.uber\\.benchmarks\\..*");
+        }
+        options.addProfiler(GCProfiler.class);
+        new Runner(options.build()).run();
+    }
+}
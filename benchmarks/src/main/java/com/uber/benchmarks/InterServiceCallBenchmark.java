@@ -0,0 +1,179 @@
+package com.uber.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpServer;
+import com.uber.location.domain.model.DriverDensity;
+import com.uber.location.domain.model.Location;
+import com.uber.location.domain.ports.in.LocationUseCase;
+import com.uber.location.infrastructure.adapters.in.rpc.LocationRpcEndpoint;
+import com.uber.ride.domain.model.DriverCandidate;
+import com.uber.ride.infrastructure.adapters.out.rest.LocationServiceClient;
+import com.uber.ride.infrastructure.adapters.out.rest.RestClientConfig;
+import com.uber.ride.infrastructure.adapters.out.rpc.LocationRpcClient;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 🛰️ BENCHMARK - Conductores cercanos por REST vs RPC binario
+ *
+ * La consulta que el despacho hace una vez por viaje, con los clientes
+ * reales de ride-service (LocationServiceClient y LocationRpcClient):
+ *   - una llamada a la vez (latencia)
+ *   - 32 llamadas en paralelo, como una ventana de despacho (pipelining)
+ *
+ * Del otro lado, el mismo LocationUseCase de mentira (8 conductores):
+ * por RPC con el LocationRpcEndpoint real; por REST con el HttpServer del
+ * JDK serializando con Jackson. Tomcat + Spring MVC son más caros que ese
+ * HttpServer, así que la diferencia real es, si acaso, mayor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterServiceCallBenchmark {
+
+    private static final int PARALLEL_CALLS = 32;
+    private static final int SERVER_THREADS = 8;
+    private static final double LATITUDE = 4.65;
+    private static final double LONGITUDE = -74.05;
+
+    private ExecutorService serverExecutor;
+    private ExecutorService callers;
+    private HttpServer httpServer;
+    private LocationRpcEndpoint rpcEndpoint;
+    private LocationServiceClient rest;
+    private LocationRpcClient rpc;
+
+    @Setup
+    public void setUp() throws IOException {
+        LocationUseCase locations = new FixedLocations(8);
+        serverExecutor = Executors.newFixedThreadPool(SERVER_THREADS);
+        callers = Executors.newFixedThreadPool(PARALLEL_CALLS);
+
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        // Como Tomcat: sin Nagle (si no, encabezados y cuerpo esperan el ACK retrasado, ~40 ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/api/locations/drivers/nearby", exchange -> {
+            byte[] body = mapper.writeValueAsBytes(locations.findNearbyDrivers(LATITUDE, LONGITUDE, 8, 5));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        httpServer.setExecutor(serverExecutor);
+        httpServer.start();
+
+        rpcEndpoint = new LocationRpcEndpoint(locations, serverExecutor, 0);
+        rpcEndpoint.start();
+
+        RestClient.Builder builder = RestClient.builder();
+        new RestClientConfig().timeoutCustomizer(1000, 3000).customize(builder);
+        rest = new LocationServiceClient(builder, "http://localhost:" + httpServer.getAddress().getPort());
+        rpc = new LocationRpcClient("localhost:" + rpcEndpoint.port(), 2, 1000, 3000);
+        if (rest.findNearbyAvailableDrivers(LATITUDE, LONGITUDE, 8, 5).size() != 8
+                || rpc.findNearbyAvailableDrivers(LATITUDE, LONGITUDE, 8, 5).size() != 8) {
+            throw new IllegalStateException("Los servidores del benchmark no responden");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        rpc.close();
+        rpcEndpoint.stop();
+        httpServer.stop(0);
+        callers.shutdownNow();
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<DriverCandidate> nearbyRest() {
+        return rest.findNearbyAvailableDrivers(LATITUDE, LONGITUDE, 8, 5);
+    }
+
+    @Benchmark
+    public List<DriverCandidate> nearbyRpc() {
+        return rpc.findNearbyAvailableDrivers(LATITUDE, LONGITUDE, 8, 5);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARALLEL_CALLS)
+    public int nearbyRestParallel() {
+        return parallel(() -> rest.findNearbyAvailableDrivers(LATITUDE, LONGITUDE, 8, 5));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARALLEL_CALLS)
+    public int nearbyRpcParallel() {
+        return parallel(() -> rpc.findNearbyAvailableDrivers(LATITUDE, LONGITUDE, 8, 5));
+    }
+
+    // Como DispatchService: una consulta por viaje en un pool, y se esperan todas
+    private int parallel(Supplier<List<DriverCandidate>> lookup) {
+        List<CompletableFuture<List<DriverCandidate>>> calls = new ArrayList<>(PARALLEL_CALLS);
+        for (int i = 0; i < PARALLEL_CALLS; i++) {
+            calls.add(CompletableFuture.supplyAsync(lookup, callers));
+        }
+        int found = 0;
+        for (CompletableFuture<List<DriverCandidate>> call : calls) {
+            found += call.join().size();
+        }
+        return found;
+    }
+
+    // Siempre los mismos conductores: se mide el transporte, no el índice
+    private static final class FixedLocations implements LocationUseCase {
+
+        private final List<Location> drivers = new ArrayList<>();
+
+        FixedLocations(int count) {
+            for (int i = 0; i < count; i++) {
+                drivers.add(new Location(100L + i, LATITUDE + i * 0.001, LONGITUDE - i * 0.001));
+            }
+        }
+
+        @Override
+        public boolean reportLocation(Location location) {
+            return true;
+        }
+
+        @Override
+        public int reportLocations(List<Location> locations) {
+            return locations.size();
+        }
+
+        @Override
+        public Optional<Location> getDriverLocation(Long driverId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Location> findNearbyDrivers(double latitude, double longitude, int limit, double radiusKm) {
+            return drivers.subList(0, Math.min(limit, drivers.size()));
+        }
+
+        @Override
+        public List<DriverDensity> getDriverDensity(double cellSizeDeg) {
+            return List.of();
+        }
+    }
+}
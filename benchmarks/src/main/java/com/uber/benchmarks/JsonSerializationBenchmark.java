@@ -0,0 +1,114 @@
+package com.uber.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.uber.ride.domain.model.FareQuote;
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.infrastructure.adapters.in.rest.RideJson;
+import com.uber.ride.infrastructure.adapters.in.rest.RideRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🧾 BENCHMARK - JSON de las rutas calientes de viajes
+ *
+ * Compara el ObjectMapper como lo arma Spring Boot (reflexión) con el
+ * mismo ObjectMapper más los serializadores de RideJson:
+ *   - body de POST /api/rides/request (antes Map, ahora RideRequest)
+ *   - respuesta de GET /api/rides/{id} y de una página de 100 viajes
+ * La salida va a un buffer reutilizado, como el de la respuesta HTTP.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonSerializationBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectMapper reflective;
+    private ObjectMapper prebuilt;
+    private byte[] requestBody;
+    private Ride ride;
+    private List<Ride> page;
+    private ByteArrayOutputStream output;
+
+    @Setup
+    public void setUp() {
+        reflective = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        prebuilt = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializers(new RideJson.Serializer())
+                .deserializers(new RideJson.RequestDeserializer())
+                .build();
+
+        requestBody = ("{\"passengerId\":1,\"pickup\":\"Calle 100\",\"pickupLatitude\":4.6865,"
+                + "\"pickupLongitude\":-74.048,\"dropoff\":\"Carrera 7\",\"dropoffLatitude\":4.632,"
+                + "\"dropoffLongitude\":-74.065}").getBytes(StandardCharsets.UTF_8);
+
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Ride r = new Ride(1L + i, "Calle 100", new GeoPoint(4.6865, -74.048),
+                    "Carrera 7", new GeoPoint(4.632, -74.065));
+            r.setId(10L + i);
+            r.applyQuote(new FareQuote(7.1, 16.0, 1.2, 18.34));
+            r.assignDriver(7L);
+            r.startRide();
+            page.add(r);
+        }
+        ride = page.get(0);
+        output = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public Map<String, Object> requestBodyReflective() throws IOException {
+        return reflective.readValue(requestBody, MAP_TYPE);
+    }
+
+    @Benchmark
+    public RideRequest requestBodyPrebuilt() throws IOException {
+        return prebuilt.readValue(requestBody, RideRequest.class);
+    }
+
+    @Benchmark
+    public int rideReflective() throws IOException {
+        return write(reflective, ride);
+    }
+
+    @Benchmark
+    public int ridePrebuilt() throws IOException {
+        return write(prebuilt, ride);
+    }
+
+    @Benchmark
+    public int pageReflective() throws IOException {
+        return write(reflective, page);
+    }
+
+    @Benchmark
+    public int pagePrebuilt() throws IOException {
+        return write(prebuilt, page);
+    }
+
+    private int write(ObjectMapper mapper, Object value) throws IOException {
+        output.reset();
+        mapper.writeValue(output, value);
+        return output.size();
+    }
+}
@@ -0,0 +1,90 @@
+package com.uber.benchmarks;
+
+import com.uber.location.domain.model.GeoDistance;
+import com.uber.location.domain.model.Location;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📐 BENCHMARK - Distancias de location-service
+ *
+ * Compara Location.calculateDistance (Haversine) con la fórmula plana que
+ * usaba antes (grados * 111), con la equirectangular de GeoDistance y con
+ * la evaluación por lotes sobre arreglos primitivos. Los puntos están en
+ * un radio de ~20 km, como en una búsqueda de conductores cercanos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LocationDistanceBenchmark {
+
+    private static final int POINTS = 1024;
+    private static final double CENTER_LAT = 4.65;
+    private static final double CENTER_LON = -74.05;
+
+    private Location[] locations;
+    private double[] lats;
+    private double[] lons;
+    private double[] distances;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        locations = new Location[POINTS];
+        lats = new double[POINTS];
+        lons = new double[POINTS];
+        distances = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            lats[i] = CENTER_LAT + random.nextDouble(-0.2, 0.2);
+            lons[i] = CENTER_LON + random.nextDouble(-0.2, 0.2);
+            locations[i] = new Location((long) i, lats[i], lons[i]);
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (POINTS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public double calculateDistance() {
+        return locations[nextIndex()].calculateDistance(CENTER_LAT, CENTER_LON);
+    }
+
+    // Fórmula anterior de Location.calculateDistance: línea base de costo, no de exactitud
+    @Benchmark
+    public double flatDegreesTimes111() {
+        int i = nextIndex();
+        double latDiff = CENTER_LAT - lats[i];
+        double lonDiff = CENTER_LON - lons[i];
+        return Math.sqrt(latDiff * latDiff + lonDiff * lonDiff) * 111;
+    }
+
+    @Benchmark
+    public double equirectangular() {
+        int i = nextIndex();
+        return GeoDistance.equirectangularKm(lats[i], lons[i], CENTER_LAT, CENTER_LON);
+    }
+
+    // Lote completo: dividir el tiempo por POINTS para comparar por punto
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void batchHaversine(Blackhole blackhole) {
+        GeoDistance.distancesKm(GeoDistance.Mode.HAVERSINE, CENTER_LAT, CENTER_LON, lats, lons, POINTS, distances);
+        blackhole.consume(distances);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void batchEquirectangular(Blackhole blackhole) {
+        GeoDistance.distancesKm(GeoDistance.Mode.EQUIRECTANGULAR, CENTER_LAT, CENTER_LON, lats, lons, POINTS, distances);
+        blackhole.consume(distances);
+    }
+}
@@ -0,0 +1,90 @@
+package com.uber.benchmarks;
+
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.infrastructure.adapters.out.persistence.RideEntity;
+import com.uber.ride.infrastructure.adapters.out.persistence.RideRepositoryAdapter;
+import com.uber.user.domain.model.User;
+import com.uber.user.infrastructure.adapters.out.persistence.UserEntity;
+import com.uber.user.infrastructure.adapters.out.persistence.UserRepositoryAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔄 BENCHMARK - Conversión dominio <-> entidad JPA
+ *
+ * toEntity/toDomain son privados en los adaptadores; se invocan con
+ * MethodHandles (static final, el JIT los trata como una llamada directa).
+ * Los adaptadores se crean sin repositorio: la conversión no lo usa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceMappingBenchmark {
+
+    private static final MethodHandle RIDE_TO_ENTITY =
+            mapper(RideRepositoryAdapter.class, "toEntity", RideEntity.class, Ride.class);
+    private static final MethodHandle RIDE_TO_DOMAIN =
+            mapper(RideRepositoryAdapter.class, "toDomain", Ride.class, RideEntity.class);
+    private static final MethodHandle USER_TO_ENTITY =
+            mapper(UserRepositoryAdapter.class, "toEntity", UserEntity.class, User.class);
+    private static final MethodHandle USER_TO_DOMAIN =
+            mapper(UserRepositoryAdapter.class, "toDomain", User.class, UserEntity.class);
+
+    private RideRepositoryAdapter rideAdapter;
+    private UserRepositoryAdapter userAdapter;
+    private Ride ride;
+    private RideEntity rideEntity;
+    private User user;
+    private UserEntity userEntity;
+
+    @Setup
+    public void setUp() throws Throwable {
+        rideAdapter = new RideRepositoryAdapter(null, null, null, null);
+        userAdapter = new UserRepositoryAdapter(null, null, null);
+
+        ride = new Ride(1L, "4.65,-74.05", "4.70,-74.03");
+        ride.setId(10L);
+        ride.assignDriver(7L);
+        ride.startRide();
+        rideEntity = (RideEntity) RIDE_TO_ENTITY.invokeExact(rideAdapter, ride);
+
+        user = new User(5L, "Ana", "ana@mail.com", "555-0101", User.UserType.DRIVER);
+        userEntity = (UserEntity) USER_TO_ENTITY.invokeExact(userAdapter, user);
+    }
+
+    @Benchmark
+    public RideEntity rideToEntity() throws Throwable {
+        return (RideEntity) RIDE_TO_ENTITY.invokeExact(rideAdapter, ride);
+    }
+
+    @Benchmark
+    public Ride rideToDomain() throws Throwable {
+        return (Ride) RIDE_TO_DOMAIN.invokeExact(rideAdapter, rideEntity);
+    }
+
+    @Benchmark
+    public UserEntity userToEntity() throws Throwable {
+        return (UserEntity) USER_TO_ENTITY.invokeExact(userAdapter, user);
+    }
+
+    @Benchmark
+    public User userToDomain() throws Throwable {
+        return (User) USER_TO_DOMAIN.invokeExact(userAdapter, userEntity);
+    }
+
+    private static MethodHandle mapper(Class<?> adapter, String name, Class<?> returnType, Class<?> parameterType) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(adapter, MethodHandles.lookup());
+            return lookup.findVirtual(adapter, name, MethodType.methodType(returnType, parameterType));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se encontró " + adapter.getSimpleName() + "." + name, e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.uber.benchmarks;
+
+import com.uber.ride.domain.model.Ride;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🚗 BENCHMARK - Máquina de estados de Ride
+ *
+ * Recorre el ciclo completo REQUESTED -> ACCEPTED -> IN_PROGRESS ->
+ * COMPLETED y el camino de cancelación. Incluye crear el Ride (cada
+ * transición con timestamp asigna un LocalDateTime).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RideStateMachineBenchmark {
+
+    private long passengerId;
+
+    @Benchmark
+    public Ride fullLifecycle() {
+        Ride ride = new Ride(++passengerId, "4.65,-74.05", "4.70,-74.03");
+        ride.assignDriver(7L);
+        ride.startRide();
+        ride.completeRide(25.5);
+        return ride;
+    }
+
+    @Benchmark
+    public Ride requestAndCancel() {
+        Ride ride = new Ride(++passengerId, "4.65,-74.05", "4.70,-74.03");
+        ride.cancelRide();
+        return ride;
+    }
+
+    // Transición rechazada: mide el costo de la excepción de regla de negocio
+    @Benchmark
+    public Object rejectedTransition() {
+        Ride ride = new Ride(++passengerId, "4.65,-74.05", "4.70,-74.03");
+        try {
+            ride.startRide();
+            return ride;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.uber.benchmarks;
+
+import com.uber.user.domain.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 👤 BENCHMARK - Reglas de User
+ *
+ * canDrive() se evalúa en cada save (índice de conductores activos) y
+ * updateRating() en cada calificación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserRulesBenchmark {
+
+    private static final int USERS = 1024;
+
+    private User[] users;
+    private double[] ratings;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        users = new User[USERS];
+        ratings = new double[USERS];
+        for (int i = 0; i < USERS; i++) {
+            User.UserType type = random.nextInt(4) == 0 ? User.UserType.PASSENGER : User.UserType.DRIVER;
+            users[i] = new User((long) i, "user" + i, "user" + i + "@mail.com", "555-0000", type);
+            users[i].setActive(random.nextInt(10) != 0);
+            users[i].setRating(random.nextDouble(1.0, 5.0));
+            ratings[i] = random.nextDouble(0.0, 5.0);
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (USERS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public boolean canDrive() {
+        return users[nextIndex()].canDrive();
+    }
+
+    @Benchmark
+    public double updateRating() {
+        int i = nextIndex();
+        User user = users[i];
+        user.updateRating(ratings[i]);
+        return user.getRating();
+    }
+}
@@ -0,0 +1,17 @@
+package com.uber.imports;
+
+import java.util.List;
+
+/**
+ * 📥 IMPORTACIÓN - Avance de una importación masiva
+ *
+ * failed cuenta las filas de bloques que la base rechazó (cada bloque es
+ * una transacción: entra entero o no entra); errors guarda los primeros
+ * mensajes.
+ */
+public record ImportProgress(long imported, long failed, long elapsedMs, List<String> errors) {
+
+    public double rowsPerSecond() {
+        return elapsedMs == 0 ? imported * 1000.0 : imported * 1000.0 / elapsedMs;
+    }
+}
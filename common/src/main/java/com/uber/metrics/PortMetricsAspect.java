@@ -0,0 +1,74 @@
+package com.uber.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📊 MÉTRICAS DE PUERTOS - Tiempos de casos de uso y repositorios
+ *
+ * Mide cada llamada a un puerto sin tocar los servicios. Cada servicio
+ * indica dónde están sus puertos (ver PortMetricsConfiguration) y hay una
+ * instancia por métrica:
+ * - usecase.calls: métodos de &lt;paquete&gt;.in.*UseCase
+ * - repository.calls: métodos de &lt;paquete&gt;.out.*Repository
+ *
+ * Tags: class, method y exception ("none" si terminó bien). Ambos publican
+ * histograma, así /actuator/prometheus permite calcular percentiles
+ * agregados entre instancias.
+ *
+ * Los Timer de éxito se resuelven una vez por método y quedan en caché: el
+ * camino normal no arma tags ni busca en el registro.
+ */
+public class PortMetricsAspect implements MethodInterceptor {
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(50_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+    private final String name;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public PortMetricsAspect(MeterRegistry meterRegistry, String name) {
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            Timer timer = timers.get(method);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(method, m -> timer(m, "none"));
+            }
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            // Los errores son pocos: se busca el Timer en el registro cada vez
+            timer(method, e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(name)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.uber.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * ⚙️ CONFIGURACIÓN - Métricas de puertos (PortMetricsAspect)
+ *
+ * Un servicio la activa con @Import(PortMetricsConfiguration.class) e
+ * indica el paquete de sus puertos en metrics.ports.package (por ejemplo
+ * com.uber.ride.domain.ports). Los advisors van primero en la cadena de
+ * proxies para incluir transacción y caché en el tiempo medido.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PortMetricsConfiguration {
+
+    @Bean
+    public Advisor useCaseMetricsAdvisor(MeterRegistry meterRegistry,
+                                         @Value("${metrics.ports.package}") String portsPackage) {
+        return advisor("execution(* " + portsPackage + ".in.*UseCase.*(..))",
+                new PortMetricsAspect(meterRegistry, "usecase.calls"));
+    }
+
+    @Bean
+    public Advisor repositoryMetricsAdvisor(MeterRegistry meterRegistry,
+                                            @Value("${metrics.ports.package}") String portsPackage) {
+        return advisor("execution(* " + portsPackage + ".out.*Repository.*(..))",
+                new PortMetricsAspect(meterRegistry, "repository.calls"));
+    }
+
+    private static Advisor advisor(String expression, PortMetricsAspect aspect) {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression(expression);
+        advisor.setAdvice(aspect);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
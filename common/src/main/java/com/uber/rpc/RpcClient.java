@@ -0,0 +1,292 @@
+package com.uber.rpc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🛰️ CLIENTE RPC - Pool de conexiones persistentes con pipelining
+ *
+ * Cada conexión del pool lleva muchas peticiones en vuelo: quien llama
+ * escribe su frame (ver RpcFrames) y no espera a las anteriores; un hilo
+ * lector por conexión reparte las respuestas por id. Las llamadas se
+ * reparten entre las conexiones en ronda.
+ *
+ * Una conexión que falla corta sus peticiones en vuelo con RpcException y
+ * se vuelve a abrir en la siguiente llamada que le toque.
+ *
+ * Los sockets no bloquean: si el servidor deja de leer y el buffer de
+ * envío se llena, quien escribe espera como mucho timeoutMs (con el lock
+ * de su lugar en el pool) y luego da la conexión por caída.
+ *
+ * Las respuestas se completan en el hilo lector: lo que se encadene a los
+ * CompletableFuture de send debe ser corto, o hacerse con un *Async.
+ */
+public final class RpcClient implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(RpcClient.class);
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    // id + estado: lo mínimo que cuenta el largo de un frame
+    private static final int HEADER_AFTER_LENGTH = RpcFrames.HEADER_BYTES - 4;
+
+    /** Respuesta: estado (RpcFrames.OK, NOT_FOUND...) y datos, listos para leer. */
+    public record Response(byte status, ByteBuffer payload) {
+
+        public boolean ok() {
+            return status == RpcFrames.OK;
+        }
+    }
+
+    private final String name;
+    private final String host;
+    private final int port;
+    private final int connectTimeoutMs;
+    private final long timeoutMs;
+    private final Connection[] pool;
+    private final ReentrantLock[] slotLocks;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private volatile boolean closed;
+
+    /** 'address' es "host:puerto"; las conexiones se abren en la primera llamada. */
+    public RpcClient(String name, String address, int connections, int connectTimeoutMs, long timeoutMs) {
+        int colon = address.lastIndexOf(':');
+        if (colon <= 0 || connections < 1) {
+            throw new IllegalArgumentException("Dirección RPC inválida: '" + address + "' (se espera host:puerto)");
+        }
+        this.name = name;
+        this.host = address.substring(0, colon);
+        this.port = Integer.parseInt(address.substring(colon + 1));
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.timeoutMs = timeoutMs;
+        this.pool = new Connection[connections];
+        this.slotLocks = new ReentrantLock[connections];
+        for (int i = 0; i < connections; i++) {
+            slotLocks[i] = new ReentrantLock();
+        }
+    }
+
+    // ===== LLAMADAS =====
+
+    /** Envía sin esperar la respuesta; falla con RpcException (o TimeoutException). */
+    public CompletableFuture<Response> send(byte operation, RpcFrames.Payload request) {
+        int id = nextId.incrementAndGet();
+        ByteBuffer frame = request.toFrame(id, operation);
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        int slot = Math.floorMod(nextSlot.getAndIncrement(), pool.length);
+        ReentrantLock lock = slotLocks[slot];
+        lock.lock();
+        try {
+            if (closed) {
+                future.completeExceptionally(new RpcException(name + ": cliente cerrado"));
+                return future;
+            }
+            Connection connection = pool[slot];
+            if (connection == null || connection.broken) {
+                connection = connect(slot);
+                pool[slot] = connection;
+            }
+            connection.write(id, frame, future);
+        } catch (IOException | UnresolvedAddressException e) {
+            future.completeExceptionally(new RpcException(name + ": sin conexión con " + host + ":" + port, e));
+        } finally {
+            lock.unlock();
+        }
+        return future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Envía y espera la respuesta. */
+    public Response call(byte operation, RpcFrames.Payload request) {
+        try {
+            return send(operation, request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RpcException rpc) {
+                throw rpc;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new RpcException(name + ": sin respuesta en " + timeoutMs + " ms");
+            }
+            throw new RpcException(name + ": " + e.getCause(), e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (int slot = 0; slot < pool.length; slot++) {
+            slotLocks[slot].lock();
+            try {
+                if (pool[slot] != null) {
+                    pool[slot].fail(new RpcException(name + ": cliente cerrado"));
+                    pool[slot] = null;
+                }
+            } finally {
+                slotLocks[slot].unlock();
+            }
+        }
+    }
+
+    private Connection connect(int slot) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        Connection connection;
+        try {
+            channel.socket().connect(new InetSocketAddress(host, port), connectTimeoutMs);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.configureBlocking(false);
+            connection = new Connection(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        Thread reader = new Thread(connection::readLoop, name + "-rpc-" + slot);
+        reader.setDaemon(true);
+        reader.start();
+        return connection;
+    }
+
+    // ===== CONEXIÓN =====
+
+    private final class Connection {
+
+        private final SocketChannel channel;
+        // Uno para esperar respuestas (hilo lector) y otro para esperar lugar al escribir
+        private final Selector readSelector;
+        private final Selector writeSelector;
+        private final Map<Integer, CompletableFuture<Response>> pending = new ConcurrentHashMap<>();
+        private volatile boolean broken;
+
+        Connection(SocketChannel channel) throws IOException {
+            this.channel = channel;
+            this.readSelector = Selector.open();
+            this.writeSelector = Selector.open();
+            try {
+                channel.register(readSelector, SelectionKey.OP_READ);
+                channel.register(writeSelector, SelectionKey.OP_WRITE);
+            } catch (IOException | RuntimeException e) {
+                readSelector.close();
+                writeSelector.close();
+                throw e;
+            }
+        }
+
+        // Con el lock de su lugar en el pool: un frame a la vez
+        void write(int id, ByteBuffer frame, CompletableFuture<Response> future) {
+            pending.put(id, future);
+            future.whenComplete((response, error) -> {
+                if (error != null) {
+                    pending.remove(id);
+                }
+            });
+            try {
+                writeFully(frame);
+            } catch (IOException | ClosedSelectorException e) {
+                fail(new RpcException(name + ": se cortó la conexión con " + host + ":" + port, e));
+            }
+            if (broken) {
+                // El lector pudo fallar justo antes de registrar esta petición
+                fail(new RpcException(name + ": se cortó la conexión con " + host + ":" + port));
+            }
+        }
+
+        // Un frame a medias deja la conexión inservible: pasado el plazo se cierra entera
+        private void writeFully(ByteBuffer frame) throws IOException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            while (frame.hasRemaining()) {
+                if (channel.write(frame) > 0) {
+                    continue;
+                }
+                long waitMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (waitMs <= 0) {
+                    throw new IOException("el servidor no recibe datos desde hace " + timeoutMs + " ms");
+                }
+                writeSelector.select(waitMs);
+                writeSelector.selectedKeys().clear();
+            }
+        }
+
+        void readLoop() {
+            ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            try {
+                while (true) {
+                    int read = channel.read(in);
+                    if (read < 0) {
+                        throw new EOFException("el servidor cerró la conexión");
+                    }
+                    if (read == 0) {
+                        readSelector.select();
+                        readSelector.selectedKeys().clear();
+                        continue;
+                    }
+                    in.flip();
+                    while (in.remaining() >= 4) {
+                        int position = in.position();
+                        int length = in.getInt(position);
+                        if (length < HEADER_AFTER_LENGTH || length > RpcFrames.MAX_FRAME_BYTES - 4) {
+                            throw new IOException("frame RPC inválido (largo " + length + ")");
+                        }
+                        if (in.remaining() < 4 + length) {
+                            if (in.capacity() < 4 + length) {
+                                in = ByteBuffer.allocate(4 + length).put(in).flip();
+                            }
+                            break;
+                        }
+                        int id = in.getInt(position + 4);
+                        byte status = in.get(position + 8);
+                        ByteBuffer payload = ByteBuffer.allocate(length - HEADER_AFTER_LENGTH);
+                        payload.put(0, in, position + RpcFrames.HEADER_BYTES, payload.capacity());
+                        in.position(position + 4 + length);
+                        CompletableFuture<Response> future = pending.remove(id);
+                        if (future != null) {
+                            future.complete(new Response(status, payload));
+                        }
+                    }
+                    in.compact();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                if (!broken) {
+                    log.warn("⚠️ {}: se cortó la conexión RPC con {}:{} ({})", name, host, port, e.getMessage());
+                }
+                fail(new RpcException(name + ": se cortó la conexión con " + host + ":" + port, e));
+            }
+        }
+
+        void fail(RpcException cause) {
+            broken = true;
+            try {
+                // Cerrar los selectores despierta a quien esté esperando en ellos
+                channel.close();
+                readSelector.close();
+                writeSelector.close();
+            } catch (IOException e) {
+                log.debug("No se pudo cerrar la conexión RPC", e);
+            }
+            Iterator<CompletableFuture<Response>> futures = pending.values().iterator();
+            while (futures.hasNext()) {
+                CompletableFuture<Response> future = futures.next();
+                futures.remove();
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+}
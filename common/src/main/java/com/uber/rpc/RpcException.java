@@ -0,0 +1,16 @@
+package com.uber.rpc;
+
+/**
+ * ⚠️ Falla de una llamada RPC: sin conexión, tiempo agotado o conexión
+ * cortada con la petición en vuelo.
+ */
+public class RpcException extends RuntimeException {
+
+    public RpcException(String message) {
+        super(message);
+    }
+
+    public RpcException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
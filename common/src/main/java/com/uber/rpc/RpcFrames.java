@@ -0,0 +1,123 @@
+package com.uber.rpc;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 📦 FRAMES RPC - [largo: int][id: int][código: byte][datos]
+ *
+ * El largo cuenta id + código + datos. En una petición el código es la
+ * operación y en la respuesta el estado. El id lo elige el cliente y la
+ * respuesta lo repite: así una conexión lleva muchas peticiones a la vez
+ * (pipelining) y las respuestas pueden volver en cualquier orden.
+ *
+ * Números en big endian; textos como [largo: int][UTF-8], con -1 para null.
+ */
+public final class RpcFrames {
+
+    public static final int HEADER_BYTES = 4 + 4 + 1;
+    public static final int MAX_FRAME_BYTES = 16 << 20;
+
+    // Estados de respuesta
+    public static final byte OK = 0;
+    public static final byte NOT_FOUND = 1;
+    public static final byte BAD_REQUEST = 2;
+    public static final byte ERROR = 3;
+    public static final byte UNKNOWN_OPERATION = 4;
+
+    private RpcFrames() {
+    }
+
+    public static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Datos de un frame en construcción. Deja libre el lugar del
+     * encabezado, así toFrame no copia nada.
+     */
+    public static final class Payload {
+
+        private ByteBuffer buffer;
+
+        public Payload() {
+            this(256);
+        }
+
+        public Payload(int capacity) {
+            this.buffer = ByteBuffer.allocate(HEADER_BYTES + capacity).position(HEADER_BYTES);
+        }
+
+        public Payload putByte(byte value) {
+            ensure(1).put(value);
+            return this;
+        }
+
+        public Payload putBoolean(boolean value) {
+            return putByte(value ? (byte) 1 : 0);
+        }
+
+        public Payload putShort(short value) {
+            ensure(2).putShort(value);
+            return this;
+        }
+
+        public Payload putInt(int value) {
+            ensure(4).putInt(value);
+            return this;
+        }
+
+        public Payload putLong(long value) {
+            ensure(8).putLong(value);
+            return this;
+        }
+
+        public Payload putDouble(double value) {
+            ensure(8).putDouble(value);
+            return this;
+        }
+
+        public Payload putString(String value) {
+            if (value == null) {
+                return putInt(-1);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + bytes.length).putInt(bytes.length).put(bytes);
+            return this;
+        }
+
+        /** Posición actual, para completar después un valor con setInt. */
+        public int position() {
+            return buffer.position();
+        }
+
+        public Payload setInt(int position, int value) {
+            buffer.putInt(position, value);
+            return this;
+        }
+
+        /** Completa el encabezado y devuelve el frame listo para escribir. */
+        public ByteBuffer toFrame(int id, byte code) {
+            int end = buffer.position();
+            if (end > MAX_FRAME_BYTES) {
+                throw new IllegalStateException("Frame RPC de " + end + " bytes (máximo " + MAX_FRAME_BYTES + ")");
+            }
+            buffer.putInt(0, end - 4).putInt(4, id).put(8, code);
+            return buffer.flip();
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                buffer = ByteBuffer.allocate(capacity).put(buffer.flip());
+            }
+            return buffer;
+        }
+    }
+}
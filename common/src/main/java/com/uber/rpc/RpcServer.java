@@ -0,0 +1,321 @@
+package com.uber.rpc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🛰️ SERVIDOR RPC - Frames binarios sobre conexiones NIO persistentes
+ *
+ * Un solo hilo con un Selector acepta conexiones, lee frames (ver
+ * RpcFrames) y escribe respuestas; cada petición se atiende en
+ * 'executor', porque las operaciones pueden ir a la base de datos.
+ *
+ * Las respuestas se encolan en su conexión y el hilo del selector las
+ * escribe juntas con un write de varios buffers: con muchas peticiones en
+ * vuelo por conexión, varias respuestas salen en una sola llamada al
+ * sistema.
+ *
+ * Si un cliente manda peticiones más rápido de lo que lee las respuestas,
+ * las de su conexión se acumulan; pasado MAX_QUEUED_BYTES se deja de leer
+ * esa conexión hasta que el cliente las vacíe (TCP frena al cliente).
+ */
+public final class RpcServer implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(RpcServer.class);
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_GATHER = 64;
+    // Respuestas sin escribir por conexión antes de dejar de leer peticiones
+    private static final long MAX_QUEUED_BYTES = 4L << 20;
+    // id + código: lo mínimo que cuenta el largo de un frame
+    private static final int HEADER_AFTER_LENGTH = RpcFrames.HEADER_BYTES - 4;
+
+    /** Atiende una petición: escribe la respuesta en 'response' y devuelve su estado. */
+    @FunctionalInterface
+    public interface Handler {
+        byte handle(byte operation, ByteBuffer request, RpcFrames.Payload response);
+    }
+
+    private final Handler handler;
+    private final Executor executor;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<Connection> flushQueue = new ConcurrentLinkedQueue<>();
+    private final Thread selectorThread;
+    private volatile boolean running = true;
+
+    public RpcServer(String name, int port, Handler handler, Executor executor) throws IOException {
+        this.handler = handler;
+        this.executor = executor;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.selectorThread = new Thread(this::run, name);
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /** Puerto donde escucha (útil con port 0). */
+    public int port() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== HILO DEL SELECTOR =====
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Connection ready;
+                while ((ready = flushQueue.poll()) != null) {
+                    ready.scheduled.set(false);
+                    ready.flushQuietly();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    } catch (IOException e) {
+                        log.debug("Conexión RPC cerrada: {}", e.getMessage());
+                        connection.close();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            log.error("❌ El servidor RPC dejó de atender", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                log.debug("No se pudo cerrar el selector RPC", e);
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        } catch (IOException e) {
+            log.warn("⚠️ No se pudo aceptar una conexión RPC: {}", e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.debug("No se pudo cerrar un canal RPC", e);
+        }
+    }
+
+    // ===== CONEXIÓN =====
+
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong queuedBytes = new AtomicLong();
+        private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+        private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private SelectionKey key;
+        // Solo en el hilo del selector
+        private boolean paused;
+        private boolean writePending;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Lee lo disponible y despacha cada frame completo
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+            dispatchBuffered();
+        }
+
+        // Despacha los frames completos de 'in' mientras las respuestas pendientes quepan
+        private void dispatchBuffered() throws IOException {
+            in.flip();
+            while (in.remaining() >= 4) {
+                if (queuedBytes.get() > MAX_QUEUED_BYTES) {
+                    paused = true;
+                    break;
+                }
+                int length = in.getInt(in.position());
+                if (length < HEADER_AFTER_LENGTH || length > RpcFrames.MAX_FRAME_BYTES - 4) {
+                    throw new IOException("Frame RPC inválido (largo " + length + ")");
+                }
+                if (in.remaining() < 4 + length) {
+                    if (in.capacity() < 4 + length) {
+                        in = ByteBuffer.allocate(4 + length).put(in).flip();
+                    }
+                    break;
+                }
+                int id = in.getInt(in.position() + 4);
+                byte operation = in.get(in.position() + 8);
+                ByteBuffer request = ByteBuffer.allocate(length - HEADER_AFTER_LENGTH);
+                request.put(0, in, in.position() + RpcFrames.HEADER_BYTES, request.capacity());
+                in.position(in.position() + 4 + length);
+                dispatch(id, operation, request);
+            }
+            in.compact();
+            updateInterest();
+        }
+
+        private void updateInterest() {
+            key.interestOps((paused ? 0 : SelectionKey.OP_READ) | (writePending ? SelectionKey.OP_WRITE : 0));
+        }
+
+        private void dispatch(int id, byte operation, ByteBuffer request) {
+            try {
+                executor.execute(() -> send(respond(id, operation, request)));
+            } catch (RejectedExecutionException e) {
+                send(new RpcFrames.Payload(64).putString("Servidor saturado").toFrame(id, RpcFrames.ERROR));
+            }
+        }
+
+        // Encola desde cualquier hilo; el selector escribe
+        void send(ByteBuffer frame) {
+            queuedBytes.addAndGet(frame.remaining());
+            outbound.add(frame);
+            if (scheduled.compareAndSet(false, true)) {
+                flushQueue.add(this);
+                selector.wakeup();
+            }
+        }
+
+        void flush() throws IOException {
+            while (true) {
+                int count = 0;
+                for (ByteBuffer frame : outbound) {
+                    gather[count++] = frame;
+                    if (count == MAX_GATHER) {
+                        break;
+                    }
+                }
+                if (count == 0) {
+                    writePending = false;
+                    resume();
+                    return;
+                }
+                long written = channel.write(gather, 0, count);
+                queuedBytes.addAndGet(-written);
+                boolean drained = !gather[count - 1].hasRemaining();
+                Arrays.fill(gather, 0, count, null);
+                while (!outbound.isEmpty() && !outbound.peek().hasRemaining()) {
+                    outbound.poll();
+                }
+                if (!drained) {
+                    // El socket está lleno: seguir cuando se pueda escribir
+                    writePending = true;
+                    resume();
+                    return;
+                }
+            }
+        }
+
+        // Con las respuestas de nuevo bajo el límite, sigue con lo ya leído y con el socket
+        private void resume() throws IOException {
+            if (paused && queuedBytes.get() <= MAX_QUEUED_BYTES) {
+                paused = false;
+                dispatchBuffered();
+            } else {
+                updateInterest();
+            }
+        }
+
+        void flushQuietly() {
+            if (key == null || !key.isValid()) {
+                return;
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                log.debug("Conexión RPC cerrada: {}", e.getMessage());
+                close();
+            }
+        }
+
+        void close() {
+            outbound.clear();
+            closeQuietly(key);
+        }
+    }
+
+    private ByteBuffer respond(int id, byte operation, ByteBuffer request) {
+        RpcFrames.Payload response = new RpcFrames.Payload();
+        try {
+            byte status = handler.handle(operation, request, response);
+            return response.toFrame(id, status);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            return new RpcFrames.Payload(64).putString(e.getMessage() != null ? e.getMessage() : e.toString())
+                    .toFrame(id, RpcFrames.BAD_REQUEST);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Falló la operación RPC {}: {}", operation, e.toString());
+            return new RpcFrames.Payload(64).putString(e.getMessage() != null ? e.getMessage() : e.toString())
+                    .toFrame(id, RpcFrames.ERROR);
+        }
+    }
+}
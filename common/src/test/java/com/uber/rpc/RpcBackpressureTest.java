@@ -0,0 +1,120 @@
+package com.uber.rpc;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * 🧪 Contrapresión del RPC: ni el cliente se queda bloqueado escribiendo a
+ * un servidor que no lee, ni el servidor acumula respuestas sin límite
+ * para un cliente que no las lee.
+ */
+class RpcBackpressureTest {
+
+    private static final byte ECHO = 1;
+    private static final int RESPONSE_LONGS = 8 * 1024;
+    private static final int RESPONSE_FRAME_BYTES = RpcFrames.HEADER_BYTES + RESPONSE_LONGS * 8;
+
+    @Test
+    void callsFailAfterTimeoutWhenServerStopsReading() throws Exception {
+        try (ServerSocket deaf = new ServerSocket(0)) {
+            Thread acceptor = new Thread(() -> {
+                try {
+                    Socket ignored = deaf.accept();
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (IOException | InterruptedException e) {
+                    // Fin de la prueba
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+            RpcClient client = new RpcClient("test", "localhost:" + deaf.getLocalPort(), 1, 1000, 500);
+
+            // Sin el plazo de escritura, el primer frame que no cabe en el socket bloquea para siempre
+            assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+                for (int i = 0; i < 16; i++) {
+                    try {
+                        client.call(ECHO, largeRequest());
+                    } catch (RpcException e) {
+                        return;
+                    }
+                }
+                throw new AssertionError("El servidor que no lee nunca hizo fallar una llamada");
+            });
+            client.close();
+            acceptor.interrupt();
+        }
+    }
+
+    @Test
+    void serverStopsReadingWhileResponsesPileUpAndResumesWhenDrained() throws Exception {
+        AtomicInteger handled = new AtomicInteger();
+        RpcServer server = new RpcServer("rpc-test", 0, (operation, request, response) -> {
+            handled.incrementAndGet();
+            for (int i = 0; i < RESPONSE_LONGS; i++) {
+                response.putLong(i);
+            }
+            return RpcFrames.OK;
+        }, Runnable::run);
+        int requests = 2_000;
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.port()))) {
+            channel.configureBlocking(false);
+            ByteBuffer out = ByteBuffer.allocate(requests * RpcFrames.HEADER_BYTES);
+            for (int id = 1; id <= requests; id++) {
+                out.put(new RpcFrames.Payload(0).toFrame(id, ECHO));
+            }
+            out.flip();
+            // Manda todo lo que el servidor acepte sin leer ninguna respuesta
+            long idleSince = System.nanoTime();
+            while (out.hasRemaining() && System.nanoTime() - idleSince < 1_000_000_000L) {
+                if (channel.write(out) > 0) {
+                    idleSince = System.nanoTime();
+                }
+                Thread.sleep(1);
+            }
+            Thread.sleep(500);
+            int beforeReading = handled.get();
+            // Sin límite serían 2000 respuestas (~128 MB) en memoria
+            assertThat(beforeReading).isLessThan(requests / 2);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                ByteBuffer in = ByteBuffer.allocate(1 << 20);
+                long received = 0;
+                while (received < (long) requests * RESPONSE_FRAME_BYTES) {
+                    if (out.hasRemaining()) {
+                        channel.write(out);
+                    }
+                    int read = channel.read(in);
+                    assertThat(read).isNotNegative();
+                    received += read;
+                    in.clear();
+                    if (read == 0) {
+                        Thread.sleep(1);
+                    }
+                }
+            });
+            assertThat(handled.get()).isEqualTo(requests);
+        } finally {
+            server.close();
+        }
+    }
+
+    // 8 MB: más de lo que caben en los buffers del socket de ida y vuelta
+    private static RpcFrames.Payload largeRequest() {
+        RpcFrames.Payload request = new RpcFrames.Payload(8 << 20);
+        for (int i = 0; i < (8 << 20) / 8; i++) {
+            request.putLong(i);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,67 @@
+package com.uber.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 🔌 CLIENTE HTTP - Peticiones asíncronas medidas por endpoint
+ *
+ * La latencia se mide desde el instante en que la petición DEBÍA salir
+ * (intendedStartNanos), no desde que salió: si el generador o el servidor
+ * se atrasan, la espera acumulada aparece en los percentiles en lugar de
+ * esconderse (omisión coordinada).
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LatencyStats stats;
+    private final int maxInFlight;
+
+    ApiClient(LatencyStats stats, int maxInFlight) {
+        this.stats = stats;
+        this.maxInFlight = maxInFlight;
+    }
+
+    CompletableFuture<HttpResponse<String>> get(String endpoint, String url, long intendedStartNanos) {
+        return send(endpoint, request(url).GET().build(), intendedStartNanos);
+    }
+
+    CompletableFuture<HttpResponse<String>> put(String endpoint, String url, long intendedStartNanos) {
+        return send(endpoint, request(url).PUT(HttpRequest.BodyPublishers.noBody()).build(), intendedStartNanos);
+    }
+
+    CompletableFuture<HttpResponse<String>> postJson(String endpoint, String url, String json, long intendedStartNanos) {
+        HttpRequest request = request(url)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return send(endpoint, request, intendedStartNanos);
+    }
+
+    static boolean isSuccess(HttpResponse<?> response) {
+        return response != null && response.statusCode() / 100 == 2;
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest request, long intendedStartNanos) {
+        if (!stats.tryBegin(maxInFlight)) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("max-in-flight alcanzado"));
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) ->
+                        stats.end(endpoint, intendedStartNanos, error == null && isSuccess(response)));
+    }
+
+    private static HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT);
+    }
+}
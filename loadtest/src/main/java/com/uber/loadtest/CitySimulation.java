@@ -0,0 +1,294 @@
+package com.uber.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🏙️ SIMULACIÓN - Una ciudad de conductores y pasajeros
+ *
+ * - Conductores: registrados en user-service; cada uno envía su posición
+ *   a location-service cada ping-interval-ms, moviéndose al azar.
+ * - Pasajeros: piden un viaje, esperan a que el despacho de ride-service
+ *   lo asigne (consultando GET /api/rides/{id}), lo inician, lo completan
+ *   tras trip-ms y registran el pago en payment-service. Luego esperan un
+ *   tiempo aleatorio (exponencial, media ride-interval-ms) y repiten.
+ *
+ * Todo es asíncrono: unos pocos hilos programan miles de conductores.
+ */
+final class CitySimulation {
+
+    private static final long POLL_INTERVAL_MS = 250;
+    private static final int SETUP_PARALLELISM = 200;
+
+    private static final String USERS = "POST /api/users";
+    private static final String PING = "POST /api/locations";
+    private static final String REQUEST = "POST /api/rides/request";
+    private static final String GET_RIDE = "GET /api/rides/{id}";
+    private static final String START = "PUT /api/rides/{id}/start";
+    private static final String COMPLETE = "PUT /api/rides/{id}/complete";
+    private static final String CANCEL = "PUT /api/rides/{id}/cancel";
+    private static final String PAYMENT = "POST /api/payments";
+
+    private final LoadTestOptions options;
+    private final ApiClient api;
+    private final ObjectMapper json = new ObjectMapper();
+    private final ScheduledExecutorService scheduler;
+
+    private final List<Driver> drivers = new ArrayList<>();
+    private final List<Long> passengers = new ArrayList<>();
+    private volatile boolean running;
+
+    // ===== EMBUDO DE VIAJES =====
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder assigned = new LongAdder();
+    private final LongAdder unassigned = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder paid = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private static final class Driver {
+        final long id;
+        double lat;
+        double lon;
+        long nextDueNanos;
+
+        Driver(long id, double lat, double lon) {
+            this.id = id;
+            this.lat = lat;
+            this.lon = lon;
+        }
+    }
+
+    CitySimulation(LoadTestOptions options, ApiClient api) {
+        this.options = options;
+        this.api = api;
+        this.scheduler = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+                    Thread thread = new Thread(runnable, "city-simulation");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // ===== PREPARACIÓN =====
+
+    void setUp() {
+        System.out.println("👥 Registrando " + options.drivers() + " conductores y "
+                + options.passengers() + " pasajeros...");
+        SplittableRandom random = new SplittableRandom(42);
+        List<Long> driverIds = registerUsers("DRIVER", options.drivers());
+        for (long id : driverIds) {
+            double[] point = randomPoint(random);
+            drivers.add(new Driver(id, point[0], point[1]));
+        }
+        passengers.addAll(registerUsers("PASSENGER", options.passengers()));
+    }
+
+    private List<Long> registerUsers(String type, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += SETUP_PARALLELISM) {
+            List<CompletableFuture<HttpResponse<String>>> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + SETUP_PARALLELISM); i++) {
+                String body = String.format(Locale.ROOT,
+                        "{\"name\":\"%s %d\",\"email\":\"%s%d@loadtest.local\",\"phone\":\"555-%07d\","
+                                + "\"userType\":\"%s\",\"rating\":4.8,\"active\":true}",
+                        type.toLowerCase(Locale.ROOT), i, type.toLowerCase(Locale.ROOT), i, i, type);
+                batch.add(api.postJson(USERS, ServiceLauncher.USER.baseUrl() + "/api/users", body, System.nanoTime()));
+            }
+            for (CompletableFuture<HttpResponse<String>> future : batch) {
+                ids.add(readLong(future.join(), "id"));
+            }
+        }
+        return ids;
+    }
+
+    // ===== EJECUCIÓN =====
+
+    void start() {
+        running = true;
+        long interval = options.pingIntervalMs();
+        long now = System.nanoTime();
+        for (Driver driver : drivers) {
+            long delay = ThreadLocalRandom.current().nextLong(interval);
+            driver.nextDueNanos = now + TimeUnit.MILLISECONDS.toNanos(delay);
+            scheduler.scheduleAtFixedRate(() -> ping(driver), delay, interval, TimeUnit.MILLISECONDS);
+        }
+        for (long passengerId : passengers) {
+            schedule(() -> requestRide(passengerId), ThreadLocalRandom.current().nextLong(options.rideIntervalMs()));
+        }
+    }
+
+    void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    private void ping(Driver driver) {
+        if (!running) {
+            return;
+        }
+        long intended = driver.nextDueNanos;
+        driver.nextDueNanos += TimeUnit.MILLISECONDS.toNanos(options.pingIntervalMs());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        driver.lat += random.nextDouble(-0.0005, 0.0005);
+        driver.lon += random.nextDouble(-0.0005, 0.0005);
+        String body = String.format(Locale.ROOT,
+                "{\"driverId\":%d,\"latitude\":%.6f,\"longitude\":%.6f,\"available\":true}",
+                driver.id, driver.lat, driver.lon);
+        api.postJson(PING, ServiceLauncher.LOCATION.baseUrl() + "/api/locations", body, intended);
+    }
+
+    private void requestRide(long passengerId) {
+        if (!running) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        double[] pickup = randomPoint(random);
+        double[] dropoff = randomPoint(random);
+        String body = String.format(Locale.ROOT,
+                "{\"passengerId\":%d,\"pickupLatitude\":%.6f,\"pickupLongitude\":%.6f,"
+                        + "\"dropoffLatitude\":%.6f,\"dropoffLongitude\":%.6f}",
+                passengerId, pickup[0], pickup[1], dropoff[0], dropoff[1]);
+        api.postJson(REQUEST, ServiceLauncher.RIDE.baseUrl() + "/api/rides/request", body, System.nanoTime())
+                .whenComplete((response, error) -> {
+                    if (error != null || !ApiClient.isSuccess(response)) {
+                        failed.increment();
+                        nextRide(passengerId);
+                        return;
+                    }
+                    requested.increment();
+                    long rideId = readLong(response, "id");
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.assignTimeoutMs());
+                    schedule(() -> awaitAssignment(passengerId, rideId, deadline), POLL_INTERVAL_MS);
+                });
+    }
+
+    private void awaitAssignment(long passengerId, long rideId, long deadline) {
+        if (!running) {
+            return;
+        }
+        api.get(GET_RIDE, rideUrl(rideId), System.nanoTime())
+                .whenComplete((response, error) -> {
+                    String status = error == null && ApiClient.isSuccess(response) ? readText(response, "status") : "";
+                    if (status.equals("ACCEPTED")) {
+                        assigned.increment();
+                        startRide(passengerId, rideId);
+                    } else if (System.nanoTime() < deadline) {
+                        schedule(() -> awaitAssignment(passengerId, rideId, deadline), POLL_INTERVAL_MS);
+                    } else {
+                        unassigned.increment();
+                        api.put(CANCEL, rideUrl(rideId) + "/cancel", System.nanoTime());
+                        nextRide(passengerId);
+                    }
+                });
+    }
+
+    private void startRide(long passengerId, long rideId) {
+        api.put(START, rideUrl(rideId) + "/start", System.nanoTime())
+                .whenComplete((response, error) -> {
+                    if (error != null || !ApiClient.isSuccess(response)) {
+                        failed.increment();
+                        nextRide(passengerId);
+                        return;
+                    }
+                    schedule(() -> completeRide(passengerId, rideId), options.tripMs());
+                });
+    }
+
+    private void completeRide(long passengerId, long rideId) {
+        double fare = Math.round(ThreadLocalRandom.current().nextDouble(8, 40) * 100) / 100.0;
+        api.put(COMPLETE, rideUrl(rideId) + "/complete?fare=" + fare, System.nanoTime())
+                .whenComplete((response, error) -> {
+                    if (error != null || !ApiClient.isSuccess(response)) {
+                        failed.increment();
+                        nextRide(passengerId);
+                        return;
+                    }
+                    completed.increment();
+                    pay(passengerId, rideId, fare);
+                });
+    }
+
+    private void pay(long passengerId, long rideId, double fare) {
+        String body = String.format(Locale.ROOT,
+                "{\"rideId\":%d,\"passengerId\":%d,\"amount\":%.2f,\"method\":\"CREDIT_CARD\"}",
+                rideId, passengerId, fare);
+        api.postJson(PAYMENT, ServiceLauncher.PAYMENT.baseUrl() + "/api/payments", body, System.nanoTime())
+                .whenComplete((response, error) -> {
+                    if (error == null && ApiClient.isSuccess(response)) {
+                        paid.increment();
+                    } else {
+                        failed.increment();
+                    }
+                    nextRide(passengerId);
+                });
+    }
+
+    private void nextRide(long passengerId) {
+        // Espera exponencial: llegadas tipo Poisson
+        double u = 1.0 - ThreadLocalRandom.current().nextDouble();
+        long delay = (long) (-Math.log(u) * options.rideIntervalMs());
+        schedule(() -> requestRide(passengerId), delay);
+    }
+
+    void printRideSummary(double seconds) {
+        System.out.println("\n🚗 Viajes");
+        System.out.printf(Locale.ROOT, "   solicitados %d (%.1f/s), asignados %d, sin conductor %d%n",
+                requested.sum(), requested.sum() / seconds, assigned.sum(), unassigned.sum());
+        System.out.printf(Locale.ROOT, "   completados %d (%.1f/s), pagos registrados %d, errores %d%n",
+                completed.sum(), completed.sum() / seconds, paid.sum(), failed.sum());
+    }
+
+    // ===== AUXILIARES =====
+
+    private void schedule(Runnable task, long delayMs) {
+        if (running) {
+            try {
+                scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // La simulación terminó
+            }
+        }
+    }
+
+    private double[] randomPoint(SplittableRandom random) {
+        double radius = options.cityRadiusDeg();
+        return new double[] {
+                options.centerLat() + random.nextDouble(-radius, radius),
+                options.centerLon() + random.nextDouble(-radius, radius)
+        };
+    }
+
+    private static String rideUrl(long rideId) {
+        return ServiceLauncher.RIDE.baseUrl() + "/api/rides/" + rideId;
+    }
+
+    private long readLong(HttpResponse<String> response, String field) {
+        return readTree(response).path(field).asLong();
+    }
+
+    private String readText(HttpResponse<String> response, String field) {
+        return readTree(response).path(field).asText("");
+    }
+
+    private JsonNode readTree(HttpResponse<String> response) {
+        try {
+            return json.readTree(response.body());
+        } catch (Exception e) {
+            throw new IllegalStateException("Respuesta inválida (" + response.statusCode() + "): " + response.body(), e);
+        }
+    }
+}
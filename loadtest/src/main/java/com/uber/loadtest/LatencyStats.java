@@ -0,0 +1,147 @@
+package com.uber.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📊 MÉTRICAS - Latencia por endpoint con HdrHistogram
+ *
+ * Un Recorder por endpoint (escritura sin lock desde cualquier hilo).
+ * Cada intervalo de reporte se extrae el histograma del intervalo, se
+ * imprime una línea por endpoint, se escribe en el log .hlog (con el
+ * endpoint como tag) y se acumula en el histograma total. Al terminar se
+ * escribe un .hgrm (distribución de percentiles) por endpoint.
+ *
+ * Valores en microsegundos; los reportes se muestran en milisegundos.
+ */
+final class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = 60_000_000L;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder clientRejected = new LongAdder();
+    private volatile boolean measuring;
+    private long measureStartMillis;
+
+    private final class Endpoint {
+        final String name;
+        final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        long totalErrors;
+        Histogram interval;
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+    }
+
+    // ===== REGISTRO (hilos del generador) =====
+
+    boolean tryBegin(int maxInFlight) {
+        int current = inFlight.incrementAndGet();
+        if (current > maxInFlight) {
+            inFlight.decrementAndGet();
+            clientRejected.increment();
+            return false;
+        }
+        peakInFlight.accumulateAndGet(current, Math::max);
+        return true;
+    }
+
+    void end(String endpoint, long intendedStartNanos, boolean success) {
+        inFlight.decrementAndGet();
+        if (!measuring) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, Endpoint::new);
+        long micros = Math.max(0, (System.nanoTime() - intendedStartNanos) / 1000);
+        stats.recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    // ===== CICLO DE MEDICIÓN =====
+
+    void startMeasuring() {
+        measureStartMillis = System.currentTimeMillis();
+        peakInFlight.set(inFlight.get());
+        clientRejected.reset();
+        measuring = true;
+    }
+
+    /** Cierra el intervalo: imprime, escribe en el log y acumula. */
+    synchronized void reportInterval(HistogramLogWriter logWriter, double intervalSeconds) {
+        System.out.printf(Locale.ROOT, "%n%-40s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint (intervalo)", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errores");
+        for (Endpoint endpoint : sorted().values()) {
+            endpoint.interval = endpoint.recorder.getIntervalHistogram(endpoint.interval);
+            long errors = endpoint.errors.sumThenReset();
+            endpoint.totalErrors += errors;
+            endpoint.total.add(endpoint.interval);
+            endpoint.interval.setTag(endpoint.name.replace(' ', '_'));
+            logWriter.outputIntervalHistogram(endpoint.interval);
+            printRow(endpoint.name, endpoint.interval, intervalSeconds, errors);
+        }
+        System.out.printf(Locale.ROOT, "en vuelo: %d (pico %d), rechazadas por el generador: %d%n",
+                inFlight.get(), peakInFlight.get(), clientRejected.sum());
+    }
+
+    void printSummary(double seconds) {
+        System.out.println("\n" + "=".repeat(100));
+        System.out.println("📊 RESUMEN (" + Math.round(seconds) + " s medidos)");
+        System.out.println("=".repeat(100));
+        System.out.printf(Locale.ROOT, "%-40s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errores");
+        for (Endpoint endpoint : sorted().values()) {
+            printRow(endpoint.name, endpoint.total, seconds, endpoint.totalErrors);
+        }
+        System.out.printf(Locale.ROOT, "pico de peticiones simultáneas: %d, rechazadas por el generador: %d%n",
+                peakInFlight.get(), clientRejected.sum());
+    }
+
+    void writePercentileFiles(Path directory) throws FileNotFoundException {
+        for (Endpoint endpoint : sorted().values()) {
+            String file = endpoint.name.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+            try (PrintStream out = new PrintStream(directory.resolve(file).toFile())) {
+                // Escala 1000: microsegundos -> milisegundos
+                endpoint.total.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    long measureStartMillis() {
+        return measureStartMillis;
+    }
+
+    // ===== AUXILIARES =====
+
+    private Map<String, Endpoint> sorted() {
+        return new TreeMap<>(endpoints);
+    }
+
+    private static void printRow(String name, Histogram histogram, double seconds, long errors) {
+        System.out.printf(Locale.ROOT, "%-40s %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                name,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                errors);
+    }
+}
@@ -0,0 +1,78 @@
+package com.uber.loadtest;
+
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 🚦 PRUEBA DE CARGA DE EXTREMO A EXTREMO
+ *
+ * Arranca los 4 microservicios (jars "exec" ya empaquetados), registra una
+ * ciudad de conductores y pasajeros y la hace funcionar durante --duration:
+ * pings de ubicación, solicitudes de viaje, despacho automático, inicio,
+ * fin y pago.
+ *
+ * Salida (en --out):
+ * - latency.hlog: intervalos HdrHistogram por endpoint (HistogramLogProcessor)
+ * - <endpoint>.hgrm: distribución de percentiles de toda la medición
+ * - logs/: salida de cada servicio
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path out = Files.createDirectories(options.outputDir());
+
+        ServiceLauncher launcher = new ServiceLauncher(options);
+        Runtime.getRuntime().addShutdownHook(new Thread(launcher::close, "loadtest-shutdown"));
+        if (options.startServices()) {
+            launcher.startAll();
+        } else {
+            for (ServiceLauncher.Service service : ServiceLauncher.ALL) {
+                launcher.awaitHealthy(service);
+            }
+        }
+
+        LatencyStats stats = new LatencyStats();
+        CitySimulation city = new CitySimulation(options, new ApiClient(stats, options.maxInFlight()));
+        city.setUp();
+        city.start();
+
+        System.out.println("🔥 Calentamiento " + options.warmup().toSeconds() + " s...");
+        Thread.sleep(options.warmup().toMillis());
+
+        try (PrintStream hlog = new PrintStream(out.resolve("latency.hlog").toFile())) {
+            stats.startMeasuring();
+            HistogramLogWriter logWriter = new HistogramLogWriter(hlog);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputStartTime(stats.measureStartMillis());
+            logWriter.setBaseTime(stats.measureStartMillis());
+            logWriter.outputLegend();
+            System.out.println("⏱️  Midiendo " + options.duration().toSeconds() + " s...");
+
+            long end = stats.measureStartMillis() + options.duration().toMillis();
+            long intervalStart = stats.measureStartMillis();
+            while (System.currentTimeMillis() < end) {
+                long sleep = Math.min(options.reportInterval().toMillis(), end - System.currentTimeMillis());
+                Thread.sleep(Math.max(0, sleep));
+                long now = System.currentTimeMillis();
+                stats.reportInterval(logWriter, (now - intervalStart) / 1000.0);
+                intervalStart = now;
+            }
+            city.stop();
+        }
+
+        double seconds = options.duration().toMillis() / 1000.0;
+        stats.printSummary(seconds);
+        city.printRideSummary(seconds);
+        stats.writePercentileFiles(out);
+        System.out.println("\n📁 Resultados en " + out.toAbsolutePath());
+        launcher.close();
+        System.exit(0);
+    }
+}
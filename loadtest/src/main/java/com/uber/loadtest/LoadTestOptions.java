@@ -0,0 +1,101 @@
+package com.uber.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ⚙️ OPCIONES - Parámetros de la prueba de carga (--clave=valor)
+ */
+public record LoadTestOptions(int drivers,
+                              int passengers,
+                              Duration duration,
+                              Duration warmup,
+                              long pingIntervalMs,
+                              long rideIntervalMs,
+                              long tripMs,
+                              long assignTimeoutMs,
+                              int maxInFlight,
+                              boolean startServices,
+                              String springProfile,
+                              String jvmOptions,
+                              Path projectDir,
+                              Path outputDir,
+                              double centerLat,
+                              double centerLon,
+                              double cityRadiusDeg,
+                              Duration reportInterval) {
+
+    static final String USAGE = """
+            Uso: java -jar loadtest/target/loadtest-1.0.0.jar [--clave=valor ...]
+              --drivers=2000           conductores enviando pings
+              --passengers=500         pasajeros pidiendo viajes
+              --duration=60s           duración de la medición
+              --warmup=10s             calentamiento (no se mide)
+              --ping-interval-ms=2000  cada cuánto envía ping un conductor
+              --ride-interval-ms=5000  espera media de un pasajero entre viajes
+              --trip-ms=2000           duración simulada del viaje
+              --assign-timeout-ms=30000  sin conductor en ese tiempo -> se cancela
+              --max-in-flight=4000     peticiones simultáneas máximas del generador
+              --start-services=true    arrancar los 4 servicios (false: ya están corriendo)
+              --profile=               perfil Spring para los servicios (p. ej. virtual)
+              --jvm-opts=              opciones de JVM para los servicios
+              --project-dir=.          raíz del proyecto (donde están los *-service)
+              --out=loadtest/target/results
+              --center=4.65,-74.05     centro de la ciudad
+              --city-radius-deg=0.1    radio de la ciudad en grados
+              --report-interval=10s
+            """;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                System.out.println(USAGE);
+                System.exit(0);
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + "\n" + USAGE);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        String[] center = values.getOrDefault("center", "4.65,-74.05").split(",");
+        Path projectDir = Path.of(values.getOrDefault("project-dir", ".")).toAbsolutePath().normalize();
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("drivers", "2000")),
+                Integer.parseInt(values.getOrDefault("passengers", "500")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                Long.parseLong(values.getOrDefault("ping-interval-ms", "2000")),
+                Long.parseLong(values.getOrDefault("ride-interval-ms", "5000")),
+                Long.parseLong(values.getOrDefault("trip-ms", "2000")),
+                Long.parseLong(values.getOrDefault("assign-timeout-ms", "30000")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "4000")),
+                Boolean.parseBoolean(values.getOrDefault("start-services", "true")),
+                values.getOrDefault("profile", ""),
+                values.getOrDefault("jvm-opts", ""),
+                projectDir,
+                projectDir.resolve(values.getOrDefault("out", "loadtest/target/results")),
+                Double.parseDouble(center[0].trim()),
+                Double.parseDouble(center[1].trim()),
+                Double.parseDouble(values.getOrDefault("city-radius-deg", "0.1")),
+                duration(values.getOrDefault("report-interval", "10s"))
+        );
+    }
+
+    // "90s", "5m", "1500ms"
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
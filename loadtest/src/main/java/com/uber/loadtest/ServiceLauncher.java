@@ -0,0 +1,119 @@
+package com.uber.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🚀 ARRANQUE - Levanta los cuatro servicios en sus puertos locales
+ *
+ * Usa los jar ejecutables (*-exec.jar) de cada módulo; hay que
+ * construirlos antes con "mvn package -DskipTests" desde la raíz. La
+ * salida de cada servicio va a <out>/logs/<servicio>.log.
+ */
+final class ServiceLauncher implements AutoCloseable {
+
+    record Service(String name, int port, List<String> extraArgs) {
+        String baseUrl() {
+            return "http://localhost:" + port;
+        }
+    }
+
+    static final Service USER = new Service("user-service", 8081, List.of());
+    static final Service RIDE = new Service("ride-service", 8082,
+            List.of("--ride.dispatch.enabled=true"));
+    static final Service LOCATION = new Service("location-service", 8083, List.of());
+    static final Service PAYMENT = new Service("payment-service", 8084, List.of());
+    static final List<Service> ALL = List.of(USER, LOCATION, RIDE, PAYMENT);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final LoadTestOptions options;
+    private final List<Process> processes = new ArrayList<>();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    ServiceLauncher(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    void startAll() throws IOException, InterruptedException {
+        Path logs = Files.createDirectories(options.outputDir().resolve("logs"));
+        for (Service service : ALL) {
+            Path jar = options.projectDir().resolve(service.name())
+                    .resolve("target").resolve(service.name() + "-1.0.0-exec.jar");
+            if (!Files.exists(jar)) {
+                throw new IllegalStateException("No existe " + jar + ": ejecutar antes 'mvn package -DskipTests'");
+            }
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            if (!options.jvmOptions().isBlank()) {
+                command.addAll(List.of(options.jvmOptions().trim().split("\\s+")));
+            }
+            command.add("-jar");
+            command.add(jar.toString());
+            command.add("--spring.jpa.show-sql=false");
+            if (!options.springProfile().isBlank()) {
+                command.add("--spring.profiles.active=" + options.springProfile());
+            }
+            command.addAll(service.extraArgs());
+
+            System.out.println("▶️  Iniciando " + service.name() + " (:" + service.port() + ")");
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logs.resolve(service.name() + ".log").toFile())
+                    .start();
+            processes.add(process);
+        }
+        for (Service service : ALL) {
+            awaitHealthy(service);
+        }
+    }
+
+    void awaitHealthy(Service service) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(service.baseUrl() + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = httpClient.send(health, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    System.out.println("✅ " + service.name() + " listo");
+                    return;
+                }
+            } catch (IOException e) {
+                // Todavía arrancando
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(service.name() + " no respondió en " + STARTUP_TIMEOUT.toSeconds() + " s");
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+}
@@ -0,0 +1,36 @@
+package com.uber.location;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 🚀 APLICACIÓN PRINCIPAL - Location Service
+ */
+@SpringBootApplication
+@EnableScheduling
+public class LocationServiceApplication {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationServiceApplication.class);
+
+    public static void main(String[] args) {
+        SpringApplication.run(LocationServiceApplication.class, args);
+
+        log.info("""
+
+                ============================================================
+                🚀 LOCATION SERVICE - INICIADO
+                ============================================================
+                📍 URL: http://localhost:8083
+                📡 Endpoints:
+                   POST   /api/locations                        - Enviar ping GPS
+                   POST   /api/locations/batch                  - Enviar lote de pings
+                   GET    /api/locations/drivers/{id}           - Última ubicación
+                   GET    /api/locations/drivers/nearby         - Conductores cercanos
+                   GET    /api/locations/drivers/density        - Conductores por celda
+                   GET    /actuator/prometheus                  - Métricas (Prometheus)
+                ============================================================""");
+    }
+}
@@ -0,0 +1,273 @@
+package com.uber.location.application.services;
+
+import com.uber.location.domain.model.Location;
+import com.uber.location.domain.ports.out.DriverLocationIndex;
+import com.uber.location.domain.ports.out.LocationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 📥 BUFFER DE INGESTA - Pings GPS
+ *
+ * Los conductores envían un ping cada 1-4 segundos. En lugar de escribir
+ * cada ping, se guardan en un buffer dividido en franjas (stripes), cada una
+ * con su propio lock. Si llega otro ping del mismo conductor antes del
+ * volcado, solo se conserva el más reciente (last-write-wins por timestamp).
+ *
+ * El volcado al índice y a la base de datos se dispara por tamaño
+ * (batch-size) o por tiempo (flush-interval-ms). Si hay demasiados
+ * conductores pendientes, se rechazan pings nuevos (backpressure); los
+ * pings de conductores ya pendientes siempre se aceptan porque no crecen
+ * el buffer.
+ *
+ * Un volcado que falla no pierde el lote entero: un ping que el índice
+ * rechaza (por ejemplo, sin capacidad para más conductores) se cuenta y se
+ * guarda igual en el historial; un bloque que la base rechaza se cuenta y
+ * vuelve al buffer para el siguiente volcado, salvo los conductores que ya
+ * mandaron un ping más nuevo o los que no caben (backpressure).
+ */
+@Component
+public class LocationIngestionBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationIngestionBuffer.class);
+
+    private final DriverLocationIndex driverLocationIndex;
+    private final LocationRepository locationRepository;
+
+    private final Stripe[] stripes;
+    private final int batchSize;
+    private final int maxPending;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Executor flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "location-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // ===== MÉTRICAS =====
+    private final Counter received;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter flushed;
+    private final Counter indexFailed;
+    private final Counter persistFailed;
+    private final Counter requeued;
+    private final Counter dropped;
+    private final Timer flushTimer;
+    private final DistributionSummary flushBatchSize;
+
+    public LocationIngestionBuffer(DriverLocationIndex driverLocationIndex,
+                                   LocationRepository locationRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${location.ingest.stripes:16}") int stripeCount,
+                                   @Value("${location.ingest.batch-size:2000}") int batchSize,
+                                   @Value("${location.ingest.max-pending:200000}") int maxPending) {
+        this.driverLocationIndex = driverLocationIndex;
+        this.locationRepository = locationRepository;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+
+        this.stripes = new Stripe[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        this.received = meterRegistry.counter("location.ingest.received");
+        this.coalesced = meterRegistry.counter("location.ingest.coalesced");
+        this.rejected = meterRegistry.counter("location.ingest.rejected");
+        this.flushed = meterRegistry.counter("location.ingest.flushed");
+        this.indexFailed = meterRegistry.counter("location.ingest.failed", "stage", "index");
+        this.persistFailed = meterRegistry.counter("location.ingest.failed", "stage", "persist");
+        this.requeued = meterRegistry.counter("location.ingest.requeued");
+        this.dropped = meterRegistry.counter("location.ingest.dropped");
+        this.flushTimer = meterRegistry.timer("location.ingest.flush.latency");
+        this.flushBatchSize = meterRegistry.summary("location.ingest.flush.batch.size");
+        Gauge.builder("location.ingest.pending", pending, AtomicInteger::get)
+                .register(meterRegistry);
+        // Fracción de pings que no llegaron a escribirse porque otro más nuevo los reemplazó
+        Gauge.builder("location.ingest.coalescing.ratio", this, LocationIngestionBuffer::coalescingRatio)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Agrega un ping al buffer. Devuelve false si fue rechazado por backpressure.
+     */
+    public boolean offer(Location location) {
+        if (location.getDriverId() == null) {
+            throw new IllegalArgumentException("La ubicación debe tener driverId");
+        }
+        received.increment();
+
+        Stripe stripe = stripeFor(location.getDriverId());
+        stripe.lock.lock();
+        try {
+            Location current = stripe.pending.get(location.getDriverId());
+            if (current == null) {
+                if (pending.get() >= maxPending) {
+                    rejected.increment();
+                    return false;
+                }
+                stripe.pending.put(location.getDriverId(), location);
+                pending.incrementAndGet();
+            } else {
+                coalesced.increment();
+                if (!location.getTimestamp().isBefore(current.getTimestamp())) {
+                    stripe.pending.put(location.getDriverId(), location);
+                }
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        if (pending.get() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Vuelca el buffer al índice y a la base de datos. Solo un volcado a la vez.
+     */
+    @Scheduled(fixedDelayString = "${location.ingest.flush-interval-ms:250}")
+    public void flush() {
+        flushScheduled.set(false);
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Location> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            int[] persisted = new int[1];
+            flushTimer.record(() -> {
+                updateIndex(batch);
+                persisted[0] = persist(batch);
+            });
+            flushed.increment(persisted[0]);
+            flushBatchSize.record(batch.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void updateIndex(List<Location> batch) {
+        RuntimeException first = null;
+        int failures = 0;
+        for (Location location : batch) {
+            try {
+                driverLocationIndex.update(location);
+            } catch (RuntimeException e) {
+                failures++;
+                first = first == null ? e : first;
+            }
+        }
+        if (failures > 0) {
+            indexFailed.increment(failures);
+            log.warn("⚠️ {} pings no entraron al índice: {}", failures, first.getMessage());
+        }
+    }
+
+    // Devuelve cuántos quedaron guardados; los bloques rechazados vuelven al buffer
+    private int persist(List<Location> batch) {
+        int persisted = 0;
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            List<Location> chunk = batch.subList(from, Math.min(from + batchSize, batch.size()));
+            try {
+                locationRepository.saveAll(chunk);
+                persisted += chunk.size();
+            } catch (RuntimeException e) {
+                persistFailed.increment(chunk.size());
+                log.warn("⚠️ No se pudieron guardar {} pings, vuelven al buffer: {}", chunk.size(), e.getMessage());
+                requeue(chunk);
+            }
+        }
+        return persisted;
+    }
+
+    // Como offer, pero sin pisar un ping más nuevo del mismo conductor
+    private void requeue(List<Location> locations) {
+        for (Location location : locations) {
+            Stripe stripe = stripeFor(location.getDriverId());
+            stripe.lock.lock();
+            try {
+                Location current = stripe.pending.get(location.getDriverId());
+                if (current != null) {
+                    if (location.getTimestamp().isAfter(current.getTimestamp())) {
+                        stripe.pending.put(location.getDriverId(), location);
+                    }
+                } else if (pending.get() >= maxPending) {
+                    dropped.increment();
+                } else {
+                    stripe.pending.put(location.getDriverId(), location);
+                    pending.incrementAndGet();
+                    requeued.increment();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    // ===== AUXILIARES =====
+
+    private List<Location> drain() {
+        List<Location> batch = new ArrayList<>(pending.get());
+        for (Stripe stripe : stripes) {
+            Map<Long, Location> drained;
+            stripe.lock.lock();
+            try {
+                if (stripe.pending.isEmpty()) {
+                    continue;
+                }
+                drained = stripe.pending;
+                stripe.pending = new HashMap<>();
+                pending.addAndGet(-drained.size());
+            } finally {
+                stripe.lock.unlock();
+            }
+            batch.addAll(drained.values());
+        }
+        return batch;
+    }
+
+    private Stripe stripeFor(Long driverId) {
+        long h = driverId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 32) & (stripes.length - 1)];
+    }
+
+    private double coalescingRatio() {
+        double total = received.count();
+        return total == 0 ? 0.0 : coalesced.count() / total;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<Long, Location> pending = new HashMap<>();
+    }
+}
@@ -0,0 +1,63 @@
+package com.uber.location.application.services;
+
+import com.uber.location.domain.model.DriverDensity;
+import com.uber.location.domain.model.Location;
+import com.uber.location.domain.ports.in.LocationUseCase;
+import com.uber.location.domain.ports.out.DriverLocationIndex;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🧠 SERVICIO DE APLICACIÓN - Location Service
+ *
+ * Los pings entran al buffer de ingesta; las consultas se responden
+ * directamente desde el índice en memoria.
+ */
+@Service
+public class LocationService implements LocationUseCase {
+
+    private final LocationIngestionBuffer ingestionBuffer;
+    private final DriverLocationIndex driverLocationIndex;
+
+    public LocationService(LocationIngestionBuffer ingestionBuffer, DriverLocationIndex driverLocationIndex) {
+        this.ingestionBuffer = ingestionBuffer;
+        this.driverLocationIndex = driverLocationIndex;
+    }
+
+    @Override
+    public boolean reportLocation(Location location) {
+        if (location.getTimestamp() == null) {
+            location.setTimestamp(LocalDateTime.now());
+        }
+        return ingestionBuffer.offer(location);
+    }
+
+    @Override
+    public int reportLocations(List<Location> locations) {
+        int accepted = 0;
+        for (Location location : locations) {
+            if (reportLocation(location)) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    @Override
+    public Optional<Location> getDriverLocation(Long driverId) {
+        return driverLocationIndex.findByDriverId(driverId);
+    }
+
+    @Override
+    public List<Location> findNearbyDrivers(double latitude, double longitude, int limit, double radiusKm) {
+        return driverLocationIndex.nearest(limit, latitude, longitude, radiusKm);
+    }
+
+    @Override
+    public List<DriverDensity> getDriverDensity(double cellSizeDeg) {
+        return driverLocationIndex.availableByCell(cellSizeDeg);
+    }
+}
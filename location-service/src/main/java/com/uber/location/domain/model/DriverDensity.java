@@ -0,0 +1,10 @@
+package com.uber.location.domain.model;
+
+/**
+ * 📍 DOMINIO - Conductores disponibles en una celda de la grilla
+ *
+ * La celda (row, column) cubre las latitudes [row, row + 1) * cellSizeDeg
+ * y las longitudes [column, column + 1) * cellSizeDeg.
+ */
+public record DriverDensity(int row, int column, int availableDrivers) {
+}
@@ -26,12 +26,10 @@ public class Location {
         this.isAvailable = true;
     }
 
-    // 📌 LÓGICA DE NEGOCIO: Calcular distancia (simplificado)
+    // 📌 LÓGICA DE NEGOCIO: Calcular distancia en km (Haversine)
+    // Para comparar muchos puntos sin crear objetos, usar GeoDistance directamente
     public double calculateDistance(double targetLat, double targetLon) {
-        // Fórmula simplificada (en el mundo real usarías Haversine)
-        double latDiff = targetLat - this.latitude;
-        double lonDiff = targetLon - this.longitude;
-        return Math.sqrt(latDiff * latDiff + lonDiff * lonDiff) * 111; // Aprox. km
+        return GeoDistance.haversineKm(this.latitude, this.longitude, targetLat, targetLon);
     }
 
     // Getters y Setters
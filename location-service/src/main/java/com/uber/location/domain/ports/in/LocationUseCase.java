@@ -0,0 +1,29 @@
+package com.uber.location.domain.ports.in;
+
+import com.uber.location.domain.model.DriverDensity;
+import com.uber.location.domain.model.Location;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🚪 PUERTO DE ENTRADA - Location Use Cases
+ *
+ * Define las operaciones que se pueden hacer con ubicaciones GPS.
+ */
+public interface LocationUseCase {
+
+    // Recibir un ping GPS (false si el servicio está saturado)
+    boolean reportLocation(Location location);
+
+    // Recibir un lote de pings; devuelve cuántos fueron aceptados
+    int reportLocations(List<Location> locations);
+
+    // Última ubicación conocida de un conductor
+    Optional<Location> getDriverLocation(Long driverId);
+
+    // Conductores disponibles más cercanos a un punto
+    List<Location> findNearbyDrivers(double latitude, double longitude, int limit, double radiusKm);
+
+    // Oferta: conductores disponibles por celda de la grilla
+    List<DriverDensity> getDriverDensity(double cellSizeDeg);
+}
@@ -0,0 +1,34 @@
+package com.uber.location.domain.ports.out;
+
+import com.uber.location.domain.model.DriverDensity;
+import com.uber.location.domain.model.Location;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🚪 PUERTO DE SALIDA - Índice geoespacial de conductores
+ *
+ * Guarda la última ubicación conocida de cada conductor (clave: driverId)
+ * y responde consultas por cercanía sin recorrer toda la flota.
+ */
+public interface DriverLocationIndex {
+
+    // Actualiza la posición del conductor (se ignoran pings más viejos que el actual)
+    void update(Location location);
+
+    // Elimina al conductor del índice
+    void remove(Long driverId);
+
+    Optional<Location> findByDriverId(Long driverId);
+
+    // Los k conductores disponibles más cercanos dentro del radio, ordenados por distancia
+    List<Location> nearest(int k, double latitude, double longitude, double radiusKm);
+
+    // Todos los conductores disponibles dentro del radio (sin orden)
+    List<Location> withinRadius(double latitude, double longitude, double radiusKm);
+
+    // Conductores disponibles por celda de cellSizeDeg grados (solo celdas con al menos uno)
+    List<DriverDensity> availableByCell(double cellSizeDeg);
+
+    int size();
+}
@@ -0,0 +1,14 @@
+package com.uber.location.domain.ports.out;
+
+import com.uber.location.domain.model.Location;
+import java.util.List;
+
+/**
+ * 🚪 PUERTO DE SALIDA - Location Repository
+ *
+ * Historial de posiciones. Se escribe por lotes, nunca ping por ping.
+ */
+public interface LocationRepository {
+
+    void saveAll(List<Location> locations);
+}
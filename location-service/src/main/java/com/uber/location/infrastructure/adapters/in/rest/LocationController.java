@@ -0,0 +1,98 @@
+package com.uber.location.infrastructure.adapters.in.rest;
+
+import com.uber.location.domain.model.DriverDensity;
+import com.uber.location.domain.model.Location;
+import com.uber.location.domain.ports.in.LocationUseCase;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📡 ADAPTADOR REST - Location Controller
+ *
+ * Expone endpoints HTTP para recibir pings GPS y consultar conductores.
+ */
+@RestController
+@RequestMapping("/api/locations")
+public class LocationController {
+
+    private static final int MAX_NEARBY_LIMIT = 1000;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+
+    // Celdas más chicas (~100 m) multiplican las celdas sin aportar a la tarifa dinámica
+    private static final double MIN_DENSITY_CELL_DEG = 0.001;
+
+    private final LocationUseCase locationUseCase;
+
+    public LocationController(LocationUseCase locationUseCase) {
+        this.locationUseCase = locationUseCase;
+    }
+
+    /**
+     * POST /api/locations
+     * Enviar un ping GPS (202 aceptado, 429 si el servicio está saturado)
+     */
+    @PostMapping
+    public ResponseEntity<Void> reportLocation(@RequestBody Location location) {
+        if (location.getDriverId() == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return locationUseCase.reportLocation(location)
+                ? new ResponseEntity<>(HttpStatus.ACCEPTED)
+                : new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * POST /api/locations/batch
+     * Enviar un lote de pings GPS
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Integer>> reportLocations(@RequestBody List<Location> locations) {
+        if (locations.stream().anyMatch(location -> location.getDriverId() == null)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int accepted = locationUseCase.reportLocations(locations);
+        Map<String, Integer> body = Map.of("accepted", accepted, "rejected", locations.size() - accepted);
+        HttpStatus status = accepted == locations.size() ? HttpStatus.ACCEPTED : HttpStatus.TOO_MANY_REQUESTS;
+        return new ResponseEntity<>(body, status);
+    }
+
+    /**
+     * GET /api/locations/drivers/{driverId}
+     * Última ubicación conocida de un conductor
+     */
+    @GetMapping("/drivers/{driverId}")
+    public ResponseEntity<Location> getDriverLocation(@PathVariable Long driverId) {
+        return locationUseCase.getDriverLocation(driverId)
+                .map(ResponseEntity::ok)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * GET /api/locations/drivers/nearby?lat=4.65&lon=-74.05&limit=10&radiusKm=5
+     * Conductores disponibles más cercanos (hasta 1000, en un radio de hasta 50 km)
+     */
+    @GetMapping("/drivers/nearby")
+    public ResponseEntity<List<Location>> findNearbyDrivers(@RequestParam double lat,
+                                                            @RequestParam double lon,
+                                                            @RequestParam(defaultValue = "10") int limit,
+                                                            @RequestParam(defaultValue = "5") double radiusKm) {
+        return ResponseEntity.ok(locationUseCase.findNearbyDrivers(lat, lon,
+                Math.min(Math.max(limit, 1), MAX_NEARBY_LIMIT), Math.min(radiusKm, MAX_NEARBY_RADIUS_KM)));
+    }
+
+    /**
+     * GET /api/locations/drivers/density?cellSizeDeg=0.01
+     * Conductores disponibles por celda de la grilla (oferta para la tarifa dinámica)
+     */
+    @GetMapping("/drivers/density")
+    public ResponseEntity<List<DriverDensity>> getDriverDensity(@RequestParam(defaultValue = "0.01") double cellSizeDeg) {
+        if (!(cellSizeDeg >= MIN_DENSITY_CELL_DEG) || cellSizeDeg > 1) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(locationUseCase.getDriverDensity(cellSizeDeg));
+    }
+}
@@ -0,0 +1,127 @@
+package com.uber.location.infrastructure.adapters.in.rpc;
+
+import com.uber.location.domain.model.DriverDensity;
+import com.uber.location.domain.model.Location;
+import com.uber.location.domain.ports.in.LocationUseCase;
+import com.uber.rpc.RpcFrames;
+import com.uber.rpc.RpcServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * 🛰️ ADAPTADOR RPC (Entrada) - Conductores por frames binarios
+ *
+ * Las consultas que el despacho y la tarifa dinámica de ride-service
+ * hacen muchas veces por segundo (ver RpcFrames para el formato):
+ *
+ *   1 NEARBY_DRIVERS   lat, lon: double, limit: int, radiusKm: double
+ *                      -> n: int, n × (driverId: long, lat: double, lon: double)
+ *   2 DRIVER_DENSITY   cellSizeDeg: double -> n: int, n × (row, column, drivers: int)
+ *   3 DRIVER_LOCATION  driverId: long
+ *                      -> driverId: long, lat, lon: double, available: byte | NOT_FOUND
+ */
+@Component
+@ConditionalOnProperty(name = "rpc.enabled", havingValue = "true", matchIfMissing = true)
+public class LocationRpcEndpoint implements RpcServer.Handler {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationRpcEndpoint.class);
+
+    static final byte NEARBY_DRIVERS = 1;
+    static final byte DRIVER_DENSITY = 2;
+    static final byte DRIVER_LOCATION = 3;
+
+    // Mismos límites que LocationController
+    private static final double MIN_DENSITY_CELL_DEG = 0.001;
+    private static final int MAX_NEARBY_LIMIT = 1000;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+
+    private final LocationUseCase locationUseCase;
+    private final Executor executor;
+    private final int port;
+    private RpcServer server;
+
+    public LocationRpcEndpoint(LocationUseCase locationUseCase,
+                               @Qualifier("applicationTaskExecutor") Executor executor,
+                               @Value("${rpc.port:9083}") int port) {
+        this.locationUseCase = locationUseCase;
+        this.executor = executor;
+        this.port = port;
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            server = new RpcServer("location-rpc", port, this, executor);
+            log.info("🛰️ RPC de ubicaciones escuchando en el puerto {}", server.port());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el puerto RPC " + port, e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        server.close();
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    @Override
+    public byte handle(byte operation, ByteBuffer request, RpcFrames.Payload response) {
+        switch (operation) {
+            case NEARBY_DRIVERS -> {
+                double latitude = request.getDouble();
+                double longitude = request.getDouble();
+                int limit = request.getInt();
+                double radiusKm = request.getDouble();
+                List<Location> drivers = locationUseCase.findNearbyDrivers(latitude, longitude,
+                        Math.min(Math.max(limit, 1), MAX_NEARBY_LIMIT), Math.min(radiusKm, MAX_NEARBY_RADIUS_KM));
+                response.putInt(drivers.size());
+                for (Location driver : drivers) {
+                    response.putLong(driver.getDriverId())
+                            .putDouble(driver.getLatitude())
+                            .putDouble(driver.getLongitude());
+                }
+            }
+            case DRIVER_DENSITY -> {
+                double cellSizeDeg = request.getDouble();
+                if (!(cellSizeDeg >= MIN_DENSITY_CELL_DEG) || cellSizeDeg > 1) {
+                    return RpcFrames.BAD_REQUEST;
+                }
+                List<DriverDensity> cells = locationUseCase.getDriverDensity(cellSizeDeg);
+                response.putInt(cells.size());
+                for (DriverDensity cell : cells) {
+                    response.putInt(cell.row()).putInt(cell.column()).putInt(cell.availableDrivers());
+                }
+            }
+            case DRIVER_LOCATION -> {
+                Optional<Location> location = locationUseCase.getDriverLocation(request.getLong());
+                if (location.isEmpty()) {
+                    return RpcFrames.NOT_FOUND;
+                }
+                response.putLong(location.get().getDriverId())
+                        .putDouble(location.get().getLatitude())
+                        .putDouble(location.get().getLongitude())
+                        .putBoolean(location.get().isAvailable());
+            }
+            default -> {
+                return RpcFrames.UNKNOWN_OPERATION;
+            }
+        }
+        return RpcFrames.OK;
+    }
+}
@@ -0,0 +1,200 @@
+package com.uber.location.infrastructure.adapters.out.index;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 🧱 ALMACÉN DE POSICIONES - Struct-of-arrays
+ *
+ * Guarda la posición viva de cada conductor en arreglos primitivos paralelos
+ * (un "slot" por conductor) en lugar de un objeto Location por conductor:
+ * ~60 bytes por conductor, sin Long ni LocalDateTime, y nada que recolectar
+ * cuando llegan pings nuevos.
+ *
+ * - driverId -> slot: tabla hash de direccionamiento abierto (long -> int).
+ *   Las búsquedas no usan lock; las altas sí (son raras comparadas con las
+ *   actualizaciones de posición). Un conductor conserva su slot para siempre:
+ *   darlo de baja solo marca el slot sin posición (NO_POSITION).
+ * - Cada slot tiene un contador de versión tipo seqlock: el escritor lo pone
+ *   impar mientras escribe y los lectores reintentan si lo ven cambiar.
+ * - Disponibilidad en un bitset; timestamps en epoch millis.
+ *
+ * La capacidad es fija (no hay redimensionado, así nunca se bloquea todo).
+ */
+final class DriverPositionStore {
+
+    static final int NO_SLOT = -1;
+
+    static final long NO_POSITION = Long.MIN_VALUE;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int capacity;
+
+    // ===== DATOS POR SLOT =====
+    private final long[] driverIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] timestamps;
+    private final int[] versions;
+    private final AtomicLongArray available;
+
+    // ===== MAPA driverId -> slot =====
+    private final long[] keys;
+    private final int[] slots;
+    private final int mask;
+
+    // Próximo slot sin usar (protegido por this)
+    private int nextSlot;
+    private volatile int size;
+
+    DriverPositionStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva");
+        }
+        this.capacity = capacity;
+        this.driverIds = new long[capacity];
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.timestamps = new long[capacity];
+        this.versions = new int[capacity];
+        this.available = new AtomicLongArray((capacity + 63) >>> 6);
+
+        // Factor de carga <= 0.5 para que las secuencias de sondeo sean cortas
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        this.keys = new long[tableSize];
+        this.slots = new int[tableSize];
+        this.mask = tableSize - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // ===== MAPA =====
+
+    /** Slot del conductor o NO_SLOT. No usa lock. */
+    int slotOf(long driverId) {
+        int i = hash(driverId) & mask;
+        while (true) {
+            long key = (long) LONGS.getAcquire(keys, i);
+            if (key == driverId) {
+                return slots[i];
+            }
+            if (key == EMPTY) {
+                return NO_SLOT;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /** Slot del conductor, reservando uno nuevo si no existe. */
+    int slotFor(long driverId) {
+        int slot = slotOf(driverId);
+        return slot != NO_SLOT ? slot : insert(driverId);
+    }
+
+    private synchronized int insert(long driverId) {
+        if (driverId == EMPTY) {
+            throw new IllegalArgumentException("driverId inválido: " + driverId);
+        }
+        int i = hash(driverId) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == driverId) {
+                return slots[i];
+            }
+            i = (i + 1) & mask;
+        }
+        if (nextSlot == capacity) {
+            throw new IllegalStateException("Capacidad de conductores agotada: " + capacity);
+        }
+        int slot = nextSlot++;
+        driverIds[slot] = driverId;
+        timestamps[slot] = NO_POSITION;
+        slots[i] = slot;
+        // Publica la clave después del valor: un lector que ve la clave ve también el slot
+        LONGS.setRelease(keys, i, driverId);
+        size = nextSlot;
+        return slot;
+    }
+
+    // Conductores con slot asignado (incluye los dados de baja)
+    int size() {
+        return size;
+    }
+
+    // ===== ESCRITURA (seqlock) =====
+
+    /** Toma el slot para escritura (exclusiva) y devuelve la versión a pasar a endWrite. */
+    int beginWrite(int slot) {
+        while (true) {
+            int version = (int) INTS.getVolatile(versions, slot);
+            if ((version & 1) == 0 && INTS.compareAndSet(versions, slot, version, version + 1)) {
+                return version + 1;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    void write(int slot, double latitude, double longitude, long timestampMillis, boolean isAvailable) {
+        latitudes[slot] = latitude;
+        longitudes[slot] = longitude;
+        timestamps[slot] = timestampMillis;
+        setAvailable(slot, isAvailable);
+    }
+
+    void clear(int slot) {
+        timestamps[slot] = NO_POSITION;
+        setAvailable(slot, false);
+    }
+
+    void endWrite(int slot, int version) {
+        INTS.setRelease(versions, slot, version + 1);
+    }
+
+    // ===== LECTURA =====
+
+    /** Versión estable (par) para una lectura optimista. */
+    int beginRead(int slot) {
+        int version;
+        while (((version = (int) INTS.getAcquire(versions, slot)) & 1) != 0) {
+            Thread.onSpinWait();
+        }
+        return version;
+    }
+
+    /** true si nadie escribió el slot desde beginRead. */
+    boolean validate(int slot, int version) {
+        VarHandle.acquireFence();
+        return (int) INTS.getVolatile(versions, slot) == version;
+    }
+
+    // Lecturas sueltas: dentro de una escritura o entre beginRead/validate
+    long driverId(int slot) { return driverIds[slot]; }
+    double latitude(int slot) { return latitudes[slot]; }
+    double longitude(int slot) { return longitudes[slot]; }
+    long timestamp(int slot) { return timestamps[slot]; }
+
+    boolean isAvailable(int slot) {
+        return (available.get(slot >>> 6) & (1L << slot)) != 0;
+    }
+
+    // ===== AUXILIARES =====
+
+    private void setAvailable(int slot, boolean value) {
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        if (value) {
+            available.getAndAccumulate(word, bit, (current, b) -> current | b);
+        } else {
+            available.getAndAccumulate(word, bit, (current, b) -> current & ~b);
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,446 @@
+package com.uber.location.infrastructure.adapters.out.index;
+
+import com.uber.location.domain.model.DriverDensity;
+import com.uber.location.domain.model.GeoDistance;
+import com.uber.location.domain.model.Location;
+import com.uber.location.domain.ports.out.DriverLocationIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🗺️ ADAPTADOR - Índice de conductores en grilla (en memoria)
+ *
+ * Divide el mapa en celdas de tamaño fijo (en grados). Cada celda guarda los
+ * slots de los conductores que están dentro, así una búsqueda solo revisa
+ * las celdas cercanas en lugar de toda la flota.
+ *
+ * Las posiciones viven en un DriverPositionStore (arreglos primitivos).
+ * Location solo se crea al devolver resultados: es la vista de la API.
+ *
+ * Concurrencia: no hay lock global. Cada conductor se escribe bajo el
+ * seqlock de su slot y cada celda es un arreglo copy-on-write propio. Las
+ * consultas no toman locks: leen el arreglo de la celda y validan la
+ * versión del slot.
+ *
+ * Las distancias se calculan con GeoDistance en modo equirectangular
+ * (coseno precalculado por consulta): a escala de ciudad el error es
+ * despreciable y evita la trigonometría de Haversine por candidato.
+ *
+ * Limitación: no maneja el cruce del antimeridiano (±180°).
+ */
+@Component
+public class GridDriverLocationIndex implements DriverLocationIndex {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final double cellSizeDeg;
+    private final DriverPositionStore store;
+
+    // celda -> slots de los conductores que están en ella
+    private final ConcurrentHashMap<Long, CellSlots> cells = new ConcurrentHashMap<>();
+
+    private final AtomicInteger positioned = new AtomicInteger();
+
+    public GridDriverLocationIndex(@Value("${location.index.cell-size-deg:0.01}") double cellSizeDeg,
+                                   @Value("${location.store.capacity:1048576}") int capacity) {
+        if (cellSizeDeg <= 0) {
+            throw new IllegalArgumentException("El tamaño de celda debe ser positivo");
+        }
+        this.cellSizeDeg = cellSizeDeg;
+        this.store = new DriverPositionStore(capacity);
+    }
+
+    @Override
+    public void update(Location location) {
+        Long driverId = location.getDriverId();
+        if (driverId == null) {
+            throw new IllegalArgumentException("La ubicación debe tener driverId");
+        }
+        long timestamp = location.getTimestamp() != null
+                ? location.getTimestamp().atZone(ZONE).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        long newCell = cellKey(location.getLatitude(), location.getLongitude());
+
+        int slot = store.slotFor(driverId);
+        int version = store.beginWrite(slot);
+        try {
+            long previous = store.timestamp(slot);
+            if (previous == DriverPositionStore.NO_POSITION) {
+                cell(newCell).add(slot);
+                positioned.incrementAndGet();
+            } else if (timestamp < previous) {
+                return;  // ping viejo que llegó tarde
+            } else {
+                long oldCell = cellKey(store.latitude(slot), store.longitude(slot));
+                if (oldCell != newCell) {
+                    cell(oldCell).remove(slot);
+                    cell(newCell).add(slot);
+                }
+            }
+            store.write(slot, location.getLatitude(), location.getLongitude(), timestamp, location.isAvailable());
+        } finally {
+            store.endWrite(slot, version);
+        }
+    }
+
+    @Override
+    public void remove(Long driverId) {
+        int slot = store.slotOf(driverId);
+        if (slot == DriverPositionStore.NO_SLOT) {
+            return;
+        }
+        int version = store.beginWrite(slot);
+        try {
+            if (store.timestamp(slot) != DriverPositionStore.NO_POSITION) {
+                cell(cellKey(store.latitude(slot), store.longitude(slot))).remove(slot);
+                store.clear(slot);
+                positioned.decrementAndGet();
+            }
+        } finally {
+            store.endWrite(slot, version);
+        }
+    }
+
+    @Override
+    public Optional<Location> findByDriverId(Long driverId) {
+        int slot = store.slotOf(driverId);
+        return slot == DriverPositionStore.NO_SLOT ? Optional.empty() : Optional.ofNullable(toView(slot));
+    }
+
+    @Override
+    public List<Location> nearest(int k, double latitude, double longitude, double radiusKm) {
+        if (k <= 0 || radiusKm <= 0) {
+            return List.of();
+        }
+        // Nunca más lugares que conductores registrados, pida quien pida
+        BoundedMaxHeap best = new BoundedMaxHeap(Math.min(k, Math.max(store.size(), 1)));
+
+        int centerLat = cellIndex(latitude);
+        int centerLon = cellIndex(longitude);
+        int latSpan = latCellSpan(radiusKm);
+        int lonSpan = lonCellSpan(latitude, radiusKm);
+        int maxRing = Math.max(latSpan, lonSpan);
+        double ringKm = minCellKm(latitude, radiusKm);
+        double cosLat = Math.cos(Math.toRadians(latitude));
+
+        // Búsqueda por anillos: se detiene cuando ningún anillo exterior puede mejorar el resultado
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int di = -ring; di <= ring; di++) {
+                if (Math.abs(di) > latSpan) {
+                    continue;
+                }
+                boolean edgeRow = Math.abs(di) == ring;
+                for (int dj = -ring; dj <= ring; dj += edgeRow ? 1 : 2 * ring) {
+                    if (Math.abs(dj) > lonSpan) {
+                        continue;
+                    }
+                    long key = packCell(centerLat + di, centerLon + dj);
+                    CellSlots cell = cells.get(key);
+                    if (cell != null) {
+                        collectNearest(cell.members, key, latitude, longitude, cosLat, radiusKm, best);
+                    }
+                }
+            }
+            if (best.isFull() && best.maxDistance() <= ring * ringKm) {
+                break;
+            }
+        }
+
+        int[] ordered = best.drainAscending();
+        List<Location> result = new ArrayList<>(ordered.length);
+        for (int slot : ordered) {
+            Location view = toView(slot);
+            if (view != null) {
+                result.add(view);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Location> withinRadius(double latitude, double longitude, double radiusKm) {
+        List<Location> result = new ArrayList<>();
+        if (radiusKm <= 0) {
+            return result;
+        }
+        int centerLat = cellIndex(latitude);
+        int centerLon = cellIndex(longitude);
+        int latSpan = latCellSpan(radiusKm);
+        int lonSpan = lonCellSpan(latitude, radiusKm);
+        double latDelta = GeoDistance.latDeltaDeg(radiusKm);
+        double lonDelta = GeoDistance.lonDeltaDeg(latitude, radiusKm);
+        double cosLat = Math.cos(Math.toRadians(latitude));
+
+        for (int i = centerLat - latSpan; i <= centerLat + latSpan; i++) {
+            for (int j = centerLon - lonSpan; j <= centerLon + lonSpan; j++) {
+                long key = packCell(i, j);
+                CellSlots cell = cells.get(key);
+                if (cell == null) {
+                    continue;
+                }
+                for (int slot : cell.members) {
+                    double lat;
+                    double lon;
+                    boolean available;
+                    int version;
+                    do {
+                        version = store.beginRead(slot);
+                        lat = store.latitude(slot);
+                        lon = store.longitude(slot);
+                        available = store.isAvailable(slot);
+                    } while (!store.validate(slot, version));
+
+                    if (available
+                            && cellKey(lat, lon) == key
+                            && GeoDistance.inBoundingBox(lat, lon, latitude, longitude, latDelta, lonDelta)
+                            && GeoDistance.equirectangularKm(latitude, longitude, lat, lon, cosLat) <= radiusKm) {
+                        Location view = toView(slot);
+                        if (view != null) {
+                            result.add(view);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<DriverDensity> availableByCell(double cellSizeDeg) {
+        if (cellSizeDeg <= 0) {
+            throw new IllegalArgumentException("El tamaño de celda debe ser positivo");
+        }
+        // Recorre las celdas del índice y reagrupa en la grilla pedida (puede ser de otro tamaño)
+        Map<Long, int[]> counts = new HashMap<>();
+        cells.forEach((key, cell) -> {
+            for (int slot : cell.members) {
+                double lat;
+                double lon;
+                boolean available;
+                int version;
+                do {
+                    version = store.beginRead(slot);
+                    lat = store.latitude(slot);
+                    lon = store.longitude(slot);
+                    available = store.isAvailable(slot);
+                } while (!store.validate(slot, version));
+
+                if (available && cellKey(lat, lon) == key) {
+                    long target = packCell((int) Math.floor(lat / cellSizeDeg), (int) Math.floor(lon / cellSizeDeg));
+                    counts.computeIfAbsent(target, k -> new int[1])[0]++;
+                }
+            }
+        });
+        List<DriverDensity> result = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> result.add(new DriverDensity((int) (key >> 32), key.intValue(), count[0])));
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return positioned.get();
+    }
+
+    // ===== AUXILIARES =====
+
+    private void collectNearest(int[] members, long key, double latitude, double longitude, double cosLat,
+                                double radiusKm, BoundedMaxHeap best) {
+        for (int slot : members) {
+            double lat;
+            double lon;
+            boolean available;
+            int version;
+            do {
+                version = store.beginRead(slot);
+                lat = store.latitude(slot);
+                lon = store.longitude(slot);
+                available = store.isAvailable(slot);
+            } while (!store.validate(slot, version));
+
+            // Si el conductor se está mudando de celda, se cuenta solo en la celda donde está
+            if (!available || cellKey(lat, lon) != key) {
+                continue;
+            }
+            double distance = GeoDistance.equirectangularKm(latitude, longitude, lat, lon, cosLat);
+            if (distance <= radiusKm) {
+                best.offer(distance, slot);
+            }
+        }
+    }
+
+    // Vista Location del slot (null si el conductor fue dado de baja)
+    private Location toView(int slot) {
+        long driverId;
+        double lat;
+        double lon;
+        long timestamp;
+        boolean available;
+        int version;
+        do {
+            version = store.beginRead(slot);
+            driverId = store.driverId(slot);
+            lat = store.latitude(slot);
+            lon = store.longitude(slot);
+            timestamp = store.timestamp(slot);
+            available = store.isAvailable(slot);
+        } while (!store.validate(slot, version));
+
+        if (timestamp == DriverPositionStore.NO_POSITION) {
+            return null;
+        }
+        Location location = new Location();
+        location.setDriverId(driverId);
+        location.setLatitude(lat);
+        location.setLongitude(lon);
+        location.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZONE));
+        location.setAvailable(available);
+        return location;
+    }
+
+    private CellSlots cell(long key) {
+        return cells.computeIfAbsent(key, k -> new CellSlots());
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellSizeDeg);
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return packCell(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private static long packCell(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    private int latCellSpan(double radiusKm) {
+        return (int) Math.ceil(GeoDistance.latDeltaDeg(radiusKm) / cellSizeDeg);
+    }
+
+    private int lonCellSpan(double latitude, double radiusKm) {
+        return (int) Math.ceil(GeoDistance.lonDeltaDeg(latitude, radiusKm) / cellSizeDeg);
+    }
+
+    // Ancho mínimo (km) de una celda dentro de la zona consultada
+    private double minCellKm(double latitude, double radiusKm) {
+        double edge = Math.min(Math.abs(latitude) + GeoDistance.latDeltaDeg(radiusKm), 89.9);
+        return cellSizeDeg * GeoDistance.KM_PER_DEGREE * Math.cos(Math.toRadians(edge));
+    }
+
+    /**
+     * Slots de una celda. Copy-on-write: las celdas tienen pocos conductores,
+     * copiar el arreglo es barato y los lectores nunca esperan. Las celdas
+     * vacías no se eliminan, así una alta nunca cae en una celda descartada.
+     */
+    private static final class CellSlots {
+        private volatile int[] members = new int[0];
+
+        synchronized void add(int slot) {
+            int[] current = members;
+            int[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = slot;
+            members = next;
+        }
+
+        synchronized void remove(int slot) {
+            int[] current = members;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == slot) {
+                    int[] next = new int[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                    members = next;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Max-heap de tamaño fijo sobre arreglos primitivos: en la cima queda el
+     * más lejano de los k mejores candidatos.
+     */
+    private static final class BoundedMaxHeap {
+        private final double[] distances;
+        private final int[] slots;
+        private int size;
+
+        BoundedMaxHeap(int capacity) {
+            this.distances = new double[capacity];
+            this.slots = new int[capacity];
+        }
+
+        boolean isFull() {
+            return size == distances.length;
+        }
+
+        double maxDistance() {
+            return distances[0];
+        }
+
+        void offer(double distance, int slot) {
+            if (size < distances.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (distances[parent] >= distance) {
+                        break;
+                    }
+                    distances[i] = distances[parent];
+                    slots[i] = slots[parent];
+                    i = parent;
+                }
+                distances[i] = distance;
+                slots[i] = slot;
+            } else if (distance < distances[0]) {
+                siftDown(distance, slot);
+            }
+        }
+
+        int[] drainAscending() {
+            int[] ordered = new int[size];
+            for (int i = ordered.length - 1; i >= 0; i--) {
+                ordered[i] = slots[0];
+                size--;
+                if (size > 0) {
+                    siftDown(distances[size], slots[size]);
+                }
+            }
+            return ordered;
+        }
+
+        // Reemplaza la cima por (distance, slot) y la hunde hasta su lugar
+        private void siftDown(double distance, int slot) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && distances[child + 1] > distances[child]) {
+                    child++;
+                }
+                if (distances[child] <= distance) {
+                    break;
+                }
+                distances[i] = distances[child];
+                slots[i] = slots[child];
+                i = child;
+            }
+            distances[i] = distance;
+            slots[i] = slot;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.uber.location.infrastructure.adapters.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 🗄️ REPOSITORIO JPA - Location Repository
+ */
+@Repository
+public interface JpaLocationRepository extends JpaRepository<LocationEntity, Long> {
+}
@@ -0,0 +1,70 @@
+package com.uber.location.infrastructure.adapters.out.persistence;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 💾 ENTIDAD JPA - Location Entity
+ *
+ * Usa una secuencia con asignación por bloques (pooled) en lugar de IDENTITY,
+ * así Hibernate puede agrupar los INSERT en lotes JDBC.
+ */
+@Entity
+@Table(name = "locations", indexes = {
+        @Index(name = "idx_locations_driver_time", columnList = "driverId, timestamp")
+})
+public class LocationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "location_seq")
+    @SequenceGenerator(name = "location_seq", sequenceName = "location_seq", allocationSize = 500)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long driverId;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(nullable = false)
+    private boolean isAvailable;
+
+    // Constructores
+    public LocationEntity() {
+    }
+
+    public LocationEntity(Long id, Long driverId, double latitude, double longitude,
+                          LocalDateTime timestamp, boolean isAvailable) {
+        this.id = id;
+        this.driverId = driverId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.timestamp = timestamp;
+        this.isAvailable = isAvailable;
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getDriverId() { return driverId; }
+    public void setDriverId(Long driverId) { this.driverId = driverId; }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public boolean isAvailable() { return isAvailable; }
+    public void setAvailable(boolean available) { isAvailable = available; }
+}
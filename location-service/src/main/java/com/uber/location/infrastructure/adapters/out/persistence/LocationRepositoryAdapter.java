@@ -0,0 +1,45 @@
+package com.uber.location.infrastructure.adapters.out.persistence;
+
+import com.uber.location.domain.model.Location;
+import com.uber.location.domain.ports.out.LocationRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🔌 ADAPTADOR DE PERSISTENCIA - Location Repository Adapter
+ */
+@Component
+public class LocationRepositoryAdapter implements LocationRepository {
+
+    private final JpaLocationRepository jpaLocationRepository;
+
+    public LocationRepositoryAdapter(JpaLocationRepository jpaLocationRepository) {
+        this.jpaLocationRepository = jpaLocationRepository;
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(List<Location> locations) {
+        List<LocationEntity> entities = new ArrayList<>(locations.size());
+        for (Location location : locations) {
+            entities.add(toEntity(location));
+        }
+        jpaLocationRepository.saveAll(entities);
+    }
+
+    // ===== CONVERSIÓN =====
+
+    private LocationEntity toEntity(Location location) {
+        return new LocationEntity(
+                null,
+                location.getDriverId(),
+                location.getLatitude(),
+                location.getLongitude(),
+                location.getTimestamp(),
+                location.isAvailable()
+        );
+    }
+}
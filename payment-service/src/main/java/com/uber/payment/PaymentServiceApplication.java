@@ -0,0 +1,36 @@
+package com.uber.payment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 🚀 APLICACIÓN PRINCIPAL - Payment Service
+ */
+@SpringBootApplication
+@EnableScheduling
+public class PaymentServiceApplication {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentServiceApplication.class);
+
+    public static void main(String[] args) {
+        SpringApplication.run(PaymentServiceApplication.class, args);
+
+        log.info("""
+
+                ============================================================
+                🚀 PAYMENT SERVICE - INICIADO
+                ============================================================
+                📍 URL: http://localhost:8084
+                📡 Endpoints:
+                   POST   /api/payments                 - Registrar pago (idempotente)
+                   POST   /api/payments/batch           - Registrar lote de pagos
+                   POST   /api/payments/settle          - Liquidar pendientes
+                   GET    /api/payments/{id}            - Obtener pago
+                   GET    /api/payments/ride/{rideId}   - Pago de un viaje
+                   GET    /actuator/prometheus          - Métricas (Prometheus)
+                ============================================================""");
+    }
+}
@@ -0,0 +1,70 @@
+package com.uber.payment.application.services;
+
+import com.uber.payment.domain.model.Payment;
+import com.uber.payment.domain.ports.in.PaymentUseCase;
+import com.uber.payment.domain.ports.out.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🧠 SERVICIO DE APLICACIÓN - Payment Service
+ *
+ * Registra los pagos como PENDING; el cobro lo hace SettlementService en
+ * segundo plano. Registrar dos veces el mismo viaje devuelve el pago que
+ * ya existe, nunca crea otro.
+ */
+@Service
+public class PaymentService implements PaymentUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
+
+    private final PaymentRepository paymentRepository;
+
+    public PaymentService(PaymentRepository paymentRepository) {
+        this.paymentRepository = paymentRepository;
+    }
+
+    @Override
+    public Payment requestPayment(Long rideId, Long passengerId, double amount, Payment.PaymentMethod method) {
+        if (log.isDebugEnabled()) {
+            log.debug("💳 Pago solicitado para el viaje {}: ${}", rideId, amount);
+        }
+        return requestPayments(List.of(new Payment(rideId, passengerId, amount, method))).get(0);
+    }
+
+    @Override
+    public List<Payment> requestPayments(List<Payment> payments) {
+        for (Payment payment : payments) {
+            validate(payment);
+        }
+        return paymentRepository.saveAllIfAbsent(payments);
+    }
+
+    @Override
+    public Optional<Payment> getPaymentById(Long id) {
+        return paymentRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Payment> getPaymentByRideId(Long rideId) {
+        return paymentRepository.findByRideId(rideId);
+    }
+
+    // ===== VALIDACIÓN =====
+
+    private static void validate(Payment payment) {
+        if (payment.getRideId() == null || payment.getPassengerId() == null) {
+            throw new IllegalArgumentException("rideId y passengerId son obligatorios");
+        }
+        if (!(payment.getAmount() > 0)) {
+            throw new IllegalArgumentException("El monto debe ser positivo");
+        }
+        if (payment.getMethod() == null) {
+            throw new IllegalArgumentException("El método de pago es obligatorio");
+        }
+    }
+}
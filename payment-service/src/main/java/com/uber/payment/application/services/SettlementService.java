@@ -0,0 +1,206 @@
+package com.uber.payment.application.services;
+
+import com.uber.payment.application.services.settlement.RetryBackoff;
+import com.uber.payment.domain.model.ChargeResult;
+import com.uber.payment.domain.model.Payment;
+import com.uber.payment.domain.ports.in.SettlementUseCase;
+import com.uber.payment.domain.ports.out.PaymentGateway;
+import com.uber.payment.domain.ports.out.PaymentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🧠 SERVICIO DE APLICACIÓN - Liquidación de pagos
+ *
+ * Cada ronda:
+ * 1. Toma un lote de pagos PENDING vencidos (quedan PROCESSING, así otra
+ *    ronda u otra instancia no los vuelve a cobrar).
+ * 2. Los cobra en paralelo con a lo sumo payment.settlement.concurrency
+ *    llamadas simultáneas a la pasarela.
+ * 3. Guarda todos los resultados en una sola transacción.
+ *
+ * Errores transitorios: backoff exponencial hasta max-attempts, después
+ * FAILED. Si el proceso cae a mitad de un lote, los pagos quedan
+ * PROCESSING y releaseStalePayments los devuelve a PENDING; el reintento
+ * usa la misma clave de idempotencia, así la pasarela no cobra dos veces.
+ *
+ * Con el perfil "virtual" (Java 21) cada cobro corre en su propio virtual
+ * thread; el semáforo mantiene el límite de llamadas simultáneas.
+ */
+@Service
+public class SettlementService implements SettlementUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(SettlementService.class);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final RetryBackoff backoff;
+    private final Executor workers;
+    private final Semaphore gatewayPermits;
+    private final ReentrantLock batchLock = new ReentrantLock();
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration processingTimeout;
+
+    private final Counter completed;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final Timer gatewayTimer;
+
+    public SettlementService(PaymentRepository paymentRepository,
+                             PaymentGateway paymentGateway,
+                             MeterRegistry meterRegistry,
+                             Environment environment,
+                             @Value("${payment.settlement.batch-size:1000}") int batchSize,
+                             @Value("${payment.settlement.concurrency:200}") int concurrency,
+                             @Value("${payment.settlement.max-attempts:6}") int maxAttempts,
+                             @Value("${payment.settlement.backoff.base-ms:500}") long backoffBaseMs,
+                             @Value("${payment.settlement.backoff.max-ms:60000}") long backoffMaxMs,
+                             @Value("${payment.settlement.processing-timeout-ms:120000}") long processingTimeoutMs) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.backoff = new RetryBackoff(backoffBaseMs, backoffMaxMs);
+        this.workers = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("settlement-")
+                : Executors.newFixedThreadPool(concurrency, workerThreads());
+        this.gatewayPermits = new Semaphore(concurrency);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.processingTimeout = Duration.ofMillis(processingTimeoutMs);
+
+        this.completed = meterRegistry.counter("payment.settlement.completed");
+        this.retried = meterRegistry.counter("payment.settlement.retried");
+        this.failed = meterRegistry.counter("payment.settlement.failed");
+        this.batchTimer = meterRegistry.timer("payment.settlement.batch");
+        this.gatewayTimer = meterRegistry.timer("payment.gateway.latency");
+    }
+
+    @Scheduled(fixedDelayString = "${payment.settlement.interval-ms:100}")
+    public void scheduledSettlement() {
+        // Mientras haya lotes llenos no se espera al siguiente intervalo
+        int claimed;
+        do {
+            claimed = settlePendingPayments();
+        } while (claimed == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.settlement.stale-check-ms:30000}")
+    public void releaseStalePayments() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = paymentRepository.releaseStale(now.minus(processingTimeout), now);
+        if (released > 0) {
+            log.warn("♻️ Pagos PROCESSING vencidos devueltos a PENDING: {}", released);
+        }
+    }
+
+    @Override
+    public int settlePendingPayments() {
+        batchLock.lock();
+        try {
+            return batchTimer.record(this::settleBatch);
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    private int settleBatch() {
+        List<Payment> claimed = paymentRepository.claimDue(LocalDateTime.now(), batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<Payment>> charges = new ArrayList<>(claimed.size());
+        for (Payment payment : claimed) {
+            charges.add(CompletableFuture.supplyAsync(() -> settle(payment), workers));
+        }
+        List<Payment> results = new ArrayList<>(claimed.size());
+        for (CompletableFuture<Payment> charge : charges) {
+            results.add(charge.join());
+        }
+        paymentRepository.saveResults(results);
+        return claimed.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (workers instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+
+    // ===== COBRO =====
+
+    private Payment settle(Payment payment) {
+        if (payment.getMethod() == Payment.PaymentMethod.CASH) {
+            // El efectivo lo cobra el conductor: no pasa por la pasarela
+            payment.complete("CASH");
+            completed.increment();
+            return payment;
+        }
+        ChargeResult result;
+        try {
+            gatewayPermits.acquire();
+            try {
+                result = gatewayTimer.recordCallable(() -> paymentGateway.charge(payment));
+            } finally {
+                gatewayPermits.release();
+            }
+        } catch (Exception e) {
+            result = ChargeResult.retryable(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        switch (result.outcome()) {
+            case APPROVED -> {
+                payment.complete(result.reference());
+                completed.increment();
+            }
+            case DECLINED -> {
+                payment.fail(result.message());
+                failed.increment();
+            }
+            case RETRYABLE -> {
+                if (payment.getAttempts() >= maxAttempts) {
+                    payment.fail("Reintentos agotados: " + result.message());
+                    failed.increment();
+                } else {
+                    payment.retryAt(LocalDateTime.now().plus(backoff.delayFor(payment.getAttempts())),
+                            result.message());
+                    retried.increment();
+                }
+            }
+        }
+        return payment;
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "settlement-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.uber.payment.application.services.settlement;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ⏱️ Backoff exponencial con jitter para reintentos de cobro
+ *
+ * Intento n espera entre la mitad y el total de min(base * 2^(n-1), max):
+ * la parte aleatoria evita que una caída de la pasarela haga reintentar
+ * a todos los pagos en el mismo instante.
+ */
+public final class RetryBackoff {
+
+    private final long baseMs;
+    private final long maxMs;
+
+    public RetryBackoff(long baseMs, long maxMs) {
+        if (baseMs <= 0 || maxMs < baseMs) {
+            throw new IllegalArgumentException("Backoff inválido: base=" + baseMs + " max=" + maxMs);
+        }
+        this.baseMs = baseMs;
+        this.maxMs = maxMs;
+    }
+
+    public Duration delayFor(int attempt) {
+        int shift = Math.min(Math.max(attempt - 1, 0), 30);
+        long ceiling = Math.min(maxMs, baseMs << shift);
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+}
@@ -0,0 +1,28 @@
+package com.uber.payment.domain.model;
+
+/**
+ * 💳 DOMINIO - Respuesta de la pasarela a un cobro
+ *
+ * - APPROVED: cobrado, con la referencia de la pasarela.
+ * - DECLINED: rechazo definitivo (fondos, tarjeta inválida...).
+ * - RETRYABLE: error transitorio (timeout, 5xx); se puede reintentar con
+ *   la misma clave de idempotencia sin riesgo de cobrar dos veces.
+ */
+public record ChargeResult(Outcome outcome, String reference, String message) {
+
+    public enum Outcome {
+        APPROVED, DECLINED, RETRYABLE
+    }
+
+    public static ChargeResult approved(String reference) {
+        return new ChargeResult(Outcome.APPROVED, reference, null);
+    }
+
+    public static ChargeResult declined(String message) {
+        return new ChargeResult(Outcome.DECLINED, null, message);
+    }
+
+    public static ChargeResult retryable(String message) {
+        return new ChargeResult(Outcome.RETRYABLE, null, message);
+    }
+}
@@ -5,7 +5,13 @@ import java.time.LocalDateTime;
 /**
  * 💳 DOMINIO - Entidad Payment
  *
- * Representa un pago por un viaje.
+ * Representa un pago por un viaje. Hay a lo sumo un pago por viaje: el
+ * rideId es la clave de idempotencia, tanto en la base como ante la
+ * pasarela.
+ *
+ * Ciclo de vida: PENDING -> PROCESSING (tomado por un worker) -> COMPLETED
+ * o FAILED; un error transitorio lo devuelve a PENDING con un próximo
+ * intento programado.
  */
 public class Payment {
     private Long id;
@@ -15,9 +21,14 @@ public class Payment {
     private PaymentStatus status;
     private PaymentMethod method;
     private LocalDateTime processedAt;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String gatewayReference;
+    private String failureReason;
+    private LocalDateTime createdAt;
 
     public enum PaymentStatus {
-        PENDING, COMPLETED, FAILED, REFUNDED
+        PENDING, PROCESSING, COMPLETED, FAILED, REFUNDED
     }
 
     public enum PaymentMethod {
@@ -33,17 +44,44 @@ public class Payment {
         this.amount = amount;
         this.method = method;
         this.status = PaymentStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    // 📌 LÓGICA DE NEGOCIO: Clave de idempotencia ante la pasarela
+    public String idempotencyKey() {
+        return "ride-" + rideId;
+    }
+
+    // 📌 LÓGICA DE NEGOCIO: Cobro aprobado
+    public void complete(String gatewayReference) {
+        if (status != PaymentStatus.PROCESSING) {
+            throw new IllegalStateException("Solo se puede completar un pago en proceso");
+        }
+        this.status = PaymentStatus.COMPLETED;
+        this.gatewayReference = gatewayReference;
+        this.failureReason = null;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    // 📌 LÓGICA DE NEGOCIO: Error transitorio, se reintenta más tarde
+    public void retryAt(LocalDateTime nextAttemptAt, String reason) {
+        if (status != PaymentStatus.PROCESSING) {
+            throw new IllegalStateException("Solo se puede reintentar un pago en proceso");
+        }
+        this.status = PaymentStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.failureReason = reason;
     }
 
-    // 📌 LÓGICA DE NEGOCIO: Procesar pago
-    public void processPayment() {
-        // Simulación: 90% de éxito
-        if (Math.random() > 0.1) {
-            this.status = PaymentStatus.COMPLETED;
-            this.processedAt = LocalDateTime.now();
-        } else {
-            this.status = PaymentStatus.FAILED;
+    // 📌 LÓGICA DE NEGOCIO: Rechazo definitivo
+    public void fail(String reason) {
+        if (status != PaymentStatus.PROCESSING) {
+            throw new IllegalStateException("Solo se puede rechazar un pago en proceso");
         }
+        this.status = PaymentStatus.FAILED;
+        this.failureReason = reason;
+        this.processedAt = LocalDateTime.now();
     }
 
     // Getters y Setters
@@ -61,4 +99,14 @@ public class Payment {
     public void setMethod(PaymentMethod method) { this.method = method; }
     public LocalDateTime getProcessedAt() { return processedAt; }
     public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public String getGatewayReference() { return gatewayReference; }
+    public void setGatewayReference(String gatewayReference) { this.gatewayReference = gatewayReference; }
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
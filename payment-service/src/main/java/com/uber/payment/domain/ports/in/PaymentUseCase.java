@@ -0,0 +1,22 @@
+package com.uber.payment.domain.ports.in;
+
+import com.uber.payment.domain.model.Payment;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🚪 PUERTO DE ENTRADA - Casos de uso de pagos
+ */
+public interface PaymentUseCase {
+
+    // Registrar el pago de un viaje (idempotente por rideId)
+    Payment requestPayment(Long rideId, Long passengerId, double amount, Payment.PaymentMethod method);
+
+    // Registrar un lote de pagos; devuelve el pago vigente de cada viaje
+    List<Payment> requestPayments(List<Payment> payments);
+
+    Optional<Payment> getPaymentById(Long id);
+
+    Optional<Payment> getPaymentByRideId(Long rideId);
+}
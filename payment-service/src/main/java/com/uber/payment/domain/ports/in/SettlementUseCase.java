@@ -0,0 +1,10 @@
+package com.uber.payment.domain.ports.in;
+
+/**
+ * 🚪 PUERTO DE ENTRADA - Liquidación de pagos pendientes
+ */
+public interface SettlementUseCase {
+
+    // Procesa un lote de pagos PENDING vencidos; devuelve cuántos tomó
+    int settlePendingPayments();
+}
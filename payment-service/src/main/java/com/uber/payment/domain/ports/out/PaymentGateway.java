@@ -0,0 +1,16 @@
+package com.uber.payment.domain.ports.out;
+
+import com.uber.payment.domain.model.ChargeResult;
+import com.uber.payment.domain.model.Payment;
+
+/**
+ * 🔌 PUERTO DE SALIDA - Pasarela de pagos
+ *
+ * Implementaciones: SimulatedPaymentGateway (local). Una pasarela real
+ * debe enviar payment.idempotencyKey() para que un reintento no cobre dos
+ * veces.
+ */
+public interface PaymentGateway {
+
+    ChargeResult charge(Payment payment);
+}
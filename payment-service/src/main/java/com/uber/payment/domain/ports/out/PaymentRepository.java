@@ -0,0 +1,38 @@
+package com.uber.payment.domain.ports.out;
+
+import com.uber.payment.domain.model.Payment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🔌 PUERTO DE SALIDA - Repositorio de pagos
+ */
+public interface PaymentRepository {
+
+    /**
+     * Inserta los pagos cuyo rideId todavía no existe y devuelve, en el
+     * mismo orden, el pago guardado de cada viaje (el nuevo o el previo).
+     */
+    List<Payment> saveAllIfAbsent(List<Payment> payments);
+
+    Optional<Payment> findById(Long id);
+
+    Optional<Payment> findByRideId(Long rideId);
+
+    /**
+     * Toma hasta 'limit' pagos PENDING con nextAttemptAt <= now: pasan a
+     * PROCESSING y suman un intento. Ningún otro worker puede tomarlos.
+     */
+    List<Payment> claimDue(LocalDateTime now, int limit);
+
+    /**
+     * Guarda el resultado de pagos tomados con claimDue. Se ignora un pago
+     * que ya no está PROCESSING con ese mismo número de intento.
+     */
+    void saveResults(List<Payment> payments);
+
+    // Devuelve a PENDING los pagos PROCESSING tomados antes de 'claimedBefore'
+    int releaseStale(LocalDateTime claimedBefore, LocalDateTime now);
+}
@@ -0,0 +1,101 @@
+package com.uber.payment.infrastructure.adapters.in.rest;
+
+import com.uber.payment.domain.model.Payment;
+import com.uber.payment.domain.ports.in.PaymentUseCase;
+import com.uber.payment.domain.ports.in.SettlementUseCase;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📡 ADAPTADOR REST - Payment Controller
+ *
+ * Registrar un pago responde 202: queda PENDING y se cobra en segundo
+ * plano. Repetir la petición para el mismo viaje devuelve el mismo pago.
+ */
+@RestController
+@RequestMapping("/api/payments")
+public class PaymentController {
+
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private final PaymentUseCase paymentUseCase;
+    private final SettlementUseCase settlementUseCase;
+
+    public PaymentController(PaymentUseCase paymentUseCase, SettlementUseCase settlementUseCase) {
+        this.paymentUseCase = paymentUseCase;
+        this.settlementUseCase = settlementUseCase;
+    }
+
+    /**
+     * POST /api/payments
+     * Registrar el pago de un viaje
+     */
+    @PostMapping
+    public ResponseEntity<Payment> requestPayment(@RequestBody Map<String, Object> request) {
+        try {
+            Long rideId = Long.valueOf(request.get("rideId").toString());
+            Long passengerId = Long.valueOf(request.get("passengerId").toString());
+            double amount = Double.parseDouble(request.get("amount").toString());
+            Payment.PaymentMethod method = Payment.PaymentMethod.valueOf(request.get("method").toString());
+
+            Payment payment = paymentUseCase.requestPayment(rideId, passengerId, amount, method);
+            return new ResponseEntity<>(payment, HttpStatus.ACCEPTED);
+        } catch (NullPointerException | IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * POST /api/payments/batch
+     * Registrar varios pagos en una sola petición
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<Payment>> requestPayments(@RequestBody List<Payment> payments) {
+        if (payments.size() > MAX_BATCH_SIZE) {
+            return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        try {
+            List<Payment> fresh = payments.stream()
+                    .map(p -> new Payment(p.getRideId(), p.getPassengerId(), p.getAmount(), p.getMethod()))
+                    .toList();
+            return new ResponseEntity<>(paymentUseCase.requestPayments(fresh), HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * POST /api/payments/settle
+     * Ejecutar una ronda de liquidación a demanda
+     */
+    @PostMapping("/settle")
+    public ResponseEntity<Map<String, Integer>> settle() {
+        return ResponseEntity.ok(Map.of("claimed", settlementUseCase.settlePendingPayments()));
+    }
+
+    /**
+     * GET /api/payments/{id}
+     * Obtener un pago por ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Payment> getPaymentById(@PathVariable Long id) {
+        return paymentUseCase.getPaymentById(id)
+                .map(ResponseEntity::ok)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * GET /api/payments/ride/{rideId}
+     * Obtener el pago de un viaje
+     */
+    @GetMapping("/ride/{rideId}")
+    public ResponseEntity<Payment> getPaymentByRide(@PathVariable Long rideId) {
+        return paymentUseCase.getPaymentByRideId(rideId)
+                .map(ResponseEntity::ok)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,84 @@
+package com.uber.payment.infrastructure.adapters.out.gateway;
+
+import com.uber.payment.domain.model.ChargeResult;
+import com.uber.payment.domain.model.Payment;
+import com.uber.payment.domain.ports.out.PaymentGateway;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 🔌 ADAPTADOR - Pasarela de pagos simulada
+ *
+ * Para desarrollo y pruebas de carga. Latencia y tasas de error
+ * configurables (payment.gateway.simulated.*). Como una pasarela real,
+ * recuerda las claves de idempotencia: repetir un cobro aprobado devuelve
+ * la misma referencia en lugar de cobrar otra vez.
+ *
+ * Se reemplaza con payment.gateway.type=<otra> y otro @Component que
+ * implemente PaymentGateway.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "simulated", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final long latencyMs;
+    private final long latencyJitterMs;
+    private final double transientFailureRate;
+    private final double declineRate;
+
+    // Clave de idempotencia -> referencia del cobro aprobado
+    private final Map<String, String> approved = new ConcurrentHashMap<>();
+
+    public SimulatedPaymentGateway(@Value("${payment.gateway.simulated.latency-ms:20}") long latencyMs,
+                                   @Value("${payment.gateway.simulated.latency-jitter-ms:10}") long latencyJitterMs,
+                                   @Value("${payment.gateway.simulated.failure-rate:0.05}") double transientFailureRate,
+                                   @Value("${payment.gateway.simulated.decline-rate:0.01}") double declineRate,
+                                   MeterRegistry meterRegistry) {
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = latencyJitterMs;
+        this.transientFailureRate = transientFailureRate;
+        this.declineRate = declineRate;
+        // Cobros distintos aprobados: debe coincidir con los pagos COMPLETED no efectivo
+        Gauge.builder("payment.gateway.simulated.charges", approved, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public ChargeResult charge(Payment payment) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        sleep(latencyMs + (latencyJitterMs > 0 ? random.nextLong(latencyJitterMs + 1) : 0));
+
+        String previous = approved.get(payment.idempotencyKey());
+        if (previous != null) {
+            return ChargeResult.approved(previous);
+        }
+        double roll = random.nextDouble();
+        if (roll < transientFailureRate) {
+            return ChargeResult.retryable("Pasarela no disponible (simulado)");
+        }
+        if (roll < transientFailureRate + declineRate) {
+            return ChargeResult.declined("Tarjeta rechazada (simulado)");
+        }
+        String reference = approved.computeIfAbsent(payment.idempotencyKey(), key -> "sim-" + UUID.randomUUID());
+        return ChargeResult.approved(reference);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cobro interrumpido", e);
+        }
+    }
+}
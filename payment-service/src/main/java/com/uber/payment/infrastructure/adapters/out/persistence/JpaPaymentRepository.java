@@ -0,0 +1,42 @@
+package com.uber.payment.infrastructure.adapters.out.persistence;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🗄️ REPOSITORIO JPA - Spring Data genera la implementación
+ */
+@Repository
+public interface JpaPaymentRepository extends JpaRepository<PaymentEntity, Long> {
+
+    Optional<PaymentEntity> findByRideId(Long rideId);
+
+    List<PaymentEntity> findByRideIdIn(Collection<Long> rideIds);
+
+    // Candidatos a tomar: PENDING vencidos, los más atrasados primero
+    @Query("SELECT p.id FROM PaymentEntity p WHERE p.status = 'PENDING' AND p.nextAttemptAt <= :now " +
+            "ORDER BY p.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Limit limit);
+
+    // Solo toma los que siguen PENDING: si otro worker ganó, no los pisa
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentEntity p SET p.status = 'PROCESSING', p.attempts = p.attempts + 1, " +
+            "p.claimToken = :token, p.claimedAt = :now WHERE p.id IN :ids AND p.status = 'PENDING'")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    List<PaymentEntity> findByClaimToken(String claimToken);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentEntity p SET p.status = 'PENDING', p.claimToken = null, p.nextAttemptAt = :now " +
+            "WHERE p.status = 'PROCESSING' AND p.claimedAt < :claimedBefore")
+    int releaseStale(@Param("claimedBefore") LocalDateTime claimedBefore, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,121 @@
+package com.uber.payment.infrastructure.adapters.out.persistence;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 💾 ENTIDAD JPA - Payment Entity
+ *
+ * rideId es único: la base rechaza un segundo pago para el mismo viaje.
+ * claimToken identifica el lote que tomó el pago (PROCESSING).
+ */
+@Entity
+@Table(name = "payments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payments_ride", columnNames = "rideId"),
+        indexes = {
+                @Index(name = "idx_payments_due", columnList = "status, nextAttemptAt"),
+                @Index(name = "idx_payments_claim", columnList = "claimToken")
+        })
+public class PaymentEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payment_seq", allocationSize = 500)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long rideId;
+
+    @Column(nullable = false)
+    private Long passengerId;
+
+    @Column(nullable = false)
+    private double amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentMethod method;
+
+    @Column
+    private LocalDateTime processedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column
+    private LocalDateTime nextAttemptAt;
+
+    @Column
+    private String gatewayReference;
+
+    @Column
+    private String failureReason;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private String claimToken;
+
+    @Column
+    private LocalDateTime claimedAt;
+
+    public enum PaymentStatus {
+        PENDING, PROCESSING, COMPLETED, FAILED, REFUNDED
+    }
+
+    public enum PaymentMethod {
+        CREDIT_CARD, DEBIT_CARD, CASH, DIGITAL_WALLET
+    }
+
+    // Constructores
+    public PaymentEntity() {
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRideId() { return rideId; }
+    public void setRideId(Long rideId) { this.rideId = rideId; }
+
+    public Long getPassengerId() { return passengerId; }
+    public void setPassengerId(Long passengerId) { this.passengerId = passengerId; }
+
+    public double getAmount() { return amount; }
+    public void setAmount(double amount) { this.amount = amount; }
+
+    public PaymentStatus getStatus() { return status; }
+    public void setStatus(PaymentStatus status) { this.status = status; }
+
+    public PaymentMethod getMethod() { return method; }
+    public void setMethod(PaymentMethod method) { this.method = method; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getGatewayReference() { return gatewayReference; }
+    public void setGatewayReference(String gatewayReference) { this.gatewayReference = gatewayReference; }
+
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(LocalDateTime claimedAt) { this.claimedAt = claimedAt; }
+}
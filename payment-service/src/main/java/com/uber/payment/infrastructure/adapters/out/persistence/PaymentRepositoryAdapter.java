@@ -0,0 +1,176 @@
+package com.uber.payment.infrastructure.adapters.out.persistence;
+
+import com.uber.payment.domain.model.Payment;
+import com.uber.payment.domain.ports.out.PaymentRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 🔌 ADAPTADOR DE PERSISTENCIA - Payment Repository Adapter
+ *
+ * La idempotencia la garantiza la restricción única sobre rideId; la
+ * consulta previa solo evita provocar la violación en el caso común.
+ */
+@Component
+public class PaymentRepositoryAdapter implements PaymentRepository {
+
+    private final JpaPaymentRepository jpaPaymentRepository;
+
+    public PaymentRepositoryAdapter(JpaPaymentRepository jpaPaymentRepository) {
+        this.jpaPaymentRepository = jpaPaymentRepository;
+    }
+
+    @Override
+    public List<Payment> saveAllIfAbsent(List<Payment> payments) {
+        // Un pago por viaje también dentro del mismo lote (gana el primero)
+        Map<Long, Payment> byRide = new LinkedHashMap<>();
+        for (Payment payment : payments) {
+            byRide.putIfAbsent(payment.getRideId(), payment);
+        }
+        Map<Long, PaymentEntity> stored = findByRideIds(byRide.keySet());
+
+        List<PaymentEntity> fresh = new ArrayList<>();
+        for (Payment payment : byRide.values()) {
+            if (!stored.containsKey(payment.getRideId())) {
+                fresh.add(toEntity(payment));
+            }
+        }
+        if (!fresh.isEmpty()) {
+            try {
+                jpaPaymentRepository.saveAll(fresh);
+            } catch (DataIntegrityViolationException e) {
+                // Otra petición insertó alguno entre la consulta y el insert: uno por uno
+                for (PaymentEntity entity : fresh) {
+                    entity.setId(null);
+                    try {
+                        jpaPaymentRepository.save(entity);
+                    } catch (DataIntegrityViolationException duplicate) {
+                        // Ya existe: se devuelve el guardado
+                    }
+                }
+            }
+            stored = findByRideIds(byRide.keySet());
+        }
+
+        List<Payment> result = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            result.add(toDomain(stored.get(payment.getRideId())));
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Payment> findById(Long id) {
+        return jpaPaymentRepository.findById(id)
+                .map(this::toDomain);
+    }
+
+    @Override
+    public Optional<Payment> findByRideId(Long rideId) {
+        return jpaPaymentRepository.findByRideId(rideId)
+                .map(this::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public List<Payment> claimDue(LocalDateTime now, int limit) {
+        List<Long> ids = jpaPaymentRepository.findDueIds(now, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        if (jpaPaymentRepository.claim(ids, token, now) == 0) {
+            return List.of();
+        }
+        return jpaPaymentRepository.findByClaimToken(token)
+                .stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void saveResults(List<Payment> payments) {
+        Map<Long, Payment> byId = payments.stream()
+                .collect(Collectors.toMap(Payment::getId, Function.identity()));
+        // Entidades gestionadas: Hibernate agrupa los UPDATE en batches JDBC
+        for (PaymentEntity entity : jpaPaymentRepository.findAllById(byId.keySet())) {
+            Payment payment = byId.get(entity.getId());
+            if (entity.getStatus() != PaymentEntity.PaymentStatus.PROCESSING
+                    || entity.getAttempts() != payment.getAttempts()) {
+                // Lo liberó releaseStale y lo tomó otro lote: ese resultado manda
+                continue;
+            }
+            entity.setStatus(PaymentEntity.PaymentStatus.valueOf(payment.getStatus().name()));
+            entity.setProcessedAt(payment.getProcessedAt());
+            entity.setNextAttemptAt(payment.getNextAttemptAt());
+            entity.setGatewayReference(payment.getGatewayReference());
+            entity.setFailureReason(payment.getFailureReason());
+            entity.setClaimToken(null);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int releaseStale(LocalDateTime claimedBefore, LocalDateTime now) {
+        return jpaPaymentRepository.releaseStale(claimedBefore, now);
+    }
+
+    // ===== AUXILIARES =====
+
+    private Map<Long, PaymentEntity> findByRideIds(Collection<Long> rideIds) {
+        return jpaPaymentRepository.findByRideIdIn(rideIds)
+                .stream()
+                .collect(Collectors.toMap(PaymentEntity::getRideId, Function.identity()));
+    }
+
+    // ===== CONVERSIÓN =====
+
+    private PaymentEntity toEntity(Payment payment) {
+        PaymentEntity entity = new PaymentEntity();
+        entity.setId(payment.getId());
+        entity.setRideId(payment.getRideId());
+        entity.setPassengerId(payment.getPassengerId());
+        entity.setAmount(payment.getAmount());
+        entity.setStatus(PaymentEntity.PaymentStatus.valueOf(payment.getStatus().name()));
+        entity.setMethod(PaymentEntity.PaymentMethod.valueOf(payment.getMethod().name()));
+        entity.setProcessedAt(payment.getProcessedAt());
+        entity.setAttempts(payment.getAttempts());
+        entity.setNextAttemptAt(payment.getNextAttemptAt());
+        entity.setGatewayReference(payment.getGatewayReference());
+        entity.setFailureReason(payment.getFailureReason());
+        entity.setCreatedAt(payment.getCreatedAt());
+        return entity;
+    }
+
+    private Payment toDomain(PaymentEntity entity) {
+        Payment payment = new Payment(
+                entity.getRideId(),
+                entity.getPassengerId(),
+                entity.getAmount(),
+                Payment.PaymentMethod.valueOf(entity.getMethod().name())
+        );
+        payment.setId(entity.getId());
+        payment.setStatus(Payment.PaymentStatus.valueOf(entity.getStatus().name()));
+        payment.setProcessedAt(entity.getProcessedAt());
+        payment.setAttempts(entity.getAttempts());
+        payment.setNextAttemptAt(entity.getNextAttemptAt());
+        payment.setGatewayReference(entity.getGatewayReference());
+        payment.setFailureReason(entity.getFailureReason());
+        payment.setCreatedAt(entity.getCreatedAt());
+        return payment;
+    }
+}
@@ -1,31 +1,53 @@
 package com.uber.ride;
 
+import com.uber.metrics.PortMetricsConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 🚀 APLICACIÓN PRINCIPAL - Ride Service
  */
 @SpringBootApplication
+@Import(PortMetricsConfiguration.class)
+@EnableScheduling
 public class RideServiceApplication {
 
+    private static final Logger log = LoggerFactory.getLogger(RideServiceApplication.class);
+
     public static void main(String[] args) {
         SpringApplication.run(RideServiceApplication.class, args);
 
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("🚀 RIDE SERVICE - INICIADO");
-        System.out.println("=".repeat(60));
-        System.out.println("📍 URL: http://localhost:8082");
-        System.out.println("📡 Endpoints:");
-        System.out.println("   POST   /api/rides/request                    - Solicitar viaje");
-        System.out.println("   PUT    /api/rides/{id}/assign-driver         - Asignar conductor");
-        System.out.println("   PUT    /api/rides/{id}/start                 - Iniciar viaje");
-        System.out.println("   PUT    /api/rides/{id}/complete?fare=25.50   - Completar viaje");
-        System.out.println("   PUT    /api/rides/{id}/cancel                - Cancelar viaje");
-        System.out.println("   GET    /api/rides/{id}                       - Obtener viaje");
-        System.out.println("   GET    /api/rides                            - Listar viajes");
-        System.out.println("   GET    /api/rides/passenger/{id}             - Viajes de pasajero");
-        System.out.println("   GET    /api/rides/driver/{id}                - Viajes de conductor");
-        System.out.println("=".repeat(60) + "\n");
+        log.info("""
+
+                ============================================================
+                🚀 RIDE SERVICE - INICIADO
+                ============================================================
+                📍 URL: http://localhost:8082
+                📡 Endpoints:
+                   GET    /api/rides/quote?pickupLat=&pickupLon=&dropoffLat=&dropoffLon= - Cotizar viaje
+                   POST   /api/rides/request                    - Solicitar viaje
+                   PUT    /api/rides/{id}/assign-driver         - Asignar conductor
+                   POST   /api/rides/dispatch                   - Despacho automático
+                   PUT    /api/rides/{id}/start                 - Iniciar viaje
+                   PUT    /api/rides/{id}/complete[?fare=25.50] - Completar viaje
+                   PUT    /api/rides/{id}/cancel                - Cancelar viaje
+                   GET    /api/rides/open/nearby?lat=&lon=&radiusKm= - Viajes solicitados cerca
+                   GET    /api/rides/{id}                       - Obtener viaje
+                   GET    /api/rides?after=&limit=              - Listar viajes (paginado)
+                   GET    /api/rides/export                     - Exportar viajes (NDJSON)
+                   POST   /api/rides/import                     - Importar viajes (NDJSON o CSV)
+                   GET    /api/rides/events?after=&waitMs=      - Eventos (long-poll)
+                   GET    /api/rides/events/stream?after=       - Eventos (SSE)
+                   GET    /api/rides/analytics/summary?minutes=  - Resumen en ventana
+                   GET    /api/rides/analytics/zones/top         - Zonas con más demanda
+                   GET    /api/rides/analytics/drivers/{id}/earnings - Ganancias de conductor
+                   GET    /api/rides/passenger/{id}             - Viajes de pasajero
+                   GET    /api/rides/driver/{id}                - Viajes de conductor
+                   GET    /actuator/prometheus                  - Métricas (Prometheus)
+                ============================================================""");
     }
 }
@@ -0,0 +1,256 @@
+package com.uber.ride.application.services;
+
+import com.uber.ride.application.services.dispatch.BatchMatcher;
+import com.uber.ride.domain.model.DriverCandidate;
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.ports.in.DispatchUseCase;
+import com.uber.ride.domain.ports.in.RideUseCase;
+import com.uber.ride.domain.ports.out.DriverDirectory;
+import com.uber.ride.domain.ports.out.DriverLocator;
+import com.uber.ride.domain.ports.out.RideRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🧠 SERVICIO DE APLICACIÓN - Despacho automático
+ *
+ * Cada ventana (por defecto 500 ms) toma hasta max-rides-per-window viajes
+ * REQUESTED con coordenadas de recogida, busca conductores cercanos en
+ * location-service, descarta los que no cumplen User.canDrive() según
+ * user-service o ya están en un viaje, y empareja todo el lote de una vez
+ * con BatchMatcher (ETA, rating y tiempo ocioso). A user-service solo se le
+ * preguntan los candidatos de la ventana, en una búsqueda por lote.
+ *
+ * Las ventanas recorren los viajes pendientes por id con un cursor que da
+ * la vuelta al llegar al final: un viaje que no encuentra conductor no
+ * vuelve a ocupar la ventana siguiente, así los que no tienen a nadie
+ * cerca no frenan a los demás por más viejos que sean.
+ *
+ * Se activa con ride.dispatch.enabled=true; el endpoint POST
+ * /api/rides/dispatch ejecuta una ventana a demanda.
+ *
+ * Las consultas a location-service (una por viaje) salen en paralelo por
+ * applicationTaskExecutor: un pool acotado con hilos de plataforma, o un
+ * virtual thread por consulta con el perfil "virtual". La ventana usa un
+ * ReentrantLock y no synchronized: bloquear en I/O dentro de synchronized
+ * fija (pin) el virtual thread a su hilo portador.
+ */
+@Service
+public class DispatchService implements DispatchUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchService.class);
+
+    private final RideRepository rideRepository;
+    private final RideUseCase rideUseCase;
+    private final DriverLocator driverLocator;
+    private final DriverDirectory driverDirectory;
+    private final BatchMatcher matcher;
+    private final AsyncTaskExecutor lookupExecutor;
+    private final ReentrantLock windowLock = new ReentrantLock();
+    // Último id revisado (0: desde el principio); solo se toca con windowLock
+    private long cursor;
+
+    private final boolean enabled;
+    private final int maxRidesPerWindow;
+    private final int candidatesPerRide;
+    private final double searchRadiusKm;
+    private final double maxIdleMinutes;
+
+    private final Timer windowTimer;
+    private final Counter matched;
+    private final Counter unmatched;
+    private final Counter assignFailed;
+
+    public DispatchService(RideRepository rideRepository,
+                           RideUseCase rideUseCase,
+                           DriverLocator driverLocator,
+                           DriverDirectory driverDirectory,
+                           MeterRegistry meterRegistry,
+                           @Qualifier("applicationTaskExecutor") AsyncTaskExecutor lookupExecutor,
+                           @Value("${ride.dispatch.enabled:false}") boolean enabled,
+                           @Value("${ride.dispatch.max-rides-per-window:500}") int maxRidesPerWindow,
+                           @Value("${ride.dispatch.candidates-per-ride:8}") int candidatesPerRide,
+                           @Value("${ride.dispatch.search-radius-km:5}") double searchRadiusKm,
+                           @Value("${ride.dispatch.average-speed-kmh:25}") double averageSpeedKmh,
+                           @Value("${ride.dispatch.weight.eta:1.0}") double etaWeight,
+                           @Value("${ride.dispatch.weight.rating:2.0}") double ratingWeight,
+                           @Value("${ride.dispatch.weight.idle:0.1}") double idleWeight,
+                           @Value("${ride.dispatch.max-idle-minutes:30}") double maxIdleMinutes) {
+        this.rideRepository = rideRepository;
+        this.rideUseCase = rideUseCase;
+        this.driverLocator = driverLocator;
+        this.driverDirectory = driverDirectory;
+        this.lookupExecutor = lookupExecutor;
+        this.matcher = new BatchMatcher(etaWeight, ratingWeight, idleWeight, maxIdleMinutes, averageSpeedKmh);
+        this.enabled = enabled;
+        this.maxRidesPerWindow = maxRidesPerWindow;
+        this.candidatesPerRide = candidatesPerRide;
+        this.searchRadiusKm = searchRadiusKm;
+        this.maxIdleMinutes = maxIdleMinutes;
+
+        this.windowTimer = meterRegistry.timer("ride.dispatch.window");
+        this.matched = meterRegistry.counter("ride.dispatch.matched");
+        this.unmatched = meterRegistry.counter("ride.dispatch.unmatched");
+        this.assignFailed = meterRegistry.counter("ride.dispatch.assign.failed");
+    }
+
+    @Scheduled(fixedDelayString = "${ride.dispatch.window-ms:500}")
+    public void scheduledDispatch() {
+        if (enabled) {
+            dispatchPendingRides();
+        }
+    }
+
+    @Override
+    public int dispatchPendingRides() {
+        windowLock.lock();
+        try {
+            return windowTimer.record(this::runWindow);
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private int runWindow() {
+        List<Ride> pending = nextWindow();
+        List<GeoPoint> pickups = new ArrayList<>(pending.size());
+        for (Ride ride : pending) {
+            pickups.add(ride.getPickupPoint());
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // Candidatos cercanos por viaje (consultas en paralelo)...
+        List<CompletableFuture<List<DriverCandidate>>> lookups = new ArrayList<>(pickups.size());
+        for (GeoPoint pickup : pickups) {
+            lookups.add(CompletableFuture.supplyAsync(() -> driverLocator.findNearbyAvailableDrivers(
+                    pickup.latitude(), pickup.longitude(), candidatesPerRide, searchRadiusKm), lookupExecutor));
+        }
+        List<List<DriverCandidate>> nearbyByRide = new ArrayList<>(pending.size());
+        Set<Long> nearbyIds = new HashSet<>();
+        for (CompletableFuture<List<DriverCandidate>> lookup : lookups) {
+            List<DriverCandidate> nearby = lookup.join();
+            nearbyByRide.add(nearby);
+            for (DriverCandidate candidate : nearby) {
+                nearbyIds.add(candidate.driverId());
+            }
+        }
+        if (nearbyIds.isEmpty()) {
+            unmatched.increment(pending.size());
+            return 0;
+        }
+
+        // ...y de esos, solo los habilitados
+        Map<Long, Double> eligible = driverDirectory.findEligibleDriverRatings(nearbyIds);
+        List<List<DriverCandidate>> candidatesByRide = new ArrayList<>(pending.size());
+        Set<Long> driverIds = new HashSet<>();
+        for (List<DriverCandidate> nearby : nearbyByRide) {
+            List<DriverCandidate> candidates = new ArrayList<>();
+            for (DriverCandidate candidate : nearby) {
+                if (eligible.containsKey(candidate.driverId())) {
+                    candidates.add(candidate);
+                    driverIds.add(candidate.driverId());
+                }
+            }
+            candidatesByRide.add(candidates);
+        }
+        Set<Long> busy = rideRepository.findBusyDriverIds(driverIds);
+        Map<Long, LocalDateTime> lastCompletion = rideRepository.findLastCompletionByDriverIds(driverIds);
+
+        long[] assignment = match(pickups, candidatesByRide, eligible, busy, lastCompletion);
+
+        int assigned = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            if (assignment[i] == BatchMatcher.NO_DRIVER) {
+                continue;
+            }
+            try {
+                rideUseCase.assignDriver(pending.get(i).getId(), assignment[i]);
+                assigned++;
+            } catch (RuntimeException e) {
+                // Lo normal: el viaje cambió de estado durante la ventana (por ejemplo, fue cancelado)
+                assignFailed.increment();
+                log.debug("No se pudo asignar el viaje {} al conductor {}: {}",
+                        pending.get(i).getId(), assignment[i], e.getMessage());
+            }
+        }
+        matched.increment(assigned);
+        unmatched.increment(pending.size() - assigned);
+        return assigned;
+    }
+
+    // Los siguientes viajes desde el cursor; si no llenan la ventana, se sigue desde el principio
+    private List<Ride> nextWindow() {
+        List<Ride> window = new ArrayList<>(rideRepository.findDispatchablePage(cursor, maxRidesPerWindow));
+        if (window.size() < maxRidesPerWindow && cursor > 0) {
+            for (Ride ride : rideRepository.findDispatchablePage(0L, maxRidesPerWindow - window.size())) {
+                if (ride.getId() > cursor) {
+                    break;
+                }
+                window.add(ride);
+            }
+        }
+        cursor = window.size() < maxRidesPerWindow ? 0 : window.get(window.size() - 1).getId();
+        return window;
+    }
+
+    private long[] match(List<GeoPoint> pickups, List<List<DriverCandidate>> candidatesByRide,
+                         Map<Long, Double> eligible, Set<Long> busy, Map<Long, LocalDateTime> lastCompletion) {
+        int rideCount = pickups.size();
+        int edgeCount = 0;
+        for (List<DriverCandidate> candidates : candidatesByRide) {
+            edgeCount += candidates.size();
+        }
+
+        double[] rideLat = new double[rideCount];
+        double[] rideLon = new double[rideCount];
+        int[] offsets = new int[rideCount + 1];
+        long[] driverIds = new long[edgeCount];
+        double[] driverLat = new double[edgeCount];
+        double[] driverLon = new double[edgeCount];
+        double[] driverRating = new double[edgeCount];
+        double[] driverIdle = new double[edgeCount];
+
+        LocalDateTime now = LocalDateTime.now();
+        int edge = 0;
+        for (int ride = 0; ride < rideCount; ride++) {
+            rideLat[ride] = pickups.get(ride).latitude();
+            rideLon[ride] = pickups.get(ride).longitude();
+            offsets[ride] = edge;
+            for (DriverCandidate candidate : candidatesByRide.get(ride)) {
+                if (busy.contains(candidate.driverId())) {
+                    continue;
+                }
+                LocalDateTime last = lastCompletion.get(candidate.driverId());
+                driverIds[edge] = candidate.driverId();
+                driverLat[edge] = candidate.latitude();
+                driverLon[edge] = candidate.longitude();
+                driverRating[edge] = eligible.get(candidate.driverId());
+                driverIdle[edge] = last == null ? maxIdleMinutes : Duration.between(last, now).toSeconds() / 60.0;
+                edge++;
+            }
+        }
+        offsets[rideCount] = edge;
+        return matcher.match(rideLat, rideLon, offsets, driverIds, driverLat, driverLon, driverRating, driverIdle);
+    }
+}
@@ -0,0 +1,227 @@
+package com.uber.ride.application.services;
+
+import com.uber.ride.application.services.pricing.SurgeTable;
+import com.uber.ride.domain.model.DriverDensity;
+import com.uber.ride.domain.model.FareQuote;
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.model.RideEvent;
+import com.uber.ride.domain.model.RideEventBatch;
+import com.uber.ride.domain.ports.in.PricingUseCase;
+import com.uber.ride.domain.ports.out.DriverSupply;
+import com.uber.ride.domain.ports.out.RideRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🧠 SERVICIO DE APLICACIÓN - Cotización con tarifa dinámica
+ *
+ * tarifa = max(mínima, (base + por km + por minuto) * multiplicador)
+ *
+ * Solo se cotizan viajes con coordenadas de recogida y destino.
+ * La distancia es la de Haversine entre recogida y destino por un factor
+ * de ruta; el tiempo sale de la velocidad promedio.
+ *
+ * El multiplicador es por celda de la grilla (cell-size-deg) y depende de
+ * la relación demanda / oferta en la celda:
+ * - demanda: viajes REQUESTED abiertos con recogida en la celda. Se lleva
+ *   al día con los RideEventBatch del relay (+1 al solicitarse, -1 al
+ *   dejar de estar REQUESTED), sin consultar la base.
+ * - oferta: conductores disponibles por celda según location-service, una
+ *   consulta por recálculo.
+ *
+ * Cada refresh-ms se recalculan solo las celdas con demanda y se publica
+ * una SurgeTable nueva; cotizar es una búsqueda O(1) en esa tabla. Si
+ * location-service no responde se mantiene la tabla anterior.
+ */
+@Service
+public class PricingService implements PricingUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingService.class);
+
+    // Viajes REQUESTED que se cargan al arrancar (los eventos ya relayados no se vuelven a publicar)
+    private static final int MAX_OPEN_REQUESTS_ON_START = 100_000;
+
+    private final RideRepository rideRepository;
+    private final DriverSupply driverSupply;
+
+    private final double cellSizeDeg;
+    private final double baseFare;
+    private final double perKm;
+    private final double perMinute;
+    private final double minimumFare;
+    private final double averageSpeedKmh;
+    private final double roadFactor;
+    private final double surgeThreshold;
+    private final double surgeSensitivity;
+    private final double maxSurge;
+
+    // rideId -> celda de los viajes REQUESTED abiertos, y cuántos hay por celda
+    private final Map<Long, Long> openRequestCells = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> demandByCell = new ConcurrentHashMap<>();
+
+    private volatile SurgeTable surgeTable = SurgeTable.EMPTY;
+
+    private final Timer refreshTimer;
+
+    public PricingService(RideRepository rideRepository,
+                          DriverSupply driverSupply,
+                          MeterRegistry meterRegistry,
+                          @Value("${ride.pricing.cell-size-deg:0.01}") double cellSizeDeg,
+                          @Value("${ride.pricing.base-fare:2.50}") double baseFare,
+                          @Value("${ride.pricing.per-km:1.20}") double perKm,
+                          @Value("${ride.pricing.per-minute:0.30}") double perMinute,
+                          @Value("${ride.pricing.minimum-fare:5.00}") double minimumFare,
+                          @Value("${ride.pricing.average-speed-kmh:25}") double averageSpeedKmh,
+                          @Value("${ride.pricing.road-factor:1.3}") double roadFactor,
+                          @Value("${ride.pricing.surge.threshold:1.0}") double surgeThreshold,
+                          @Value("${ride.pricing.surge.sensitivity:0.5}") double surgeSensitivity,
+                          @Value("${ride.pricing.surge.max:3.0}") double maxSurge) {
+        if (cellSizeDeg <= 0 || averageSpeedKmh <= 0) {
+            throw new IllegalArgumentException("ride.pricing.cell-size-deg y average-speed-kmh deben ser positivos");
+        }
+        this.rideRepository = rideRepository;
+        this.driverSupply = driverSupply;
+        this.cellSizeDeg = cellSizeDeg;
+        this.baseFare = baseFare;
+        this.perKm = perKm;
+        this.perMinute = perMinute;
+        this.minimumFare = minimumFare;
+        this.averageSpeedKmh = averageSpeedKmh;
+        this.roadFactor = roadFactor;
+        this.surgeThreshold = surgeThreshold;
+        this.surgeSensitivity = surgeSensitivity;
+        this.maxSurge = Math.max(1.0, maxSurge);
+
+        this.refreshTimer = meterRegistry.timer("ride.pricing.surge.refresh");
+        Gauge.builder("ride.pricing.surge.cells", this, service -> service.surgeTable.size()).register(meterRegistry);
+        Gauge.builder("ride.pricing.open.requests", openRequestCells, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void loadOpenRequests() {
+        for (Ride ride : rideRepository.findByStatus(Ride.RideStatus.REQUESTED, MAX_OPEN_REQUESTS_ON_START)) {
+            opened(ride.getId(), ride.getPickupPoint());
+        }
+    }
+
+    // ===== COTIZACIÓN =====
+
+    @Override
+    public FareQuote quote(GeoPoint pickup, GeoPoint dropoff) {
+        double distanceKm = roadFactor * pickup.distanceKm(dropoff);
+        double durationMinutes = distanceKm / averageSpeedKmh * 60.0;
+        double surge = surgeTable.multiplier(cellKey(pickup.latitude(), pickup.longitude()));
+        double fare = Math.max(minimumFare, (baseFare + perKm * distanceKm + perMinute * durationMinutes) * surge);
+        return new FareQuote(
+                Math.round(distanceKm * 100) / 100.0,
+                Math.round(durationMinutes * 10) / 10.0,
+                surge,
+                Math.round(fare * 100) / 100.0
+        );
+    }
+
+    // ===== DEMANDA (eventos de viaje) =====
+
+    @EventListener
+    public void onRideEvents(RideEventBatch batch) {
+        for (RideEvent event : batch.events()) {
+            if (event.status() == Ride.RideStatus.REQUESTED) {
+                opened(event.rideId(), event.pickupPoint());
+            } else {
+                closed(event.rideId());
+            }
+        }
+    }
+
+    // Idempotentes: un viaje cargado al arrancar y luego recibido por evento cuenta una sola vez
+    private void opened(Long rideId, GeoPoint pickup) {
+        if (pickup == null) {
+            return;
+        }
+        long cell = cellKey(pickup.latitude(), pickup.longitude());
+        if (openRequestCells.putIfAbsent(rideId, cell) == null) {
+            demandByCell.merge(cell, 1, Integer::sum);
+        }
+    }
+
+    private void closed(Long rideId) {
+        Long cell = openRequestCells.remove(rideId);
+        if (cell != null) {
+            demandByCell.computeIfPresent(cell, (key, open) -> open == 1 ? null : open - 1);
+        }
+    }
+
+    // ===== OFERTA Y MULTIPLICADORES =====
+
+    @Scheduled(fixedDelayString = "${ride.pricing.refresh-ms:5000}")
+    public void refreshSurge() {
+        if (demandByCell.isEmpty()) {
+            surgeTable = SurgeTable.EMPTY;
+            return;
+        }
+        Optional<List<DriverDensity>> supply = driverSupply.findAvailableDriversByCell(cellSizeDeg);
+        if (supply.isEmpty()) {
+            return;
+        }
+        refreshTimer.record(() -> surgeTable = buildTable(supply.get()));
+    }
+
+    private SurgeTable buildTable(List<DriverDensity> supply) {
+        Map<Long, Integer> driversByCell = new HashMap<>(supply.size() * 2);
+        for (DriverDensity density : supply) {
+            driversByCell.put(packCell(density.row(), density.column()), density.availableDrivers());
+        }
+        long[] cells = new long[16];
+        double[] multipliers = new double[16];
+        int count = 0;
+        for (Map.Entry<Long, Integer> demand : demandByCell.entrySet()) {
+            double multiplier = surgeMultiplier(demand.getValue(), driversByCell.getOrDefault(demand.getKey(), 0));
+            if (multiplier > 1.0) {
+                if (count == cells.length) {
+                    cells = Arrays.copyOf(cells, count * 2);
+                    multipliers = Arrays.copyOf(multipliers, count * 2);
+                }
+                cells[count] = demand.getKey();
+                multipliers[count] = multiplier;
+                count++;
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("📈 Tarifa dinámica: {} celdas con demanda, {} con multiplicador", demandByCell.size(), count);
+        }
+        return SurgeTable.of(cells, multipliers, count);
+    }
+
+    // 1 + sensibilidad * (demanda/oferta - umbral), entre 1 y el máximo, en pasos de 0.1
+    private double surgeMultiplier(int openRequests, int availableDrivers) {
+        double ratio = (double) openRequests / Math.max(availableDrivers, 1);
+        double multiplier = 1.0 + surgeSensitivity * (ratio - surgeThreshold);
+        return Math.round(Math.min(Math.max(multiplier, 1.0), maxSurge) * 10) / 10.0;
+    }
+
+    // ===== GRILLA (la misma que usa location-service para la oferta) =====
+
+    private long cellKey(double latitude, double longitude) {
+        return packCell((int) Math.floor(latitude / cellSizeDeg), (int) Math.floor(longitude / cellSizeDeg));
+    }
+
+    private static long packCell(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,203 @@
+package com.uber.ride.application.services;
+
+import com.uber.ride.application.services.analytics.WindowedCounters;
+import com.uber.ride.domain.model.DriverEarnings;
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.model.RideAnalyticsSummary;
+import com.uber.ride.domain.model.RideEvent;
+import com.uber.ride.domain.model.RideEventBatch;
+import com.uber.ride.domain.model.ZoneDemand;
+import com.uber.ride.domain.ports.in.RideAnalyticsUseCase;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 🧠 SERVICIO DE APLICACIÓN - Analítica de viajes en tiempo real
+ *
+ * Consume los RideEventBatch que publica el relay del outbox (cada cambio
+ * de estado una vez, en orden) y mantiene contadores en WindowedCounters:
+ * - transiciones por estado, en buckets de 1 minuto (última hora)
+ * - solicitudes por zona de recogida, en buckets de 1 minuto (última hora)
+ * - viajes y ganancias (en centavos) por conductor, en buckets de 5
+ *   minutos (última hora), más el total desde el arranque
+ *
+ * Las consultas leen un número fijo de buckets: cuestan lo mismo con mil
+ * o con un millón de viajes. El ranking de zonas recorre todas las zonas,
+ * así que se recalcula cada top-zones-refresh-ms y se sirve ya armado.
+ *
+ * Las zonas salen de las coordenadas de recogida; los viajes solicitados
+ * solo con dirección no tienen zona y solo cuentan en el resumen.
+ */
+@Service
+public class RideAnalyticsService implements RideAnalyticsUseCase {
+
+    private static final int STRIPES = 16;
+    private static final long MINUTE_MS = 60_000;
+    private static final int WINDOW_MINUTES = 60;
+    private static final long EARNINGS_BUCKET_MS = 5 * MINUTE_MS;
+    private static final int TOP_ZONES = 100;
+
+    private final ZoneId zoneId = ZoneId.systemDefault();
+    private final double zoneSizeDegrees;
+    private final int topZonesWindowMinutes;
+
+    private final WindowedCounters transitions = new WindowedCounters(MINUTE_MS, WINDOW_MINUTES, 1);
+    private final WindowedCounters zoneRequests = new WindowedCounters(MINUTE_MS, WINDOW_MINUTES, STRIPES);
+    private final WindowedCounters driverRides =
+            new WindowedCounters(EARNINGS_BUCKET_MS, (int) (WINDOW_MINUTES * MINUTE_MS / EARNINGS_BUCKET_MS), STRIPES);
+    private final WindowedCounters driverEarningsCents =
+            new WindowedCounters(EARNINGS_BUCKET_MS, (int) (WINDOW_MINUTES * MINUTE_MS / EARNINGS_BUCKET_MS), STRIPES);
+
+    private volatile List<ZoneDemand> topZones = List.of();
+
+    public RideAnalyticsService(MeterRegistry meterRegistry,
+                                @Value("${ride.analytics.zone-size-deg:0.01}") double zoneSizeDegrees,
+                                @Value("${ride.analytics.top-zones-window-minutes:5}") int topZonesWindowMinutes) {
+        if (zoneSizeDegrees <= 0) {
+            throw new IllegalArgumentException("ride.analytics.zone-size-deg debe ser positivo");
+        }
+        this.zoneSizeDegrees = zoneSizeDegrees;
+        this.topZonesWindowMinutes = clampMinutes(topZonesWindowMinutes);
+        Gauge.builder("ride.analytics.zones", zoneRequests, WindowedCounters::size).register(meterRegistry);
+        Gauge.builder("ride.analytics.drivers", driverRides, WindowedCounters::size).register(meterRegistry);
+    }
+
+    // ===== CONSUMO DE EVENTOS =====
+
+    @EventListener
+    public void onRideEvents(RideEventBatch batch) {
+        for (RideEvent event : batch.events()) {
+            long time = toMillis(event.occurredAt());
+            transitions.add(event.status().ordinal(), time, 1);
+            if (event.status() == Ride.RideStatus.REQUESTED) {
+                GeoPoint pickup = event.pickupPoint();
+                if (pickup != null) {
+                    zoneRequests.add(zoneKey(pickup.latitude(), pickup.longitude()), time, 1);
+                }
+            } else if (event.status() == Ride.RideStatus.COMPLETED && event.driverId() != null) {
+                driverRides.add(event.driverId(), time, 1);
+                driverEarningsCents.add(event.driverId(), time, Math.round(event.fare() * 100));
+            }
+        }
+    }
+
+    // ===== CONSULTAS =====
+
+    @Override
+    public RideAnalyticsSummary getSummary(int windowMinutes) {
+        int window = clampMinutes(windowMinutes);
+        long now = System.currentTimeMillis();
+        long requested = transitions.sum(Ride.RideStatus.REQUESTED.ordinal(), now, window);
+        long completed = transitions.sum(Ride.RideStatus.COMPLETED.ordinal(), now, window);
+        long cancelled = transitions.sum(Ride.RideStatus.CANCELLED.ordinal(), now, window);
+        long finished = completed + cancelled;
+        return new RideAnalyticsSummary(
+                window,
+                requested,
+                transitions.sum(Ride.RideStatus.ACCEPTED.ordinal(), now, window),
+                transitions.sum(Ride.RideStatus.IN_PROGRESS.ordinal(), now, window),
+                completed,
+                cancelled,
+                finished == 0 ? 0.0 : (double) completed / finished,
+                (double) requested / window
+        );
+    }
+
+    @Override
+    public ZoneDemand getZoneDemand(double latitude, double longitude, int windowMinutes) {
+        return zoneDemand(zoneKey(latitude, longitude), clampMinutes(windowMinutes), System.currentTimeMillis());
+    }
+
+    @Override
+    public List<ZoneDemand> getTopZones(int limit) {
+        List<ZoneDemand> zones = topZones;
+        return zones.subList(0, Math.min(Math.max(limit, 0), zones.size()));
+    }
+
+    @Override
+    public DriverEarnings getDriverEarnings(Long driverId) {
+        long now = System.currentTimeMillis();
+        int window = driverRides.buckets();
+        return new DriverEarnings(
+                driverId,
+                driverRides.total(driverId),
+                driverEarningsCents.total(driverId) / 100.0,
+                (int) (window * driverRides.bucketMillis() / MINUTE_MS),
+                driverRides.sum(driverId, now, window),
+                driverEarningsCents.sum(driverId, now, window) / 100.0
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${ride.analytics.top-zones-refresh-ms:10000}")
+    public void refreshTopZones() {
+        long now = System.currentTimeMillis();
+        // Min-heap de los TOP_ZONES con más solicitudes: [clave, solicitudes]
+        PriorityQueue<long[]> top = new PriorityQueue<>(Comparator.comparingLong((long[] entry) -> entry[1]));
+        zoneRequests.forEach(now, topZonesWindowMinutes, (key, requests) -> {
+            if (requests == 0) {
+                return;
+            }
+            if (top.size() < TOP_ZONES) {
+                top.add(new long[] {key, requests});
+            } else if (requests > top.peek()[1]) {
+                top.poll();
+                top.add(new long[] {key, requests});
+            }
+        });
+        List<ZoneDemand> ranking = new ArrayList<>(top.size());
+        for (long[] entry : top) {
+            ranking.add(zoneDemand(entry[0], topZonesWindowMinutes, now));
+        }
+        ranking.sort(Comparator.comparingLong(ZoneDemand::requests).reversed());
+        topZones = List.copyOf(ranking);
+    }
+
+    // ===== ZONAS =====
+
+    // Celda de la grilla empacada en un long: fila (lat) en los 32 bits altos, columna (lon) en los bajos
+    private long zoneKey(double latitude, double longitude) {
+        long row = (long) Math.floor(latitude / zoneSizeDegrees);
+        long column = (long) Math.floor(longitude / zoneSizeDegrees);
+        return (row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private ZoneDemand zoneDemand(long key, int window, long now) {
+        int row = (int) (key >> 32);
+        int column = (int) key;
+        long[] perMinute = zoneRequests.series(key, now, window);
+        long requests = 0;
+        for (long count : perMinute) {
+            requests += count;
+        }
+        return new ZoneDemand(
+                row + ":" + column,
+                (row + 0.5) * zoneSizeDegrees,
+                (column + 0.5) * zoneSizeDegrees,
+                window,
+                requests,
+                perMinute
+        );
+    }
+
+    // ===== AUXILIARES =====
+
+    private static int clampMinutes(int minutes) {
+        return Math.min(Math.max(minutes, 1), WINDOW_MINUTES);
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time == null ? System.currentTimeMillis() : time.atZone(zoneId).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,75 @@
+package com.uber.ride.application.services;
+
+import com.uber.ride.domain.model.RideEvent;
+import com.uber.ride.domain.model.RideEventBatch;
+import com.uber.ride.domain.ports.in.RideEventUseCase;
+import com.uber.ride.domain.ports.out.RideEventOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🧠 SERVICIO DE APLICACIÓN - Relay del outbox de eventos
+ *
+ * Cada intervalo toma los eventos pendientes del outbox, les asigna offset
+ * (ya confirmado en la base) y publica el lote como RideEventBatch en el
+ * bus de eventos de Spring. Los interesados escuchan con @EventListener.
+ *
+ * Si el proceso cae entre asignar offsets y publicar, los consumidores
+ * externos no pierden nada: leen del outbox por offset.
+ */
+@Service
+public class RideEventRelay implements RideEventUseCase {
+
+    private final RideEventOutbox outbox;
+    private final ApplicationEventPublisher publisher;
+    private final int batchSize;
+    private final Counter relayed;
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    public RideEventRelay(RideEventOutbox outbox,
+                          ApplicationEventPublisher publisher,
+                          MeterRegistry meterRegistry,
+                          @Value("${ride.events.relay-batch-size:500}") int batchSize) {
+        this.outbox = outbox;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+        this.relayed = meterRegistry.counter("ride.events.relayed");
+    }
+
+    @Scheduled(fixedDelayString = "${ride.events.relay-interval-ms:200}")
+    public void scheduledRelay() {
+        // Vacía el backlog sin esperar al siguiente intervalo
+        int published;
+        do {
+            published = relayPendingEvents();
+        } while (published == batchSize);
+    }
+
+    @Override
+    public int relayPendingEvents() {
+        // ReentrantLock y no synchronized: no fija virtual threads durante el I/O
+        relayLock.lock();
+        try {
+            List<RideEvent> events = outbox.assignOffsets(batchSize);
+            if (!events.isEmpty()) {
+                publisher.publishEvent(new RideEventBatch(events));
+                relayed.increment(events.size());
+            }
+            return events.size();
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    @Override
+    public List<RideEvent> getEventsAfter(long afterOffset, int limit) {
+        return outbox.findAfter(afterOffset, limit);
+    }
+}
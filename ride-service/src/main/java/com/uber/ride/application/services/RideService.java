@@ -1,76 +1,148 @@
 package com.uber.ride.application.services;
 
+import com.uber.ride.domain.model.GeoPoint;
 import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.model.RideEvent;
+import com.uber.ride.domain.model.RideLookup;
+import com.uber.ride.domain.ports.in.PricingUseCase;
 import com.uber.ride.domain.ports.in.RideUseCase;
+import com.uber.ride.domain.ports.out.RideEventOutbox;
 import com.uber.ride.domain.ports.out.RideRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 🧠 SERVICIO DE APLICACIÓN - Ride Service
  *
  * Coordina la lógica de negocio de los viajes.
+ *
+ * Las transiciones de estado no leen, modifican y guardan: cada una es un
+ * UPDATE condicionado al estado esperado, así dos despachos simultáneos no
+ * pueden asignar el mismo viaje a dos conductores.
+ *
+ * Recogida y destino llevan coordenadas (GeoPoint) y una etiqueta de texto;
+ * sin etiqueta se guarda "lat,lon". Sin coordenadas (solo dirección) el
+ * viaje no se cotiza, no entra al despacho ni a las búsquedas por radio.
+ *
+ * Al solicitar, el viaje se cotiza con PricingUseCase (tarifa estimada y
+ * multiplicador dinámico); al completar sin tarifa se cobra la cotizada.
+ *
+ * Cada cambio de estado escribe además un RideEvent en el outbox dentro de
+ * la misma transacción: o quedan los dos o ninguno.
+ *
+ * Métricas: ride.transitions (transition, outcome) con los contadores
+ * registrados una sola vez; los tiempos por método los mide
+ * PortMetricsAspect. Los logs por viaje van en DEBUG.
  */
 @Service
 public class RideService implements RideUseCase {
 
+    private static final Logger log = LoggerFactory.getLogger(RideService.class);
+
+    // Máximo de viajes leídos de la caja antes de filtrar por distancia
+    private static final int MAX_NEARBY_CANDIDATES = 5000;
+
     private final RideRepository rideRepository;
+    private final RideEventOutbox eventOutbox;
+    private final PricingUseCase pricingUseCase;
+
+    private final TransitionCounters requested;
+    private final TransitionCounters assigned;
+    private final TransitionCounters started;
+    private final TransitionCounters completed;
+    private final TransitionCounters cancelled;
 
-    public RideService(RideRepository rideRepository) {
+    public RideService(RideRepository rideRepository, RideEventOutbox eventOutbox, PricingUseCase pricingUseCase,
+                       MeterRegistry meterRegistry) {
         this.rideRepository = rideRepository;
+        this.eventOutbox = eventOutbox;
+        this.pricingUseCase = pricingUseCase;
+        this.requested = new TransitionCounters(meterRegistry, "request");
+        this.assigned = new TransitionCounters(meterRegistry, "assign");
+        this.started = new TransitionCounters(meterRegistry, "start");
+        this.completed = new TransitionCounters(meterRegistry, "complete");
+        this.cancelled = new TransitionCounters(meterRegistry, "cancel");
     }
 
     @Override
-    public Ride requestRide(Long passengerId, String pickup, String dropoff) {
-        System.out.println("🚗 Nuevo viaje solicitado por pasajero ID: " + passengerId);
-        Ride ride = new Ride(passengerId, pickup, dropoff);
-        return rideRepository.save(ride);
+    @Transactional
+    public Ride requestRide(Long passengerId, String pickupLabel, GeoPoint pickup,
+                            String dropoffLabel, GeoPoint dropoff) {
+        log.debug("🚗 Nuevo viaje solicitado por pasajero ID: {}", passengerId);
+        Ride ride = new Ride(passengerId, label(pickupLabel, pickup), pickup, label(dropoffLabel, dropoff), dropoff);
+        if (pickup != null && dropoff != null) {
+            ride.applyQuote(pricingUseCase.quote(pickup, dropoff));
+        }
+        ride = rideRepository.save(ride);
+        eventOutbox.append(RideEvent.of(ride));
+        requested.applied.increment();
+        return ride;
     }
 
     @Override
+    @Transactional
     public Ride assignDriver(Long rideId, Long driverId) {
-        System.out.println("👨‍✈️ Asignando conductor " + driverId + " al viaje " + rideId);
-
-        Ride ride = rideRepository.findById(rideId)
-                .orElseThrow(() -> new RuntimeException("Viaje no encontrado"));
+        log.debug("👨‍✈️ Asignando conductor {} al viaje {}", driverId, rideId);
 
-        ride.assignDriver(driverId);
-        return rideRepository.save(ride);
+        boolean applied = rideRepository.assignDriverIfRequested(rideId, driverId);
+        return afterTransition(assigned, rideId, applied,
+                "Solo se puede asignar conductor a viajes solicitados");
     }
 
     @Override
+    @Transactional
     public Ride startRide(Long rideId) {
-        System.out.println("🏁 Iniciando viaje " + rideId);
+        log.debug("🏁 Iniciando viaje {}", rideId);
 
-        Ride ride = rideRepository.findById(rideId)
-                .orElseThrow(() -> new RuntimeException("Viaje no encontrado"));
-
-        ride.startRide();
-        return rideRepository.save(ride);
+        boolean applied = rideRepository.startIfAccepted(rideId, LocalDateTime.now());
+        return afterTransition(started, rideId, applied,
+                "El viaje debe estar aceptado para iniciarse");
     }
 
     @Override
-    public Ride completeRide(Long rideId, double fare) {
-        System.out.println("✅ Completando viaje " + rideId + " con tarifa: $" + fare);
-
-        Ride ride = rideRepository.findById(rideId)
-                .orElseThrow(() -> new RuntimeException("Viaje no encontrado"));
+    @Transactional
+    public Ride completeRide(Long rideId, Double fare) {
+        double charged = fare != null ? fare : quotedFare(rideId);
+        if (log.isDebugEnabled()) {
+            log.debug("✅ Completando viaje {} con tarifa: ${}", rideId, charged);
+        }
 
-        ride.completeRide(fare);
-        return rideRepository.save(ride);
+        boolean applied = rideRepository.completeIfInProgress(rideId, charged, LocalDateTime.now());
+        return afterTransition(completed, rideId, applied,
+                "El viaje debe estar en progreso para completarse");
     }
 
     @Override
+    @Transactional
     public Ride cancelRide(Long rideId) {
-        System.out.println("❌ Cancelando viaje " + rideId);
+        log.debug("❌ Cancelando viaje {}", rideId);
 
-        Ride ride = rideRepository.findById(rideId)
-                .orElseThrow(() -> new RuntimeException("Viaje no encontrado"));
-
-        ride.cancelRide();
-        return rideRepository.save(ride);
+        boolean applied = rideRepository.cancelIfOpen(rideId);
+        if (!applied) {
+            // Ya cancelado: misma respuesta, sin otro evento en el outbox
+            Optional<Ride> current = rideRepository.findById(rideId);
+            if (current.isPresent() && current.get().getStatus() == Ride.RideStatus.CANCELLED) {
+                return current.get();
+            }
+        }
+        return afterTransition(cancelled, rideId, applied,
+                "No se puede cancelar un viaje completado");
     }
 
     @Override
@@ -79,17 +151,117 @@ public class RideService implements RideUseCase {
     }
 
     @Override
-    public List<Ride> getAllRides() {
-        return rideRepository.findAll();
+    public RideLookup getRidesByIds(Collection<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.contains(null)) {
+            throw new IllegalArgumentException("La lista de ids no puede tener nulos");
+        }
+        Map<Long, Ride> found = new HashMap<>();
+        for (Ride ride : rideRepository.findAllById(requested)) {
+            found.put(ride.getId(), ride);
+        }
+        List<Ride> rides = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Ride ride = found.get(id);
+            if (ride != null) {
+                rides.add(ride);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new RideLookup(rides, missing);
+    }
+
+    @Override
+    public List<Ride> findOpenRidesNearby(double latitude, double longitude, double radiusKm, int limit) {
+        double latDelta = GeoPoint.latDeltaDeg(radiusKm);
+        double lonDelta = GeoPoint.lonDeltaDeg(latitude, radiusKm);
+        List<Ride> inBox = rideRepository.findRequestedWithinBox(latitude - latDelta, latitude + latDelta,
+                longitude - lonDelta, longitude + lonDelta, MAX_NEARBY_CANDIDATES);
+
+        // La caja es más grande que el círculo: se descartan las esquinas y se ordena por distancia
+        GeoPoint center = new GeoPoint(latitude, longitude);
+        List<NearbyRide> nearby = new ArrayList<>(inBox.size());
+        for (Ride ride : inBox) {
+            double distanceKm = center.distanceKm(ride.getPickupPoint());
+            if (distanceKm <= radiusKm) {
+                nearby.add(new NearbyRide(ride, distanceKm));
+            }
+        }
+        nearby.sort(Comparator.comparingDouble(NearbyRide::distanceKm));
+        return nearby.stream().limit(limit).map(NearbyRide::ride).toList();
+    }
+
+    @Override
+    public List<Ride> getAllRides(Long afterId, int limit) {
+        return rideRepository.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Ride> getRidesByPassenger(Long passengerId, Long afterId, int limit) {
+        return rideRepository.findByPassengerIdPage(passengerId, afterId, limit);
     }
 
     @Override
-    public List<Ride> getRidesByPassenger(Long passengerId) {
-        return rideRepository.findByPassengerId(passengerId);
+    public List<Ride> getRidesByDriver(Long driverId, Long afterId, int limit) {
+        return rideRepository.findByDriverIdPage(driverId, afterId, limit);
     }
 
     @Override
-    public List<Ride> getRidesByDriver(Long driverId) {
-        return rideRepository.findByDriverId(driverId);
+    public void exportAllRides(Consumer<Ride> consumer) {
+        rideRepository.streamAll(consumer);
+    }
+
+    private static String label(String label, GeoPoint point) {
+        return label != null && !label.isBlank() ? label : point.toLabel();
+    }
+
+    private double quotedFare(Long rideId) {
+        Ride ride = rideRepository.findById(rideId)
+                .orElseThrow(() -> new RuntimeException("Viaje no encontrado"));
+        if (ride.getEstimatedFare() == null) {
+            throw new IllegalStateException("El viaje no tiene tarifa cotizada: indique la tarifa");
+        }
+        return ride.getEstimatedFare();
+    }
+
+    // ===== TRANSICIONES =====
+
+    /**
+     * Si el UPDATE condicionado no aplicó, distingue "no existe" de "estado
+     * incorrecto" (perdió la carrera contra otra transición). Las mismas
+     * reglas de Ride, pero verificadas por la base de datos en un solo paso.
+     */
+    private Ride afterTransition(TransitionCounters counters, Long rideId, boolean applied, String rejection) {
+        if (!applied) {
+            if (!rideRepository.existsById(rideId)) {
+                counters.notFound.increment();
+                throw new RuntimeException("Viaje no encontrado");
+            }
+            counters.conflict.increment();
+            throw new IllegalStateException(rejection);
+        }
+        counters.applied.increment();
+        Ride ride = rideRepository.findById(rideId)
+                .orElseThrow(() -> new RuntimeException("Viaje no encontrado"));
+        eventOutbox.append(RideEvent.of(ride));
+        return ride;
+    }
+
+    private record NearbyRide(Ride ride, double distanceKm) {
+    }
+
+    // Contadores resueltos al arrancar: incrementar no busca ni crea tags
+    private static final class TransitionCounters {
+        final Counter applied;
+        final Counter conflict;
+        final Counter notFound;
+
+        TransitionCounters(MeterRegistry meterRegistry, String transition) {
+            this.applied = meterRegistry.counter("ride.transitions", "transition", transition, "outcome", "applied");
+            this.conflict = meterRegistry.counter("ride.transitions", "transition", transition, "outcome", "conflict");
+            this.notFound = meterRegistry.counter("ride.transitions", "transition", transition, "outcome", "not_found");
+        }
     }
 }
@@ -0,0 +1,267 @@
+package com.uber.ride.application.services.analytics;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🧮 CONTADORES POR VENTANA - long -> anillo de buckets de tiempo
+ *
+ * Para cada clave (zona, conductor, estado...) guarda un anillo de
+ * 'buckets' ventanas fijas (tumbling) de bucketMillis, más un total
+ * acumulado. Una ventana deslizante es la suma de los últimos N buckets.
+ *
+ * Todo en arreglos primitivos: por stripe, una tabla hash de
+ * direccionamiento abierto long -> slot, y por slot 'buckets' valores con
+ * el número de bucket que contienen (stamp). Un bucket con stamp viejo se
+ * reinicia al escribir y se ignora al leer, así nunca hay que "barrer".
+ *
+ * Las claves se reparten en stripes, cada uno con su ReentrantLock: las
+ * lecturas del endpoint y la escritura del consumidor de eventos solo
+ * compiten si caen en el mismo stripe. Cada operación es O(buckets).
+ */
+public final class WindowedCounters {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public WindowedCounters(long bucketMillis, int buckets, int stripes) {
+        if (bucketMillis <= 0 || buckets <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("bucketMillis y buckets positivos; stripes potencia de 2");
+        }
+        this.bucketMillis = bucketMillis;
+        this.buckets = buckets;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(buckets);
+        }
+        this.stripeMask = stripes - 1;
+    }
+
+    public int buckets() {
+        return buckets;
+    }
+
+    public long bucketMillis() {
+        return bucketMillis;
+    }
+
+    // ===== ESCRITURA =====
+
+    /** Suma delta en el bucket de timeMillis. Lo anterior al anillo solo cuenta en el total. */
+    public void add(long key, long timeMillis, long delta) {
+        long bucket = timeMillis / bucketMillis;
+        Stripe stripe = stripeOf(key);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotFor(key);
+            stripe.totals[slot] += delta;
+            int cell = slot * buckets + (int) (bucket % buckets);
+            if (stripe.stamps[cell] < bucket) {
+                stripe.stamps[cell] = bucket;
+                stripe.values[cell] = 0;
+            }
+            if (stripe.stamps[cell] == bucket) {
+                stripe.values[cell] += delta;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // ===== LECTURA =====
+
+    /** Suma de los últimos 'window' buckets terminando en el de nowMillis (ventana deslizante). */
+    public long sum(long key, long nowMillis, int window) {
+        long sum = 0;
+        for (long value : series(key, nowMillis, window)) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /** Valor de cada uno de los últimos 'window' buckets, del más viejo al actual. */
+    public long[] series(long key, long nowMillis, int window) {
+        int size = Math.min(Math.max(window, 1), buckets);
+        long[] series = new long[size];
+        long current = nowMillis / bucketMillis;
+        Stripe stripe = stripeOf(key);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotOf(key);
+            if (slot < 0) {
+                return series;
+            }
+            for (int i = 0; i < size; i++) {
+                long bucket = current - (size - 1 - i);
+                int cell = slot * buckets + (int) Math.floorMod(bucket, (long) buckets);
+                if (stripe.stamps[cell] == bucket) {
+                    series[i] = stripe.values[cell];
+                }
+            }
+            return series;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /** Acumulado desde el arranque. */
+    public long total(long key) {
+        Stripe stripe = stripeOf(key);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotOf(key);
+            return slot < 0 ? 0 : stripe.totals[slot];
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public interface KeyConsumer {
+        void accept(long key, long windowSum);
+    }
+
+    /** Recorre todas las claves con su suma de los últimos 'window' buckets (un stripe a la vez). */
+    public void forEach(long nowMillis, int window, KeyConsumer consumer) {
+        int size = Math.min(Math.max(window, 1), buckets);
+        long current = nowMillis / bucketMillis;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (int i = 0; i < stripe.keys.length; i++) {
+                    if (stripe.keys[i] == EMPTY) {
+                        continue;
+                    }
+                    int slot = stripe.slots[i];
+                    long sum = 0;
+                    for (long bucket = current - size + 1; bucket <= current; bucket++) {
+                        int cell = slot * buckets + (int) Math.floorMod(bucket, (long) buckets);
+                        if (stripe.stamps[cell] == bucket) {
+                            sum += stripe.values[cell];
+                        }
+                    }
+                    consumer.accept(stripe.keys[i], sum);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    // ===== AUXILIARES =====
+
+    private Stripe stripeOf(long key) {
+        return stripes[hash(key) >>> 16 & stripeMask];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final int buckets;
+        // Tabla clave -> slot (factor de carga <= 0.5)
+        long[] keys = newKeys(16);
+        int[] slots = new int[16];
+        // Datos por slot
+        long[] totals = new long[8];
+        long[] values;
+        long[] stamps;
+        int size;
+
+        Stripe(int buckets) {
+            this.buckets = buckets;
+            this.values = new long[8 * buckets];
+            this.stamps = newStamps(8 * buckets);
+        }
+
+        int slotOf(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return slots[i];
+                }
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        int slotFor(long key) {
+            int slot = slotOf(key);
+            if (slot >= 0) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                throw new IllegalArgumentException("Clave inválida: " + key);
+            }
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            if (size == totals.length) {
+                int capacity = size * 2;
+                totals = Arrays.copyOf(totals, capacity);
+                values = Arrays.copyOf(values, capacity * buckets);
+                long[] grown = newStamps(capacity * buckets);
+                System.arraycopy(stamps, 0, grown, 0, stamps.length);
+                stamps = grown;
+            }
+            slot = size++;
+            insert(keys, slots, key, slot);
+            return slot;
+        }
+
+        private void rehash(int capacity) {
+            long[] newKeys = newKeys(capacity);
+            int[] newSlots = new int[capacity];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    insert(newKeys, newSlots, keys[i], slots[i]);
+                }
+            }
+            keys = newKeys;
+            slots = newSlots;
+        }
+
+        private static void insert(long[] keys, int[] slots, long key, int slot) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            slots[i] = slot;
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        // Stamp -1: ningún bucket real (son >= 0) coincide con una celda sin usar
+        private static long[] newStamps(int capacity) {
+            long[] stamps = new long[capacity];
+            Arrays.fill(stamps, -1L);
+            return stamps;
+        }
+    }
+}
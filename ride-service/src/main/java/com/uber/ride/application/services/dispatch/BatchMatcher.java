@@ -0,0 +1,110 @@
+package com.uber.ride.application.services.dispatch;
+
+import com.uber.ride.domain.model.GeoPoint;
+
+import java.util.Arrays;
+
+/**
+ * 🧮 EMPAREJADOR POR LOTES - Viajes ↔ Conductores
+ *
+ * Recibe todos los viajes pendientes de una ventana con sus candidatos y
+ * asigna a cada viaje como máximo un conductor (y a cada conductor como
+ * máximo un viaje), empezando por las parejas de menor costo:
+ *
+ *   costo = etaWeight * ETA(min) - ratingWeight * rating - idleWeight * min(idle, maxIdle)
+ *
+ * Todo trabaja sobre arreglos primitivos. Los candidatos van "aplanados":
+ * los del viaje r están en [offsets[r], offsets[r + 1]).
+ */
+public final class BatchMatcher {
+
+    public static final long NO_DRIVER = -1L;
+
+    private final double etaWeight;
+    private final double ratingWeight;
+    private final double idleWeight;
+    private final double maxIdleMinutes;
+    private final double averageSpeedKmh;
+
+    public BatchMatcher(double etaWeight, double ratingWeight, double idleWeight,
+                        double maxIdleMinutes, double averageSpeedKmh) {
+        if (averageSpeedKmh <= 0) {
+            throw new IllegalArgumentException("La velocidad promedio debe ser positiva");
+        }
+        this.etaWeight = etaWeight;
+        this.ratingWeight = ratingWeight;
+        this.idleWeight = idleWeight;
+        this.maxIdleMinutes = maxIdleMinutes;
+        this.averageSpeedKmh = averageSpeedKmh;
+    }
+
+    /**
+     * @return para cada viaje, el driverId asignado o NO_DRIVER
+     */
+    public long[] match(double[] rideLat, double[] rideLon, int[] offsets,
+                        long[] driverIds, double[] driverLat, double[] driverLon,
+                        double[] driverRating, double[] driverIdleMinutes) {
+        int rideCount = rideLat.length;
+        int edgeCount = offsets[rideCount];
+        long[] assignment = new long[rideCount];
+        Arrays.fill(assignment, NO_DRIVER);
+        if (edgeCount == 0) {
+            return assignment;
+        }
+
+        // Costo de cada pareja, empacado como (costo ordenable << 32 | índice) para ordenar sin objetos
+        int[] edgeRide = new int[edgeCount];
+        long[] sortKeys = new long[edgeCount];
+        for (int ride = 0; ride < rideCount; ride++) {
+            for (int edge = offsets[ride]; edge < offsets[ride + 1]; edge++) {
+                edgeRide[edge] = ride;
+                double distanceKm = GeoPoint.distanceKm(rideLat[ride], rideLon[ride], driverLat[edge], driverLon[edge]);
+                double etaMinutes = distanceKm / averageSpeedKmh * 60.0;
+                double cost = etaWeight * etaMinutes
+                        - ratingWeight * driverRating[edge]
+                        - idleWeight * Math.min(driverIdleMinutes[edge], maxIdleMinutes);
+                sortKeys[edge] = ((long) sortableBits((float) cost) << 32) | edge;
+            }
+        }
+        Arrays.sort(sortKeys);
+
+        // Índice denso por conductor para marcar los ya usados
+        long[] distinctDrivers = distinct(driverIds, edgeCount);
+        boolean[] driverUsed = new boolean[distinctDrivers.length];
+
+        int remaining = rideCount;
+        for (int i = 0; i < edgeCount && remaining > 0; i++) {
+            int edge = (int) sortKeys[i];
+            int ride = edgeRide[edge];
+            if (assignment[ride] != NO_DRIVER) {
+                continue;
+            }
+            int driver = Arrays.binarySearch(distinctDrivers, driverIds[edge]);
+            if (driverUsed[driver]) {
+                continue;
+            }
+            driverUsed[driver] = true;
+            assignment[ride] = driverIds[edge];
+            remaining--;
+        }
+        return assignment;
+    }
+
+    // Bits del float con el mismo orden que el valor (también para negativos)
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    private static long[] distinct(long[] values, int count) {
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+}
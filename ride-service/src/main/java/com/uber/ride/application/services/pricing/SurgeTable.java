@@ -0,0 +1,66 @@
+package com.uber.ride.application.services.pricing;
+
+/**
+ * 📈 TABLA DE TARIFA DINÁMICA - celda -> multiplicador
+ *
+ * Inmutable: se arma completa en cada recálculo y se publica de una vez,
+ * así quien cotiza nunca ve una tabla a medio actualizar ni toma locks.
+ *
+ * Solo guarda las celdas con multiplicador > 1; el resto vale 1.0. Tabla
+ * hash de direccionamiento abierto sobre arreglos primitivos (carga <= 0.5):
+ * una búsqueda es O(1) y no crea objetos.
+ */
+public final class SurgeTable {
+
+    public static final SurgeTable EMPTY = new SurgeTable(new long[0], new double[0], 0);
+
+    private static final double NO_SURGE = 1.0;
+
+    private final long[] cells;
+    private final double[] multipliers;
+    private final boolean[] used;
+    private final int size;
+    private final int mask;
+
+    private SurgeTable(long[] cells, double[] multipliers, int size) {
+        int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+        this.cells = new long[capacity];
+        this.multipliers = new double[capacity];
+        this.used = new boolean[capacity];
+        this.size = size;
+        this.mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hash(cells[i]) & mask;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            this.cells[slot] = cells[i];
+            this.multipliers[slot] = multipliers[i];
+        }
+    }
+
+    /** @param cells celdas distintas; se toman las primeras count con su multiplicador */
+    public static SurgeTable of(long[] cells, double[] multipliers, int count) {
+        return count == 0 ? EMPTY : new SurgeTable(cells, multipliers, count);
+    }
+
+    public double multiplier(long cell) {
+        for (int slot = hash(cell) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (cells[slot] == cell) {
+                return multipliers[slot];
+            }
+        }
+        return NO_SURGE;
+    }
+
+    /** Celdas con multiplicador > 1. */
+    public int size() {
+        return size;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
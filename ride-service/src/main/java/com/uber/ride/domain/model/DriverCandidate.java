@@ -0,0 +1,10 @@
+package com.uber.ride.domain.model;
+
+/**
+ * 🚕 DOMINIO - Conductor candidato para un viaje
+ *
+ * Conductor disponible cerca de la recogida, tal como lo reporta
+ * location-service.
+ */
+public record DriverCandidate(long driverId, double latitude, double longitude) {
+}
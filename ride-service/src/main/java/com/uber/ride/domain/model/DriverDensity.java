@@ -0,0 +1,10 @@
+package com.uber.ride.domain.model;
+
+/**
+ * 🚕 DOMINIO - Conductores disponibles en una celda de la grilla
+ *
+ * Tal como lo reporta location-service: la celda (row, column) cubre
+ * [row, row + 1) * tamaño de celda en latitud y lo mismo con column en longitud.
+ */
+public record DriverDensity(int row, int column, int availableDrivers) {
+}
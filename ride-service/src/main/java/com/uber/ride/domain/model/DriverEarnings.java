@@ -0,0 +1,15 @@
+package com.uber.ride.domain.model;
+
+/**
+ * 📊 DOMINIO - Ganancias de un conductor (suma de Ride.fare de sus viajes completados)
+ *
+ * total* desde que arrancó el servicio; recent* en la ventana deslizante
+ * de recentWindowMinutes.
+ */
+public record DriverEarnings(Long driverId,
+                             long totalRides,
+                             double totalEarnings,
+                             int recentWindowMinutes,
+                             long recentRides,
+                             double recentEarnings) {
+}
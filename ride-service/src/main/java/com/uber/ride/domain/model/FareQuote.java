@@ -0,0 +1,9 @@
+package com.uber.ride.domain.model;
+
+/**
+ * 💵 DOMINIO - Cotización de un viaje
+ *
+ * fare = max(tarifa mínima, (base + km * distanceKm + minuto * durationMinutes) * surgeMultiplier)
+ */
+public record FareQuote(double distanceKm, double durationMinutes, double surgeMultiplier, double fare) {
+}
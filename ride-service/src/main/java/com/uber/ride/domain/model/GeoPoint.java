@@ -0,0 +1,72 @@
+package com.uber.ride.domain.model;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * 📍 DOMINIO - Punto geográfico (latitud, longitud)
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180.0;
+
+    /**
+     * Interpreta textos "lat,lon" (por ejemplo "4.6510,-74.0560").
+     * Las direcciones en texto libre no tienen coordenadas: devuelve vacío.
+     */
+    public static Optional<GeoPoint> parse(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        int comma = text.indexOf(',');
+        if (comma < 0 || text.indexOf(',', comma + 1) >= 0) {
+            return Optional.empty();
+        }
+        try {
+            double latitude = Double.parseDouble(text.substring(0, comma).trim());
+            double longitude = Double.parseDouble(text.substring(comma + 1).trim());
+            if (!isValid(latitude, longitude)) {
+                return Optional.empty();
+            }
+            return Optional.of(new GeoPoint(latitude, longitude));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** Latitud y longitud en rango; NaN no lo está (toda comparación con NaN es falsa). */
+    public static boolean isValid(double latitude, double longitude) {
+        return Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180;
+    }
+
+    // 📌 Distancia en km (Haversine)
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat * 0.5);
+        double sinLon = Math.sin(dLon * 0.5);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2.0 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public double distanceKm(GeoPoint other) {
+        return distanceKm(latitude, longitude, other.latitude, other.longitude);
+    }
+
+    // 📌 Medio alto y medio ancho (grados) de la caja que contiene un círculo de radiusKm
+    public static double latDeltaDeg(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    public static double lonDeltaDeg(double latitude, double radiusKm) {
+        double cos = Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + latDeltaDeg(radiusKm), 89.9)));
+        return Math.min(180.0, radiusKm / (KM_PER_DEGREE * cos));
+    }
+
+    // Texto "lat,lon" (el inverso de parse), para usar como etiqueta
+    public String toLabel() {
+        return String.format(Locale.ROOT, "%.6f,%.6f", latitude, longitude);
+    }
+}
@@ -12,10 +12,14 @@ public class Ride {
     private Long id;
     private Long passengerId;       // ID del pasajero
     private Long driverId;          // ID del conductor
-    private String pickupLocation;  // Ubicación de recogida
-    private String dropoffLocation; // Ubicación de destino
+    private String pickupLocation;  // Etiqueta de la recogida (dirección o "lat,lon")
+    private String dropoffLocation; // Etiqueta del destino
+    private GeoPoint pickupPoint;   // Coordenadas de recogida (null si solo hay dirección)
+    private GeoPoint dropoffPoint;  // Coordenadas de destino (null si solo hay dirección)
     private RideStatus status;      // Estado del viaje
     private double fare;            // Tarifa del viaje
+    private Double estimatedFare;   // Tarifa cotizada al solicitar (null sin coordenadas)
+    private Double surgeMultiplier; // Multiplicador de tarifa dinámica de la cotización
     private LocalDateTime requestedAt;
     private LocalDateTime startedAt;
     private LocalDateTime completedAt;
@@ -39,6 +43,19 @@ public class Ride {
         this.requestedAt = LocalDateTime.now();
     }
 
+    public Ride(Long passengerId, String pickupLocation, GeoPoint pickupPoint,
+                String dropoffLocation, GeoPoint dropoffPoint) {
+        this(passengerId, pickupLocation, dropoffLocation);
+        this.pickupPoint = pickupPoint;
+        this.dropoffPoint = dropoffPoint;
+    }
+
+    // 📌 LÓGICA DE NEGOCIO: Guardar la cotización del viaje
+    public void applyQuote(FareQuote quote) {
+        this.estimatedFare = quote.fare();
+        this.surgeMultiplier = quote.surgeMultiplier();
+    }
+
     // 📌 LÓGICA DE NEGOCIO: Asignar conductor
     public void assignDriver(Long driverId) {
         if (this.status != RideStatus.REQUESTED) {
@@ -91,12 +108,24 @@ public class Ride {
     public String getDropoffLocation() { return dropoffLocation; }
     public void setDropoffLocation(String dropoffLocation) { this.dropoffLocation = dropoffLocation; }
 
+    public GeoPoint getPickupPoint() { return pickupPoint; }
+    public void setPickupPoint(GeoPoint pickupPoint) { this.pickupPoint = pickupPoint; }
+
+    public GeoPoint getDropoffPoint() { return dropoffPoint; }
+    public void setDropoffPoint(GeoPoint dropoffPoint) { this.dropoffPoint = dropoffPoint; }
+
     public RideStatus getStatus() { return status; }
     public void setStatus(RideStatus status) { this.status = status; }
 
     public double getFare() { return fare; }
     public void setFare(double fare) { this.fare = fare; }
 
+    public Double getEstimatedFare() { return estimatedFare; }
+    public void setEstimatedFare(Double estimatedFare) { this.estimatedFare = estimatedFare; }
+
+    public Double getSurgeMultiplier() { return surgeMultiplier; }
+    public void setSurgeMultiplier(Double surgeMultiplier) { this.surgeMultiplier = surgeMultiplier; }
+
     public LocalDateTime getRequestedAt() { return requestedAt; }
     public void setRequestedAt(LocalDateTime requestedAt) { this.requestedAt = requestedAt; }
 
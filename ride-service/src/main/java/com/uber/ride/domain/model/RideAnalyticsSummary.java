@@ -0,0 +1,16 @@
+package com.uber.ride.domain.model;
+
+/**
+ * 📊 DOMINIO - Resumen de viajes en una ventana deslizante de minutos
+ *
+ * completionRatio = completados / (completados + cancelados); 0 si no hubo ninguno.
+ */
+public record RideAnalyticsSummary(int windowMinutes,
+                                   long requested,
+                                   long accepted,
+                                   long started,
+                                   long completed,
+                                   long cancelled,
+                                   double completionRatio,
+                                   double requestsPerMinute) {
+}
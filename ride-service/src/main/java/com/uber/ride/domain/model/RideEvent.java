@@ -0,0 +1,28 @@
+package com.uber.ride.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🎯 DOMINIO - Evento de cambio de estado de un viaje
+ *
+ * Se escribe en el outbox en la misma transacción que la transición. El
+ * offset lo asigna el relay al publicarlo: es denso, creciente y sigue el
+ * orden de commit, así un consumidor puede reanudar con "dame lo posterior
+ * a N" sin perder eventos. Los eventos de un mismo viaje quedan en el
+ * orden en que ocurrieron sus transiciones.
+ */
+public record RideEvent(Long offset,
+                        Long rideId,
+                        Ride.RideStatus status,
+                        Long passengerId,
+                        Long driverId,
+                        GeoPoint pickupPoint,
+                        double fare,
+                        LocalDateTime occurredAt) {
+
+    // Evento (todavía sin offset) con el estado actual del viaje
+    public static RideEvent of(Ride ride) {
+        return new RideEvent(null, ride.getId(), ride.getStatus(), ride.getPassengerId(),
+                ride.getDriverId(), ride.getPickupPoint(), ride.getFare(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,19 @@
+package com.uber.ride.domain.model;
+
+import java.util.List;
+
+/**
+ * 🎯 DOMINIO - Lote de eventos publicado por el relay en el bus interno
+ *
+ * Los eventos vienen ordenados por offset y sin huecos.
+ */
+public record RideEventBatch(List<RideEvent> events) {
+
+    public long firstOffset() {
+        return events.get(0).offset();
+    }
+
+    public long lastOffset() {
+        return events.get(events.size() - 1).offset();
+    }
+}
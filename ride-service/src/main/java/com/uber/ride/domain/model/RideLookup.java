@@ -0,0 +1,12 @@
+package com.uber.ride.domain.model;
+
+import java.util.List;
+
+/**
+ * 🚗 DOMINIO - Resultado de buscar varios viajes por id
+ *
+ * rides viene en el orden en que se pidieron los ids (cada id una sola
+ * vez); missingIds son los pedidos que no existen, también en ese orden.
+ */
+public record RideLookup(List<Ride> rides, List<Long> missingIds) {
+}
@@ -0,0 +1,16 @@
+package com.uber.ride.domain.model;
+
+/**
+ * 📊 DOMINIO - Demanda de una zona de recogida
+ *
+ * La zona es una celda de la grilla lat/lon ("fila:columna"); latitude y
+ * longitude son su centro. requestsPerMinute va del minuto más viejo de
+ * la ventana al actual.
+ */
+public record ZoneDemand(String zone,
+                         double latitude,
+                         double longitude,
+                         int windowMinutes,
+                         long requests,
+                         long[] requestsPerMinute) {
+}
@@ -0,0 +1,12 @@
+package com.uber.ride.domain.ports.in;
+
+/**
+ * 🚪 PUERTO DE ENTRADA - Despacho automático
+ *
+ * Empareja viajes REQUESTED con el mejor conductor disponible.
+ */
+public interface DispatchUseCase {
+
+    // Ejecuta una ventana de despacho; devuelve cuántos viajes se asignaron
+    int dispatchPendingRides();
+}
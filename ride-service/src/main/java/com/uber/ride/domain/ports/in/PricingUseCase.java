@@ -0,0 +1,13 @@
+package com.uber.ride.domain.ports.in;
+
+import com.uber.ride.domain.model.FareQuote;
+import com.uber.ride.domain.model.GeoPoint;
+
+/**
+ * 🚪 PUERTO DE ENTRADA - Cotización de viajes
+ */
+public interface PricingUseCase {
+
+    // Cotiza un viaje entre dos puntos
+    FareQuote quote(GeoPoint pickup, GeoPoint dropoff);
+}
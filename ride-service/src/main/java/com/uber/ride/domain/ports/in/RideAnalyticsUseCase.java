@@ -0,0 +1,22 @@
+package com.uber.ride.domain.ports.in;
+
+import com.uber.ride.domain.model.DriverEarnings;
+import com.uber.ride.domain.model.RideAnalyticsSummary;
+import com.uber.ride.domain.model.ZoneDemand;
+
+import java.util.List;
+
+/**
+ * 🚪 PUERTO DE ENTRADA - Analítica de viajes en tiempo real
+ */
+public interface RideAnalyticsUseCase {
+
+    RideAnalyticsSummary getSummary(int windowMinutes);
+
+    ZoneDemand getZoneDemand(double latitude, double longitude, int windowMinutes);
+
+    // Zonas con más solicitudes (calculadas periódicamente, no en cada consulta)
+    List<ZoneDemand> getTopZones(int limit);
+
+    DriverEarnings getDriverEarnings(Long driverId);
+}
@@ -0,0 +1,17 @@
+package com.uber.ride.domain.ports.in;
+
+import com.uber.ride.domain.model.RideEvent;
+
+import java.util.List;
+
+/**
+ * 🚪 PUERTO DE ENTRADA - Flujo de eventos de viajes
+ */
+public interface RideEventUseCase {
+
+    // Eventos ya publicados con offset > afterOffset
+    List<RideEvent> getEventsAfter(long afterOffset, int limit);
+
+    // Publica el siguiente lote del outbox; devuelve cuántos eventos publicó
+    int relayPendingEvents();
+}
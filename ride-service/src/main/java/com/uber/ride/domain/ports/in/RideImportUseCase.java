@@ -0,0 +1,16 @@
+package com.uber.ride.domain.ports.in;
+
+import com.uber.imports.ImportProgress;
+import com.uber.ride.domain.model.Ride;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * 🚪 PUERTO DE ENTRADA - Importación masiva de viajes
+ */
+public interface RideImportUseCase {
+
+    // Inserta los viajes por bloques; onChunk recibe el avance acumulado después de cada bloque
+    ImportProgress importRides(Iterator<Ride> rides, Consumer<ImportProgress> onChunk);
+}
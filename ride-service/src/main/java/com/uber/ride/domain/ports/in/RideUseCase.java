@@ -1,8 +1,12 @@
 package com.uber.ride.domain.ports.in;
 
+import com.uber.ride.domain.model.GeoPoint;
 import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.model.RideLookup;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * 🚪 PUERTO DE ENTRADA - Ride Use Cases
@@ -11,8 +15,8 @@ import java.util.Optional;
  */
 public interface RideUseCase {
 
-    // Solicitar un nuevo viaje
-    Ride requestRide(Long passengerId, String pickup, String dropoff);
+    // Solicitar un nuevo viaje (coordenadas null si solo hay dirección; etiqueta null si solo hay coordenadas)
+    Ride requestRide(Long passengerId, String pickupLabel, GeoPoint pickup, String dropoffLabel, GeoPoint dropoff);
 
     // Asignar conductor a un viaje
     Ride assignDriver(Long rideId, Long driverId);
@@ -20,8 +24,8 @@ public interface RideUseCase {
     // Iniciar un viaje
     Ride startRide(Long rideId);
 
-    // Completar un viaje
-    Ride completeRide(Long rideId, double fare);
+    // Completar un viaje (fare null: se cobra la tarifa cotizada)
+    Ride completeRide(Long rideId, Double fare);
 
     // Cancelar un viaje
     Ride cancelRide(Long rideId);
@@ -29,12 +33,21 @@ public interface RideUseCase {
     // Obtener un viaje por ID
     Optional<Ride> getRideById(Long id);
 
-    // Obtener todos los viajes
-    List<Ride> getAllRides();
+    // Obtener varios viajes por ID, en el orden pedido, y los ids que no existen
+    RideLookup getRidesByIds(Collection<Long> ids);
 
-    // Obtener viajes de un pasajero
-    List<Ride> getRidesByPassenger(Long passengerId);
+    // Viajes REQUESTED con recogida a menos de radiusKm, del más cercano al más lejano
+    List<Ride> findOpenRidesNearby(double latitude, double longitude, double radiusKm, int limit);
 
-    // Obtener viajes de un conductor
-    List<Ride> getRidesByDriver(Long driverId);
+    // Obtener una página de viajes (id > afterId)
+    List<Ride> getAllRides(Long afterId, int limit);
+
+    // Obtener una página de viajes de un pasajero
+    List<Ride> getRidesByPassenger(Long passengerId, Long afterId, int limit);
+
+    // Obtener una página de viajes de un conductor
+    List<Ride> getRidesByDriver(Long driverId, Long afterId, int limit);
+
+    // Exportar todos los viajes, uno por uno
+    void exportAllRides(Consumer<Ride> consumer);
 }
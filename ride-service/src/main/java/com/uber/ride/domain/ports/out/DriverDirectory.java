@@ -0,0 +1,16 @@
+package com.uber.ride.domain.ports.out;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 🚪 PUERTO DE SALIDA - Conductores habilitados (user-service)
+ */
+public interface DriverDirectory {
+
+    // Rating mínimo para conducir: el mismo de User.canDrive() en user-service
+    double MIN_DRIVER_RATING = 3.0;
+
+    // driverId -> rating de los pedidos que cumplen User.canDrive() (conductor, activo y rating mínimo)
+    Map<Long, Double> findEligibleDriverRatings(Collection<Long> driverIds);
+}
@@ -0,0 +1,13 @@
+package com.uber.ride.domain.ports.out;
+
+import com.uber.ride.domain.model.DriverCandidate;
+import java.util.List;
+
+/**
+ * 🚪 PUERTO DE SALIDA - Conductores cercanos (location-service)
+ */
+public interface DriverLocator {
+
+    // Conductores disponibles más cercanos al punto, ordenados por distancia
+    List<DriverCandidate> findNearbyAvailableDrivers(double latitude, double longitude, int limit, double radiusKm);
+}
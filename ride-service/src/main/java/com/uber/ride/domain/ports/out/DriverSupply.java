@@ -0,0 +1,14 @@
+package com.uber.ride.domain.ports.out;
+
+import com.uber.ride.domain.model.DriverDensity;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🚪 PUERTO DE SALIDA - Oferta de conductores por zona (location-service)
+ */
+public interface DriverSupply {
+
+    // Conductores disponibles por celda; vacío si location-service no respondió
+    Optional<List<DriverDensity>> findAvailableDriversByCell(double cellSizeDeg);
+}
@@ -0,0 +1,24 @@
+package com.uber.ride.domain.ports.out;
+
+import com.uber.ride.domain.model.RideEvent;
+
+import java.util.List;
+
+/**
+ * 🔌 PUERTO DE SALIDA - Outbox de eventos de viaje
+ */
+public interface RideEventOutbox {
+
+    // Guarda el evento dentro de la transacción en curso
+    void append(RideEvent event);
+
+    /**
+     * Asigna offsets consecutivos a los eventos todavía no publicados (en
+     * orden de inserción) y los devuelve ya con offset. Un solo llamador a
+     * la vez.
+     */
+    List<RideEvent> assignOffsets(int limit);
+
+    // Eventos publicados con offset > afterOffset, en orden
+    List<RideEvent> findAfter(long afterOffset, int limit);
+}
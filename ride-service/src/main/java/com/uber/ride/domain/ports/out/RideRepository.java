@@ -1,8 +1,13 @@
 package com.uber.ride.domain.ports.out;
 
 import com.uber.ride.domain.model.Ride;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 🚪 PUERTO DE SALIDA - Ride Repository
@@ -11,13 +16,81 @@ public interface RideRepository {
 
     Ride save(Ride ride);
 
+    /**
+     * Inserta viajes nuevos (sin id). Los que van a un mismo lugar de
+     * almacenamiento entran todos o ninguno; si alguna parte falla lanza
+     * PartialInsertException con cuántos sí quedaron insertados.
+     */
+    int insertAll(List<Ride> rides);
+
     Optional<Ride> findById(Long id);
 
+    // Los viajes de 'ids' que existan, sin orden (una consulta IN por shard y bloque de ids)
+    List<Ride> findAllById(Collection<Long> ids);
+
     List<Ride> findAll();
 
     List<Ride> findByPassengerId(Long passengerId);
 
     List<Ride> findByDriverId(Long driverId);
 
+    // ===== PAGINACIÓN POR CURSOR (keyset) =====
+    // Devuelven hasta 'limit' viajes con id > afterId, ordenados por id.
+
+    List<Ride> findPage(Long afterId, int limit);
+
+    List<Ride> findByPassengerIdPage(Long passengerId, Long afterId, int limit);
+
+    List<Ride> findByDriverIdPage(Long driverId, Long afterId, int limit);
+
+    // Recorre todos los viajes en orden de id sin cargarlos a memoria
+    void streamAll(Consumer<Ride> consumer);
+
     boolean existsById(Long id);
+
+    // ===== TRANSICIONES ATÓMICAS =====
+    // Cada una es un solo UPDATE condicionado al estado esperado:
+    // devuelven false si el viaje no existe o ya no estaba en ese estado.
+
+    // REQUESTED -> ACCEPTED
+    boolean assignDriverIfRequested(Long rideId, Long driverId);
+
+    // ACCEPTED -> IN_PROGRESS
+    boolean startIfAccepted(Long rideId, LocalDateTime startedAt);
+
+    // IN_PROGRESS -> COMPLETED
+    boolean completeIfInProgress(Long rideId, double fare, LocalDateTime completedAt);
+
+    // REQUESTED, ACCEPTED o IN_PROGRESS -> CANCELLED (uno ya cancelado no cambia)
+    boolean cancelIfOpen(Long rideId);
+
+    // Viajes en un estado, los más antiguos primero
+    List<Ride> findByStatus(Ride.RideStatus status, int limit);
+
+    // Viajes REQUESTED con coordenadas de recogida e id > afterId, ordenados por id (despacho)
+    List<Ride> findDispatchablePage(Long afterId, int limit);
+
+    // Viajes REQUESTED con coordenadas de recogida dentro de la caja (sin orden)
+    List<Ride> findRequestedWithinBox(double minLatitude, double maxLatitude,
+                                      double minLongitude, double maxLongitude, int limit);
+
+    // Conductores (de la lista) que tienen un viaje ACCEPTED o IN_PROGRESS
+    Set<Long> findBusyDriverIds(Collection<Long> driverIds);
+
+    // Fin del último viaje completado de cada conductor (de la lista)
+    Map<Long, LocalDateTime> findLastCompletionByDriverIds(Collection<Long> driverIds);
+
+    class PartialInsertException extends RuntimeException {
+
+        private final int inserted;
+
+        public PartialInsertException(int inserted, RuntimeException cause) {
+            super(cause.getMessage(), cause);
+            this.inserted = inserted;
+        }
+
+        public int inserted() {
+            return inserted;
+        }
+    }
 }
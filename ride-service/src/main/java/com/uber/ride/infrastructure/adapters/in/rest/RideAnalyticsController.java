@@ -0,0 +1,71 @@
+package com.uber.ride.infrastructure.adapters.in.rest;
+
+import com.uber.ride.domain.model.DriverEarnings;
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.RideAnalyticsSummary;
+import com.uber.ride.domain.model.ZoneDemand;
+import com.uber.ride.domain.ports.in.RideAnalyticsUseCase;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 📡 ADAPTADOR REST - Analítica de viajes en tiempo real
+ *
+ * Ventanas deslizantes de 1 a 60 minutos sobre los eventos de viaje; los
+ * valores fuera de rango se ajustan al límite más cercano.
+ */
+@RestController
+@RequestMapping("/api/rides/analytics")
+public class RideAnalyticsController {
+
+    private static final int MAX_TOP_ZONES = 100;
+
+    private final RideAnalyticsUseCase analyticsUseCase;
+
+    public RideAnalyticsController(RideAnalyticsUseCase analyticsUseCase) {
+        this.analyticsUseCase = analyticsUseCase;
+    }
+
+    /**
+     * GET /api/rides/analytics/summary?minutes=5
+     * Transiciones por estado en los últimos minutos
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<RideAnalyticsSummary> getSummary(@RequestParam(defaultValue = "5") int minutes) {
+        return ResponseEntity.ok(analyticsUseCase.getSummary(minutes));
+    }
+
+    /**
+     * GET /api/rides/analytics/zones/demand?lat=4.65&lon=-74.05&minutes=15
+     * Solicitudes en la zona que contiene el punto
+     */
+    @GetMapping("/zones/demand")
+    public ResponseEntity<ZoneDemand> getZoneDemand(@RequestParam double lat,
+                                                    @RequestParam double lon,
+                                                    @RequestParam(defaultValue = "15") int minutes) {
+        if (!GeoPoint.isValid(lat, lon)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analyticsUseCase.getZoneDemand(lat, lon, minutes));
+    }
+
+    /**
+     * GET /api/rides/analytics/zones/top?limit=10
+     * Zonas con más solicitudes (ranking recalculado periódicamente)
+     */
+    @GetMapping("/zones/top")
+    public ResponseEntity<List<ZoneDemand>> getTopZones(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(analyticsUseCase.getTopZones(Math.min(Math.max(limit, 1), MAX_TOP_ZONES)));
+    }
+
+    /**
+     * GET /api/rides/analytics/drivers/{id}/earnings
+     * Ganancias del conductor: total y última hora
+     */
+    @GetMapping("/drivers/{id}/earnings")
+    public ResponseEntity<DriverEarnings> getDriverEarnings(@PathVariable Long id) {
+        return ResponseEntity.ok(analyticsUseCase.getDriverEarnings(id));
+    }
+}
@@ -1,11 +1,22 @@
 package com.uber.ride.infrastructure.adapters.in.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.uber.ride.domain.model.FareQuote;
+import com.uber.ride.domain.model.GeoPoint;
 import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.model.RideLookup;
+import com.uber.ride.domain.ports.in.DispatchUseCase;
+import com.uber.ride.domain.ports.in.PricingUseCase;
 import com.uber.ride.domain.ports.in.RideUseCase;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -18,26 +29,78 @@ import java.util.Map;
 @RequestMapping("/api/rides")
 public class RideController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_LOOKUP_IDS = 1000;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+
     private final RideUseCase rideUseCase;
+    private final DispatchUseCase dispatchUseCase;
+    private final PricingUseCase pricingUseCase;
+    private final ObjectMapper objectMapper;
 
-    public RideController(RideUseCase rideUseCase) {
+    public RideController(RideUseCase rideUseCase, DispatchUseCase dispatchUseCase, PricingUseCase pricingUseCase,
+                          ObjectMapper objectMapper) {
         this.rideUseCase = rideUseCase;
+        this.dispatchUseCase = dispatchUseCase;
+        this.pricingUseCase = pricingUseCase;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * POST /api/rides/request
      * Solicitar un nuevo viaje
+     *
+     * Body: passengerId, pickupLatitude, pickupLongitude, dropoffLatitude,
+     * dropoffLongitude y, opcionales, las etiquetas pickup y dropoff. Sin
+     * coordenadas, pickup/dropoff son obligatorios: si son "lat,lon" se
+     * interpretan aquí una sola vez; si no, el viaje queda solo con dirección.
      */
     @PostMapping("/request")
-    public ResponseEntity<Ride> requestRide(@RequestBody Map<String, Object> request) {
-        Long passengerId = Long.valueOf(request.get("passengerId").toString());
-        String pickup = request.get("pickup").toString();
-        String dropoff = request.get("dropoff").toString();
+    public ResponseEntity<Ride> requestRide(@RequestBody RideRequest request) {
+        GeoPoint pickup = point(request.pickupLatitude(), request.pickupLongitude(), request.pickup());
+        GeoPoint dropoff = point(request.dropoffLatitude(), request.dropoffLongitude(), request.dropoff());
+        if (request.passengerId() == null || (pickup == null && request.pickup() == null)
+                || (dropoff == null && request.dropoff() == null)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
 
-        Ride ride = rideUseCase.requestRide(passengerId, pickup, dropoff);
+        Ride ride = rideUseCase.requestRide(request.passengerId(),
+                request.pickup(), pickup, request.dropoff(), dropoff);
         return new ResponseEntity<>(ride, HttpStatus.CREATED);
     }
 
+    /**
+     * GET /api/rides/quote?pickupLat=4.65&pickupLon=-74.05&dropoffLat=4.70&dropoffLon=-74.04
+     * Cotizar un viaje (tarifa dinámica incluida) sin solicitarlo
+     */
+    @GetMapping("/quote")
+    public ResponseEntity<FareQuote> quoteRide(@RequestParam double pickupLat, @RequestParam double pickupLon,
+                                               @RequestParam double dropoffLat, @RequestParam double dropoffLon) {
+        if (!GeoPoint.isValid(pickupLat, pickupLon) || !GeoPoint.isValid(dropoffLat, dropoffLon)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(pricingUseCase.quote(
+                new GeoPoint(pickupLat, pickupLon), new GeoPoint(dropoffLat, dropoffLon)));
+    }
+
+    /**
+     * GET /api/rides/open/nearby?lat=4.65&lon=-74.05&radiusKm=3&limit=20
+     * Viajes solicitados cerca de un punto (para mostrarlos a los conductores)
+     */
+    @GetMapping("/open/nearby")
+    public ResponseEntity<List<Ride>> findOpenRidesNearby(@RequestParam double lat,
+                                                          @RequestParam double lon,
+                                                          @RequestParam(defaultValue = "3") double radiusKm,
+                                                          @RequestParam(defaultValue = "20") int limit) {
+        if (!GeoPoint.isValid(lat, lon) || !(radiusKm > 0)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return ResponseEntity.ok(rideUseCase.findOpenRidesNearby(lat, lon,
+                Math.min(radiusKm, MAX_NEARBY_RADIUS_KM), pageSize));
+    }
+
     /**
      * PUT /api/rides/{id}/assign-driver
      * Asignar conductor a un viaje
@@ -52,6 +115,15 @@ public class RideController {
         }
     }
 
+    /**
+     * POST /api/rides/dispatch
+     * Asignar automáticamente conductores a los viajes pendientes
+     */
+    @PostMapping("/dispatch")
+    public ResponseEntity<Map<String, Integer>> dispatchPendingRides() {
+        return ResponseEntity.ok(Map.of("assigned", dispatchUseCase.dispatchPendingRides()));
+    }
+
     /**
      * PUT /api/rides/{id}/start
      * Iniciar un viaje
@@ -68,10 +140,10 @@ public class RideController {
 
     /**
      * PUT /api/rides/{id}/complete
-     * Completar un viaje
+     * Completar un viaje (sin fare se cobra la tarifa cotizada)
      */
     @PutMapping("/{id}/complete")
-    public ResponseEntity<Ride> completeRide(@PathVariable Long id, @RequestParam double fare) {
+    public ResponseEntity<Ride> completeRide(@PathVariable Long id, @RequestParam(required = false) Double fare) {
         try {
             Ride ride = rideUseCase.completeRide(id, fare);
             return ResponseEntity.ok(ride);
@@ -106,29 +178,99 @@ public class RideController {
     }
 
     /**
-     * GET /api/rides
-     * Obtener todos los viajes
+     * POST /api/rides/lookup
+     * Obtener varios viajes de una vez (body: [1, 2, 3], hasta 1000 ids)
+     *
+     * Responde los viajes en el orden pedido y, en missingIds, los que no existen.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<RideLookup> getRidesByIds(@RequestBody List<Long> ids) {
+        if (ids.size() > MAX_LOOKUP_IDS || ids.contains(null)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(rideUseCase.getRidesByIds(ids));
+    }
+
+    /**
+     * GET /api/rides?after=0&limit=100
+     * Obtener viajes por páginas (el header X-Next-Cursor trae el "after" de la siguiente)
      */
     @GetMapping
-    public ResponseEntity<List<Ride>> getAllRides() {
-        return ResponseEntity.ok(rideUseCase.getAllRides());
+    public ResponseEntity<List<Ride>> getAllRides(@RequestParam(required = false) Long after,
+                                                  @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return page(rideUseCase.getAllRides(after, pageSize), pageSize);
     }
 
     /**
-     * GET /api/rides/passenger/{passengerId}
+     * GET /api/rides/passenger/{passengerId}?after=0&limit=100
      * Obtener viajes de un pasajero
      */
     @GetMapping("/passenger/{passengerId}")
-    public ResponseEntity<List<Ride>> getRidesByPassenger(@PathVariable Long passengerId) {
-        return ResponseEntity.ok(rideUseCase.getRidesByPassenger(passengerId));
+    public ResponseEntity<List<Ride>> getRidesByPassenger(@PathVariable Long passengerId,
+                                                          @RequestParam(required = false) Long after,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return page(rideUseCase.getRidesByPassenger(passengerId, after, pageSize), pageSize);
     }
 
     /**
-     * GET /api/rides/driver/{driverId}
+     * GET /api/rides/driver/{driverId}?after=0&limit=100
      * Obtener viajes de un conductor
      */
     @GetMapping("/driver/{driverId}")
-    public ResponseEntity<List<Ride>> getRidesByDriver(@PathVariable Long driverId) {
-        return ResponseEntity.ok(rideUseCase.getRidesByDriver(driverId));
+    public ResponseEntity<List<Ride>> getRidesByDriver(@PathVariable Long driverId,
+                                                       @RequestParam(required = false) Long after,
+                                                       @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return page(rideUseCase.getRidesByDriver(driverId, after, pageSize), pageSize);
+    }
+
+    /**
+     * GET /api/rides/export
+     * Exportar todos los viajes como NDJSON (un JSON por línea), con memoria constante
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportRides() {
+        StreamingResponseBody body = output -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(output)) {
+                rideUseCase.exportAllRides(ride -> {
+                    try {
+                        writer.write(ride);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            output.write('\n');
+        };
+        return ResponseEntity.ok(body);
+    }
+
+    // ===== PAGINACIÓN =====
+
+    private static int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    private static ResponseEntity<List<Ride>> page(List<Ride> rides, int pageSize) {
+        if (rides.size() < pageSize) {
+            return ResponseEntity.ok(rides);
+        }
+        Long next = rides.get(rides.size() - 1).getId();
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, String.valueOf(next)).body(rides);
+    }
+
+    // ===== AUXILIARES =====
+
+    // Coordenadas del body (NaN si no vinieron); si no sirven, las de una etiqueta "lat,lon"
+    private static GeoPoint point(double latitude, double longitude, String label) {
+        if (GeoPoint.isValid(latitude, longitude)) {
+            return new GeoPoint(latitude, longitude);
+        }
+        return GeoPoint.parse(label).orElse(null);
     }
 }
@@ -0,0 +1,57 @@
+package com.uber.ride.infrastructure.adapters.in.rest;
+
+import com.uber.ride.domain.model.RideEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * 📡 ADAPTADOR REST - Eventos de viaje
+ *
+ * Alternativa a consultar GET /api/rides una y otra vez: los consumidores
+ * leen los cambios de estado por offset y reanudan desde el último que
+ * procesaron.
+ */
+@RestController
+@RequestMapping("/api/rides/events")
+public class RideEventController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final long MAX_WAIT_MS = 60_000;
+
+    private final RideEventStreamHub streamHub;
+    private final long streamTimeoutMs;
+
+    public RideEventController(RideEventStreamHub streamHub,
+                               @Value("${ride.events.stream-timeout-ms:1800000}") long streamTimeoutMs) {
+        this.streamHub = streamHub;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+
+    /**
+     * GET /api/rides/events?after=0&limit=100&waitMs=25000
+     * Long-poll: eventos con offset > after; si no hay, espera hasta waitMs
+     */
+    @GetMapping
+    public DeferredResult<List<RideEvent>> pollEvents(@RequestParam(defaultValue = "0") long after,
+                                                      @RequestParam(defaultValue = "100") int limit,
+                                                      @RequestParam(defaultValue = "25000") long waitMs) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return streamHub.poll(after, pageSize, Math.min(Math.max(waitMs, 0), MAX_WAIT_MS));
+    }
+
+    /**
+     * GET /api/rides/events/stream?after=0
+     * SSE: id = offset, event = estado; al reconectar se usa Last-Event-ID
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(required = false) Long after,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : (after != null ? after : 0L);
+        return streamHub.subscribe(from, streamTimeoutMs);
+    }
+}
@@ -0,0 +1,293 @@
+package com.uber.ride.infrastructure.adapters.in.rest;
+
+import com.uber.ride.domain.model.RideEvent;
+import com.uber.ride.domain.model.RideEventBatch;
+import com.uber.ride.domain.ports.in.RideEventUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 📡 ADAPTADOR REST - Distribución de eventos de viaje
+ *
+ * Escucha los RideEventBatch del bus interno y los reparte a:
+ * - suscriptores SSE, que reciben cada evento una sola vez y en orden;
+ * - peticiones long-poll en espera, que se completan con el lote recién
+ *   publicado sin volver a consultar la base.
+ *
+ * Un consumidor que se reconecta indica el último offset que procesó y
+ * primero se le envía lo pendiente desde el outbox.
+ *
+ * onBatch corre en el hilo del relay y nunca escribe a un socket: cada
+ * suscriptor SSE tiene su cola acotada (stream-queue-batches lotes) que
+ * vacían los hilos de ride-events-sse. Un suscriptor que se atrasa hasta
+ * llenarla se desconecta y vuelve con Last-Event-ID; así un cliente lento
+ * no frena al relay ni, detrás de él, a precios y analítica.
+ *
+ * Un suscriptor nuevo no recibe lotes en vivo mientras se pone al día
+ * desde el outbox: se registra recién para las últimas páginas. Si no,
+ * un consumidor muy atrasado llenaría la cola durante su propio backfill,
+ * se desconectaría y volvería con el mismo Last-Event-ID una y otra vez.
+ */
+@Component
+public class RideEventStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(RideEventStreamHub.class);
+
+    private static final int BACKFILL_PAGE_SIZE = 500;
+
+    private final RideEventUseCase rideEventUseCase;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final int queueBatches;
+    private final ExecutorService senders;
+    private final Counter lagging;
+
+    public RideEventStreamHub(RideEventUseCase rideEventUseCase,
+                              MeterRegistry meterRegistry,
+                              @Value("${ride.events.stream-queue-batches:256}") int queueBatches,
+                              @Value("${ride.events.stream-senders:4}") int senderThreads) {
+        this.rideEventUseCase = rideEventUseCase;
+        this.queueBatches = queueBatches;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "ride-events-sse-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lagging = meterRegistry.counter("ride.events.stream.lagging");
+        meterRegistry.gauge("ride.events.stream.subscribers", subscribers, Set::size);
+    }
+
+    @PreDestroy
+    public void stop() {
+        senders.shutdownNow();
+    }
+
+    @EventListener
+    public void onBatch(RideEventBatch batch) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(batch.events());
+        }
+        for (Waiter waiter : waiters) {
+            if (waiter.afterOffset < batch.lastOffset() && waiters.remove(waiter)) {
+                waiter.complete(batch);
+            }
+        }
+    }
+
+    // ===== LONG-POLL =====
+
+    /**
+     * Devuelve eventos con offset > afterOffset; si no hay, espera hasta
+     * que se publique un lote o venza el timeout (lista vacía).
+     */
+    public DeferredResult<List<RideEvent>> poll(long afterOffset, int limit, long waitMs) {
+        DeferredResult<List<RideEvent>> result = new DeferredResult<>(waitMs, List.of());
+        Waiter waiter = new Waiter(afterOffset, limit, result);
+        // Se registra antes de consultar: un lote publicado entre medio no se pierde
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+
+        List<RideEvent> events = rideEventUseCase.getEventsAfter(afterOffset, limit);
+        if (!events.isEmpty() || waitMs <= 0) {
+            waiters.remove(waiter);
+            result.setResult(events);
+        }
+        return result;
+    }
+
+    private final class Waiter {
+        private final long afterOffset;
+        private final int limit;
+        private final DeferredResult<List<RideEvent>> result;
+
+        Waiter(long afterOffset, int limit, DeferredResult<List<RideEvent>> result) {
+            this.afterOffset = afterOffset;
+            this.limit = limit;
+            this.result = result;
+        }
+
+        void complete(RideEventBatch batch) {
+            if (afterOffset < batch.firstOffset() - 1) {
+                // Le faltan eventos anteriores al lote: los lee del outbox
+                result.setResult(rideEventUseCase.getEventsAfter(afterOffset, limit));
+                return;
+            }
+            List<RideEvent> events = new ArrayList<>(limit);
+            for (RideEvent event : batch.events()) {
+                if (event.offset() > afterOffset && events.size() < limit) {
+                    events.add(event);
+                }
+            }
+            result.setResult(events);
+        }
+    }
+
+    // ===== SSE =====
+
+    public SseEmitter subscribe(long afterOffset, long timeoutMs) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, afterOffset);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.backfill();
+        return emitter;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        // Lotes en vivo aún sin enviar, en orden de publicación
+        private final Queue<List<RideEvent>> queue = new ArrayBlockingQueue<>(queueBatches);
+        // true mientras hay una tarea de envío pendiente o corriendo para este suscriptor
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Protege lastSent/live y serializa los envíos (ReentrantLock: no fija virtual threads)
+        private final ReentrantLock lock = new ReentrantLock();
+        // Último offset enviado; los lotes en vivo solo se envían después del backfill
+        private long lastSent;
+        private volatile boolean live;
+        // El cliente se fue; puede pasar antes de registrarse
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, long afterOffset) {
+            this.emitter = emitter;
+            this.lastSent = afterOffset;
+        }
+
+        void backfill() {
+            // Sin registrarse: por atrasado que esté, nada se acumula en la cola...
+            if (!sendPages()) {
+                return;
+            }
+            // ...y registrado solo para las últimas páginas: lo publicado antes de
+            // registrarse está en la base y lo publicado después está en la cola
+            subscribers.add(this);
+            if (closed.get()) {
+                subscribers.remove(this);
+                return;
+            }
+            lock.lock();
+            try {
+                if (!sendPages()) {
+                    return;
+                }
+                live = true;
+            } finally {
+                lock.unlock();
+            }
+            scheduleDrain();
+        }
+
+        private boolean sendPages() {
+            List<RideEvent> page;
+            do {
+                page = rideEventUseCase.getEventsAfter(lastSent, BACKFILL_PAGE_SIZE);
+                if (!send(page)) {
+                    return false;
+                }
+            } while (page.size() == BACKFILL_PAGE_SIZE);
+            return true;
+        }
+
+        void close() {
+            closed.set(true);
+            subscribers.remove(this);
+        }
+
+        // Hilo del relay: solo encola, nunca escribe al socket
+        void enqueue(List<RideEvent> events) {
+            if (!queue.offer(events)) {
+                lagging.increment();
+                log.warn("⚠️ Suscriptor SSE atrasado ({} lotes sin enviar): se desconecta", queueBatches);
+                disconnect(null);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (live && draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Pool cerrado: la aplicación se está deteniendo
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                List<RideEvent> events;
+                while ((events = queue.poll()) != null) {
+                    if (!send(events)) {
+                        return;
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // Un lote encolado justo después de vaciar la cola pudo no programar su envío
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private boolean send(List<RideEvent> events) {
+            lock.lock();
+            try {
+                for (RideEvent event : events) {
+                    if (event.offset() <= lastSent) {
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.offset()))
+                            .name(event.status().name())
+                            .data(event));
+                    lastSent = event.offset();
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado
+                disconnect(e);
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void disconnect(Exception cause) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            queue.clear();
+            if (cause != null) {
+                emitter.completeWithError(cause);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
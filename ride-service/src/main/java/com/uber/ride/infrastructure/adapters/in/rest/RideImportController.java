@@ -0,0 +1,142 @@
+package com.uber.ride.infrastructure.adapters.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uber.imports.ImportProgress;
+import com.uber.imports.ImportRowReader;
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.ports.in.RideImportUseCase;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 📡 ADAPTADOR REST - Importación masiva de viajes
+ *
+ * POST /api/rides/import con Content-Type application/x-ndjson o text/csv.
+ * Campos: passengerId, pickup/dropoff (etiquetas) y/o pickupLatitude,
+ * pickupLongitude, dropoffLatitude, dropoffLongitude, y opcionales
+ * driverId, status (REQUESTED por defecto), fare, estimatedFare,
+ * surgeMultiplier, requestedAt, startedAt, completedAt (ISO-8601).
+ *
+ * La respuesta es NDJSON: una línea de avance por bloque insertado y una
+ * última con done=true, el total por segundo y los errores.
+ */
+@RestController
+@RequestMapping("/api/rides/import")
+public class RideImportController {
+
+    private final RideImportUseCase rideImportUseCase;
+    private final ObjectMapper objectMapper;
+
+    public RideImportController(RideImportUseCase rideImportUseCase, ObjectMapper objectMapper) {
+        this.rideImportUseCase = rideImportUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * POST /api/rides/import
+     * Importar viajes (NDJSON o CSV con encabezado)
+     */
+    @PostMapping(consumes = {ImportRowReader.NDJSON, ImportRowReader.CSV}, produces = ImportRowReader.NDJSON)
+    public ResponseEntity<StreamingResponseBody> importRides(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             InputStream input) {
+        StreamingResponseBody body = output -> {
+            ImportRowReader<Ride> rows = new ImportRowReader<>(
+                    new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16),
+                    contentType, objectMapper, RideImportController::toRide);
+            ImportProgress result = rideImportUseCase.importRides(rows, progress -> writeLine(output, progress, rows, false));
+            writeLine(output, result, rows, true);
+        };
+        return ResponseEntity.ok(body);
+    }
+
+    private void writeLine(OutputStream output, ImportProgress progress, ImportRowReader<Ride> rows, boolean done) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("imported", progress.imported());
+        line.put("failed", progress.failed());
+        line.put("rejected", rows.rejected());
+        line.put("elapsedMs", progress.elapsedMs());
+        line.put("rowsPerSecond", Math.round(progress.rowsPerSecond()));
+        if (done) {
+            List<String> errors = new ArrayList<>(rows.errors());
+            errors.addAll(progress.errors());
+            line.put("done", true);
+            line.put("errors", errors);
+        }
+        try {
+            output.write(objectMapper.writeValueAsBytes(line));
+            output.write('\n');
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===== CONVERSIÓN DE FILAS =====
+
+    private static Ride toRide(ImportRowReader.Row row) {
+        Long passengerId = Long.valueOf(row.required("passengerId").trim());
+        String pickupLabel = row.text("pickup");
+        String dropoffLabel = row.text("dropoff");
+        GeoPoint pickup = point(row, "pickupLatitude", "pickupLongitude", pickupLabel);
+        GeoPoint dropoff = point(row, "dropoffLatitude", "dropoffLongitude", dropoffLabel);
+        if (pickup == null && pickupLabel == null) {
+            throw new IllegalArgumentException("falta pickup o pickupLatitude/pickupLongitude");
+        }
+        if (dropoff == null && dropoffLabel == null) {
+            throw new IllegalArgumentException("falta dropoff o dropoffLatitude/dropoffLongitude");
+        }
+
+        String statusText = row.text("status");
+        Ride.RideStatus status = statusText == null
+                ? Ride.RideStatus.REQUESTED
+                : Ride.RideStatus.valueOf(statusText.trim().toUpperCase(Locale.ROOT));
+        Long driverId = row.longValue("driverId");
+        if (driverId == null && status != Ride.RideStatus.REQUESTED && status != Ride.RideStatus.CANCELLED) {
+            throw new IllegalArgumentException("un viaje " + status + " requiere driverId");
+        }
+
+        Ride ride = new Ride(passengerId, pickupLabel != null ? pickupLabel : pickup.toLabel(), pickup,
+                dropoffLabel != null ? dropoffLabel : dropoff.toLabel(), dropoff);
+        ride.setDriverId(driverId);
+        ride.setStatus(status);
+        Double fare = row.doubleValue("fare");
+        ride.setFare(fare != null ? fare : 0.0);
+        ride.setEstimatedFare(row.doubleValue("estimatedFare"));
+        ride.setSurgeMultiplier(row.doubleValue("surgeMultiplier"));
+        if (row.text("requestedAt") != null) {
+            ride.setRequestedAt(row.dateTime("requestedAt"));
+        }
+        ride.setStartedAt(row.dateTime("startedAt"));
+        ride.setCompletedAt(row.dateTime("completedAt"));
+        return ride;
+    }
+
+    // Coordenadas de la fila; si no vienen, las de una etiqueta "lat,lon"
+    private static GeoPoint point(ImportRowReader.Row row, String latitudeField, String longitudeField, String label) {
+        Double latitude = row.doubleValue(latitudeField);
+        Double longitude = row.doubleValue(longitudeField);
+        if (latitude == null || longitude == null) {
+            return GeoPoint.parse(label).orElse(null);
+        }
+        if (!GeoPoint.isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("coordenadas fuera de rango: " + latitude + "," + longitude);
+        }
+        return new GeoPoint(latitude, longitude);
+    }
+}
@@ -0,0 +1,259 @@
+package com.uber.ride.infrastructure.adapters.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * 🧾 JSON DE VIAJES - Serialización escrita a mano
+ *
+ * Jackson por defecto recorre Ride por reflexión y formatea cada fecha
+ * con DateTimeFormatter. Aquí los nombres de campo y los estados están
+ * codificados de antemano y las fechas se escriben dígito a dígito sobre
+ * un char[], así un viaje sale al buffer de la respuesta casi sin crear
+ * objetos. El JSON es idéntico al de Jackson (mismos campos, nulls y
+ * formato ISO de fechas).
+ *
+ * Spring Boot registra las clases anidadas en el ObjectMapper, así que
+ * también las usan las listas paginadas y el export NDJSON.
+ */
+@JsonComponent
+public class RideJson {
+
+    // ===== RESPUESTA: VIAJE =====
+
+    public static class Serializer extends StdSerializer<Ride> {
+
+        private static final SerializedString ID = new SerializedString("id");
+        private static final SerializedString PASSENGER_ID = new SerializedString("passengerId");
+        private static final SerializedString DRIVER_ID = new SerializedString("driverId");
+        private static final SerializedString PICKUP_LOCATION = new SerializedString("pickupLocation");
+        private static final SerializedString DROPOFF_LOCATION = new SerializedString("dropoffLocation");
+        private static final SerializedString PICKUP_POINT = new SerializedString("pickupPoint");
+        private static final SerializedString DROPOFF_POINT = new SerializedString("dropoffPoint");
+        private static final SerializedString STATUS = new SerializedString("status");
+        private static final SerializedString FARE = new SerializedString("fare");
+        private static final SerializedString ESTIMATED_FARE = new SerializedString("estimatedFare");
+        private static final SerializedString SURGE_MULTIPLIER = new SerializedString("surgeMultiplier");
+        private static final SerializedString REQUESTED_AT = new SerializedString("requestedAt");
+        private static final SerializedString STARTED_AT = new SerializedString("startedAt");
+        private static final SerializedString COMPLETED_AT = new SerializedString("completedAt");
+        private static final SerializedString LATITUDE = new SerializedString("latitude");
+        private static final SerializedString LONGITUDE = new SerializedString("longitude");
+        private static final SerializedString[] STATUS_NAMES = Arrays.stream(Ride.RideStatus.values())
+                .map(status -> new SerializedString(status.name()))
+                .toArray(SerializedString[]::new);
+
+        // "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn"
+        private static final int DATE_TIME_CHARS = 29;
+
+        public Serializer() {
+            super(Ride.class);
+        }
+
+        @Override
+        public void serialize(Ride ride, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] dateTime = new char[DATE_TIME_CHARS];
+            gen.writeStartObject(ride);
+            gen.writeFieldName(ID);
+            writeLong(gen, ride.getId());
+            gen.writeFieldName(PASSENGER_ID);
+            writeLong(gen, ride.getPassengerId());
+            gen.writeFieldName(DRIVER_ID);
+            writeLong(gen, ride.getDriverId());
+            gen.writeFieldName(PICKUP_LOCATION);
+            gen.writeString(ride.getPickupLocation());
+            gen.writeFieldName(DROPOFF_LOCATION);
+            gen.writeString(ride.getDropoffLocation());
+            gen.writeFieldName(PICKUP_POINT);
+            writePoint(gen, ride.getPickupPoint());
+            gen.writeFieldName(DROPOFF_POINT);
+            writePoint(gen, ride.getDropoffPoint());
+            gen.writeFieldName(STATUS);
+            if (ride.getStatus() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(STATUS_NAMES[ride.getStatus().ordinal()]);
+            }
+            gen.writeFieldName(FARE);
+            gen.writeNumber(ride.getFare());
+            gen.writeFieldName(ESTIMATED_FARE);
+            writeDouble(gen, ride.getEstimatedFare());
+            gen.writeFieldName(SURGE_MULTIPLIER);
+            writeDouble(gen, ride.getSurgeMultiplier());
+            gen.writeFieldName(REQUESTED_AT);
+            writeDateTime(gen, ride.getRequestedAt(), dateTime);
+            gen.writeFieldName(STARTED_AT);
+            writeDateTime(gen, ride.getStartedAt(), dateTime);
+            gen.writeFieldName(COMPLETED_AT);
+            writeDateTime(gen, ride.getCompletedAt(), dateTime);
+            gen.writeEndObject();
+        }
+
+        private static void writePoint(JsonGenerator gen, GeoPoint point) throws IOException {
+            if (point == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject();
+            gen.writeFieldName(LATITUDE);
+            gen.writeNumber(point.latitude());
+            gen.writeFieldName(LONGITUDE);
+            gen.writeNumber(point.longitude());
+            gen.writeEndObject();
+        }
+
+        private static void writeLong(JsonGenerator gen, Long value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.longValue());
+            }
+        }
+
+        private static void writeDouble(JsonGenerator gen, Double value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.doubleValue());
+            }
+        }
+
+        // Mismo texto que DateTimeFormatter.ISO_LOCAL_DATE_TIME (el formato de Jackson)
+        private static void writeDateTime(JsonGenerator gen, LocalDateTime value, char[] buffer) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+                return;
+            }
+            int year = value.getYear();
+            if (year < 0 || year > 9999) {
+                gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+                return;
+            }
+            int length = digits(buffer, 0, year, 4);
+            buffer[length++] = '-';
+            length = digits(buffer, length, value.getMonthValue(), 2);
+            buffer[length++] = '-';
+            length = digits(buffer, length, value.getDayOfMonth(), 2);
+            buffer[length++] = 'T';
+            length = digits(buffer, length, value.getHour(), 2);
+            buffer[length++] = ':';
+            length = digits(buffer, length, value.getMinute(), 2);
+            buffer[length++] = ':';
+            length = digits(buffer, length, value.getSecond(), 2);
+            int nano = value.getNano();
+            if (nano > 0) {
+                // Fracción sin ceros a la derecha, como appendFraction(NANO_OF_SECOND, 0, 9, true)
+                int width = 9;
+                while (nano % 10 == 0) {
+                    nano /= 10;
+                    width--;
+                }
+                buffer[length++] = '.';
+                length = digits(buffer, length, nano, width);
+            }
+            gen.writeString(buffer, 0, length);
+        }
+
+        private static int digits(char[] buffer, int offset, int value, int width) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                buffer[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            return offset + width;
+        }
+    }
+
+    // ===== PETICIÓN: SOLICITAR VIAJE =====
+
+    /**
+     * Lee el body token a token (sin pasar por un Map). Los campos
+     * desconocidos se saltan; passengerId acepta número o texto numérico.
+     */
+    public static class RequestDeserializer extends StdDeserializer<RideRequest> {
+
+        public RequestDeserializer() {
+            super(RideRequest.class);
+        }
+
+        @Override
+        public RideRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (RideRequest) ctxt.handleUnexpectedToken(RideRequest.class, p);
+            }
+            Long passengerId = null;
+            String pickup = null;
+            String dropoff = null;
+            double pickupLatitude = Double.NaN;
+            double pickupLongitude = Double.NaN;
+            double dropoffLatitude = Double.NaN;
+            double dropoffLongitude = Double.NaN;
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "passengerId" -> passengerId = passengerId(p, ctxt, value);
+                    case "pickup" -> pickup = text(p, value);
+                    case "dropoff" -> dropoff = text(p, value);
+                    case "pickupLatitude" -> pickupLatitude = number(p, value);
+                    case "pickupLongitude" -> pickupLongitude = number(p, value);
+                    case "dropoffLatitude" -> dropoffLatitude = number(p, value);
+                    case "dropoffLongitude" -> dropoffLongitude = number(p, value);
+                    default -> p.skipChildren();
+                }
+            }
+            return new RideRequest(passengerId, pickup, pickupLatitude, pickupLongitude,
+                    dropoff, dropoffLatitude, dropoffLongitude);
+        }
+
+        private static Long passengerId(JsonParser p, DeserializationContext ctxt, JsonToken value)
+                throws IOException {
+            if (value == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (value == JsonToken.VALUE_NUMBER_INT) {
+                return p.getLongValue();
+            }
+            if (value == JsonToken.VALUE_STRING) {
+                String text = p.getText();
+                try {
+                    return Long.valueOf(text);
+                } catch (NumberFormatException e) {
+                    throw ctxt.weirdStringException(text, Long.class, "passengerId no es un número");
+                }
+            }
+            return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+        }
+
+        // Etiqueta de texto; vacía o en blanco cuenta como ausente
+        private static String text(JsonParser p, JsonToken value) throws IOException {
+            if (!value.isScalarValue()) {
+                p.skipChildren();
+                return null;
+            }
+            String text = p.getValueAsString();
+            return text == null || text.isBlank() ? null : text;
+        }
+
+        // Solo los números cuentan como coordenada; cualquier otra cosa es NaN
+        private static double number(JsonParser p, JsonToken value) throws IOException {
+            if (value.isNumeric()) {
+                return p.getDoubleValue();
+            }
+            p.skipChildren();
+            return Double.NaN;
+        }
+    }
+}
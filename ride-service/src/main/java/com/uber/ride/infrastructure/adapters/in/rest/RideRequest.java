@@ -0,0 +1,13 @@
+package com.uber.ride.infrastructure.adapters.in.rest;
+
+/**
+ * 📨 BODY DE POST /api/rides/request
+ *
+ * Lo arma RideJson.RequestDeserializer leyendo el JSON campo por campo.
+ * Las coordenadas que no vienen (o no son números) quedan en NaN, así no
+ * hay que boxearlas para representar "sin valor".
+ */
+public record RideRequest(Long passengerId,
+                          String pickup, double pickupLatitude, double pickupLongitude,
+                          String dropoff, double dropoffLatitude, double dropoffLongitude) {
+}
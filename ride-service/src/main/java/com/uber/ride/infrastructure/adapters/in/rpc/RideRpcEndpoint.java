@@ -0,0 +1,208 @@
+package com.uber.ride.infrastructure.adapters.in.rpc;
+
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.ports.in.RideUseCase;
+import com.uber.rpc.RpcFrames;
+import com.uber.rpc.RpcServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * 🛰️ ADAPTADOR RPC (Entrada) - Viajes por frames binarios
+ *
+ * Consultas de RideUseCase para otros servicios (ver RpcFrames):
+ *
+ *   1 GET_RIDE           id: long                  -> viaje | NOT_FOUND
+ *   2 GET_RIDES          n: int, n ids: long       -> n: int, n × (existe: byte, viaje)
+ *   3 OPEN_RIDES_NEARBY  lat, lon, radiusKm: double, limit: int -> n: int, n × viaje
+ *
+ * Viaje: id long, presentes: short (un bit por campo opcional, ver
+ * HAS_*), y en orden: passengerId, driverId, pickupLocation y
+ * dropoffLocation (textos), recogida y destino (lat, lon), status byte
+ * (ordinal), fare, estimatedFare, surgeMultiplier (double) y las fechas
+ * como (segundos epoch UTC: long, nanos: int). Los opcionales ausentes no
+ * ocupan bytes.
+ */
+@Component
+@ConditionalOnProperty(name = "rpc.enabled", havingValue = "true", matchIfMissing = true)
+public class RideRpcEndpoint implements RpcServer.Handler {
+
+    private static final Logger log = LoggerFactory.getLogger(RideRpcEndpoint.class);
+
+    static final byte GET_RIDE = 1;
+    static final byte GET_RIDES = 2;
+    static final byte OPEN_RIDES_NEARBY = 3;
+
+    static final int HAS_PASSENGER = 1;
+    static final int HAS_DRIVER = 1 << 1;
+    static final int HAS_PICKUP_POINT = 1 << 2;
+    static final int HAS_DROPOFF_POINT = 1 << 3;
+    static final int HAS_STATUS = 1 << 4;
+    static final int HAS_ESTIMATED_FARE = 1 << 5;
+    static final int HAS_SURGE = 1 << 6;
+    static final int HAS_REQUESTED_AT = 1 << 7;
+    static final int HAS_STARTED_AT = 1 << 8;
+    static final int HAS_COMPLETED_AT = 1 << 9;
+
+    // Mismos límites que RideController
+    private static final int MAX_BATCH = 10_000;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+
+    private final RideUseCase rideUseCase;
+    private final Executor executor;
+    private final int port;
+    private RpcServer server;
+
+    public RideRpcEndpoint(RideUseCase rideUseCase,
+                           @Qualifier("applicationTaskExecutor") Executor executor,
+                           @Value("${rpc.port:9082}") int port) {
+        this.rideUseCase = rideUseCase;
+        this.executor = executor;
+        this.port = port;
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            server = new RpcServer("ride-rpc", port, this, executor);
+            log.info("🛰️ RPC de viajes escuchando en el puerto {}", server.port());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el puerto RPC " + port, e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        server.close();
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    @Override
+    public byte handle(byte operation, ByteBuffer request, RpcFrames.Payload response) {
+        switch (operation) {
+            case GET_RIDE -> {
+                Optional<Ride> ride = rideUseCase.getRideById(request.getLong());
+                if (ride.isEmpty()) {
+                    return RpcFrames.NOT_FOUND;
+                }
+                writeRide(response, ride.get());
+            }
+            case GET_RIDES -> {
+                int count = request.getInt();
+                if (count < 0 || count > MAX_BATCH) {
+                    throw new IllegalArgumentException("Entre 0 y " + MAX_BATCH + " ids por llamada");
+                }
+                List<Long> ids = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    ids.add(request.getLong());
+                }
+                // Una sola búsqueda para todos; la respuesta sigue uno a uno los ids pedidos
+                Map<Long, Ride> found = new HashMap<>();
+                for (Ride ride : rideUseCase.getRidesByIds(ids).rides()) {
+                    found.put(ride.getId(), ride);
+                }
+                response.putInt(count);
+                for (Long id : ids) {
+                    Ride ride = found.get(id);
+                    response.putBoolean(ride != null);
+                    if (ride != null) {
+                        writeRide(response, ride);
+                    }
+                }
+            }
+            case OPEN_RIDES_NEARBY -> {
+                double latitude = request.getDouble();
+                double longitude = request.getDouble();
+                double radiusKm = request.getDouble();
+                int limit = request.getInt();
+                if (!GeoPoint.isValid(latitude, longitude) || !(radiusKm > 0)) {
+                    return RpcFrames.BAD_REQUEST;
+                }
+                List<Ride> rides = rideUseCase.findOpenRidesNearby(latitude, longitude,
+                        Math.min(radiusKm, MAX_NEARBY_RADIUS_KM), Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+                response.putInt(rides.size());
+                for (Ride ride : rides) {
+                    writeRide(response, ride);
+                }
+            }
+            default -> {
+                return RpcFrames.UNKNOWN_OPERATION;
+            }
+        }
+        return RpcFrames.OK;
+    }
+
+    // ===== CODIFICACIÓN =====
+
+    private static void writeRide(RpcFrames.Payload out, Ride ride) {
+        int present = (ride.getPassengerId() != null ? HAS_PASSENGER : 0)
+                | (ride.getDriverId() != null ? HAS_DRIVER : 0)
+                | (ride.getPickupPoint() != null ? HAS_PICKUP_POINT : 0)
+                | (ride.getDropoffPoint() != null ? HAS_DROPOFF_POINT : 0)
+                | (ride.getStatus() != null ? HAS_STATUS : 0)
+                | (ride.getEstimatedFare() != null ? HAS_ESTIMATED_FARE : 0)
+                | (ride.getSurgeMultiplier() != null ? HAS_SURGE : 0)
+                | (ride.getRequestedAt() != null ? HAS_REQUESTED_AT : 0)
+                | (ride.getStartedAt() != null ? HAS_STARTED_AT : 0)
+                | (ride.getCompletedAt() != null ? HAS_COMPLETED_AT : 0);
+        out.putLong(ride.getId());
+        out.putShort((short) present);
+        if (ride.getPassengerId() != null) {
+            out.putLong(ride.getPassengerId());
+        }
+        if (ride.getDriverId() != null) {
+            out.putLong(ride.getDriverId());
+        }
+        out.putString(ride.getPickupLocation()).putString(ride.getDropoffLocation());
+        writePoint(out, ride.getPickupPoint());
+        writePoint(out, ride.getDropoffPoint());
+        if (ride.getStatus() != null) {
+            out.putByte((byte) ride.getStatus().ordinal());
+        }
+        out.putDouble(ride.getFare());
+        if (ride.getEstimatedFare() != null) {
+            out.putDouble(ride.getEstimatedFare());
+        }
+        if (ride.getSurgeMultiplier() != null) {
+            out.putDouble(ride.getSurgeMultiplier());
+        }
+        writeTime(out, ride.getRequestedAt());
+        writeTime(out, ride.getStartedAt());
+        writeTime(out, ride.getCompletedAt());
+    }
+
+    private static void writePoint(RpcFrames.Payload out, GeoPoint point) {
+        if (point != null) {
+            out.putDouble(point.latitude()).putDouble(point.longitude());
+        }
+    }
+
+    private static void writeTime(RpcFrames.Payload out, LocalDateTime time) {
+        if (time != null) {
+            out.putLong(time.toEpochSecond(ZoneOffset.UTC)).putInt(time.getNano());
+        }
+    }
+}
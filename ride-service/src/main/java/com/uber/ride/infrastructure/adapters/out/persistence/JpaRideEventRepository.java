@@ -0,0 +1,24 @@
+package com.uber.ride.infrastructure.adapters.out.persistence;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 🗄️ REPOSITORIO JPA - Outbox de eventos de viaje
+ */
+@Repository
+public interface JpaRideEventRepository extends JpaRepository<RideEventEntity, Long> {
+
+    // Pendientes de publicar, en orden de inserción
+    List<RideEventEntity> findByStreamOffsetIsNullOrderByIdAsc(Limit limit);
+
+    // Publicados después de un offset (consumidores que reanudan)
+    List<RideEventEntity> findByStreamOffsetGreaterThanOrderByStreamOffsetAsc(Long streamOffset, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.streamOffset), 0) FROM RideEventEntity e")
+    long findMaxStreamOffset();
+}
@@ -1,9 +1,20 @@
 package com.uber.ride.infrastructure.adapters.out.persistence;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 🗄️ REPOSITORIO JPA - Ride Repository
@@ -11,7 +22,77 @@ import java.util.List;
 @Repository
 public interface JpaRideRepository extends JpaRepository<RideEntity, Long> {
 
-    List<RideEntity> findByPassengerId(Long passengerId);
+    // ===== PAGINACIÓN POR CURSOR =====
 
-    List<RideEntity> findByDriverId(Long driverId);
+    List<RideEntity> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<RideEntity> findByPassengerIdAndIdGreaterThanOrderByIdAsc(Long passengerId, Long afterId, Limit limit);
+
+    List<RideEntity> findByDriverIdAndIdGreaterThanOrderByIdAsc(Long driverId, Long afterId, Limit limit);
+
+    // Cursor JDBC: las filas se leen de a fetch-size mientras se consume el Stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM RideEntity r ORDER BY r.id")
+    Stream<RideEntity> streamAllOrderById();
+
+    // ===== TRANSICIONES (UPDATE condicionado al estado actual) =====
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RideEntity r SET r.driverId = :driverId, r.status = 'ACCEPTED' WHERE r.id = :id AND r.status = 'REQUESTED'")
+    int assignDriverIfRequested(@Param("id") Long id, @Param("driverId") Long driverId);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RideEntity r SET r.status = 'IN_PROGRESS', r.startedAt = :startedAt WHERE r.id = :id AND r.status = 'ACCEPTED'")
+    int startIfAccepted(@Param("id") Long id, @Param("startedAt") LocalDateTime startedAt);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RideEntity r SET r.status = 'COMPLETED', r.fare = :fare, r.completedAt = :completedAt WHERE r.id = :id AND r.status = 'IN_PROGRESS'")
+    int completeIfInProgress(@Param("id") Long id, @Param("fare") double fare, @Param("completedAt") LocalDateTime completedAt);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RideEntity r SET r.status = 'CANCELLED' WHERE r.id = :id AND r.status NOT IN ('COMPLETED', 'CANCELLED')")
+    int cancelIfOpen(@Param("id") Long id);
+
+    List<RideEntity> findByStatusOrderByRequestedAtAsc(RideEntity.RideStatus status, Limit limit);
+
+    // Despacho: REQUESTED con coordenadas, por id desde el cursor (usa idx_rides_status_id)
+    @Query("SELECT r FROM RideEntity r WHERE r.status = 'REQUESTED' AND r.pickupLatitude IS NOT NULL "
+            + "AND r.id > :afterId ORDER BY r.id")
+    List<RideEntity> findDispatchable(@Param("afterId") Long afterId, Limit limit);
+
+    // Viajes REQUESTED con recogida dentro de la caja (usa idx_rides_status_pickup)
+    @Query("SELECT r FROM RideEntity r WHERE r.status = 'REQUESTED' "
+            + "AND r.pickupLatitude BETWEEN :minLat AND :maxLat "
+            + "AND r.pickupLongitude BETWEEN :minLon AND :maxLon")
+    List<RideEntity> findRequestedWithinBox(@Param("minLat") double minLatitude, @Param("maxLat") double maxLatitude,
+                                            @Param("minLon") double minLongitude, @Param("maxLon") double maxLongitude,
+                                            Limit limit);
+
+    @Query("SELECT DISTINCT r.driverId FROM RideEntity r WHERE r.driverId IN :driverIds AND r.status IN ('ACCEPTED', 'IN_PROGRESS')")
+    List<Long> findBusyDriverIds(@Param("driverIds") Collection<Long> driverIds);
+
+    // Filas [driverId, MAX(completedAt)]
+    @Query("SELECT r.driverId, MAX(r.completedAt) FROM RideEntity r WHERE r.driverId IN :driverIds AND r.status = 'COMPLETED' GROUP BY r.driverId")
+    List<Object[]> findLastCompletionByDriverIds(@Param("driverIds") Collection<Long> driverIds);
+
+    // ===== ARCHIVO =====
+
+    // Terminados antes del corte (los cancelados no tienen completedAt: cuenta requestedAt)
+    @Query("SELECT r FROM RideEntity r WHERE r.status IN ('COMPLETED', 'CANCELLED') AND COALESCE(r.completedAt, r.requestedAt) < :cutoff ORDER BY r.id")
+    List<RideEntity> findFinishedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM RideEntity r WHERE r.id IN :ids AND r.status IN ('COMPLETED', 'CANCELLED')")
+    int deleteFinishedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM RideEntity r")
+    long findMaxId();
 }
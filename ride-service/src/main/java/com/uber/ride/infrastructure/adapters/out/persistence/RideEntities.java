@@ -0,0 +1,97 @@
+package com.uber.ride.infrastructure.adapters.out.persistence;
+
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 🔄 CONVERSIÓN - Ride ↔ RideEntity
+ *
+ * Compartida por los adaptadores de viajes (JPA y WAL), que además mezclan
+ * sus filas con las del archivo de la misma forma.
+ */
+final class RideEntities {
+
+    static final Comparator<RideEntity> BY_ID = Comparator.comparing(RideEntity::getId);
+
+    private RideEntities() {
+    }
+
+    // Ambas listas ordenadas por id; hasta 'limit', sin repetir ids (gana la base)
+    static List<Ride> merge(List<RideEntity> hot, List<RideEntity> archived, int limit) {
+        List<RideEntity> all = hot;
+        if (!archived.isEmpty()) {
+            all = new ArrayList<>(hot.size() + archived.size());
+            all.addAll(hot);
+            all.addAll(archived);
+            // Orden estable: con el mismo id, la fila de la base queda primero
+            all.sort(BY_ID);
+        }
+        List<Ride> rides = new ArrayList<>(Math.min(limit, all.size()));
+        Long lastId = null;
+        for (RideEntity entity : all) {
+            if (rides.size() == limit) {
+                break;
+            }
+            if (!entity.getId().equals(lastId)) {
+                rides.add(toDomain(entity));
+                lastId = entity.getId();
+            }
+        }
+        return rides;
+    }
+
+    static RideEntity toEntity(Ride ride) {
+        RideEntity.RideStatus entityStatus = ride.getStatus() != null
+                ? RideEntity.RideStatus.valueOf(ride.getStatus().name())
+                : RideEntity.RideStatus.REQUESTED;
+
+        return new RideEntity(
+                ride.getId(),
+                ride.getPassengerId(),
+                ride.getDriverId(),
+                ride.getPickupLocation(),
+                ride.getDropoffLocation(),
+                ride.getPickupPoint() == null ? null : ride.getPickupPoint().latitude(),
+                ride.getPickupPoint() == null ? null : ride.getPickupPoint().longitude(),
+                ride.getDropoffPoint() == null ? null : ride.getDropoffPoint().latitude(),
+                ride.getDropoffPoint() == null ? null : ride.getDropoffPoint().longitude(),
+                entityStatus,
+                ride.getFare(),
+                ride.getEstimatedFare(),
+                ride.getSurgeMultiplier(),
+                ride.getRequestedAt(),
+                ride.getStartedAt(),
+                ride.getCompletedAt()
+        );
+    }
+
+    static Ride toDomain(RideEntity entity) {
+        Ride ride = new Ride(
+                entity.getPassengerId(),
+                entity.getPickupLocation(),
+                entity.getDropoffLocation()
+        );
+
+        ride.setId(entity.getId());
+        ride.setDriverId(entity.getDriverId());
+        ride.setPickupPoint(toPoint(entity.getPickupLatitude(), entity.getPickupLongitude()));
+        ride.setDropoffPoint(toPoint(entity.getDropoffLatitude(), entity.getDropoffLongitude()));
+        ride.setStatus(Ride.RideStatus.valueOf(entity.getStatus().name()));
+        ride.setFare(entity.getFare());
+        ride.setEstimatedFare(entity.getEstimatedFare());
+        ride.setSurgeMultiplier(entity.getSurgeMultiplier());
+        ride.setRequestedAt(entity.getRequestedAt());
+        ride.setStartedAt(entity.getStartedAt());
+        ride.setCompletedAt(entity.getCompletedAt());
+
+        return ride;
+    }
+
+    private static GeoPoint toPoint(Double latitude, Double longitude) {
+        return latitude == null || longitude == null ? null : new GeoPoint(latitude, longitude);
+    }
+}
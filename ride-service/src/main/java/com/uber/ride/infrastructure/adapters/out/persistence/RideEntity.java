@@ -1,17 +1,41 @@
 package com.uber.ride.infrastructure.adapters.out.persistence;
 
+import com.uber.ride.infrastructure.adapters.out.persistence.shard.ShardedSequenceGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import java.time.LocalDateTime;
 
 /**
  * 💾 ENTIDAD JPA - Ride Entity
+ *
+ * Ids de la secuencia rides_seq de cada shard con optimizador pooled: cada
+ * llamada a la secuencia reserva ID_BLOCK_SIZE ids, así Hibernate conoce el
+ * id antes del INSERT y puede agrupar los INSERT en lotes JDBC (con
+ * IDENTITY no puede). El id lleva el shard en los bits altos (RideShards).
  */
 @Entity
-@Table(name = "rides")
+@Table(name = "rides", indexes = {
+        @Index(name = "idx_rides_passenger", columnList = "passengerId, id"),
+        @Index(name = "idx_rides_driver", columnList = "driverId, id"),
+        @Index(name = "idx_rides_status", columnList = "status, requestedAt"),
+        @Index(name = "idx_rides_status_id", columnList = "status, id"),
+        @Index(name = "idx_rides_status_pickup", columnList = "status, pickupLatitude, pickupLongitude")
+})
 public class RideEntity {
 
+    public static final int ID_BLOCK_SIZE = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "rides_seq")
+    @GenericGenerator(name = "rides_seq", type = ShardedSequenceGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "rides_seq"),
+            @Parameter(name = OptimizableGenerator.INCREMENT_PARAM, value = "" + ID_BLOCK_SIZE),
+            @Parameter(name = OptimizableGenerator.OPT_PARAM, value = "pooled")
+    })
     private Long id;
 
     @Column(nullable = false)
@@ -26,6 +50,19 @@ public class RideEntity {
     @Column(nullable = false)
     private String dropoffLocation;
 
+    // Coordenadas (null en viajes solicitados solo con dirección)
+    @Column
+    private Double pickupLatitude;
+
+    @Column
+    private Double pickupLongitude;
+
+    @Column
+    private Double dropoffLatitude;
+
+    @Column
+    private Double dropoffLongitude;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private RideStatus status;
@@ -33,6 +70,12 @@ public class RideEntity {
     @Column
     private double fare;
 
+    @Column
+    private Double estimatedFare;
+
+    @Column
+    private Double surgeMultiplier;
+
     @Column(nullable = false)
     private LocalDateTime requestedAt;
 
@@ -51,15 +94,23 @@ public class RideEntity {
     }
 
     public RideEntity(Long id, Long passengerId, Long driverId, String pickupLocation,
-                      String dropoffLocation, RideStatus status, double fare,
+                      String dropoffLocation, Double pickupLatitude, Double pickupLongitude,
+                      Double dropoffLatitude, Double dropoffLongitude, RideStatus status, double fare,
+                      Double estimatedFare, Double surgeMultiplier,
                       LocalDateTime requestedAt, LocalDateTime startedAt, LocalDateTime completedAt) {
         this.id = id;
         this.passengerId = passengerId;
         this.driverId = driverId;
         this.pickupLocation = pickupLocation;
         this.dropoffLocation = dropoffLocation;
+        this.pickupLatitude = pickupLatitude;
+        this.pickupLongitude = pickupLongitude;
+        this.dropoffLatitude = dropoffLatitude;
+        this.dropoffLongitude = dropoffLongitude;
         this.status = status;
         this.fare = fare;
+        this.estimatedFare = estimatedFare;
+        this.surgeMultiplier = surgeMultiplier;
         this.requestedAt = requestedAt;
         this.startedAt = startedAt;
         this.completedAt = completedAt;
@@ -81,12 +132,30 @@ public class RideEntity {
     public String getDropoffLocation() { return dropoffLocation; }
     public void setDropoffLocation(String dropoffLocation) { this.dropoffLocation = dropoffLocation; }
 
+    public Double getPickupLatitude() { return pickupLatitude; }
+    public void setPickupLatitude(Double pickupLatitude) { this.pickupLatitude = pickupLatitude; }
+
+    public Double getPickupLongitude() { return pickupLongitude; }
+    public void setPickupLongitude(Double pickupLongitude) { this.pickupLongitude = pickupLongitude; }
+
+    public Double getDropoffLatitude() { return dropoffLatitude; }
+    public void setDropoffLatitude(Double dropoffLatitude) { this.dropoffLatitude = dropoffLatitude; }
+
+    public Double getDropoffLongitude() { return dropoffLongitude; }
+    public void setDropoffLongitude(Double dropoffLongitude) { this.dropoffLongitude = dropoffLongitude; }
+
     public RideStatus getStatus() { return status; }
     public void setStatus(RideStatus status) { this.status = status; }
 
     public double getFare() { return fare; }
     public void setFare(double fare) { this.fare = fare; }
 
+    public Double getEstimatedFare() { return estimatedFare; }
+    public void setEstimatedFare(Double estimatedFare) { this.estimatedFare = estimatedFare; }
+
+    public Double getSurgeMultiplier() { return surgeMultiplier; }
+    public void setSurgeMultiplier(Double surgeMultiplier) { this.surgeMultiplier = surgeMultiplier; }
+
     public LocalDateTime getRequestedAt() { return requestedAt; }
     public void setRequestedAt(LocalDateTime requestedAt) { this.requestedAt = requestedAt; }
 
@@ -0,0 +1,96 @@
+package com.uber.ride.infrastructure.adapters.out.persistence;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 💾 ENTIDAD JPA - Outbox de eventos de viaje
+ *
+ * streamOffset es null hasta que el relay publica el evento.
+ */
+@Entity
+@Table(name = "ride_events", indexes = {
+        @Index(name = "idx_ride_events_offset", columnList = "streamOffset, id")
+})
+public class RideEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column
+    private Long streamOffset;
+
+    @Column(nullable = false)
+    private Long rideId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RideEntity.RideStatus status;
+
+    @Column(nullable = false)
+    private Long passengerId;
+
+    @Column
+    private Long driverId;
+
+    @Column
+    private Double pickupLatitude;
+
+    @Column
+    private Double pickupLongitude;
+
+    @Column
+    private double fare;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Constructores
+    public RideEventEntity() {
+    }
+
+    public RideEventEntity(Long rideId, RideEntity.RideStatus status, Long passengerId,
+                           Long driverId, Double pickupLatitude, Double pickupLongitude,
+                           double fare, LocalDateTime occurredAt) {
+        this.rideId = rideId;
+        this.status = status;
+        this.passengerId = passengerId;
+        this.driverId = driverId;
+        this.pickupLatitude = pickupLatitude;
+        this.pickupLongitude = pickupLongitude;
+        this.fare = fare;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStreamOffset() { return streamOffset; }
+    public void setStreamOffset(Long streamOffset) { this.streamOffset = streamOffset; }
+
+    public Long getRideId() { return rideId; }
+    public void setRideId(Long rideId) { this.rideId = rideId; }
+
+    public RideEntity.RideStatus getStatus() { return status; }
+    public void setStatus(RideEntity.RideStatus status) { this.status = status; }
+
+    public Long getPassengerId() { return passengerId; }
+    public void setPassengerId(Long passengerId) { this.passengerId = passengerId; }
+
+    public Long getDriverId() { return driverId; }
+    public void setDriverId(Long driverId) { this.driverId = driverId; }
+
+    public Double getPickupLatitude() { return pickupLatitude; }
+    public void setPickupLatitude(Double pickupLatitude) { this.pickupLatitude = pickupLatitude; }
+
+    public Double getPickupLongitude() { return pickupLongitude; }
+    public void setPickupLongitude(Double pickupLongitude) { this.pickupLongitude = pickupLongitude; }
+
+    public double getFare() { return fare; }
+    public void setFare(double fare) { this.fare = fare; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
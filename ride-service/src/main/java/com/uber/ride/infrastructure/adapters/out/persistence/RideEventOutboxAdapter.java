@@ -0,0 +1,123 @@
+package com.uber.ride.infrastructure.adapters.out.persistence;
+
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.model.RideEvent;
+import com.uber.ride.domain.ports.out.RideEventOutbox;
+import com.uber.ride.infrastructure.adapters.out.persistence.shard.RideShards;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 🔌 ADAPTADOR DE PERSISTENCIA - Outbox de eventos de viaje
+ *
+ * Los offsets se asignan al publicar y no al insertar: un id IDENTITY
+ * puede confirmarse después que uno mayor, y un consumidor que ya leyó
+ * "hasta N" nunca vería el menor. Asignados por un único relay sobre filas
+ * ya confirmadas, los offsets siguen el orden de commit y no tienen huecos.
+ *
+ * Cada evento se guarda en el shard de su viaje, dentro de la misma
+ * transacción. El relay numera los pendientes shard por shard (cada uno en
+ * su transacción, empezando cada vez por uno distinto para no dejar a
+ * ninguno atrás) a partir del mayor offset de todos los shards.
+ */
+@Component
+public class RideEventOutboxAdapter implements RideEventOutbox {
+
+    private static final Comparator<RideEventEntity> BY_OFFSET = Comparator.comparing(RideEventEntity::getStreamOffset);
+
+    private final JpaRideEventRepository jpaRideEventRepository;
+    private final RideShards shards;
+    private int nextShard;
+
+    public RideEventOutboxAdapter(JpaRideEventRepository jpaRideEventRepository, RideShards shards) {
+        this.jpaRideEventRepository = jpaRideEventRepository;
+        this.shards = shards;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(RideEvent event) {
+        RideEventEntity entity = new RideEventEntity(
+                event.rideId(),
+                RideEntity.RideStatus.valueOf(event.status().name()),
+                event.passengerId(),
+                event.driverId(),
+                event.pickupPoint() == null ? null : event.pickupPoint().latitude(),
+                event.pickupPoint() == null ? null : event.pickupPoint().longitude(),
+                event.fare(),
+                event.occurredAt()
+        );
+        shards.onShard(RideShards.shardOf(event.rideId()), () -> jpaRideEventRepository.save(entity));
+    }
+
+    @Override
+    public List<RideEvent> assignOffsets(int limit) {
+        // Se relee en cada lote: si una transacción anterior falló no quedan huecos
+        long offset = 0;
+        for (long shardMax : shards.scatter(shards.all(), shard -> jpaRideEventRepository.findMaxStreamOffset())) {
+            offset = Math.max(offset, shardMax);
+        }
+        List<RideEvent> assigned = new ArrayList<>();
+        int first = nextShard;
+        nextShard = (nextShard + 1) % shards.count();
+        for (int i = 0; i < shards.count() && assigned.size() < limit; i++) {
+            int shard = (first + i) % shards.count();
+            long firstOffset = offset;
+            int remaining = limit - assigned.size();
+            List<RideEvent> numbered = shards.inTransaction(shard, false, () -> {
+                List<RideEventEntity> pending =
+                        jpaRideEventRepository.findByStreamOffsetIsNullOrderByIdAsc(Limit.of(remaining));
+                long next = firstOffset;
+                for (RideEventEntity entity : pending) {
+                    entity.setStreamOffset(++next);
+                }
+                return toDomainList(pending);
+            });
+            offset += numbered.size();
+            assigned.addAll(numbered);
+        }
+        return assigned;
+    }
+
+    @Override
+    public List<RideEvent> findAfter(long afterOffset, int limit) {
+        List<RideEventEntity> events = new ArrayList<>();
+        shards.scatter(shards.all(), shard -> jpaRideEventRepository
+                        .findByStreamOffsetGreaterThanOrderByStreamOffsetAsc(afterOffset, Limit.of(limit)))
+                .forEach(events::addAll);
+        if (shards.count() > 1) {
+            events.sort(BY_OFFSET);
+        }
+        return toDomainList(events.size() > limit ? events.subList(0, limit) : events);
+    }
+
+    // ===== CONVERSIÓN =====
+
+    private List<RideEvent> toDomainList(List<RideEventEntity> entities) {
+        return entities.stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    private RideEvent toDomain(RideEventEntity entity) {
+        return new RideEvent(
+                entity.getStreamOffset(),
+                entity.getRideId(),
+                Ride.RideStatus.valueOf(entity.getStatus().name()),
+                entity.getPassengerId(),
+                entity.getDriverId(),
+                entity.getPickupLatitude() == null
+                        ? null : new GeoPoint(entity.getPickupLatitude(), entity.getPickupLongitude()),
+                entity.getFare(),
+                entity.getOccurredAt()
+        );
+    }
+}
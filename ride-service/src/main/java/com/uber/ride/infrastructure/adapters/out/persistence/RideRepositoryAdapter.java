@@ -2,102 +2,388 @@ package com.uber.ride.infrastructure.adapters.out.persistence;
 
 import com.uber.ride.domain.model.Ride;
 import com.uber.ride.domain.ports.out.RideRepository;
+import com.uber.ride.infrastructure.adapters.out.persistence.archive.RideArchive;
+import com.uber.ride.infrastructure.adapters.out.persistence.shard.RideShards;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * 🔌 ADAPTADOR DE PERSISTENCIA - Ride Repository Adapter
+ *
+ * Los viajes viven en la tabla rides ("calientes") y, ya terminados y
+ * viejos, en RideArchive. Las búsquedas por id, listados y exportación
+ * mezclan ambos por id; si un viaje aparece en los dos, gana la base.
+ * Transiciones, despacho y conductores ocupados solo miran la base: un
+ * viaje archivado ya no cambia de estado.
+ *
+ * La tabla rides está repartida en shards (RideShards): lo que se busca
+ * por id va solo al shard del id, un viaje nuevo al de la región de su
+ * recogida, y lo demás se consulta en paralelo a todos los shards y se
+ * mezcla aquí. Como el shard va en los bits altos del id, los resultados
+ * ordenados por id de cada shard, puestos uno tras otro, ya quedan en orden.
+ *
+ * Con ride.storage.type=wal lo reemplaza WalRideRepositoryAdapter.
  */
 @Component
+@ConditionalOnProperty(name = "ride.storage.type", havingValue = "jpa", matchIfMissing = true)
 public class RideRepositoryAdapter implements RideRepository {
 
+    private static final Comparator<RideEntity> BY_REQUESTED_AT = Comparator.comparing(RideEntity::getRequestedAt);
+
+    // Cada flush manda estas filas en lotes JDBC de hibernate.jdbc.batch_size
+    private static final int BULK_FLUSH_SIZE = 1000;
+    // Ids por consulta IN: listas más largas se parten en varias
+    private static final int IN_LIST_CHUNK = 1000;
+
     private final JpaRideRepository jpaRideRepository;
+    private final EntityManager entityManager;
+    private final RideArchive archive;
+    private final RideShards shards;
 
-    public RideRepositoryAdapter(JpaRideRepository jpaRideRepository) {
+    public RideRepositoryAdapter(JpaRideRepository jpaRideRepository, EntityManager entityManager, RideArchive archive,
+                                 RideShards shards) {
         this.jpaRideRepository = jpaRideRepository;
+        this.entityManager = entityManager;
+        this.archive = archive;
+        this.shards = shards;
     }
 
     @Override
     public Ride save(Ride ride) {
-        RideEntity entity = toEntity(ride);
-        RideEntity savedEntity = jpaRideRepository.save(entity);
-        return toDomain(savedEntity);
+        int shard = ride.getId() != null
+                ? RideShards.shardOf(ride.getId())
+                : shards.shardFor(ride.getPickupPoint(), ride.getPassengerId());
+        return shards.onShard(shard, () -> toDomain(jpaRideRepository.save(toEntity(ride))));
+    }
+
+    @Override
+    public int insertAll(List<Ride> rides) {
+        Map<Integer, List<Ride>> byShard = new TreeMap<>();
+        for (Ride ride : rides) {
+            byShard.computeIfAbsent(shards.shardFor(ride.getPickupPoint(), ride.getPassengerId()),
+                    shard -> new ArrayList<>()).add(ride);
+        }
+        int[] targets = byShard.keySet().stream().mapToInt(Integer::intValue).toArray();
+        // Cada shard en su transacción y en paralelo: las escrituras escalan con los shards
+        List<ShardInsert> results = shards.scatter(targets, shard -> {
+            List<Ride> part = byShard.get(shard);
+            try {
+                return new ShardInsert(shards.inTransaction(shard, false, () -> persistAll(part)), null);
+            } catch (RuntimeException e) {
+                return new ShardInsert(0, e);
+            }
+        });
+
+        int inserted = 0;
+        RuntimeException failure = null;
+        for (ShardInsert result : results) {
+            inserted += result.inserted();
+            if (failure == null) {
+                failure = result.error();
+            }
+        }
+        if (failure != null) {
+            throw new PartialInsertException(inserted, failure);
+        }
+        return inserted;
+    }
+
+    private int persistAll(List<Ride> rides) {
+        for (int i = 0; i < rides.size(); i++) {
+            entityManager.persist(toEntity(rides.get(i)));
+            // flush + clear: el contexto de persistencia no acumula el lote entero
+            if ((i + 1) % BULK_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return rides.size();
     }
 
     @Override
     public Optional<Ride> findById(Long id) {
-        return jpaRideRepository.findById(id)
+        Optional<RideEntity> hot = shards.contains(id)
+                ? shards.onShard(RideShards.shardOf(id), () -> jpaRideRepository.findById(id))
+                : Optional.empty();
+        return hot.or(() -> archive.findById(id))
                 .map(this::toDomain);
     }
 
+    @Override
+    public List<Ride> findAllById(Collection<Long> ids) {
+        Map<Integer, List<Long>> byShard = new TreeMap<>();
+        for (Long id : ids) {
+            if (shards.contains(id)) {
+                byShard.computeIfAbsent(RideShards.shardOf(id), shard -> new ArrayList<>()).add(id);
+            }
+        }
+        int[] targets = byShard.keySet().stream().mapToInt(Integer::intValue).toArray();
+        List<RideEntity> hot = concat(shards.scatter(targets, shard -> findAllByIdIn(byShard.get(shard))));
+
+        List<Ride> rides = new ArrayList<>(hot.size());
+        Set<Long> found = new HashSet<>();
+        for (RideEntity entity : hot) {
+            rides.add(toDomain(entity));
+            found.add(entity.getId());
+        }
+        // Los que no están en la base pueden estar archivados
+        if (!archive.isEmpty()) {
+            for (Long id : ids) {
+                if (found.add(id)) {
+                    archive.findById(id).ifPresent(entity -> rides.add(toDomain(entity)));
+                }
+            }
+        }
+        return rides;
+    }
+
+    private List<RideEntity> findAllByIdIn(List<Long> ids) {
+        if (ids.size() <= IN_LIST_CHUNK) {
+            return jpaRideRepository.findAllById(ids);
+        }
+        List<RideEntity> found = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK) {
+            found.addAll(jpaRideRepository.findAllById(ids.subList(from, Math.min(ids.size(), from + IN_LIST_CHUNK))));
+        }
+        return found;
+    }
+
     @Override
     public List<Ride> findAll() {
-        return jpaRideRepository.findAll()
-                .stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+        List<RideEntity> hot = concat(shards.scatter(shards.all(), shard -> jpaRideRepository.findAll(Sort.by("id"))));
+        return RideEntities.merge(hot, archive.isEmpty() ? List.of()
+                : archive.findPage(0, Integer.MAX_VALUE), Integer.MAX_VALUE);
     }
 
     @Override
     public List<Ride> findByPassengerId(Long passengerId) {
-        return jpaRideRepository.findByPassengerId(passengerId)
-                .stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+        return findByPassengerIdPage(passengerId, null, Integer.MAX_VALUE);
     }
 
     @Override
     public List<Ride> findByDriverId(Long driverId) {
-        return jpaRideRepository.findByDriverId(driverId)
-                .stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+        return findByDriverIdPage(driverId, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Ride> findPage(Long afterId, int limit) {
+        List<RideEntity> hot = pageFromShards(afterId, shard ->
+                jpaRideRepository.findByIdGreaterThanOrderByIdAsc(cursor(afterId), Limit.of(limit)));
+        return RideEntities.merge(hot, archive.isEmpty() ? List.of()
+                : archive.findPage(cursor(afterId), limit), limit);
+    }
+
+    @Override
+    public List<Ride> findByPassengerIdPage(Long passengerId, Long afterId, int limit) {
+        List<RideEntity> hot = pageFromShards(afterId, shard ->
+                jpaRideRepository.findByPassengerIdAndIdGreaterThanOrderByIdAsc(
+                        passengerId, cursor(afterId), Limit.of(limit)));
+        return RideEntities.merge(hot, archive.isEmpty() ? List.of()
+                : archive.findByPassengerPage(passengerId, cursor(afterId), limit), limit);
+    }
+
+    @Override
+    public List<Ride> findByDriverIdPage(Long driverId, Long afterId, int limit) {
+        List<RideEntity> hot = pageFromShards(afterId, shard ->
+                jpaRideRepository.findByDriverIdAndIdGreaterThanOrderByIdAsc(
+                        driverId, cursor(afterId), Limit.of(limit)));
+        return RideEntities.merge(hot, archive.isEmpty() ? List.of()
+                : archive.findByDriverPage(driverId, cursor(afterId), limit), limit);
+    }
+
+    @Override
+    public void streamAll(Consumer<Ride> consumer) {
+        ArchivedCursor archived = new ArchivedCursor(archive.iterator());
+        // Shard por shard en orden = orden global de id; cada uno con su cursor JDBC
+        for (int shard : shards.all()) {
+            shards.inTransaction(shard, true, () -> {
+                try (Stream<RideEntity> entities = jpaRideRepository.streamAllOrderById()) {
+                    for (Iterator<RideEntity> hot = entities.iterator(); hot.hasNext(); ) {
+                        RideEntity entity = hot.next();
+                        // Primero los archivados con id menor; con el mismo id gana la base
+                        while (archived.next != null && archived.next.getId() <= entity.getId()) {
+                            if (archived.next.getId() < entity.getId()) {
+                                consumer.accept(toDomain(archived.next));
+                            }
+                            archived.advance();
+                        }
+                        consumer.accept(toDomain(entity));
+                        // Sin detach, el contexto de persistencia retendría cada fila leída
+                        entityManager.detach(entity);
+                    }
+                }
+                return null;
+            });
+        }
+        while (archived.next != null) {
+            consumer.accept(toDomain(archived.next));
+            archived.advance();
+        }
     }
 
     @Override
     public boolean existsById(Long id) {
-        return jpaRideRepository.existsById(id);
+        boolean hot = shards.contains(id)
+                && shards.onShard(RideShards.shardOf(id), () -> jpaRideRepository.existsById(id));
+        return hot || archive.contains(id);
+    }
+
+    @Override
+    public boolean assignDriverIfRequested(Long rideId, Long driverId) {
+        return onRideShard(rideId, () -> jpaRideRepository.assignDriverIfRequested(rideId, driverId)) == 1;
+    }
+
+    @Override
+    public boolean startIfAccepted(Long rideId, LocalDateTime startedAt) {
+        return onRideShard(rideId, () -> jpaRideRepository.startIfAccepted(rideId, startedAt)) == 1;
+    }
+
+    @Override
+    public boolean completeIfInProgress(Long rideId, double fare, LocalDateTime completedAt) {
+        return onRideShard(rideId, () -> jpaRideRepository.completeIfInProgress(rideId, fare, completedAt)) == 1;
+    }
+
+    @Override
+    public boolean cancelIfOpen(Long rideId) {
+        return onRideShard(rideId, () -> jpaRideRepository.cancelIfOpen(rideId)) == 1;
+    }
+
+    @Override
+    public List<Ride> findByStatus(Ride.RideStatus status, int limit) {
+        RideEntity.RideStatus entityStatus = RideEntity.RideStatus.valueOf(status.name());
+        List<RideEntity> hot = concat(shards.scatter(shards.all(), shard ->
+                jpaRideRepository.findByStatusOrderByRequestedAtAsc(entityStatus, Limit.of(limit))));
+        if (shards.count() > 1) {
+            hot.sort(BY_REQUESTED_AT);
+        }
+        return toDomainList(hot, limit);
+    }
+
+    @Override
+    public List<Ride> findDispatchablePage(Long afterId, int limit) {
+        List<RideEntity> hot = pageFromShards(afterId, shard ->
+                jpaRideRepository.findDispatchable(cursor(afterId), Limit.of(limit)));
+        return toDomainList(hot, limit);
+    }
+
+    @Override
+    public List<Ride> findRequestedWithinBox(double minLatitude, double maxLatitude,
+                                             double minLongitude, double maxLongitude, int limit) {
+        int[] regionShards = shards.shardsForBox(minLatitude, maxLatitude, minLongitude, maxLongitude);
+        List<RideEntity> hot = concat(shards.scatter(regionShards, shard ->
+                jpaRideRepository.findRequestedWithinBox(minLatitude, maxLatitude, minLongitude, maxLongitude,
+                        Limit.of(limit))));
+        return toDomainList(hot, limit);
+    }
+
+    @Override
+    public Set<Long> findBusyDriverIds(Collection<Long> driverIds) {
+        if (driverIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> busy = new HashSet<>();
+        shards.scatter(shards.all(), shard -> jpaRideRepository.findBusyDriverIds(driverIds))
+                .forEach(busy::addAll);
+        return busy;
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> findLastCompletionByDriverIds(Collection<Long> driverIds) {
+        Map<Long, LocalDateTime> lastCompletion = new HashMap<>();
+        if (driverIds.isEmpty()) {
+            return lastCompletion;
+        }
+        for (List<Object[]> rows : shards.scatter(shards.all(),
+                shard -> jpaRideRepository.findLastCompletionByDriverIds(driverIds))) {
+            for (Object[] row : rows) {
+                lastCompletion.merge((Long) row[0], (LocalDateTime) row[1],
+                        (current, other) -> current.isAfter(other) ? current : other);
+            }
+        }
+        return lastCompletion;
+    }
+
+    // ===== SHARDS =====
+
+    // Un viaje de un shard que no existe no está en ninguna tabla: 0 filas afectadas
+    private int onRideShard(Long rideId, Supplier<Integer> update) {
+        return shards.contains(rideId) ? shards.onShard(RideShards.shardOf(rideId), update) : 0;
+    }
+
+    // Página por id: solo los shards con ids mayores al cursor
+    private List<RideEntity> pageFromShards(Long afterId, IntFunction<List<RideEntity>> query) {
+        return concat(shards.scatter(shards.from(cursor(afterId)), query));
+    }
+
+    private static List<RideEntity> concat(List<List<RideEntity>> perShard) {
+        if (perShard.size() == 1) {
+            return new ArrayList<>(perShard.get(0));
+        }
+        List<RideEntity> all = new ArrayList<>();
+        perShard.forEach(all::addAll);
+        return all;
+    }
+
+    private List<Ride> toDomainList(List<RideEntity> entities, int limit) {
+        List<Ride> rides = new ArrayList<>(Math.min(limit, entities.size()));
+        for (int i = 0; i < entities.size() && i < limit; i++) {
+            rides.add(toDomain(entities.get(i)));
+        }
+        return rides;
+    }
+
+    private record ShardInsert(int inserted, RuntimeException error) {
+    }
+
+    // Siguiente viaje archivado al mezclar con los de la base
+    private static final class ArchivedCursor {
+        private final Iterator<RideEntity> iterator;
+        private RideEntity next;
+
+        ArchivedCursor(Iterator<RideEntity> iterator) {
+            this.iterator = iterator;
+            advance();
+        }
+
+        void advance() {
+            next = iterator.hasNext() ? iterator.next() : null;
+        }
     }
 
     // ===== CONVERSIÓN =====
 
+    private static Long cursor(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
+
+    // Conversión compartida con WalRideRepositoryAdapter (RideEntities)
     private RideEntity toEntity(Ride ride) {
-        RideEntity.RideStatus entityStatus = ride.getStatus() != null
-                ? RideEntity.RideStatus.valueOf(ride.getStatus().name())
-                : RideEntity.RideStatus.REQUESTED;
-
-        return new RideEntity(
-                ride.getId(),
-                ride.getPassengerId(),
-                ride.getDriverId(),
-                ride.getPickupLocation(),
-                ride.getDropoffLocation(),
-                entityStatus,
-                ride.getFare(),
-                ride.getRequestedAt(),
-                ride.getStartedAt(),
-                ride.getCompletedAt()
-        );
+        return RideEntities.toEntity(ride);
     }
 
     private Ride toDomain(RideEntity entity) {
-        Ride ride = new Ride(
-                entity.getPassengerId(),
-                entity.getPickupLocation(),
-                entity.getDropoffLocation()
-        );
-
-        ride.setId(entity.getId());
-        ride.setDriverId(entity.getDriverId());
-        ride.setStatus(Ride.RideStatus.valueOf(entity.getStatus().name()));
-        ride.setFare(entity.getFare());
-        ride.setRequestedAt(entity.getRequestedAt());
-        ride.setStartedAt(entity.getStartedAt());
-        ride.setCompletedAt(entity.getCompletedAt());
-
-        return ride;
+        return RideEntities.toDomain(entity);
     }
 }
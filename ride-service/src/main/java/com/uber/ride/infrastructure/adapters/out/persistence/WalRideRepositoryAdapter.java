@@ -0,0 +1,811 @@
+package com.uber.ride.infrastructure.adapters.out.persistence;
+
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.ports.out.RideRepository;
+import com.uber.ride.infrastructure.adapters.out.persistence.archive.RideArchive;
+import com.uber.ride.infrastructure.adapters.out.persistence.wal.RideRecords;
+import com.uber.ride.infrastructure.adapters.out.persistence.wal.RideSnapshot;
+import com.uber.ride.infrastructure.adapters.out.persistence.wal.RideWal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 🔌 ADAPTADOR DE PERSISTENCIA - Viajes en memoria con WAL
+ *
+ * Se activa con ride.storage.type=wal (perfil "durable"). Los viajes que
+ * no están en el archivo viven en memoria; cada cambio se escribe en el
+ * WAL (RideWal) y la llamada vuelve cuando el registro está en disco. El
+ * fsync es por lote (group commit): escrituras concurrentes comparten uno.
+ *
+ * Cada snapshot-interval-ms se guarda un snapshot y se borra el WAL que
+ * cubre. Al arrancar se carga el último snapshot y se reaplica el WAL de
+ * ahí en adelante. Los viajes terminados hace más de
+ * ride.archive.min-age-minutes pasan al archivo, igual que con JPA.
+ *
+ * Un cambio se valida bajo writeLock y queda pendiente: otro cambio
+ * sobre el mismo viaje espera a que se resuelva, como la fila bloqueada
+ * de un UPDATE. Dentro de una transacción (la del servicio, que escribe
+ * el evento en el outbox) va al WAL justo antes del commit y a memoria
+ * después; si la transacción se deshace no se aplica, y si ya estaba en
+ * el WAL se compensa. Fuera de una transacción se escribe y se aplica en
+ * el momento. Nadie ve un cambio que no esté en disco; la transacción que
+ * lo hizo sí (findById, existsById, findAllById). Si el proceso cae entre
+ * el fsync del WAL y el commit del outbox, el cambio queda sin evento.
+ * No usa ride.shards.
+ */
+@Component
+@ConditionalOnProperty(name = "ride.storage.type", havingValue = "wal")
+public class WalRideRepositoryAdapter implements RideRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WalRideRepositoryAdapter.class);
+
+    private static final long PENDING_WAIT_NANOS = 10_000_000_000L;
+
+    private static final Comparator<RideEntity> BY_REQUESTED_AT = Comparator.comparing(RideEntity::getRequestedAt);
+
+    private final RideArchive archive;
+    private final Path directory;
+    private final boolean fsync;
+    private final boolean archiveEnabled;
+    private final long minAgeMinutes;
+    private final int archiveBatchSize;
+    private final MeterRegistry meterRegistry;
+
+    // Imágenes inmutables: cada cambio reemplaza la del viaje por una nueva
+    private final ConcurrentSkipListMap<Long, RideEntity> rides = new ConcurrentSkipListMap<>();
+    private final Map<Long, NavigableSet<Long>> byPassenger = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> byDriver = new ConcurrentHashMap<>();
+    private final Set<Long> open = ConcurrentHashMap.newKeySet();
+    private final Map<Long, LocalDateTime> lastCompletion = new ConcurrentHashMap<>();
+
+    // Validación, encolado en el WAL y aplicación en memoria, en el mismo orden para todos
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Cambios validados que aún no están en memoria, por viaje (con writeLock)
+    private final Map<Long, PendingWrite> pending = new HashMap<>();
+    // Se señala cada vez que un cambio pendiente se aplica o se descarta
+    private final Condition settled = writeLock.newCondition();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final AtomicLong changesSinceSnapshot = new AtomicLong();
+    private long lastId;
+    private RideWal wal;
+
+    public WalRideRepositoryAdapter(RideArchive archive,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${ride.storage.dir:data/ride-wal}") String directory,
+                                    @Value("${ride.storage.fsync:true}") boolean fsync,
+                                    @Value("${ride.archive.enabled:false}") boolean archiveEnabled,
+                                    @Value("${ride.archive.min-age-minutes:1440}") long minAgeMinutes,
+                                    @Value("${ride.archive.batch-size:50000}") int archiveBatchSize) {
+        this.archive = archive;
+        this.meterRegistry = meterRegistry;
+        this.directory = Path.of(directory);
+        this.fsync = fsync;
+        this.archiveEnabled = archiveEnabled;
+        this.minAgeMinutes = minAgeMinutes;
+        this.archiveBatchSize = archiveBatchSize;
+        Gauge.builder("ride.storage.open", open, Set::size).register(meterRegistry);
+    }
+
+    // ===== RECUPERACIÓN =====
+
+    @PostConstruct
+    void recover() throws IOException {
+        Files.createDirectories(directory);
+        long start = System.nanoTime();
+        long snapshotGeneration = RideSnapshot.latestGeneration(directory);
+        if (snapshotGeneration > 0) {
+            lastId = RideSnapshot.read(directory, snapshotGeneration, this::restore, lastCompletion::put);
+            changesSinceSnapshot.set(0);
+        }
+        long walGeneration = RideWal.replay(directory, Math.max(snapshotGeneration, 1),
+                record -> {
+                    if (RideRecords.isTombstone(record)) {
+                        discard(RideRecords.tombstoneId(record));
+                    } else {
+                        restore(RideRecords.decode(record));
+                    }
+                });
+        lastId = Math.max(lastId, archive.maxId());
+        wal = new RideWal(directory, Math.max(snapshotGeneration, walGeneration) + 1, fsync, meterRegistry);
+        log.info("💾 Viajes en memoria: {} (snapshot {} + WAL) en {} ms",
+                rides.size(), snapshotGeneration, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Un viaje del archivo ya terminó, así que ninguna imagen suya vuelve a
+     * memoria: tras una caída el WAL aún trae sus estados intermedios
+     * (REQUESTED, ACCEPTED...) y reaplicarlos lo reabriría. De esas imágenes
+     * solo se conserva la última finalización del conductor.
+     */
+    private void restore(RideEntity image) {
+        if (archive.contains(image.getId())) {
+            recordCompletion(image);
+            return;
+        }
+        apply(image);
+        lastId = Math.max(lastId, image.getId());
+        changesSinceSnapshot.incrementAndGet();
+    }
+
+    // Lápida: el viaje nuevo no llegó a confirmarse
+    private void discard(long rideId) {
+        RideEntity removed = rides.remove(rideId);
+        if (removed != null) {
+            unindex(removed);
+        }
+    }
+
+    // Con un snapshot al apagar, el próximo arranque casi no reaplica WAL
+    @PreDestroy
+    void close() throws IOException {
+        snapshot();
+        wal.close();
+    }
+
+    // ===== SNAPSHOTS Y ARCHIVO =====
+
+    /**
+     * El WAL pasa a una generación nueva y el snapshot se escribe sin
+     * frenar las escrituras: puede incluir cambios posteriores al corte,
+     * pero esos también están en el WAL nuevo y reaplicarlos da lo mismo.
+     * Lo escrito en el WAL viejo por transacciones que aún no terminaron
+     * también entra; si se deshacen, la compensación va en el WAL nuevo.
+     */
+    @Scheduled(fixedDelayString = "${ride.storage.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (!snapshotLock.tryLock()) {
+            return;
+        }
+        try {
+            if (changesSinceSnapshot.get() == 0) {
+                return;
+            }
+            long generation;
+            long idAtCut;
+            Map<Long, LocalDateTime> completionsAtCut;
+            List<RideEntity> writtenAtCut = new ArrayList<>();
+            writeLock.lock();
+            try {
+                generation = wal.rotate();
+                idAtCut = lastId;
+                completionsAtCut = new HashMap<>(lastCompletion);
+                for (PendingWrite write : pending.values()) {
+                    if (write.written) {
+                        writtenAtCut.add(write.image);
+                    }
+                }
+                changesSinceSnapshot.set(0);
+            } finally {
+                writeLock.unlock();
+            }
+            long start = System.nanoTime();
+            RideSnapshot.write(directory, generation, idAtCut, completionsAtCut,
+                    Stream.concat(rides.values().stream(), writtenAtCut.stream()).iterator());
+            RideSnapshot.deleteBefore(directory, generation);
+            wal.deleteBefore(generation);
+            log.info("📸 Snapshot {} de viajes escrito en {} ms", generation, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el snapshot de viajes", e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /** Pasa al archivo los viajes terminados hace más de min-age-minutes. */
+    @Scheduled(fixedDelayString = "${ride.archive.interval-ms:60000}")
+    public void archiveFinishedRides() {
+        if (!archiveEnabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(minAgeMinutes);
+        List<RideEntity> finished;
+        do {
+            finished = new ArrayList<>();
+            for (RideEntity ride : rides.values()) {
+                LocalDateTime finishedAt = ride.getCompletedAt() != null ? ride.getCompletedAt() : ride.getRequestedAt();
+                if (!isOpen(ride.getStatus()) && finishedAt.isBefore(cutoff)) {
+                    finished.add(ride);
+                    if (finished.size() == archiveBatchSize) {
+                        break;
+                    }
+                }
+            }
+            // Ya en el archivo (con fsync): desde ahí se leen y la recuperación los salta
+            try {
+                archive.append(finished);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo escribir el segmento de archivo", e);
+            }
+            // Por id: los terminados ya no cambian, así que lo archivado es lo que hay en memoria
+            writeLock.lock();
+            try {
+                for (RideEntity ride : finished) {
+                    RideEntity current = rides.remove(ride.getId());
+                    if (current != null) {
+                        unindex(current);
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            if (!finished.isEmpty()) {
+                log.info("📦 {} viajes archivados", finished.size());
+            }
+        } while (finished.size() == archiveBatchSize);
+    }
+
+    // ===== ESCRITURA =====
+
+    @Override
+    public Ride save(Ride ride) {
+        RideEntity image = RideEntities.toEntity(ride);
+        PendingWrite write;
+        writeLock.lock();
+        try {
+            RideEntity previous = null;
+            if (image.getId() == null) {
+                image.setId(++lastId);
+            } else {
+                lastId = Math.max(lastId, image.getId());
+                previous = latest(image.getId());
+            }
+            write = stage(image, previous);
+        } finally {
+            writeLock.unlock();
+        }
+        submit(List.of(write));
+        return RideEntities.toDomain(image);
+    }
+
+    @Override
+    public int insertAll(List<Ride> newRides) {
+        List<PendingWrite> writes = new ArrayList<>(newRides.size());
+        writeLock.lock();
+        try {
+            for (Ride ride : newRides) {
+                RideEntity image = RideEntities.toEntity(ride);
+                image.setId(++lastId);
+                writes.add(stage(image, null));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        submit(writes);
+        return writes.size();
+    }
+
+    @Override
+    public boolean assignDriverIfRequested(Long rideId, Long driverId) {
+        return transition(rideId, ride -> ride.getStatus() == RideEntity.RideStatus.REQUESTED, ride -> {
+            ride.setDriverId(driverId);
+            ride.setStatus(RideEntity.RideStatus.ACCEPTED);
+        });
+    }
+
+    @Override
+    public boolean startIfAccepted(Long rideId, LocalDateTime startedAt) {
+        return transition(rideId, ride -> ride.getStatus() == RideEntity.RideStatus.ACCEPTED, ride -> {
+            ride.setStatus(RideEntity.RideStatus.IN_PROGRESS);
+            ride.setStartedAt(startedAt);
+        });
+    }
+
+    @Override
+    public boolean completeIfInProgress(Long rideId, double fare, LocalDateTime completedAt) {
+        return transition(rideId, ride -> ride.getStatus() == RideEntity.RideStatus.IN_PROGRESS, ride -> {
+            ride.setStatus(RideEntity.RideStatus.COMPLETED);
+            ride.setFare(fare);
+            ride.setCompletedAt(completedAt);
+        });
+    }
+
+    @Override
+    public boolean cancelIfOpen(Long rideId) {
+        return transition(rideId, ride -> isOpen(ride.getStatus()),
+                ride -> ride.setStatus(RideEntity.RideStatus.CANCELLED));
+    }
+
+    // Mismo efecto que el UPDATE condicionado de JPA: solo si el estado actual lo permite
+    private boolean transition(Long rideId, Predicate<RideEntity> allowed, Consumer<RideEntity> change) {
+        PendingWrite write;
+        writeLock.lock();
+        try {
+            RideEntity current = latest(rideId);
+            if (current == null || !allowed.test(current)) {
+                return false;
+            }
+            RideEntity image = copy(current);
+            change.accept(image);
+            write = stage(image, current);
+        } finally {
+            writeLock.unlock();
+        }
+        submit(List.of(write));
+        return true;
+    }
+
+    // ===== CAMBIOS PENDIENTES =====
+
+    /**
+     * Estado del que parte un cambio (con writeLock): el último de esta
+     * transacción o, si otra tiene uno en curso sobre el viaje, el que
+     * quede cuando esa termine.
+     */
+    private RideEntity latest(Long rideId) {
+        TransactionWrites own = ownTransaction();
+        long deadline = System.nanoTime() + PENDING_WAIT_NANOS;
+        PendingWrite write;
+        while ((write = pending.get(rideId)) != null) {
+            if (own != null && own.writes.contains(write)) {
+                return write.image;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IllegalStateException("El viaje " + rideId + " tiene otro cambio en curso");
+            }
+            try {
+                settled.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrumpido esperando otro cambio del viaje " + rideId, e);
+            }
+        }
+        return rides.get(rideId);
+    }
+
+    // Con writeLock tomado
+    private PendingWrite stage(RideEntity image, RideEntity previous) {
+        PendingWrite write = new PendingWrite(image, previous);
+        pending.put(image.getId(), write);
+        return write;
+    }
+
+    // En una transacción se escriben al confirmarla; fuera de una, ya
+    private void submit(List<PendingWrite> writes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            joinTransaction().writes.addAll(writes);
+            return;
+        }
+        try {
+            write(writes);
+        } catch (RuntimeException e) {
+            rollback(writes);
+            throw e;
+        }
+        apply(writes);
+    }
+
+    // Al WAL y hasta el fsync; todavía no se ven en memoria
+    private void write(List<PendingWrite> writes) {
+        List<byte[]> records = new ArrayList<>(writes.size());
+        for (PendingWrite write : writes) {
+            records.add(RideRecords.encode(write.image));
+        }
+        long sequence;
+        writeLock.lock();
+        try {
+            sequence = wal.append(records);
+            for (PendingWrite write : writes) {
+                write.written = true;
+            }
+            changesSinceSnapshot.addAndGet(records.size());
+        } finally {
+            writeLock.unlock();
+        }
+        wal.awaitDurable(sequence);
+    }
+
+    private void apply(List<PendingWrite> writes) {
+        writeLock.lock();
+        try {
+            for (PendingWrite write : writes) {
+                apply(write.image);
+                pending.remove(write.image.getId(), write);
+            }
+            settled.signalAll();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Descarta cambios que no se confirmaron. Los que ya estaban en el WAL
+     * se compensan, del último al primero, con la imagen anterior (o una
+     * lápida si el viaje era nuevo) para que la recuperación no los reviva.
+     */
+    private void rollback(List<PendingWrite> writes) {
+        List<byte[]> compensations = new ArrayList<>();
+        for (int i = writes.size() - 1; i >= 0; i--) {
+            PendingWrite write = writes.get(i);
+            if (write.written) {
+                compensations.add(write.previous != null ? RideRecords.encode(write.previous)
+                        : RideRecords.tombstone(write.image.getId()));
+            }
+        }
+        long sequence = 0;
+        writeLock.lock();
+        try {
+            if (!compensations.isEmpty()) {
+                try {
+                    sequence = wal.append(compensations);
+                    changesSinceSnapshot.addAndGet(compensations.size());
+                } catch (RuntimeException e) {
+                    log.error("❌ No se pudieron compensar {} cambios deshechos en el WAL", compensations.size(), e);
+                }
+            }
+            for (PendingWrite write : writes) {
+                pending.remove(write.image.getId(), write);
+            }
+            settled.signalAll();
+        } finally {
+            writeLock.unlock();
+        }
+        if (sequence > 0) {
+            try {
+                wal.awaitDurable(sequence);
+            } catch (RuntimeException e) {
+                log.error("❌ No se pudieron compensar {} cambios deshechos en el WAL", compensations.size(), e);
+            }
+        }
+    }
+
+    private TransactionWrites ownTransaction() {
+        return (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private TransactionWrites joinTransaction() {
+        TransactionWrites transaction = ownTransaction();
+        if (transaction == null) {
+            transaction = new TransactionWrites();
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(transaction);
+        }
+        return transaction;
+    }
+
+    // Imagen propia de la transacción en curso, si cambió ese viaje
+    private RideEntity ownImage(Long rideId) {
+        TransactionWrites own = ownTransaction();
+        if (own == null) {
+            return null;
+        }
+        for (int i = own.writes.size() - 1; i >= 0; i--) {
+            RideEntity image = own.writes.get(i).image;
+            if (image.getId().equals(rideId)) {
+                return image;
+            }
+        }
+        return null;
+    }
+
+    private static final class PendingWrite {
+        private final RideEntity image;
+        // Imagen a la que se vuelve si la transacción se deshace (null: viaje nuevo)
+        private final RideEntity previous;
+        // Ya encolado en el WAL (con writeLock)
+        private boolean written;
+
+        PendingWrite(RideEntity image, RideEntity previous) {
+            this.image = image;
+            this.previous = previous;
+        }
+    }
+
+    // Los cambios de una transacción: al WAL antes del commit, a memoria solo si se confirmó
+    private final class TransactionWrites implements TransactionSynchronization {
+        private final List<PendingWrite> writes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(writes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(WalRideRepositoryAdapter.this);
+            if (status == STATUS_COMMITTED) {
+                apply(writes);
+            } else {
+                rollback(writes);
+            }
+        }
+    }
+
+    private void apply(RideEntity image) {
+        RideEntity previous = rides.put(image.getId(), image);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(byPassenger, image.getPassengerId(), image.getId());
+        if (image.getDriverId() != null) {
+            index(byDriver, image.getDriverId(), image.getId());
+        }
+        if (isOpen(image.getStatus())) {
+            open.add(image.getId());
+        }
+        recordCompletion(image);
+    }
+
+    private void recordCompletion(RideEntity image) {
+        if (image.getStatus() == RideEntity.RideStatus.COMPLETED
+                && image.getDriverId() != null && image.getCompletedAt() != null) {
+            lastCompletion.merge(image.getDriverId(), image.getCompletedAt(),
+                    (current, other) -> current.isAfter(other) ? current : other);
+        }
+    }
+
+    private void unindex(RideEntity image) {
+        unindex(byPassenger, image.getPassengerId(), image.getId());
+        if (image.getDriverId() != null) {
+            unindex(byDriver, image.getDriverId(), image.getId());
+        }
+        open.remove(image.getId());
+    }
+
+    private static void index(Map<Long, NavigableSet<Long>> index, Long key, Long rideId) {
+        index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(rideId);
+    }
+
+    private static void unindex(Map<Long, NavigableSet<Long>> index, Long key, Long rideId) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(rideId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // ===== LECTURA =====
+
+    @Override
+    public Optional<Ride> findById(Long id) {
+        RideEntity hot = hot(id);
+        return Optional.ofNullable(hot)
+                .or(() -> archive.findById(id))
+                .map(RideEntities::toDomain);
+    }
+
+    @Override
+    public List<Ride> findAllById(Collection<Long> ids) {
+        List<Ride> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            RideEntity hot = hot(id);
+            if (hot != null) {
+                found.add(RideEntities.toDomain(hot));
+            } else if (!archive.isEmpty()) {
+                archive.findById(id).ifPresent(entity -> found.add(RideEntities.toDomain(entity)));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return hot(id) != null || archive.contains(id);
+    }
+
+    private RideEntity hot(Long id) {
+        RideEntity own = ownImage(id);
+        return own != null ? own : rides.get(id);
+    }
+
+    @Override
+    public List<Ride> findAll() {
+        return RideEntities.merge(new ArrayList<>(rides.values()), archive.isEmpty() ? List.of()
+                : archive.findPage(0, Integer.MAX_VALUE), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Ride> findByPassengerId(Long passengerId) {
+        return findByPassengerIdPage(passengerId, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Ride> findByDriverId(Long driverId) {
+        return findByDriverIdPage(driverId, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Ride> findPage(Long afterId, int limit) {
+        List<RideEntity> hot = new ArrayList<>();
+        for (RideEntity ride : rides.tailMap(cursor(afterId), false).values()) {
+            if (hot.size() == limit) {
+                break;
+            }
+            hot.add(ride);
+        }
+        return RideEntities.merge(hot, archive.isEmpty() ? List.of()
+                : archive.findPage(cursor(afterId), limit), limit);
+    }
+
+    @Override
+    public List<Ride> findByPassengerIdPage(Long passengerId, Long afterId, int limit) {
+        return RideEntities.merge(indexedPage(byPassenger, passengerId, afterId, limit), archive.isEmpty() ? List.of()
+                : archive.findByPassengerPage(passengerId, cursor(afterId), limit), limit);
+    }
+
+    @Override
+    public List<Ride> findByDriverIdPage(Long driverId, Long afterId, int limit) {
+        return RideEntities.merge(indexedPage(byDriver, driverId, afterId, limit), archive.isEmpty() ? List.of()
+                : archive.findByDriverPage(driverId, cursor(afterId), limit), limit);
+    }
+
+    private List<RideEntity> indexedPage(Map<Long, NavigableSet<Long>> index, Long key, Long afterId, int limit) {
+        NavigableSet<Long> ids = index.get(key);
+        if (ids == null) {
+            return List.of();
+        }
+        List<RideEntity> page = new ArrayList<>();
+        for (Long id : ids.tailSet(cursor(afterId), false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            RideEntity ride = rides.get(id);
+            // Archivado entre que se leyó el índice y el mapa: lo trae el archivo
+            if (ride != null) {
+                page.add(ride);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public void streamAll(Consumer<Ride> consumer) {
+        Iterator<RideEntity> archived = archive.iterator();
+        RideEntity nextArchived = archived.hasNext() ? archived.next() : null;
+        for (RideEntity ride : rides.values()) {
+            // Primero los archivados con id menor; con el mismo id gana la memoria
+            while (nextArchived != null && nextArchived.getId() <= ride.getId()) {
+                if (nextArchived.getId() < ride.getId()) {
+                    consumer.accept(RideEntities.toDomain(nextArchived));
+                }
+                nextArchived = archived.hasNext() ? archived.next() : null;
+            }
+            consumer.accept(RideEntities.toDomain(ride));
+        }
+        while (nextArchived != null) {
+            consumer.accept(RideEntities.toDomain(nextArchived));
+            nextArchived = archived.hasNext() ? archived.next() : null;
+        }
+    }
+
+    @Override
+    public List<Ride> findByStatus(Ride.RideStatus status, int limit) {
+        RideEntity.RideStatus entityStatus = RideEntity.RideStatus.valueOf(status.name());
+        List<RideEntity> matching = new ArrayList<>();
+        for (RideEntity ride : isOpen(entityStatus) ? openRides() : rides.values()) {
+            if (ride.getStatus() == entityStatus) {
+                matching.add(ride);
+            }
+        }
+        matching.sort(BY_REQUESTED_AT);
+        return toDomainList(matching, limit);
+    }
+
+    @Override
+    public List<Ride> findDispatchablePage(Long afterId, int limit) {
+        long cursor = afterId != null ? afterId : 0L;
+        List<RideEntity> matching = new ArrayList<>();
+        for (RideEntity ride : openRides()) {
+            if (ride.getStatus() == RideEntity.RideStatus.REQUESTED && ride.getPickupLatitude() != null
+                    && ride.getId() > cursor) {
+                matching.add(ride);
+            }
+        }
+        matching.sort(Comparator.comparing(RideEntity::getId));
+        return toDomainList(matching, limit);
+    }
+
+    @Override
+    public List<Ride> findRequestedWithinBox(double minLatitude, double maxLatitude,
+                                             double minLongitude, double maxLongitude, int limit) {
+        List<RideEntity> inBox = new ArrayList<>();
+        for (RideEntity ride : openRides()) {
+            if (inBox.size() == limit) {
+                break;
+            }
+            if (ride.getStatus() == RideEntity.RideStatus.REQUESTED && ride.getPickupLatitude() != null
+                    && ride.getPickupLatitude() >= minLatitude && ride.getPickupLatitude() <= maxLatitude
+                    && ride.getPickupLongitude() >= minLongitude && ride.getPickupLongitude() <= maxLongitude) {
+                inBox.add(ride);
+            }
+        }
+        return toDomainList(inBox, limit);
+    }
+
+    @Override
+    public Set<Long> findBusyDriverIds(Collection<Long> driverIds) {
+        Set<Long> candidates = new HashSet<>(driverIds);
+        Set<Long> busy = new HashSet<>();
+        for (RideEntity ride : openRides()) {
+            if (ride.getStatus() != RideEntity.RideStatus.REQUESTED && candidates.contains(ride.getDriverId())) {
+                busy.add(ride.getDriverId());
+            }
+        }
+        return busy;
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> findLastCompletionByDriverIds(Collection<Long> driverIds) {
+        Map<Long, LocalDateTime> found = new HashMap<>();
+        for (Long driverId : driverIds) {
+            LocalDateTime last = lastCompletion.get(driverId);
+            if (last != null) {
+                found.put(driverId, last);
+            }
+        }
+        return found;
+    }
+
+    private List<RideEntity> openRides() {
+        List<RideEntity> current = new ArrayList<>(open.size());
+        for (Long id : open) {
+            RideEntity ride = rides.get(id);
+            if (ride != null) {
+                current.add(ride);
+            }
+        }
+        return current;
+    }
+
+    // ===== CONVERSIÓN =====
+
+    private static boolean isOpen(RideEntity.RideStatus status) {
+        return status != RideEntity.RideStatus.COMPLETED && status != RideEntity.RideStatus.CANCELLED;
+    }
+
+    private static Long cursor(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
+
+    private static List<Ride> toDomainList(List<RideEntity> entities, int limit) {
+        List<Ride> result = new ArrayList<>(Math.min(limit, entities.size()));
+        for (int i = 0; i < entities.size() && i < limit; i++) {
+            result.add(RideEntities.toDomain(entities.get(i)));
+        }
+        return result;
+    }
+
+    private static RideEntity copy(RideEntity ride) {
+        return new RideEntity(ride.getId(), ride.getPassengerId(), ride.getDriverId(),
+                ride.getPickupLocation(), ride.getDropoffLocation(),
+                ride.getPickupLatitude(), ride.getPickupLongitude(),
+                ride.getDropoffLatitude(), ride.getDropoffLongitude(),
+                ride.getStatus(), ride.getFare(), ride.getEstimatedFare(), ride.getSurgeMultiplier(),
+                ride.getRequestedAt(), ride.getStartedAt(), ride.getCompletedAt());
+    }
+}
@@ -0,0 +1,446 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.archive;
+
+import com.uber.ride.infrastructure.adapters.out.persistence.RideEntity;
+import com.uber.ride.infrastructure.adapters.out.persistence.shard.RideShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 🗄️ ARCHIVO DE VIAJES - Segmentos columnares en disco
+ *
+ * Guarda los viajes terminados que RideArchiver saca de la tabla rides.
+ * Es de solo anexar: cada lote es un RideSegment nuevo y ninguno se
+ * modifica. La lista de segmentos se reemplaza entera (copy-on-write),
+ * así las lecturas no usan lock.
+ *
+ * Un mismo id puede quedar en dos segmentos si el proceso cae entre
+ * escribir el segmento y borrar las filas (o entre compactar y borrar los
+ * segmentos viejos): las lecturas descartan los repetidos.
+ *
+ * Índice por id: los segmentos van ordenados por su menor id, con el
+ * mayor id acumulado hasta cada posición. Buscar un id es una búsqueda
+ * binaria más los segmentos anteriores cuyo rango todavía lo cubre; los
+ * demás no se abren.
+ *
+ * Compactación: cada lote archivado es un segmento chico, así que cada
+ * compaction-interval-ms los segmentos de menos de compaction-max-rows
+ * filas se mezclan, contiguos por id y sin cruzar shards, en segmentos de
+ * hasta compaction-max-rows filas. El segmento nuevo se publica antes de
+ * borrar los viejos; quien todavía lee los viejos sigue con su mapa.
+ */
+@Component
+public class RideArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(RideArchive.class);
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".rarc";
+    private static final Comparator<RideEntity> BY_ID = Comparator.comparing(RideEntity::getId);
+
+    private final Path directory;
+    private final boolean compactionEnabled;
+    private final int compactionMaxRows;
+    // appendLock: publicar segmentos y numerarlos; compactionLock: una compactación a la vez
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private final Counter compacted;
+    private volatile SegmentIndex segments = SegmentIndex.of(List.of());
+    private int nextSequence = 1;
+
+    public RideArchive(@Value("${ride.archive.dir:data/ride-archive}") String directory,
+                       MeterRegistry meterRegistry,
+                       @Value("${ride.archive.enabled:false}") boolean compactionEnabled,
+                       @Value("${ride.archive.compaction-max-rows:500000}") int compactionMaxRows) {
+        this.directory = Path.of(directory);
+        this.compactionEnabled = compactionEnabled;
+        this.compactionMaxRows = compactionMaxRows;
+        Gauge.builder("ride.archive.segments", this, archive -> archive.segments.size())
+                .register(meterRegistry);
+        Gauge.builder("ride.archive.rows", this, RideArchive::rowCount)
+                .register(meterRegistry);
+        this.compacted = meterRegistry.counter("ride.archive.compacted.segments");
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().startsWith(PREFIX))
+                    .sorted()
+                    .toList();
+        }
+        List<RideSegment> loaded = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(SUFFIX + ".tmp")) {
+                // Escritura interrumpida: sus filas siguen en la base de datos
+                Files.delete(file);
+            } else if (name.endsWith(SUFFIX)) {
+                loaded.add(RideSegment.open(file));
+                nextSequence = Math.max(nextSequence, sequenceOf(name) + 1);
+            }
+        }
+        segments = SegmentIndex.of(loaded);
+        if (!loaded.isEmpty()) {
+            log.info("🗄️ Archivo de viajes: {} segmentos, {} viajes", loaded.size(), rowCount());
+        }
+    }
+
+    // ===== ESCRITURA =====
+
+    public void append(List<RideEntity> rides) throws IOException {
+        if (rides.isEmpty()) {
+            return;
+        }
+        List<RideEntity> sorted = new ArrayList<>(rides);
+        sorted.sort(BY_ID);
+        appendLock.lock();
+        try {
+            Path file = segmentFile(nextSequence);
+            RideSegmentWriter.write(file, sorted);
+            nextSequence++;
+            List<RideSegment> updated = new ArrayList<>(segments.list());
+            updated.add(RideSegment.open(file));
+            segments = SegmentIndex.of(updated);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // ===== COMPACTACIÓN =====
+
+    @Scheduled(fixedDelayString = "${ride.archive.compaction-interval-ms:600000}")
+    public void scheduledCompaction() {
+        if (!compactionEnabled) {
+            return;
+        }
+        try {
+            compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo compactar el archivo de viajes", e);
+        }
+    }
+
+    /** Mezcla los segmentos chicos; devuelve cuántos segmentos nuevos escribió. */
+    public int compact() throws IOException {
+        compactionLock.lock();
+        try {
+            List<List<RideSegment>> groups = compactionGroups(segments.list());
+            for (List<RideSegment> group : groups) {
+                merge(group);
+            }
+            return groups.size();
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    // Segmentos chicos en orden de id, del mismo shard, que juntos no pasan de compactionMaxRows
+    private List<List<RideSegment>> compactionGroups(List<RideSegment> byMinId) {
+        List<List<RideSegment>> groups = new ArrayList<>();
+        List<RideSegment> group = new ArrayList<>();
+        long groupRows = 0;
+        for (RideSegment segment : byMinId) {
+            if (segment.rowCount() >= compactionMaxRows) {
+                continue;
+            }
+            if (!group.isEmpty() && (groupRows + segment.rowCount() > compactionMaxRows
+                    || RideShards.shardOf(segment.minId()) != RideShards.shardOf(group.get(0).minId()))) {
+                if (group.size() > 1) {
+                    groups.add(group);
+                }
+                group = new ArrayList<>();
+                groupRows = 0;
+            }
+            group.add(segment);
+            groupRows += segment.rowCount();
+        }
+        if (group.size() > 1) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    private void merge(List<RideSegment> group) throws IOException {
+        List<RideEntity> rows = new ArrayList<>();
+        merged(group).forEachRemaining(rows::add);
+
+        int sequence;
+        appendLock.lock();
+        try {
+            sequence = nextSequence++;
+        } finally {
+            appendLock.unlock();
+        }
+        Path file = segmentFile(sequence);
+        RideSegmentWriter.write(file, rows);
+        RideSegment replacement = RideSegment.open(file);
+
+        appendLock.lock();
+        try {
+            List<RideSegment> updated = new ArrayList<>(segments.list());
+            updated.removeAll(group);
+            updated.add(replacement);
+            segments = SegmentIndex.of(updated);
+        } finally {
+            appendLock.unlock();
+        }
+        // Ya publicado el nuevo: si el proceso cae aquí, los repetidos se descartan al leer
+        for (RideSegment old : group) {
+            Files.deleteIfExists(old.file());
+        }
+        compacted.increment(group.size());
+        log.info("🗄️ {} segmentos compactados en {} ({} viajes)", group.size(), file.getFileName(), rows.size());
+    }
+
+    // ===== LECTURA =====
+
+    public boolean isEmpty() {
+        return segments.list().isEmpty();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long rowCount() {
+        long rows = 0;
+        for (RideSegment segment : segments.list()) {
+            rows += segment.rowCount();
+        }
+        return rows;
+    }
+
+    public long maxId() {
+        return segments.maxId();
+    }
+
+    // Mayor id archivado menor que bound (el último de un rango de ids)
+    public long maxIdBelow(long bound) {
+        long max = 0;
+        for (RideSegment segment : segments.list()) {
+            max = Math.max(max, segment.maxIdBelow(bound));
+        }
+        return max;
+    }
+
+    public Optional<RideEntity> findById(long id) {
+        SegmentIndex index = segments;
+        for (int i = index.lastStartingAtOrBefore(id); i >= 0 && index.coversFrom(i, id); i--) {
+            RideSegment segment = index.get(i);
+            int row = segment.rowOf(id);
+            if (row >= 0) {
+                return Optional.of(segment.read(new int[] {row}).get(0));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean contains(long id) {
+        SegmentIndex index = segments;
+        for (int i = index.lastStartingAtOrBefore(id); i >= 0 && index.coversFrom(i, id); i--) {
+            if (index.get(i).rowOf(id) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Todas devuelven hasta 'limit' viajes con id > afterId, ordenados por id
+
+    public List<RideEntity> findPage(long afterId, int limit) {
+        return collect(afterId, segment -> segment.rowsAfter(afterId, limit), limit);
+    }
+
+    public List<RideEntity> findByPassengerPage(long passengerId, long afterId, int limit) {
+        return collect(afterId, segment -> segment.passengerRows(passengerId, afterId, limit), limit);
+    }
+
+    public List<RideEntity> findByDriverPage(long driverId, long afterId, int limit) {
+        return collect(afterId, segment -> segment.driverRows(driverId, afterId, limit), limit);
+    }
+
+    /** Todos los viajes archivados en orden de id (mezcla de los segmentos). */
+    public Iterator<RideEntity> iterator() {
+        return merged(segments.list());
+    }
+
+    // ===== AUXILIARES =====
+
+    private static Iterator<RideEntity> merged(List<RideSegment> segments) {
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(
+                Comparator.comparing((PeekingIterator head) -> head.peek().getId()));
+        for (RideSegment segment : segments) {
+            PeekingIterator head = new PeekingIterator(segment.iterator(0));
+            if (head.hasNext()) {
+                heads.add(head);
+            }
+        }
+        return new Iterator<>() {
+            private Long lastId;
+
+            @Override
+            public boolean hasNext() {
+                skipRepeated();
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public RideEntity next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                PeekingIterator head = heads.poll();
+                RideEntity ride = head.next();
+                lastId = ride.getId();
+                if (head.hasNext()) {
+                    heads.add(head);
+                }
+                return ride;
+            }
+
+            private void skipRepeated() {
+                while (!heads.isEmpty() && heads.peek().peek().getId().equals(lastId)) {
+                    PeekingIterator head = heads.poll();
+                    head.next();
+                    if (head.hasNext()) {
+                        heads.add(head);
+                    }
+                }
+            }
+        };
+    }
+
+    private List<RideEntity> collect(long afterId, Function<RideSegment, int[]> rowsOf, int limit) {
+        List<RideEntity> found = new ArrayList<>();
+        for (RideSegment segment : segments.list()) {
+            if (segment.maxId() <= afterId) {
+                continue;
+            }
+            int[] rows = rowsOf.apply(segment);
+            if (rows.length > 0) {
+                found.addAll(segment.read(rows));
+            }
+        }
+        found.sort(BY_ID);
+        List<RideEntity> page = new ArrayList<>(Math.min(limit, found.size()));
+        for (RideEntity ride : found) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (page.isEmpty() || !page.get(page.size() - 1).getId().equals(ride.getId())) {
+                page.add(ride);
+            }
+        }
+        return page;
+    }
+
+    private Path segmentFile(int sequence) {
+        return directory.resolve(String.format("%s%08d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    private static int sequenceOf(String name) {
+        try {
+            return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /** Segmentos ordenados por menor id, con el mayor id visto hasta cada posición. */
+    private record SegmentIndex(List<RideSegment> list, long[] minIds, long[] maxIdsSoFar) {
+
+        static SegmentIndex of(List<RideSegment> segments) {
+            List<RideSegment> sorted = new ArrayList<>(segments);
+            sorted.sort(Comparator.comparingLong(RideSegment::minId));
+            long[] minIds = new long[sorted.size()];
+            long[] maxIdsSoFar = new long[sorted.size()];
+            long max = 0;
+            for (int i = 0; i < sorted.size(); i++) {
+                minIds[i] = sorted.get(i).minId();
+                max = Math.max(max, sorted.get(i).maxId());
+                maxIdsSoFar[i] = max;
+            }
+            return new SegmentIndex(List.copyOf(sorted), minIds, maxIdsSoFar);
+        }
+
+        int size() {
+            return list.size();
+        }
+
+        RideSegment get(int i) {
+            return list.get(i);
+        }
+
+        long maxId() {
+            return maxIdsSoFar.length == 0 ? 0 : maxIdsSoFar[maxIdsSoFar.length - 1];
+        }
+
+        /** Último segmento con menor id <= id, o -1. */
+        int lastStartingAtOrBefore(long id) {
+            int low = 0;
+            int high = minIds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (minIds[mid] <= id) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+
+        /** Si algún segmento hasta la posición i (inclusive) puede tener el id. */
+        boolean coversFrom(int i, long id) {
+            return maxIdsSoFar[i] >= id;
+        }
+    }
+
+    private static final class PeekingIterator {
+        private final Iterator<RideEntity> source;
+        private RideEntity head;
+
+        PeekingIterator(Iterator<RideEntity> source) {
+            this.source = source;
+            this.head = source.hasNext() ? source.next() : null;
+        }
+
+        boolean hasNext() {
+            return head != null;
+        }
+
+        RideEntity peek() {
+            return head;
+        }
+
+        RideEntity next() {
+            RideEntity current = head;
+            head = source.hasNext() ? source.next() : null;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.archive;
+
+import com.uber.ride.infrastructure.adapters.out.persistence.JpaRideRepository;
+import com.uber.ride.infrastructure.adapters.out.persistence.RideEntity;
+import com.uber.ride.infrastructure.adapters.out.persistence.shard.RideShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 📦 ARCHIVADOR - Mueve viajes terminados de la tabla rides al archivo
+ *
+ * Cada ronda toma hasta batch-size viajes COMPLETED o CANCELLED que
+ * terminaron hace más de min-age-minutes (los cancelados cuentan desde
+ * requestedAt), los escribe como un segmento nuevo y recién entonces los
+ * borra de la base. Si el borrado falla, las filas quedan en los dos lados
+ * un tiempo y las lecturas se quedan con la de la base.
+ *
+ * Con varios shards, cada uno se archiva por separado: un segmento nunca
+ * mezcla filas de dos shards.
+ */
+@Component
+public class RideArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(RideArchiver.class);
+
+    private static final int DELETE_CHUNK = 1000;
+
+    private final JpaRideRepository jpaRideRepository;
+    private final RideArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final RideShards shards;
+    private final ReentrantLock roundLock = new ReentrantLock();
+    private final boolean enabled;
+    private final long minAgeMinutes;
+    private final int batchSize;
+    private final Counter archived;
+
+    public RideArchiver(JpaRideRepository jpaRideRepository,
+                        RideArchive archive,
+                        JdbcTemplate jdbcTemplate,
+                        RideShards shards,
+                        MeterRegistry meterRegistry,
+                        @Value("${ride.archive.enabled:false}") boolean enabled,
+                        @Value("${ride.archive.min-age-minutes:1440}") long minAgeMinutes,
+                        @Value("${ride.archive.batch-size:50000}") int batchSize) {
+        this.jpaRideRepository = jpaRideRepository;
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+        this.enabled = enabled;
+        this.minAgeMinutes = minAgeMinutes;
+        this.batchSize = batchSize;
+        this.archived = meterRegistry.counter("ride.archive.archived");
+    }
+
+    /**
+     * La base H2 en memoria arranca vacía pero el archivo sigue en disco:
+     * los ids nuevos deben empezar después del último archivado. Con el
+     * optimizador pooled el valor de la secuencia es el último id del bloque
+     * reservado, por eso se reinicia un bloque más adelante. Cada shard
+     * tiene su secuencia y su rango de ids.
+     */
+    @PostConstruct
+    void alignIdsWithArchive() {
+        for (int shard : shards.all()) {
+            long archivedMax = archive.maxIdBelow(RideShards.firstId(shard + 1));
+            if (archivedMax < RideShards.firstId(shard)) {
+                continue;
+            }
+            long restartAt = RideShards.sequenceOf(archivedMax) + RideEntity.ID_BLOCK_SIZE;
+            shards.onShard(shard, () -> {
+                if (archivedMax > jpaRideRepository.findMaxId()) {
+                    jdbcTemplate.execute("ALTER SEQUENCE rides_seq RESTART WITH " + restartAt);
+                }
+                return null;
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ride.archive.interval-ms:60000}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        for (int shard : shards.all()) {
+            int moved;
+            do {
+                moved = archiveFinishedRides(shard);
+            } while (moved == batchSize);
+        }
+    }
+
+    /** Una ronda en cada shard; devuelve cuántos viajes archivó. */
+    public int archiveFinishedRides() {
+        int moved = 0;
+        for (int shard : shards.all()) {
+            moved += archiveFinishedRides(shard);
+        }
+        return moved;
+    }
+
+    private int archiveFinishedRides(int shard) {
+        roundLock.lock();
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(minAgeMinutes);
+            List<RideEntity> finished = shards.onShard(shard,
+                    () -> jpaRideRepository.findFinishedBefore(cutoff, Limit.of(batchSize)));
+            if (finished.isEmpty()) {
+                return 0;
+            }
+            archive.append(finished);
+            List<Long> ids = finished.stream().map(RideEntity::getId).toList();
+            shards.onShard(shard, () -> {
+                for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+                    jpaRideRepository.deleteFinishedByIdIn(ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK)));
+                }
+                return null;
+            });
+            archived.increment(finished.size());
+            log.info("📦 {} viajes archivados del shard {}", finished.size(), shard);
+            return finished.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el segmento de archivo", e);
+        } finally {
+            roundLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.archive;
+
+import com.uber.ride.infrastructure.adapters.out.persistence.RideEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 🗜️ SEGMENTO DEL ARCHIVO - Viajes terminados en formato columnar
+ *
+ * Un archivo inmutable por lote archivado, leído con memory-map. Las filas
+ * van ordenadas por id y cada columna se guarda por separado:
+ *
+ *   cabecera   filas, min/max de id, pasajero, conductor y requestedAt,
+ *              y por columna: ancho, base y posición
+ *   numéricas  id, pasajero, conductor, estado, tarifa, requestedAt,
+ *              startedAt y completedAt (estos dos como diferencia con
+ *              requestedAt), tarifa estimada, multiplicador y coordenadas
+ *              de recogida y destino. Cada valor es (valor - base) en 1, 2, 4 u 8
+ *              bytes según el rango de la columna ("frame of reference"):
+ *              se leen directo del mapa, sin descomprimir, por número de fila
+ *   ubicaciones  pickup/dropoff en bloques de BLOCK_ROWS filas comprimidos
+ *              con Deflate, con una tabla de bloques
+ *   índices    (passengerId, fila) y (driverId, fila) ordenados, para
+ *              búsqueda binaria
+ *
+ * El null de una columna es el valor con todos los bits en 1. Los tiempos
+ * son microsegundos desde epoch (UTC). La tarifa va en centavos si todas
+ * las del segmento son exactas en centavos; si no, con sus bits de double.
+ * La tarifa estimada va en centavos, el multiplicador en centésimas y las
+ * coordenadas en diezmillonésimas de grado (E7, ~1 cm).
+ *
+ * Versiones anteriores: la 1 no tiene tarifa estimada ni multiplicador y
+ * la 2 no tiene coordenadas; las columnas que faltan se leen como null.
+ */
+final class RideSegment {
+
+    static final int MAGIC = 0x52415243; // "RARC"
+    static final int VERSION = 3;
+    static final int BLOCK_ROWS = 256;
+
+    // Columnas numéricas, en el orden de la cabecera
+    static final int ID = 0;
+    static final int PASSENGER = 1;
+    static final int DRIVER = 2;
+    static final int STATUS = 3;
+    static final int FARE = 4;
+    static final int REQUESTED_AT = 5;
+    static final int STARTED_AT = 6;
+    static final int COMPLETED_AT = 7;
+    static final int ESTIMATED_FARE = 8;
+    static final int SURGE = 9;
+    static final int PICKUP_LAT = 10;
+    static final int PICKUP_LON = 11;
+    static final int DROPOFF_LAT = 12;
+    static final int DROPOFF_LON = 13;
+    static final int COLUMN_COUNT = 14;
+
+    // Columnas por versión del formato (índice = versión)
+    private static final int[] VERSION_COLUMNS = {0, 8, 10, COLUMN_COUNT};
+
+    static final double E7 = 1e7;
+
+    static final byte FARE_CENTS = 0;
+    static final byte FARE_DOUBLE_BITS = 1;
+
+    static final long NULL = Long.MIN_VALUE;
+
+    static final int HEADER_BYTES = headerBytes(COLUMN_COUNT);
+
+    static final int BLOCK_ENTRY_BYTES = 3 * 4;
+    static final int INDEX_ENTRY_BYTES = 8 + 4;
+
+    private static final RideEntity.RideStatus[] STATUSES = RideEntity.RideStatus.values();
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int rows;
+    private final long minId;
+    private final long maxId;
+    private final long minPassengerId;
+    private final long maxPassengerId;
+    private final long minDriverId;
+    private final long maxDriverId;
+    private final long minRequestedAt;
+    private final long maxRequestedAt;
+    private final byte fareEncoding;
+    private final int columnCount;
+    private final byte[] widths = new byte[COLUMN_COUNT];
+    private final long[] bases = new long[COLUMN_COUNT];
+    private final int[] columnOffsets = new int[COLUMN_COUNT];
+    private final int blockTable;
+    private final int blockCount;
+    private final int passengerIndex;
+    private final int passengerEntries;
+    private final int driverIndex;
+    private final int driverEntries;
+
+    private RideSegment(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        int version = buffer.capacity() >= 8 ? buffer.getInt(4) : 0;
+        if (buffer.capacity() < 8 || buffer.getInt(0) != MAGIC || version < 1 || version > VERSION) {
+            throw new IOException("Segmento de archivo inválido: " + file);
+        }
+        this.columnCount = VERSION_COLUMNS[version];
+        if (buffer.capacity() < headerBytes(columnCount)) {
+            throw new IOException("Segmento de archivo inválido: " + file);
+        }
+        int position = 8;
+        this.rows = buffer.getInt(position);
+        position += 4;
+        this.minId = buffer.getLong(position);
+        this.maxId = buffer.getLong(position + 8);
+        this.minPassengerId = buffer.getLong(position + 16);
+        this.maxPassengerId = buffer.getLong(position + 24);
+        this.minDriverId = buffer.getLong(position + 32);
+        this.maxDriverId = buffer.getLong(position + 40);
+        this.minRequestedAt = buffer.getLong(position + 48);
+        this.maxRequestedAt = buffer.getLong(position + 56);
+        position += 64;
+        this.fareEncoding = buffer.get(position++);
+        for (int column = 0; column < columnCount; column++) {
+            widths[column] = buffer.get(position);
+            bases[column] = buffer.getLong(position + 1);
+            columnOffsets[column] = buffer.getInt(position + 9);
+            position += 13;
+        }
+        this.blockTable = buffer.getInt(position);
+        this.blockCount = buffer.getInt(position + 4);
+        this.passengerIndex = buffer.getInt(position + 8);
+        this.passengerEntries = buffer.getInt(position + 12);
+        this.driverIndex = buffer.getInt(position + 16);
+        this.driverEntries = buffer.getInt(position + 20);
+    }
+
+    static RideSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // El mapa sigue siendo válido después de cerrar el canal
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new RideSegment(file, mapped);
+        }
+    }
+
+    // ===== RESUMEN =====
+
+    Path file() { return file; }
+    int rowCount() { return rows; }
+    long minId() { return minId; }
+    long maxId() { return maxId; }
+    long minRequestedAt() { return minRequestedAt; }
+    long maxRequestedAt() { return maxRequestedAt; }
+
+    // ===== BÚSQUEDAS (devuelven números de fila, ascendentes) =====
+
+    /** Fila con ese id, o -1. */
+    int rowOf(long id) {
+        if (id < minId || id > maxId) {
+            return -1;
+        }
+        int row = firstRowAfter(id - 1);
+        return row < rows && value(ID, row) == id ? row : -1;
+    }
+
+    /** Primera fila con id > afterId (rows si no hay). */
+    int firstRowAfter(long afterId) {
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (value(ID, mid) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Mayor id menor que bound, o 0. */
+    long maxIdBelow(long bound) {
+        if (bound > maxId) {
+            return maxId;
+        }
+        int row = firstRowAfter(bound - 1) - 1;
+        return row < 0 ? 0 : value(ID, row);
+    }
+
+    int[] rowsAfter(long afterId, int limit) {
+        int from = afterId < minId ? 0 : firstRowAfter(afterId);
+        int count = (int) Math.min(limit, rows - from);
+        int[] result = new int[Math.max(0, count)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = from + i;
+        }
+        return result;
+    }
+
+    int[] passengerRows(long passengerId, long afterId, int limit) {
+        if (passengerId < minPassengerId || passengerId > maxPassengerId) {
+            return new int[0];
+        }
+        return indexRows(passengerIndex, passengerEntries, passengerId, afterId, limit);
+    }
+
+    int[] driverRows(long driverId, long afterId, int limit) {
+        if (driverEntries == 0 || driverId < minDriverId || driverId > maxDriverId) {
+            return new int[0];
+        }
+        return indexRows(driverIndex, driverEntries, driverId, afterId, limit);
+    }
+
+    private int[] indexRows(int index, int entries, long key, long afterId, int limit) {
+        int low = 0;
+        int high = entries;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(index + mid * INDEX_ENTRY_BYTES) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Integer> found = new ArrayList<>();
+        for (int entry = low; entry < entries && found.size() < limit; entry++) {
+            int position = index + entry * INDEX_ENTRY_BYTES;
+            if (buffer.getLong(position) != key) {
+                break;
+            }
+            int row = buffer.getInt(position + 8);
+            if (value(ID, row) > afterId) {
+                found.add(row);
+            }
+        }
+        return found.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // ===== LECTURA DE FILAS =====
+
+    /** Materializa las filas (ascendentes); descomprime cada bloque de ubicaciones una sola vez. */
+    List<RideEntity> read(int[] rowNumbers) {
+        List<RideEntity> result = new ArrayList<>(rowNumbers.length);
+        int loadedBlock = -1;
+        String[] pickups = null;
+        String[] dropoffs = null;
+        for (int row : rowNumbers) {
+            int block = row / BLOCK_ROWS;
+            if (block != loadedBlock) {
+                pickups = new String[BLOCK_ROWS];
+                dropoffs = new String[BLOCK_ROWS];
+                loadLocations(block, pickups, dropoffs);
+                loadedBlock = block;
+            }
+            long requestedAt = value(REQUESTED_AT, row);
+            long driverId = value(DRIVER, row);
+            long startedAt = value(STARTED_AT, row);
+            long completedAt = value(COMPLETED_AT, row);
+            long estimatedFare = value(ESTIMATED_FARE, row);
+            long surge = value(SURGE, row);
+            long pickupLat = value(PICKUP_LAT, row);
+            long dropoffLat = value(DROPOFF_LAT, row);
+            result.add(new RideEntity(
+                    value(ID, row),
+                    value(PASSENGER, row),
+                    driverId == NULL ? null : driverId,
+                    pickups[row % BLOCK_ROWS],
+                    dropoffs[row % BLOCK_ROWS],
+                    pickupLat == NULL ? null : pickupLat / E7,
+                    pickupLat == NULL ? null : value(PICKUP_LON, row) / E7,
+                    dropoffLat == NULL ? null : dropoffLat / E7,
+                    dropoffLat == NULL ? null : value(DROPOFF_LON, row) / E7,
+                    STATUSES[(int) value(STATUS, row)],
+                    fare(row),
+                    estimatedFare == NULL ? null : estimatedFare / 100.0,
+                    surge == NULL ? null : surge / 100.0,
+                    fromMicros(requestedAt),
+                    startedAt == NULL ? null : fromMicros(requestedAt + startedAt),
+                    completedAt == NULL ? null : fromMicros(requestedAt + completedAt)
+            ));
+        }
+        return result;
+    }
+
+    /** Todas las filas con id > afterId, en orden, leídas de a un bloque. */
+    Iterator<RideEntity> iterator(long afterId) {
+        int start = afterId < minId ? 0 : firstRowAfter(afterId);
+        return new Iterator<>() {
+            private int next = start;
+            private Iterator<RideEntity> chunk = List.<RideEntity>of().iterator();
+
+            @Override
+            public boolean hasNext() {
+                return chunk.hasNext() || next < rows;
+            }
+
+            @Override
+            public RideEntity next() {
+                if (!chunk.hasNext()) {
+                    if (next >= rows) {
+                        throw new NoSuchElementException();
+                    }
+                    int[] rowNumbers = new int[Math.min(BLOCK_ROWS, rows - next)];
+                    for (int i = 0; i < rowNumbers.length; i++) {
+                        rowNumbers[i] = next++;
+                    }
+                    chunk = read(rowNumbers).iterator();
+                }
+                return chunk.next();
+            }
+        };
+    }
+
+    // ===== COLUMNAS =====
+
+    long value(int column, int row) {
+        if (column >= columnCount) {
+            return NULL;
+        }
+        int width = widths[column];
+        int position = columnOffsets[column] + row * width;
+        long raw = switch (width) {
+            case 1 -> buffer.get(position) & 0xFFL;
+            case 2 -> buffer.getShort(position) & 0xFFFFL;
+            case 4 -> buffer.getInt(position) & 0xFFFFFFFFL;
+            default -> buffer.getLong(position);
+        };
+        if (raw == nullMarker(width)) {
+            return NULL;
+        }
+        return width == 8 ? raw : bases[column] + raw;
+    }
+
+    private double fare(int row) {
+        long stored = value(FARE, row);
+        return fareEncoding == FARE_CENTS ? stored / 100.0 : Double.longBitsToDouble(stored);
+    }
+
+    private void loadLocations(int block, String[] pickups, String[] dropoffs) {
+        int entry = blockTable + block * BLOCK_ENTRY_BYTES;
+        int offset = buffer.getInt(entry);
+        int compressedLength = buffer.getInt(entry + 4);
+        byte[] raw = new byte[buffer.getInt(entry + 8)];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, compressedLength));
+            inflater.inflate(raw);
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new IOException("Bloque corrupto en " + file, e));
+        } finally {
+            inflater.end();
+        }
+        int rowsInBlock = Math.min(BLOCK_ROWS, rows - block * BLOCK_ROWS);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            for (int i = 0; i < rowsInBlock; i++) {
+                pickups[i] = in.readUTF();
+                dropoffs[i] = in.readUTF();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===== CODIFICACIÓN COMPARTIDA CON EL ESCRITOR =====
+
+    // magic, versión, filas | 8 min/max | codificación de tarifa | columnas | ubicaciones e índices
+    static int headerBytes(int columnCount) {
+        return 3 * 4 + 8 * 8 + 1 + columnCount * (1 + 8 + 4) + 3 * (4 + 4);
+    }
+
+    static long nullMarker(int width) {
+        return width == 8 ? NULL : (1L << (8 * width)) - 1;
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,264 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.archive;
+
+import com.uber.ride.infrastructure.adapters.out.persistence.RideEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.BLOCK_ENTRY_BYTES;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.BLOCK_ROWS;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.COLUMN_COUNT;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.COMPLETED_AT;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.DRIVER;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.DROPOFF_LAT;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.DROPOFF_LON;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.E7;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.ESTIMATED_FARE;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.FARE;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.FARE_CENTS;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.FARE_DOUBLE_BITS;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.HEADER_BYTES;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.ID;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.INDEX_ENTRY_BYTES;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.MAGIC;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.NULL;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.PASSENGER;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.PICKUP_LAT;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.PICKUP_LON;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.REQUESTED_AT;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.STARTED_AT;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.STATUS;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.SURGE;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.VERSION;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.nullMarker;
+import static com.uber.ride.infrastructure.adapters.out.persistence.archive.RideSegment.toMicros;
+
+/**
+ * ✍️ ESCRITOR DE SEGMENTOS - Arma el formato descrito en RideSegment
+ *
+ * Escribe en un archivo temporal, hace fsync y lo renombra: un segmento
+ * a medio escribir nunca aparece con su nombre definitivo.
+ */
+final class RideSegmentWriter {
+
+    private RideSegmentWriter() {
+    }
+
+    private record PackedColumn(byte width, long base, byte[] bytes) {
+    }
+
+    /** @param rows ordenadas por id, sin repetidos */
+    static void write(Path file, List<RideEntity> rows) throws IOException {
+        int count = rows.size();
+        long[][] columns = new long[COLUMN_COUNT][count];
+        boolean exactCents = true;
+        for (int row = 0; row < count; row++) {
+            RideEntity ride = rows.get(row);
+            long requestedAt = toMicros(ride.getRequestedAt());
+            columns[ID][row] = ride.getId();
+            columns[PASSENGER][row] = ride.getPassengerId();
+            columns[DRIVER][row] = ride.getDriverId() == null ? NULL : ride.getDriverId();
+            columns[STATUS][row] = ride.getStatus().ordinal();
+            columns[REQUESTED_AT][row] = requestedAt;
+            columns[STARTED_AT][row] = ride.getStartedAt() == null ? NULL : toMicros(ride.getStartedAt()) - requestedAt;
+            columns[COMPLETED_AT][row] = ride.getCompletedAt() == null ? NULL : toMicros(ride.getCompletedAt()) - requestedAt;
+            columns[ESTIMATED_FARE][row] = ride.getEstimatedFare() == null ? NULL : Math.round(ride.getEstimatedFare() * 100);
+            columns[SURGE][row] = ride.getSurgeMultiplier() == null ? NULL : Math.round(ride.getSurgeMultiplier() * 100);
+            columns[PICKUP_LAT][row] = e7(ride.getPickupLatitude());
+            columns[PICKUP_LON][row] = e7(ride.getPickupLongitude());
+            columns[DROPOFF_LAT][row] = e7(ride.getDropoffLatitude());
+            columns[DROPOFF_LON][row] = e7(ride.getDropoffLongitude());
+            exactCents &= Math.round(ride.getFare() * 100) / 100.0 == ride.getFare();
+        }
+        for (int row = 0; row < count; row++) {
+            double fare = rows.get(row).getFare();
+            columns[FARE][row] = exactCents ? Math.round(fare * 100) : Double.doubleToLongBits(fare);
+        }
+
+        PackedColumn[] packed = new PackedColumn[COLUMN_COUNT];
+        int position = HEADER_BYTES;
+        int[] columnOffsets = new int[COLUMN_COUNT];
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            packed[column] = pack(columns[column]);
+            columnOffsets[column] = position;
+            position += packed[column].bytes().length;
+        }
+
+        // Ubicaciones: tabla de bloques y luego los bloques comprimidos
+        List<byte[]> blocks = new ArrayList<>();
+        int[] rawLengths = new int[(count + BLOCK_ROWS - 1) / BLOCK_ROWS];
+        for (int block = 0; block < rawLengths.length; block++) {
+            byte[] raw = locations(rows, block * BLOCK_ROWS, Math.min(count, (block + 1) * BLOCK_ROWS));
+            rawLengths[block] = raw.length;
+            blocks.add(deflate(raw));
+        }
+        int blockTable = position;
+        position += blocks.size() * BLOCK_ENTRY_BYTES;
+        int[] blockOffsets = new int[blocks.size()];
+        for (int block = 0; block < blocks.size(); block++) {
+            blockOffsets[block] = position;
+            position += blocks.get(block).length;
+        }
+
+        byte[] passengerIndex = index(columns[PASSENGER]);
+        int passengerIndexOffset = position;
+        position += passengerIndex.length;
+        byte[] driverIndex = index(columns[DRIVER]);
+        int driverIndexOffset = position;
+        position += driverIndex.length;
+
+        ByteBuffer out = ByteBuffer.allocate(position);
+        out.putInt(MAGIC).putInt(VERSION).putInt(count);
+        putMinMax(out, columns[ID]);
+        putMinMax(out, columns[PASSENGER]);
+        putMinMax(out, columns[DRIVER]);
+        putMinMax(out, columns[REQUESTED_AT]);
+        out.put(exactCents ? FARE_CENTS : FARE_DOUBLE_BITS);
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            out.put(packed[column].width()).putLong(packed[column].base()).putInt(columnOffsets[column]);
+        }
+        out.putInt(blockTable).putInt(blocks.size());
+        out.putInt(passengerIndexOffset).putInt(passengerIndex.length / INDEX_ENTRY_BYTES);
+        out.putInt(driverIndexOffset).putInt(driverIndex.length / INDEX_ENTRY_BYTES);
+        for (PackedColumn column : packed) {
+            out.put(column.bytes());
+        }
+        for (int block = 0; block < blocks.size(); block++) {
+            out.putInt(blockOffsets[block]).putInt(blocks.get(block).length).putInt(rawLengths[block]);
+        }
+        for (byte[] block : blocks) {
+            out.put(block);
+        }
+        out.put(passengerIndex).put(driverIndex);
+        out.flip();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ===== COLUMNAS =====
+
+    // Ancho mínimo (1, 2, 4 u 8 bytes) para (valor - min); todos los bits en 1 quedan para null
+    private static PackedColumn pack(long[] values) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long value : values) {
+            if (value != NULL) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        }
+        if (min > max) {
+            min = 0;
+            max = 0;
+        }
+        int width = 8;
+        long base = 0;
+        long range = max - min;
+        if (range >= 0) {
+            for (int candidate : new int[] {1, 2, 4}) {
+                if (range < nullMarker(candidate)) {
+                    width = candidate;
+                    base = min;
+                    break;
+                }
+            }
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * width);
+        for (long value : values) {
+            long stored = value == NULL ? nullMarker(width) : value - base;
+            switch (width) {
+                case 1 -> bytes.put((byte) stored);
+                case 2 -> bytes.putShort((short) stored);
+                case 4 -> bytes.putInt((int) stored);
+                default -> bytes.putLong(stored);
+            }
+        }
+        return new PackedColumn((byte) width, base, bytes.array());
+    }
+
+    private static long e7(Double degrees) {
+        return degrees == null ? NULL : Math.round(degrees * E7);
+    }
+
+    private static void putMinMax(ByteBuffer out, long[] values) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long value : values) {
+            if (value != NULL) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        }
+        out.putLong(min).putLong(max);
+    }
+
+    // Entradas (clave, fila) ordenadas por clave y fila; sin los null
+    private static byte[] index(long[] keys) {
+        Integer[] rows = new Integer[keys.length];
+        int size = 0;
+        for (int row = 0; row < keys.length; row++) {
+            if (keys[row] != NULL) {
+                rows[size++] = row;
+            }
+        }
+        Integer[] sorted = Arrays.copyOf(rows, size);
+        Arrays.sort(sorted, Comparator.<Integer>comparingLong(row -> keys[row]).thenComparingInt(row -> row));
+        ByteBuffer index = ByteBuffer.allocate(size * INDEX_ENTRY_BYTES);
+        for (int row : sorted) {
+            index.putLong(keys[row]).putInt(row);
+        }
+        return index.array();
+    }
+
+    // ===== UBICACIONES =====
+
+    private static byte[] locations(List<RideEntity> rows, int from, int to) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (int row = from; row < to; row++) {
+                out.writeUTF(rows.get(row).getPickupLocation());
+                out.writeUTF(rows.get(row).getDropoffLocation());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.shard;
+
+import com.uber.ride.domain.model.GeoPoint;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * 🧩 SHARDS DE VIAJES - Región de recogida → shard, y shard dentro del id
+ *
+ * Cada viaje vive en un shard elegido por la región de su recogida (celdas
+ * de region-size-deg grados, repartidas por hash) o, sin coordenadas, por
+ * su pasajero. El shard va en los bits altos del id:
+ *
+ *   id = shard << SEQUENCE_BITS | secuencia del shard
+ *
+ * Así un id basta para saber dónde está el viaje, el shard 0 conserva los
+ * ids de siempre y ordenar por id es recorrer los shards en orden.
+ *
+ * Las consultas que cruzan shards (por pasajero, por conductor, por
+ * estado) se lanzan en paralelo a todos (scatter-gather) en un pool de un
+ * hilo por shard; si hay un único shard corren en el hilo que llama.
+ */
+@Component
+public class RideShards {
+
+    public static final int SEQUENCE_BITS = 40;
+    public static final int MAX_SHARDS = 1024;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Más celdas que esto en una caja: se consulta a todos los shards
+    private static final int MAX_BOX_CELLS = 4096;
+
+    private final int count;
+    private final double regionSizeDeg;
+    private final int[] all;
+    private final TransactionTemplate readWrite;
+    private final TransactionTemplate readOnly;
+    private final ExecutorService scatterPool;
+
+    public RideShards(PlatformTransactionManager transactionManager,
+                      @Value("${ride.shards.count:1}") int count,
+                      @Value("${ride.shards.region-size-deg:0.5}") double regionSizeDeg) {
+        if (count < 1 || count > MAX_SHARDS) {
+            throw new IllegalArgumentException("ride.shards.count debe estar entre 1 y " + MAX_SHARDS);
+        }
+        if (regionSizeDeg <= 0) {
+            throw new IllegalArgumentException("ride.shards.region-size-deg debe ser positivo");
+        }
+        this.count = count;
+        this.regionSizeDeg = regionSizeDeg;
+        this.all = IntStream.range(0, count).toArray();
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.scatterPool = count == 1 ? null : Executors.newFixedThreadPool(count, daemonThreads());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scatterPool != null) {
+            scatterPool.shutdownNow();
+        }
+    }
+
+    // ===== IDS =====
+
+    public static long compose(int shard, long sequence) {
+        if (sequence <= 0 || sequence > SEQUENCE_MASK) {
+            throw new IllegalStateException("Secuencia de viajes fuera de rango: " + sequence);
+        }
+        return ((long) shard << SEQUENCE_BITS) | sequence;
+    }
+
+    public static int shardOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS);
+    }
+
+    public static long sequenceOf(long id) {
+        return id & SEQUENCE_MASK;
+    }
+
+    // Primer id posible del shard (los del shard están en [firstId, firstId(shard + 1)))
+    public static long firstId(int shard) {
+        return (long) shard << SEQUENCE_BITS;
+    }
+
+    public boolean contains(long id) {
+        return id > 0 && shardOf(id) < count;
+    }
+
+    // ===== UBICACIÓN =====
+
+    public int count() {
+        return count;
+    }
+
+    public int[] all() {
+        return all.clone();
+    }
+
+    // Shards desde el del id en adelante (los anteriores solo tienen ids menores)
+    public int[] from(long id) {
+        int first = Math.min(shardOf(Math.max(id, 0)), count);
+        return IntStream.range(first, count).toArray();
+    }
+
+    public int shardFor(GeoPoint pickup, Long passengerId) {
+        if (count == 1) {
+            return 0;
+        }
+        if (pickup != null) {
+            return shardForRegion(row(pickup.latitude()), column(pickup.longitude()));
+        }
+        return Math.floorMod(mix(passengerId != null ? passengerId : 0L), count);
+    }
+
+    // Shards de las regiones que tocan la caja (recogidas REQUESTED cerca de un punto)
+    public int[] shardsForBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        if (count == 1) {
+            return all.clone();
+        }
+        long minRow = row(minLatitude);
+        long maxRow = row(maxLatitude);
+        long minColumn = column(minLongitude);
+        long maxColumn = column(maxLongitude);
+        if ((maxRow - minRow + 1) * (maxColumn - minColumn + 1) > MAX_BOX_CELLS) {
+            return all.clone();
+        }
+        boolean[] touched = new boolean[count];
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long column = minColumn; column <= maxColumn; column++) {
+                touched[shardForRegion(row, column)] = true;
+            }
+        }
+        return IntStream.range(0, count).filter(shard -> touched[shard]).toArray();
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude / regionSizeDeg);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor(longitude / regionSizeDeg);
+    }
+
+    private int shardForRegion(long row, long column) {
+        return Math.floorMod(mix(row * 0x9E3779B97F4A7C15L ^ column), count);
+    }
+
+    // Mezcla de bits (finalizador de SplitMix64): regiones vecinas caen en shards distintos
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    // ===== EJECUCIÓN EN UN SHARD =====
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return ShardContext.call(shard, work);
+    }
+
+    // En una transacción propia (o la del llamador, si ya usa este shard)
+    public <T> T inTransaction(int shard, boolean readOnlyTransaction, Supplier<T> work) {
+        TransactionTemplate template = readOnlyTransaction ? readOnly : readWrite;
+        return ShardContext.call(shard, () -> template.execute(status -> work.get()));
+    }
+
+    /**
+     * Scatter-gather: 'query' en cada shard, en paralelo y fuera de la
+     * transacción del llamador. Los resultados vuelven en el orden de
+     * 'shards'.
+     */
+    public <T> List<T> scatter(int[] shards, IntFunction<T> query) {
+        List<T> results = new ArrayList<>(shards.length);
+        if (scatterPool == null) {
+            for (int shard : shards) {
+                results.add(ShardContext.call(shard, () -> query.apply(shard)));
+            }
+            return results;
+        }
+        List<CompletableFuture<T>> pending = new ArrayList<>(shards.length);
+        for (int shard : shards) {
+            pending.add(CompletableFuture.supplyAsync(
+                    () -> ShardContext.call(shard, () -> query.apply(shard)), scatterPool));
+        }
+        try {
+            for (CompletableFuture<T> future : pending) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "ride-shard-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
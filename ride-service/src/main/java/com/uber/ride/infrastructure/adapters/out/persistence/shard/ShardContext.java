@@ -0,0 +1,65 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.shard;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 🧭 CONTEXTO DE SHARD - Shard del hilo actual
+ *
+ * ShardRoutingDataSource lo lee al abrir la conexión física; como esta se
+ * abre en la primera sentencia (LazyConnectionDataSourceProxy), basta con
+ * fijar el shard antes de consultar, aunque la transacción ya esté abierta.
+ *
+ * Una transacción usa una sola conexión: queda ligada al primer shard que
+ * toca, y pedir otro dentro de ella falla en vez de leer o escribir en el
+ * shard equivocado.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    private static final Object TRANSACTION_KEY = new Object();
+
+    private ShardContext() {
+    }
+
+    // null si el hilo no fijó shard (la conexión va al shard 0)
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(int shard, Supplier<T> work) {
+        bindToTransaction(shard);
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    // También al abrir la conexión: la transacción queda en el shard que la abrió
+    static void bindToTransaction(int shard) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        Integer bound = (Integer) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+        if (bound == null) {
+            TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                }
+            });
+        } else if (bound != shard) {
+            throw new IllegalStateException("La transacción ya usa el shard " + bound + ", no puede usar el shard " + shard);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ⚙️ CONFIGURACIÓN - Una base de datos por shard de viajes
+ *
+ * El shard 0 es spring.datasource.*; los shards 1..N-1 usan
+ * ride.shards.url-template con {shard} reemplazado (mismo usuario y
+ * clave). El DataSource de la aplicación (JPA, JdbcTemplate) enruta por
+ * ShardContext, detrás de LazyConnectionDataSourceProxy: la conexión física
+ * se pide en la primera sentencia y no al abrir la transacción, cuando el
+ * shard ya se conoce.
+ */
+@Configuration
+public class ShardDataSourceConfig {
+
+    static final String SHARD_PLACEHOLDER = "{shard}";
+
+    private final int shardCount;
+    private ShardRoutingDataSource routingDataSource;
+
+    public ShardDataSourceConfig(@Value("${ride.shards.count:1}") int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${ride.shards.url-template:jdbc:h2:mem:ridedb-{shard}}") String urlTemplate) {
+        if (shardCount > 1 && !urlTemplate.contains(SHARD_PLACEHOLDER)) {
+            throw new IllegalArgumentException("ride.shards.url-template debe contener " + SHARD_PLACEHOLDER);
+        }
+        List<HikariDataSource> pools = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(shard == 0 ? properties.determineUrl()
+                            : urlTemplate.replace(SHARD_PLACEHOLDER, String.valueOf(shard)))
+                    .build();
+            pool.setPoolName("ride-shard-" + shard);
+            pools.add(pool);
+        }
+        routingDataSource = new ShardRoutingDataSource(pools);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaCustomizer() {
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(new ShardSchemaIntegrator(shardCount)));
+    }
+
+    // Después de JPA (que depende del DataSource): cierra los pools de todos los shards
+    @PreDestroy
+    void closePools() {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔀 DATASOURCE POR SHARD
+ *
+ * Un pool por shard; cada conexión se pide al pool del shard de
+ * ShardContext (el 0 si el hilo no fijó ninguno).
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<HikariDataSource> pools;
+
+    public ShardRoutingDataSource(List<HikariDataSource> pools) {
+        this.pools = List.copyOf(pools);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < pools.size(); shard++) {
+            targets.put(shard, pools.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(pools.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        ShardContext.bindToTransaction(shard != null ? shard : 0);
+        return shard;
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
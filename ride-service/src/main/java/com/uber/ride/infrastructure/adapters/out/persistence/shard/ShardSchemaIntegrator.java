@@ -0,0 +1,54 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.shard;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropAction;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🏗️ ESQUEMA EN CADA SHARD
+ *
+ * Hibernate aplica spring.jpa.hibernate.ddl-auto una sola vez, contra la
+ * conexión por defecto (shard 0). Este integrador repite la misma acción
+ * (create-drop, update, ...) en los shards 1..N-1 con el mismo modelo, y
+ * hace sus DROP diferidos al cerrar.
+ */
+public class ShardSchemaIntegrator implements Integrator {
+
+    private final int shardCount;
+    private final List<Runnable> delayedDrops = new ArrayList<>();
+
+    public ShardSchemaIntegrator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        Map<String, Object> settings = sessionFactory.getProperties();
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            ShardContext.call(target, () -> {
+                SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(), settings,
+                        (DelayedDropAction drop) -> delayedDrops.add(() -> ShardContext.call(target, () -> {
+                            drop.perform(sessionFactory.getServiceRegistry());
+                            return null;
+                        })));
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        delayedDrops.forEach(Runnable::run);
+        delayedDrops.clear();
+    }
+}
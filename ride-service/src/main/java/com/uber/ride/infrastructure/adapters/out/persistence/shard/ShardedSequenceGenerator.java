@@ -0,0 +1,36 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.shard;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🔢 GENERADOR DE IDS POR SHARD
+ *
+ * Igual que la secuencia pooled de siempre, pero cada shard tiene su propia
+ * secuencia (en su base) y su propio bloque en memoria: un bloque pedido a
+ * un shard nunca se usa en otro. El id final lleva el shard en los bits
+ * altos (RideShards.compose).
+ */
+public class ShardedSequenceGenerator extends SequenceStyleGenerator {
+
+    private final Map<Integer, Optimizer> optimizers = new ConcurrentHashMap<>();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            throw new IllegalStateException("Viaje nuevo sin shard: se debe insertar dentro de ShardContext");
+        }
+        Optimizer optimizer = optimizers.computeIfAbsent(shard, key -> OptimizerFactory.buildOptimizer(
+                StandardOptimizerDescriptor.POOLED, Long.class,
+                getDatabaseStructure().getIncrementSize(), getDatabaseStructure().getInitialValue()));
+        Number sequence = (Number) optimizer.generate(getDatabaseStructure().buildCallback(session));
+        return RideShards.compose(shard, sequence.longValue());
+    }
+}
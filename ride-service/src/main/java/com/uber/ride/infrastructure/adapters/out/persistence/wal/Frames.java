@@ -0,0 +1,113 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.wal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 📦 FRAMES - [largo: int][crc32: int][datos]
+ *
+ * Formato común del WAL y de los snapshots. Al leer, el primer frame
+ * incompleto o con crc inválido corta la lectura: todo lo anterior es
+ * válido, y el llamador decide qué hacer con el resto del archivo.
+ */
+final class Frames {
+
+    static final int HEADER_BYTES = 8;
+    private static final int MAX_PAYLOAD_BYTES = 1 << 24;
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+
+    private Frames() {
+    }
+
+    /** Escribe los frames al canal pasando por 'buffer'; lo deja vacío. */
+    static void write(FileChannel channel, ByteBuffer buffer, List<byte[]> payloads) throws IOException {
+        CRC32 crc = new CRC32();
+        for (byte[] payload : payloads) {
+            crc.reset();
+            crc.update(payload);
+            if (buffer.remaining() < HEADER_BYTES + payload.length) {
+                drain(channel, buffer);
+            }
+            if (buffer.remaining() < HEADER_BYTES + payload.length) {
+                // Más grande que el buffer entero: va directo al canal
+                buffer.putInt(payload.length).putInt((int) crc.getValue());
+                drain(channel, buffer);
+                writeFully(channel, ByteBuffer.wrap(payload));
+            } else {
+                buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            }
+        }
+        drain(channel, buffer);
+    }
+
+    /**
+     * Entrega cada frame válido (un slice que solo sirve durante la llamada)
+     * y devuelve cuántos bytes del archivo eran válidos.
+     */
+    static long read(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES).limit(0);
+            CRC32 crc = new CRC32();
+            long valid = 0;
+            while (fill(channel, buffer, HEADER_BYTES)) {
+                int length = buffer.getInt(buffer.position());
+                int expected = buffer.getInt(buffer.position() + 4);
+                if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+                    break;
+                }
+                if (buffer.capacity() < HEADER_BYTES + length) {
+                    buffer = ByteBuffer.allocate(HEADER_BYTES + length).put(buffer).flip();
+                }
+                if (!fill(channel, buffer, HEADER_BYTES + length)) {
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position() + HEADER_BYTES, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != expected) {
+                    break;
+                }
+                consumer.accept(payload);
+                buffer.position(buffer.position() + HEADER_BYTES + length);
+                valid += HEADER_BYTES + length;
+            }
+            return valid;
+        }
+    }
+
+    // El buffer queda en modo lectura con al menos 'needed' bytes, o false si el archivo no los tiene
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return true;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < needed) {
+                if (channel.read(buffer) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            buffer.flip();
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.wal;
+
+import com.uber.ride.infrastructure.adapters.out.persistence.RideEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 🧾 REGISTROS - Imagen binaria de un viaje
+ *
+ * El WAL y los snapshots guardan la imagen completa del viaje después de
+ * cada cambio, no el cambio: reaplicar un registro dos veces deja el mismo
+ * estado, y un snapshot tomado mientras se escribe sigue siendo válido.
+ *
+ *   [presentes: short][id][passengerId][status: byte][fare] + opcionales
+ *
+ * Los campos opcionales solo ocupan lugar si el bit de "presentes" está.
+ * Una lápida (bit DELETED, solo en el WAL) deshace un viaje nuevo cuya
+ * transacción no llegó a confirmarse después de escribirse.
+ */
+public final class RideRecords {
+
+    private static final int DRIVER = 1;
+    private static final int PICKUP_LABEL = 1 << 1;
+    private static final int DROPOFF_LABEL = 1 << 2;
+    private static final int PICKUP_POINT = 1 << 3;
+    private static final int DROPOFF_POINT = 1 << 4;
+    private static final int ESTIMATED_FARE = 1 << 5;
+    private static final int SURGE = 1 << 6;
+    private static final int REQUESTED_AT = 1 << 7;
+    private static final int STARTED_AT = 1 << 8;
+    private static final int COMPLETED_AT = 1 << 9;
+    private static final int DELETED = 1 << 10;
+
+    // short + id + passengerId + status + fare, antes de los opcionales
+    private static final int FIXED_BYTES = 2 + 8 + 8 + 1 + 8;
+    private static final RideEntity.RideStatus[] STATUSES = RideEntity.RideStatus.values();
+
+    private RideRecords() {
+    }
+
+    public static byte[] encode(RideEntity ride) {
+        byte[] pickupLabel = utf8(ride.getPickupLocation());
+        byte[] dropoffLabel = utf8(ride.getDropoffLocation());
+        int present = 0;
+        int size = FIXED_BYTES;
+        if (ride.getDriverId() != null) {
+            present |= DRIVER;
+            size += 8;
+        }
+        if (pickupLabel != null) {
+            present |= PICKUP_LABEL;
+            size += 4 + pickupLabel.length;
+        }
+        if (dropoffLabel != null) {
+            present |= DROPOFF_LABEL;
+            size += 4 + dropoffLabel.length;
+        }
+        if (ride.getPickupLatitude() != null && ride.getPickupLongitude() != null) {
+            present |= PICKUP_POINT;
+            size += 16;
+        }
+        if (ride.getDropoffLatitude() != null && ride.getDropoffLongitude() != null) {
+            present |= DROPOFF_POINT;
+            size += 16;
+        }
+        if (ride.getEstimatedFare() != null) {
+            present |= ESTIMATED_FARE;
+            size += 8;
+        }
+        if (ride.getSurgeMultiplier() != null) {
+            present |= SURGE;
+            size += 8;
+        }
+        if (ride.getRequestedAt() != null) {
+            present |= REQUESTED_AT;
+            size += 12;
+        }
+        if (ride.getStartedAt() != null) {
+            present |= STARTED_AT;
+            size += 12;
+        }
+        if (ride.getCompletedAt() != null) {
+            present |= COMPLETED_AT;
+            size += 12;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putShort((short) present);
+        out.putLong(ride.getId());
+        out.putLong(ride.getPassengerId());
+        out.put((byte) ride.getStatus().ordinal());
+        out.putDouble(ride.getFare());
+        if ((present & DRIVER) != 0) {
+            out.putLong(ride.getDriverId());
+        }
+        if ((present & PICKUP_LABEL) != 0) {
+            out.putInt(pickupLabel.length).put(pickupLabel);
+        }
+        if ((present & DROPOFF_LABEL) != 0) {
+            out.putInt(dropoffLabel.length).put(dropoffLabel);
+        }
+        if ((present & PICKUP_POINT) != 0) {
+            out.putDouble(ride.getPickupLatitude()).putDouble(ride.getPickupLongitude());
+        }
+        if ((present & DROPOFF_POINT) != 0) {
+            out.putDouble(ride.getDropoffLatitude()).putDouble(ride.getDropoffLongitude());
+        }
+        if ((present & ESTIMATED_FARE) != 0) {
+            out.putDouble(ride.getEstimatedFare());
+        }
+        if ((present & SURGE) != 0) {
+            out.putDouble(ride.getSurgeMultiplier());
+        }
+        putTime(out, present, REQUESTED_AT, ride.getRequestedAt());
+        putTime(out, present, STARTED_AT, ride.getStartedAt());
+        putTime(out, present, COMPLETED_AT, ride.getCompletedAt());
+        return out.array();
+    }
+
+    public static byte[] tombstone(long rideId) {
+        return ByteBuffer.allocate(FIXED_BYTES)
+                .putShort((short) DELETED).putLong(rideId).putLong(0).put((byte) 0).putDouble(0)
+                .array();
+    }
+
+    public static boolean isTombstone(ByteBuffer in) {
+        return (in.getShort(in.position()) & DELETED) != 0;
+    }
+
+    // Id de la lápida; no avanza la posición
+    public static long tombstoneId(ByteBuffer in) {
+        return in.getLong(in.position() + 2);
+    }
+
+    public static RideEntity decode(ByteBuffer in) {
+        int present = in.getShort() & 0xffff;
+        long id = in.getLong();
+        long passengerId = in.getLong();
+        RideEntity.RideStatus status = STATUSES[in.get()];
+        double fare = in.getDouble();
+        Long driverId = (present & DRIVER) != 0 ? in.getLong() : null;
+        String pickupLabel = (present & PICKUP_LABEL) != 0 ? string(in) : null;
+        String dropoffLabel = (present & DROPOFF_LABEL) != 0 ? string(in) : null;
+        Double pickupLatitude = null;
+        Double pickupLongitude = null;
+        if ((present & PICKUP_POINT) != 0) {
+            pickupLatitude = in.getDouble();
+            pickupLongitude = in.getDouble();
+        }
+        Double dropoffLatitude = null;
+        Double dropoffLongitude = null;
+        if ((present & DROPOFF_POINT) != 0) {
+            dropoffLatitude = in.getDouble();
+            dropoffLongitude = in.getDouble();
+        }
+        Double estimatedFare = (present & ESTIMATED_FARE) != 0 ? in.getDouble() : null;
+        Double surge = (present & SURGE) != 0 ? in.getDouble() : null;
+        LocalDateTime requestedAt = time(in, present, REQUESTED_AT);
+        LocalDateTime startedAt = time(in, present, STARTED_AT);
+        LocalDateTime completedAt = time(in, present, COMPLETED_AT);
+        return new RideEntity(id, passengerId, driverId, pickupLabel, dropoffLabel,
+                pickupLatitude, pickupLongitude, dropoffLatitude, dropoffLongitude,
+                status, fare, estimatedFare, surge, requestedAt, startedAt, completedAt);
+    }
+
+    // ===== TIPOS =====
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer in) {
+        int length = in.getInt();
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void putTime(ByteBuffer out, int present, int bit, LocalDateTime value) {
+        if ((present & bit) != 0) {
+            out.putLong(value.toEpochSecond(ZoneOffset.UTC)).putInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime time(ByteBuffer in, int present, int bit) {
+        if ((present & bit) == 0) {
+            return null;
+        }
+        long seconds = in.getLong();
+        return LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,177 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.wal;
+
+import com.uber.ride.infrastructure.adapters.out.persistence.RideEntity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 📸 SNAPSHOT - Estado completo de los viajes en memoria
+ *
+ * snapshot-<g>.snap tiene todo lo escrito en el WAL antes de la generación
+ * g. Son frames (ver Frames):
+ *
+ *   [encabezado][fin de viaje por conductor][viaje]...[frame vacío]
+ *
+ * El frame vacío final prueba que el archivo está completo. Se escribe
+ * en un .tmp y se renombra, así nunca queda un snapshot a medias con el
+ * nombre definitivo.
+ */
+public final class RideSnapshot {
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final int MAGIC = 0x52534e50;
+    private static final int VERSION = 1;
+    private static final int WRITE_BATCH = 1024;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private RideSnapshot() {
+    }
+
+    public static void write(Path directory, long generation, long lastId, Map<Long, LocalDateTime> lastCompletion,
+                             Iterator<RideEntity> rides) throws IOException {
+        Path target = directory.resolve(fileName(generation));
+        Path temporary = directory.resolve(fileName(generation) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            ByteBuffer header = ByteBuffer.allocate(4 + 4 + 8 + 8)
+                    .putInt(MAGIC).putInt(VERSION).putLong(generation).putLong(lastId);
+            Frames.write(channel, buffer, List.of(header.array(), encode(lastCompletion)));
+
+            List<byte[]> batch = new ArrayList<>(WRITE_BATCH);
+            while (rides.hasNext()) {
+                batch.add(RideRecords.encode(rides.next()));
+                if (batch.size() == WRITE_BATCH) {
+                    Frames.write(channel, buffer, batch);
+                    batch.clear();
+                }
+            }
+            batch.add(new byte[0]);
+            Frames.write(channel, buffer, batch);
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        RideWal.syncDirectory(directory);
+    }
+
+    /** Carga el snapshot de esa generación y devuelve el último id asignado. */
+    public static long read(Path directory, long generation, Consumer<RideEntity> rides,
+                            BiConsumer<Long, LocalDateTime> lastCompletion) throws IOException {
+        Path file = directory.resolve(fileName(generation));
+        long[] lastId = new long[1];
+        int[] frame = new int[1];
+        boolean[] complete = new boolean[1];
+        Frames.read(file, payload -> {
+            if (complete[0]) {
+                throw new IllegalStateException("Datos después del final en " + file);
+            }
+            switch (frame[0]++) {
+                case 0 -> {
+                    if (payload.getInt() != MAGIC || payload.getInt() != VERSION
+                            || payload.getLong() != generation) {
+                        throw new IllegalStateException("Encabezado inválido en " + file);
+                    }
+                    lastId[0] = payload.getLong();
+                }
+                case 1 -> decode(payload, lastCompletion);
+                default -> {
+                    if (payload.hasRemaining()) {
+                        rides.accept(RideRecords.decode(payload));
+                    } else {
+                        complete[0] = true;
+                    }
+                }
+            }
+        });
+        if (!complete[0]) {
+            throw new IllegalStateException("Snapshot incompleto o corrupto: " + file);
+        }
+        return lastId[0];
+    }
+
+    /** Generación del último snapshot, o 0 si no hay. */
+    public static long latestGeneration(Path directory) throws IOException {
+        long latest = 0;
+        for (Path file : files(directory)) {
+            latest = Math.max(latest, generationOf(file));
+        }
+        return latest;
+    }
+
+    /** Borra los snapshots anteriores a 'generation' y los .tmp que quedaron a medias. */
+    public static void deleteBefore(Path directory, long generation) throws IOException {
+        try (Stream<Path> listing = Files.list(directory)) {
+            for (Path file : listing.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX + ".tmp")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        for (Path file : files(directory)) {
+            if (generationOf(file) < generation) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // ===== FIN DE VIAJE POR CONDUCTOR =====
+
+    private static byte[] encode(Map<Long, LocalDateTime> lastCompletion) {
+        List<Map.Entry<Long, LocalDateTime>> entries = List.copyOf(lastCompletion.entrySet());
+        ByteBuffer out = ByteBuffer.allocate(4 + entries.size() * 20);
+        out.putInt(entries.size());
+        for (Map.Entry<Long, LocalDateTime> entry : entries) {
+            out.putLong(entry.getKey())
+                    .putLong(entry.getValue().toEpochSecond(ZoneOffset.UTC))
+                    .putInt(entry.getValue().getNano());
+        }
+        return out.array();
+    }
+
+    private static void decode(ByteBuffer in, BiConsumer<Long, LocalDateTime> lastCompletion) {
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            long driverId = in.getLong();
+            long seconds = in.getLong();
+            lastCompletion.accept(driverId, LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC));
+        }
+    }
+
+    // ===== ARCHIVOS =====
+
+    private static List<Path> files(Path directory) throws IOException {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .toList();
+        }
+    }
+
+    private static String fileName(long generation) {
+        return String.format("%s%08d%s", PREFIX, generation, SUFFIX);
+    }
+
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
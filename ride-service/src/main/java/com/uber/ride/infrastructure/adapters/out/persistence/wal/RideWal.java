@@ -0,0 +1,287 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.wal;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 📝 WAL DE VIAJES - Log de solo anexar con commit agrupado
+ *
+ * Quien escribe solo encola su registro y recibe un número de secuencia;
+ * un único hilo escribe todo lo encolado de una vez, hace un solo fsync
+ * por lote (group commit) y recién entonces despierta a los que esperan
+ * en awaitDurable. Con muchos escritores a la vez el fsync se reparte
+ * entre todo el lote.
+ *
+ * El log se corta en generaciones (wal-<generación>.log). Un snapshot de
+ * la generación g contiene todo lo escrito en las anteriores, que desde
+ * ese momento se pueden borrar.
+ */
+public final class RideWal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(RideWal.class);
+
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final Timer syncTimer;
+    private final DistributionSummary batchRecords;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendingAvailable = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private List<byte[]> pending = new ArrayList<>();
+    private long appendedSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean closed;
+    private FileChannel channel;
+    private long generation;
+
+    private final Thread writer;
+
+    /** Abre una generación nueva (no debe existir) y arranca el hilo escritor. */
+    public RideWal(Path directory, long generation, boolean fsync, MeterRegistry meterRegistry) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.generation = generation;
+        this.channel = create(generation);
+        this.syncTimer = meterRegistry.timer("ride.storage.wal.sync");
+        this.batchRecords = meterRegistry.summary("ride.storage.wal.batch.records");
+        this.writer = new Thread(this::writeLoop, "ride-wal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // ===== ESCRITURA =====
+
+    /** Encola los registros (en orden) y devuelve la secuencia del último. */
+    public long append(List<byte[]> records) {
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("El WAL de viajes dejó de escribir", failure);
+            }
+            if (closed) {
+                throw new IllegalStateException("El WAL de viajes está cerrado");
+            }
+            pending.addAll(records);
+            appendedSequence += records.size();
+            pendingAvailable.signal();
+            return appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long append(byte[] record) {
+        return append(List.of(record));
+    }
+
+    /** Espera a que la secuencia esté en disco. */
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence && failure == null) {
+                durable.awaitUninterruptibly();
+            }
+            if (durableSequence < sequence) {
+                throw new UncheckedIOException("No se pudo escribir el WAL de viajes", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cierra la generación actual y abre la siguiente; devuelve su número.
+     * El llamador no debe encolar registros mientras tanto.
+     */
+    public long rotate() throws IOException {
+        long last;
+        lock.lock();
+        try {
+            last = appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(last);
+        lock.lock();
+        try {
+            channel.close();
+            generation++;
+            channel = create(generation);
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Borra las generaciones anteriores a 'generation' (ya cubiertas por un snapshot). */
+    public void deleteBefore(long generation) throws IOException {
+        for (Path file : files(directory)) {
+            if (generationOf(file) < generation) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            pendingAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void writeLoop() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        while (true) {
+            List<byte[]> batch;
+            long batchSequence;
+            FileChannel target;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    pendingAvailable.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                batchSequence = appendedSequence;
+                target = channel;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            long start = System.nanoTime();
+            try {
+                Frames.write(target, buffer, batch);
+                if (fsync) {
+                    target.force(false);
+                }
+            } catch (IOException e) {
+                error = e;
+                buffer.clear();
+                log.error("❌ No se pudo escribir el WAL de viajes", e);
+            }
+            syncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchRecords.record(batch.size());
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSequence = batchSequence;
+                }
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    private FileChannel create(long generation) throws IOException {
+        FileChannel created = FileChannel.open(directory.resolve(fileName(generation)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        if (fsync) {
+            syncDirectory(directory);
+        }
+        return created;
+    }
+
+    // ===== RECUPERACIÓN =====
+
+    /**
+     * Reaplica las generaciones desde 'fromGeneration' en orden y devuelve
+     * la última encontrada (o fromGeneration - 1 si no hay ninguna). Un
+     * frame roto al final de la última es una escritura que no llegó a
+     * confirmarse y se corta; en cualquier otra generación es corrupción.
+     */
+    public static long replay(Path directory, long fromGeneration, Consumer<ByteBuffer> consumer) throws IOException {
+        List<Path> files = files(directory).stream()
+                .filter(file -> generationOf(file) >= fromGeneration)
+                .toList();
+        long last = fromGeneration - 1;
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            long size = Files.size(file);
+            long valid = Frames.read(file, consumer);
+            if (valid < size) {
+                if (i < files.size() - 1) {
+                    throw new IllegalStateException("WAL corrupto en " + file + " (byte " + valid + ")");
+                }
+                log.warn("⚠️ WAL {}: se descartan {} bytes sin confirmar al final", file.getFileName(), size - valid);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                    channel.force(true);
+                }
+            }
+            last = generationOf(file);
+        }
+        return last;
+    }
+
+    static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static List<Path> files(Path directory) throws IOException {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String fileName(long generation) {
+        return String.format("%s%08d%s", PREFIX, generation, SUFFIX);
+    }
+
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
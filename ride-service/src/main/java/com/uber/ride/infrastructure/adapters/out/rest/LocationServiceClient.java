@@ -0,0 +1,81 @@
+package com.uber.ride.infrastructure.adapters.out.rest;
+
+import com.uber.ride.domain.model.DriverCandidate;
+import com.uber.ride.domain.model.DriverDensity;
+import com.uber.ride.domain.ports.out.DriverLocator;
+import com.uber.ride.domain.ports.out.DriverSupply;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🔌 ADAPTADOR HTTP - Cliente de location-service
+ */
+@Component
+@ConditionalOnProperty(name = "services.transport", havingValue = "rest", matchIfMissing = true)
+public class LocationServiceClient implements DriverLocator, DriverSupply {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationServiceClient.class);
+
+    private final RestClient restClient;
+
+    public LocationServiceClient(RestClient.Builder builder,
+                                 @Value("${services.location.url:http://localhost:8083}") String baseUrl) {
+        this.restClient = builder.baseUrl(baseUrl).build();
+    }
+
+    @Override
+    public List<DriverCandidate> findNearbyAvailableDrivers(double latitude, double longitude,
+                                                           int limit, double radiusKm) {
+        try {
+            List<LocationResponse> body = restClient.get()
+                    .uri(uri -> uri.path("/api/locations/drivers/nearby")
+                            .queryParam("lat", latitude)
+                            .queryParam("lon", longitude)
+                            .queryParam("limit", limit)
+                            .queryParam("radiusKm", radiusKm)
+                            .build())
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<LocationResponse>>() { });
+            if (body == null) {
+                return List.of();
+            }
+            List<DriverCandidate> candidates = new ArrayList<>(body.size());
+            for (LocationResponse location : body) {
+                candidates.add(new DriverCandidate(location.driverId(), location.latitude(), location.longitude()));
+            }
+            return candidates;
+        } catch (RestClientException e) {
+            log.warn("⚠️ location-service no respondió: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public Optional<List<DriverDensity>> findAvailableDriversByCell(double cellSizeDeg) {
+        try {
+            List<DriverDensity> body = restClient.get()
+                    .uri(uri -> uri.path("/api/locations/drivers/density")
+                            .queryParam("cellSizeDeg", cellSizeDeg)
+                            .build())
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<DriverDensity>>() { });
+            return Optional.of(body == null ? List.of() : body);
+        } catch (RestClientException e) {
+            log.warn("⚠️ location-service no respondió: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private record LocationResponse(long driverId, double latitude, double longitude) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.uber.ride.infrastructure.adapters.out.rest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * ⚙️ CONFIGURACIÓN - Clientes HTTP hacia otros servicios
+ *
+ * Sin timeouts, un servicio lento retiene indefinidamente el hilo que lo
+ * llama; con hilos de plataforma eso termina agotando el pool.
+ */
+@Configuration
+public class RestClientConfig {
+
+    @Bean
+    public RestClientCustomizer timeoutCustomizer(
+            @Value("${services.http.connect-timeout-ms:1000}") int connectTimeoutMs,
+            @Value("${services.http.read-timeout-ms:3000}") int readTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        return builder -> builder.requestFactory(requestFactory);
+    }
+}
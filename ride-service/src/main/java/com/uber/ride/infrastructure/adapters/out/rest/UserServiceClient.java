@@ -0,0 +1,77 @@
+package com.uber.ride.infrastructure.adapters.out.rest;
+
+import com.uber.ride.domain.ports.out.DriverDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔌 ADAPTADOR HTTP - Cliente de user-service
+ *
+ * Busca a los conductores pedidos con POST /api/users/lookup (hasta
+ * LOOKUP_BATCH ids por llamada) y se queda con los que cumplen
+ * User.canDrive(): conductor, activo y con el rating mínimo.
+ */
+@Component
+@ConditionalOnProperty(name = "services.transport", havingValue = "rest", matchIfMissing = true)
+public class UserServiceClient implements DriverDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(UserServiceClient.class);
+
+    // El máximo que acepta /api/users/lookup
+    private static final int LOOKUP_BATCH = 1000;
+
+    private final RestClient restClient;
+
+    public UserServiceClient(RestClient.Builder builder,
+                             @Value("${services.user.url:http://localhost:8081}") String baseUrl) {
+        this.restClient = builder.baseUrl(baseUrl).build();
+    }
+
+    @Override
+    public Map<Long, Double> findEligibleDriverRatings(Collection<Long> driverIds) {
+        try {
+            Map<Long, Double> ratings = new HashMap<>();
+            List<Long> ids = new ArrayList<>(driverIds);
+            for (int from = 0; from < ids.size(); from += LOOKUP_BATCH) {
+                List<Long> batch = ids.subList(from, Math.min(from + LOOKUP_BATCH, ids.size()));
+                LookupResponse lookup = restClient.post()
+                        .uri("/api/users/lookup")
+                        .body(batch)
+                        .retrieve()
+                        .body(LookupResponse.class);
+                if (lookup == null || lookup.users() == null) {
+                    continue;
+                }
+                for (UserResponse user : lookup.users()) {
+                    if (user.canDrive()) {
+                        ratings.put(user.id(), user.rating());
+                    }
+                }
+            }
+            return ratings;
+        } catch (RestClientException e) {
+            log.warn("⚠️ user-service no respondió: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private record LookupResponse(List<UserResponse> users) {
+    }
+
+    private record UserResponse(long id, String userType, double rating, boolean active) {
+        boolean canDrive() {
+            return "DRIVER".equals(userType) && active && rating >= MIN_DRIVER_RATING;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.uber.ride.infrastructure.adapters.out.rpc;
+
+import com.uber.ride.domain.model.DriverCandidate;
+import com.uber.ride.domain.model.DriverDensity;
+import com.uber.ride.domain.ports.out.DriverLocator;
+import com.uber.ride.domain.ports.out.DriverSupply;
+import com.uber.rpc.RpcClient;
+import com.uber.rpc.RpcException;
+import com.uber.rpc.RpcFrames;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🔌 ADAPTADOR RPC - Cliente binario de location-service
+ *
+ * Alternativa a LocationServiceClient con services.transport=rpc. Las
+ * consultas en paralelo del despacho (una por viaje) comparten las
+ * conexiones del pool en vez de abrir una petición HTTP cada una.
+ */
+@Component
+@ConditionalOnProperty(name = "services.transport", havingValue = "rpc")
+public class LocationRpcClient implements DriverLocator, DriverSupply {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationRpcClient.class);
+
+    static final byte NEARBY_DRIVERS = 1;
+    static final byte DRIVER_DENSITY = 2;
+
+    private final RpcClient client;
+
+    public LocationRpcClient(@Value("${services.location.rpc-address:localhost:9083}") String address,
+                             @Value("${services.rpc.connections:2}") int connections,
+                             @Value("${services.rpc.connect-timeout-ms:1000}") int connectTimeoutMs,
+                             @Value("${services.rpc.timeout-ms:3000}") long timeoutMs) {
+        this.client = new RpcClient("location-service", address, connections, connectTimeoutMs, timeoutMs);
+    }
+
+    @Override
+    public List<DriverCandidate> findNearbyAvailableDrivers(double latitude, double longitude,
+                                                           int limit, double radiusKm) {
+        try {
+            RpcFrames.Payload request = new RpcFrames.Payload(28)
+                    .putDouble(latitude).putDouble(longitude).putInt(limit).putDouble(radiusKm);
+            RpcClient.Response response = client.call(NEARBY_DRIVERS, request);
+            if (!response.ok()) {
+                log.warn("⚠️ location-service respondió con estado RPC {}", response.status());
+                return List.of();
+            }
+            ByteBuffer in = response.payload();
+            int count = in.getInt();
+            List<DriverCandidate> candidates = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                candidates.add(new DriverCandidate(in.getLong(), in.getDouble(), in.getDouble()));
+            }
+            return candidates;
+        } catch (RpcException e) {
+            log.warn("⚠️ location-service no respondió: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public Optional<List<DriverDensity>> findAvailableDriversByCell(double cellSizeDeg) {
+        try {
+            RpcClient.Response response = client.call(DRIVER_DENSITY, new RpcFrames.Payload(8).putDouble(cellSizeDeg));
+            if (!response.ok()) {
+                log.warn("⚠️ location-service respondió con estado RPC {}", response.status());
+                return Optional.empty();
+            }
+            ByteBuffer in = response.payload();
+            int count = in.getInt();
+            List<DriverDensity> cells = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                cells.add(new DriverDensity(in.getInt(), in.getInt(), in.getInt()));
+            }
+            return Optional.of(cells);
+        } catch (RpcException e) {
+            log.warn("⚠️ location-service no respondió: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,99 @@
+package com.uber.ride.infrastructure.adapters.out.rpc;
+
+import com.uber.ride.domain.ports.out.DriverDirectory;
+import com.uber.rpc.RpcClient;
+import com.uber.rpc.RpcException;
+import com.uber.rpc.RpcFrames;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔌 ADAPTADOR RPC - Cliente binario de user-service
+ *
+ * Alternativa a UserServiceClient con services.transport=rpc: busca a los
+ * conductores pedidos con GET_USERS (hasta LOOKUP_BATCH ids por llamada)
+ * y se queda con los que cumplen User.canDrive().
+ */
+@Component
+@ConditionalOnProperty(name = "services.transport", havingValue = "rpc")
+public class UserRpcClient implements DriverDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(UserRpcClient.class);
+
+    static final byte GET_USERS = 2;
+
+    // Ordinal de User.UserType.DRIVER en user-service
+    private static final byte DRIVER = 1;
+    private static final int LOOKUP_BATCH = 1000;
+
+    private final RpcClient client;
+
+    public UserRpcClient(@Value("${services.user.rpc-address:localhost:9081}") String address,
+                         @Value("${services.rpc.connections:2}") int connections,
+                         @Value("${services.rpc.connect-timeout-ms:1000}") int connectTimeoutMs,
+                         @Value("${services.rpc.timeout-ms:3000}") long timeoutMs) {
+        this.client = new RpcClient("user-service", address, connections, connectTimeoutMs, timeoutMs);
+    }
+
+    @Override
+    public Map<Long, Double> findEligibleDriverRatings(Collection<Long> driverIds) {
+        try {
+            Map<Long, Double> ratings = new HashMap<>();
+            List<Long> ids = new ArrayList<>(driverIds);
+            for (int from = 0; from < ids.size(); from += LOOKUP_BATCH) {
+                List<Long> batch = ids.subList(from, Math.min(from + LOOKUP_BATCH, ids.size()));
+                RpcFrames.Payload request = new RpcFrames.Payload(4 + batch.size() * 8);
+                request.putInt(batch.size());
+                for (Long id : batch) {
+                    request.putLong(id);
+                }
+                RpcClient.Response response = client.call(GET_USERS, request);
+                if (!response.ok()) {
+                    log.warn("⚠️ user-service respondió con estado RPC {}", response.status());
+                    return Map.of();
+                }
+                readEligible(response.payload(), ratings);
+            }
+            return ratings;
+        } catch (RpcException e) {
+            log.warn("⚠️ user-service no respondió: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    // n: int, n × (existe: byte, usuario); ver UserRpcEndpoint
+    private static void readEligible(ByteBuffer in, Map<Long, Double> ratings) {
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            if (in.get() == 0) {
+                continue;
+            }
+            long id = in.getLong();
+            RpcFrames.getString(in);
+            RpcFrames.getString(in);
+            RpcFrames.getString(in);
+            byte userType = in.get();
+            double rating = in.getDouble();
+            boolean active = in.get() != 0;
+            if (userType == DRIVER && active && rating >= MIN_DRIVER_RATING) {
+                ratings.put(id, rating);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,188 @@
+package com.uber.ride.application.services;
+
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.model.RideEvent;
+import com.uber.ride.domain.ports.in.RideEventUseCase;
+import com.uber.ride.domain.ports.in.RideUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🧪 Transiciones concurrentes: de N llamadas simultáneas sobre el mismo
+ * viaje, exactamente una gana (el UPDATE condicionado de JpaRideRepository)
+ * y las demás terminan en conflicto sin tocar el viaje.
+ */
+@SpringBootTest(properties = {
+        "rpc.enabled=false",
+        "ride.pricing.refresh-ms=3600000",
+        "ride.archive.enabled=false"
+})
+class RideTransitionConcurrencyTest {
+
+    private static final int CONTENDERS = 32;
+    private static final int ROUNDS = 20;
+    private static final GeoPoint PICKUP = new GeoPoint(4.65, -74.05);
+    private static final GeoPoint DROPOFF = new GeoPoint(4.70, -74.04);
+
+    private static Path archiveDir;
+
+    @Autowired
+    private RideUseCase rideUseCase;
+
+    @Autowired
+    private RideEventUseCase rideEventUseCase;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void archiveDir(DynamicPropertyRegistry registry) throws IOException {
+        archiveDir = Files.createTempDirectory("ride-archive-test");
+        registry.add("ride.archive.dir", archiveDir::toString);
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(archiveDir);
+    }
+
+    @Test
+    void concurrentAssignmentsHaveExactlyOneWinner() throws Exception {
+        double appliedBefore = transitions("assign", "applied");
+        double conflictsBefore = transitions("assign", "conflict");
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Long rideId = newRide();
+
+            // Cada competidor intenta asignar un conductor distinto (1..N)
+            List<Long> winners = race(driverId -> rideUseCase.assignDriver(rideId, driverId).getDriverId());
+
+            assertThat(winners).hasSize(1);
+            Ride ride = rideUseCase.getRideById(rideId).orElseThrow();
+            assertThat(ride.getStatus()).isEqualTo(Ride.RideStatus.ACCEPTED);
+            assertThat(ride.getDriverId()).isEqualTo(winners.get(0));
+        }
+
+        assertThat(transitions("assign", "applied") - appliedBefore).isEqualTo(ROUNDS);
+        assertThat(transitions("assign", "conflict") - conflictsBefore).isEqualTo(ROUNDS * (CONTENDERS - 1));
+    }
+
+    @Test
+    void concurrentCompletionsChargeOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Long rideId = newRide();
+            rideUseCase.assignDriver(rideId, 7L);
+            rideUseCase.startRide(rideId);
+
+            // Cada competidor cobra una tarifa distinta: la guardada debe ser la del ganador
+            List<Long> winners = race(attempt -> {
+                rideUseCase.completeRide(rideId, (double) attempt);
+                return attempt;
+            });
+
+            assertThat(winners).hasSize(1);
+            Ride ride = rideUseCase.getRideById(rideId).orElseThrow();
+            assertThat(ride.getStatus()).isEqualTo(Ride.RideStatus.COMPLETED);
+            assertThat(ride.getFare()).isEqualTo((double) winners.get(0));
+        }
+    }
+
+    @Test
+    void repeatedCancellationsPublishOneEvent() throws Exception {
+        double appliedBefore = transitions("cancel", "applied");
+        List<Long> rideIds = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            Long rideId = newRide();
+            rideIds.add(rideId);
+
+            // Cancelar un viaje ya cancelado responde igual, pero no es otra transición
+            List<Long> answered = race(attempt -> rideUseCase.cancelRide(rideId).getId());
+
+            assertThat(answered).hasSize(CONTENDERS);
+            assertThat(rideUseCase.getRideById(rideId).orElseThrow().getStatus())
+                    .isEqualTo(Ride.RideStatus.CANCELLED);
+        }
+        assertThat(transitions("cancel", "applied") - appliedBefore).isEqualTo(ROUNDS);
+
+        while (rideEventUseCase.relayPendingEvents() > 0) {
+            // Publica todo lo pendiente del outbox
+        }
+        Map<Long, Integer> cancelEvents = new HashMap<>();
+        long after = 0;
+        for (List<RideEvent> page = rideEventUseCase.getEventsAfter(after, 500); !page.isEmpty();
+             page = rideEventUseCase.getEventsAfter(after, 500)) {
+            for (RideEvent event : page) {
+                if (event.status() == Ride.RideStatus.CANCELLED && rideIds.contains(event.rideId())) {
+                    cancelEvents.merge(event.rideId(), 1, Integer::sum);
+                }
+            }
+            after = page.get(page.size() - 1).offset();
+        }
+        assertThat(cancelEvents).hasSize(ROUNDS).allSatisfy((rideId, count) -> assertThat(count).isEqualTo(1));
+    }
+
+    private Long newRide() {
+        return rideUseCase.requestRide(1L, null, PICKUP, null, DROPOFF).getId();
+    }
+
+    // Lanza CONTENDERS llamadas a la vez (attempt = 1..N); devuelve lo que devolvieron las que no fallaron
+    private static List<Long> race(LongFunction<Long> call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CONTENDERS);
+        try {
+            CountDownLatch ready = new CountDownLatch(CONTENDERS);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> attempts = new ArrayList<>(CONTENDERS);
+            for (long attempt = 1; attempt <= CONTENDERS; attempt++) {
+                long value = attempt;
+                attempts.add(pool.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    try {
+                        return call.apply(value);
+                    } catch (IllegalStateException conflict) {
+                        return null;
+                    }
+                }));
+            }
+            ready.await();
+            start.countDown();
+
+            List<Long> winners = new ArrayList<>();
+            for (Future<Long> attempt : attempts) {
+                Long result = attempt.get();
+                if (result != null) {
+                    winners.add(result);
+                }
+            }
+            return winners;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private double transitions(String transition, String outcome) {
+        return meterRegistry.counter("ride.transitions", "transition", transition, "outcome", outcome).count();
+    }
+}
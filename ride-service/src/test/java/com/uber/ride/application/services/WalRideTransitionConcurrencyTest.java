@@ -0,0 +1,40 @@
+package com.uber.ride.application.services;
+
+import org.junit.jupiter.api.AfterAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 🧪 Las mismas carreras con el WAL (ride.storage.type=wal): la transición
+ * se valida contra el cambio pendiente de otra transacción, no contra una
+ * fila bloqueada.
+ */
+@SpringBootTest(properties = {
+        "rpc.enabled=false",
+        "ride.pricing.refresh-ms=3600000",
+        "ride.archive.enabled=false",
+        "ride.storage.type=wal",
+        "ride.storage.fsync=false",
+        "spring.datasource.url=jdbc:h2:mem:ridedb-wal"
+})
+class WalRideTransitionConcurrencyTest extends RideTransitionConcurrencyTest {
+
+    private static Path walDir;
+
+    @DynamicPropertySource
+    static void walDir(DynamicPropertyRegistry registry) throws IOException {
+        walDir = Files.createTempDirectory("ride-wal-test");
+        registry.add("ride.storage.dir", walDir::toString);
+    }
+
+    @AfterAll
+    static void deleteWal() throws IOException {
+        FileSystemUtils.deleteRecursively(walDir);
+    }
+}
@@ -0,0 +1,37 @@
+package com.uber.ride.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🧪 Etiquetas "lat,lon": solo coordenadas en rango; NaN e infinitos no
+ * son coordenadas.
+ */
+class GeoPointTest {
+
+    @Test
+    void parsesLabelsInRange() {
+        assertThat(GeoPoint.parse(" 4.6510 , -74.0560 ")).contains(new GeoPoint(4.651, -74.056));
+        assertThat(GeoPoint.parse("-90,180")).contains(new GeoPoint(-90, 180));
+    }
+
+    @Test
+    void rejectsNonCoordinates() {
+        assertThat(GeoPoint.parse(null)).isEmpty();
+        assertThat(GeoPoint.parse("Calle 80 # 10-20")).isEmpty();
+        assertThat(GeoPoint.parse("1,2,3")).isEmpty();
+        assertThat(GeoPoint.parse("90.1,0")).isEmpty();
+        assertThat(GeoPoint.parse("0,-180.5")).isEmpty();
+        assertThat(GeoPoint.parse("NaN,NaN")).isEmpty();
+        assertThat(GeoPoint.parse("4.65,NaN")).isEmpty();
+        assertThat(GeoPoint.parse("Infinity,0")).isEmpty();
+    }
+
+    @Test
+    void nanIsNeverValid() {
+        assertThat(GeoPoint.isValid(Double.NaN, 0)).isFalse();
+        assertThat(GeoPoint.isValid(0, Double.NaN)).isFalse();
+        assertThat(GeoPoint.isValid(4.65, -74.05)).isTrue();
+    }
+}
@@ -0,0 +1,77 @@
+package com.uber.ride.infrastructure.adapters.in.rest;
+
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.domain.model.RideEvent;
+import com.uber.ride.domain.model.RideEventBatch;
+import com.uber.ride.domain.ports.in.RideEventUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🧪 Un suscriptor SSE muy atrasado se pone al día desde el outbox aunque
+ * el relay publique más lotes de los que caben en su cola mientras tanto.
+ */
+class RideEventStreamHubTest {
+
+    private static final int QUEUE_BATCHES = 4;
+
+    @Test
+    void farBehindSubscriberSurvivesItsOwnBackfill() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PublishingOutbox outbox = new PublishingOutbox(5_000);
+        RideEventStreamHub hub = new RideEventStreamHub(outbox, registry, QUEUE_BATCHES, 1);
+        outbox.hub = hub;
+        try {
+            // 10 páginas de backfill, y el relay publica un lote en cada una
+            hub.subscribe(0, 60_000);
+
+            assertThat(outbox.published).isGreaterThan(QUEUE_BATCHES);
+            assertThat(registry.counter("ride.events.stream.lagging").count()).isZero();
+            assertThat(registry.get("ride.events.stream.subscribers").gauge().value()).isEqualTo(1);
+        } finally {
+            hub.stop();
+        }
+    }
+
+    // Outbox en memoria que publica un lote nuevo cada vez que se consulta
+    private static final class PublishingOutbox implements RideEventUseCase {
+        private final List<RideEvent> events = new ArrayList<>();
+        private RideEventStreamHub hub;
+        private int published;
+
+        PublishingOutbox(int initialEvents) {
+            for (int i = 0; i < initialEvents; i++) {
+                events.add(event(events.size() + 1L));
+            }
+        }
+
+        @Override
+        public List<RideEvent> getEventsAfter(long afterOffset, int limit) {
+            List<RideEvent> page = new ArrayList<>(events.subList(
+                    (int) Math.min(afterOffset, events.size()),
+                    (int) Math.min(afterOffset + limit, events.size())));
+            RideEvent next = event(events.size() + 1L);
+            events.add(next);
+            published++;
+            hub.onBatch(new RideEventBatch(List.of(next)));
+            return page;
+        }
+
+        @Override
+        public int relayPendingEvents() {
+            return 0;
+        }
+
+        private static RideEvent event(long offset) {
+            return new RideEvent(offset, offset, Ride.RideStatus.REQUESTED, 1L, null,
+                    new GeoPoint(4.65, -74.05), 0, LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.uber.ride.infrastructure.adapters.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🧪 RideJson.Serializer escribe exactamente el mismo JSON que Jackson
+ * por reflexión con la configuración de Spring Boot (fechas ISO).
+ */
+class RideJsonTest {
+
+    // Como JacksonAutoConfiguration: fechas como texto ISO, no como arreglo
+    private static final ObjectMapper REFLECTIVE = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private static final ObjectMapper HAND_WRITTEN = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializerByType(Ride.class, new RideJson.Serializer())
+            .build();
+
+    @Test
+    void matchesReflectiveJsonForEverySample() throws Exception {
+        for (Ride ride : samples()) {
+            assertThat(HAND_WRITTEN.writeValueAsString(ride))
+                    .as("viaje %s", ride)
+                    .isEqualTo(REFLECTIVE.writeValueAsString(ride));
+        }
+    }
+
+    @Test
+    void matchesReflectiveJsonInsideLists() throws Exception {
+        List<Ride> rides = samples();
+        assertThat(HAND_WRITTEN.writeValueAsString(rides)).isEqualTo(REFLECTIVE.writeValueAsString(rides));
+    }
+
+    private static List<Ride> samples() {
+        List<Ride> samples = new ArrayList<>();
+        // Todo null salvo fare (primitivo)
+        samples.add(new Ride());
+
+        Ride requested = new Ride(10L, "Calle 80 # 10-20", "4.7000,-74.0400");
+        requested.setId(1L);
+        requested.setRequestedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 0));
+        samples.add(requested);
+
+        LocalDateTime[] timestamps = {
+                LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789),
+                LocalDateTime.of(2024, 3, 1, 0, 0, 0),
+                LocalDateTime.of(2024, 3, 1, 0, 0, 5, 100_000_000),
+                LocalDateTime.of(2024, 3, 1, 12, 30, 0, 120_000),
+                LocalDateTime.of(2024, 3, 1, 12, 30, 0, 1),
+                LocalDateTime.of(999, 12, 31, 23, 59, 59, 10),
+                LocalDateTime.of(10_000, 1, 1, 0, 0, 0, 5_000)
+        };
+        Ride.RideStatus[] statuses = Ride.RideStatus.values();
+        for (int i = 0; i < timestamps.length; i++) {
+            Ride ride = new Ride(20L + i, "4.6510,-74.0560", new GeoPoint(4.651, -74.056),
+                    "\"Destino\" con ñ y \\", new GeoPoint(-33.5, 151.0 + i / 3.0));
+            ride.setId(100L + i);
+            ride.setDriverId(i % 2 == 0 ? 7L : null);
+            ride.setStatus(statuses[i % statuses.length]);
+            ride.setFare(i * 1234.5678);
+            ride.setEstimatedFare(i % 3 == 0 ? null : 9876.54321 / (i + 1));
+            ride.setSurgeMultiplier(i % 3 == 0 ? null : 1.0 + i / 10.0);
+            ride.setRequestedAt(timestamps[i]);
+            ride.setStartedAt(timestamps[(i + 1) % timestamps.length]);
+            ride.setCompletedAt(i % 2 == 0 ? null : timestamps[(i + 2) % timestamps.length]);
+            samples.add(ride);
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,96 @@
+package com.uber.ride.infrastructure.adapters.out.persistence;
+
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.infrastructure.adapters.out.persistence.archive.RideArchive;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🧪 Recuperación del WAL tras una caída: un viaje que ya pasó al archivo
+ * no vuelve a memoria aunque el WAL conserve sus estados intermedios.
+ */
+class WalRideRecoveryTest {
+
+    private static final long DRIVER_ID = 7L;
+
+    @TempDir
+    Path dir;
+
+    private RideArchive archive;
+
+    @Test
+    void archivedRideStaysArchivedAfterCrash() throws IOException {
+        WalRideRepositoryAdapter before = open();
+        Ride finished = before.save(newRide(1L));
+        Ride stillOpen = before.save(newRide(2L));
+        LocalDateTime completedAt = LocalDateTime.now().minusMinutes(10).truncatedTo(ChronoUnit.MILLIS);
+        assertThat(before.assignDriverIfRequested(finished.getId(), DRIVER_ID)).isTrue();
+        assertThat(before.startIfAccepted(finished.getId(), completedAt.minusMinutes(5))).isTrue();
+        assertThat(before.completeIfInProgress(finished.getId(), 12.5, completedAt)).isTrue();
+        before.archiveFinishedRides();
+        assertThat(before.findByStatus(Ride.RideStatus.COMPLETED, 10)).isEmpty();
+
+        // Caída: sin close(), así que no hay snapshot y se reaplica todo el WAL
+        WalRideRepositoryAdapter after = open();
+
+        assertThat(after.findById(finished.getId())).get()
+                .extracting(Ride::getStatus).isEqualTo(Ride.RideStatus.COMPLETED);
+        assertThat(after.findByStatus(Ride.RideStatus.IN_PROGRESS, 10)).isEmpty();
+        assertThat(after.findByStatus(Ride.RideStatus.COMPLETED, 10)).isEmpty();
+        assertThat(after.findByStatus(Ride.RideStatus.REQUESTED, 10))
+                .extracting(Ride::getId).containsExactly(stillOpen.getId());
+        assertThat(after.findBusyDriverIds(List.of(DRIVER_ID))).isEmpty();
+        assertThat(after.findAll()).extracting(Ride::getId)
+                .containsExactlyInAnyOrder(finished.getId(), stillOpen.getId());
+        assertThat(after.findLastCompletionByDriverIds(Set.of(DRIVER_ID)))
+                .containsEntry(DRIVER_ID, completedAt);
+
+        // Los ids nuevos siguen después de los archivados
+        assertThat(after.save(newRide(3L)).getId()).isGreaterThan(stillOpen.getId());
+    }
+
+    @Test
+    void cancelledRideIsArchivedOnce() throws IOException {
+        WalRideRepositoryAdapter repository = open();
+        Ride ride = newRide(1L);
+        ride.setRequestedAt(LocalDateTime.now().minusMinutes(10));
+        Long rideId = repository.save(ride).getId();
+
+        assertThat(repository.cancelIfOpen(rideId)).isTrue();
+        assertThat(repository.cancelIfOpen(rideId)).isFalse();
+        repository.archiveFinishedRides();
+        repository.archiveFinishedRides();
+
+        assertThat(archive.rowCount()).isEqualTo(1);
+        assertThat(repository.findByStatus(Ride.RideStatus.CANCELLED, 10)).isEmpty();
+        assertThat(repository.findById(rideId)).get()
+                .extracting(Ride::getStatus).isEqualTo(Ride.RideStatus.CANCELLED);
+    }
+
+    // Cada apertura lee el archivo y el WAL desde disco, como un arranque
+    private WalRideRepositoryAdapter open() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        archive = new RideArchive(dir.resolve("archive").toString(), registry, false, 500_000);
+        ReflectionTestUtils.invokeMethod(archive, "load");
+        WalRideRepositoryAdapter repository = new WalRideRepositoryAdapter(archive, registry,
+                dir.resolve("wal").toString(), true, true, 1, 50_000);
+        repository.recover();
+        return repository;
+    }
+
+    private static Ride newRide(Long passengerId) {
+        return new Ride(passengerId, "Origen", new GeoPoint(4.65, -74.05), "Destino", new GeoPoint(4.70, -74.04));
+    }
+}
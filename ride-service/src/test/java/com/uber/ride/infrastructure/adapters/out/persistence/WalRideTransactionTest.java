@@ -0,0 +1,140 @@
+package com.uber.ride.infrastructure.adapters.out.persistence;
+
+import com.uber.ride.domain.model.GeoPoint;
+import com.uber.ride.domain.model.Ride;
+import com.uber.ride.infrastructure.adapters.out.persistence.archive.RideArchive;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 🧪 Cambios del WAL dentro de una transacción: nadie más los ve antes del
+ * commit, y si la transacción se deshace no quedan ni en memoria ni en el
+ * WAL, aunque ya se hubieran escrito.
+ */
+class WalRideTransactionTest {
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void transitionIsVisibleToOthersOnlyAfterCommit() throws Exception {
+        WalRideRepositoryAdapter repository = open();
+        Long rideId = repository.save(newRide()).getId();
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(repository.cancelIfOpen(rideId)).isTrue();
+        assertThat(status(repository, rideId)).isEqualTo(Ride.RideStatus.CANCELLED);
+        assertThat(CompletableFuture.supplyAsync(() -> status(repository, rideId)).get())
+                .isEqualTo(Ride.RideStatus.REQUESTED);
+        complete(true, TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(status(repository, rideId)).isEqualTo(Ride.RideStatus.CANCELLED);
+        assertThat(status(open(), rideId)).isEqualTo(Ride.RideStatus.CANCELLED);
+    }
+
+    @Test
+    void rollbackBeforeCommitLeavesNoTrace() throws Exception {
+        WalRideRepositoryAdapter repository = open();
+        Long rideId = repository.save(newRide()).getId();
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(repository.cancelIfOpen(rideId)).isTrue();
+        Long rolledBackId = repository.save(newRide()).getId();
+        // Falla el insert del outbox: nunca se llega al commit
+        complete(false, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(status(repository, rideId)).isEqualTo(Ride.RideStatus.REQUESTED);
+        assertThat(repository.existsById(rolledBackId)).isFalse();
+        WalRideRepositoryAdapter reopened = open();
+        assertThat(status(reopened, rideId)).isEqualTo(Ride.RideStatus.REQUESTED);
+        assertThat(reopened.existsById(rolledBackId)).isFalse();
+    }
+
+    @Test
+    void commitFailureAfterWalWriteIsCompensated() throws Exception {
+        WalRideRepositoryAdapter repository = open();
+        Long rideId = repository.save(newRide()).getId();
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(repository.assignDriverIfRequested(rideId, 7L)).isTrue();
+        assertThat(repository.startIfAccepted(rideId, LocalDateTime.now())).isTrue();
+        Long rolledBackId = repository.save(newRide()).getId();
+        // Ya en el WAL, pero el commit JPA falla
+        complete(true, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(status(repository, rideId)).isEqualTo(Ride.RideStatus.REQUESTED);
+        WalRideRepositoryAdapter reopened = open();
+        assertThat(reopened.findById(rideId)).get()
+                .satisfies(ride -> {
+                    assertThat(ride.getStatus()).isEqualTo(Ride.RideStatus.REQUESTED);
+                    assertThat(ride.getDriverId()).isNull();
+                });
+        assertThat(reopened.existsById(rolledBackId)).isFalse();
+        // La transición sigue disponible
+        assertThat(reopened.assignDriverIfRequested(rideId, 8L)).isTrue();
+    }
+
+    @Test
+    void failedWalWriteLeavesMemoryUnchanged() throws Exception {
+        WalRideRepositoryAdapter repository = open();
+        Long rideId = repository.save(newRide()).getId();
+        repository.close();
+
+        assertThatThrownBy(() -> repository.cancelIfOpen(rideId)).isInstanceOf(IllegalStateException.class);
+        assertThat(status(repository, rideId)).isEqualTo(Ride.RideStatus.REQUESTED);
+    }
+
+    // Lo que hace el gestor de transacciones al terminar
+    private static void complete(boolean reachCommit, int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        try {
+            if (reachCommit) {
+                synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        }
+    }
+
+    private static Ride.RideStatus status(WalRideRepositoryAdapter repository, Long rideId) {
+        Optional<Ride> ride = repository.findById(rideId);
+        assertThat(ride).isPresent();
+        return ride.get().getStatus();
+    }
+
+    private WalRideRepositoryAdapter open() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RideArchive archive = new RideArchive(dir.resolve("archive").toString(), registry, false, 500_000);
+        ReflectionTestUtils.invokeMethod(archive, "load");
+        WalRideRepositoryAdapter repository = new WalRideRepositoryAdapter(archive, registry,
+                dir.resolve("wal").toString(), true, false, 1, 50_000);
+        repository.recover();
+        return repository;
+    }
+
+    private static Ride newRide() {
+        return new Ride(1L, "Origen", new GeoPoint(4.65, -74.05), "Destino", new GeoPoint(4.70, -74.04));
+    }
+}
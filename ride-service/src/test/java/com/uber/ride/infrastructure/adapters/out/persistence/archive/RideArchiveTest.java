@@ -0,0 +1,114 @@
+package com.uber.ride.infrastructure.adapters.out.persistence.archive;
+
+import com.uber.ride.infrastructure.adapters.out.persistence.RideEntity;
+import com.uber.ride.infrastructure.adapters.out.persistence.shard.RideShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🧪 RideArchive: las búsquedas por id encuentran el viaje aunque los
+ * rangos de los segmentos se crucen, y la compactación junta los
+ * segmentos chicos de un mismo shard sin perder ni repetir viajes.
+ */
+class RideArchiveTest {
+
+    private static final LocalDateTime REQUESTED_AT = LocalDateTime.of(2026, 1, 15, 8, 30);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void findsIdsInOverlappingSegments() throws IOException {
+        RideArchive archive = open(500_000);
+        archive.append(rides(1, 5, 9, 20));
+        archive.append(rides(2, 6));
+        archive.append(rides(3, 4, 7, 30));
+        archive.append(rides(50, 60));
+        // Caída entre escribir el segmento y borrar las filas: el 6 queda dos veces
+        archive.append(rides(6, 8));
+
+        for (long id : new long[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 20, 30, 50, 60}) {
+            assertThat(archive.contains(id)).as("id %d", id).isTrue();
+            assertThat(archive.findById(id)).get().extracting(RideEntity::getId).isEqualTo(id);
+        }
+        for (long id : new long[]{0, 10, 25, 40, 55, 61}) {
+            assertThat(archive.contains(id)).as("id %d", id).isFalse();
+            assertThat(archive.findById(id)).isEmpty();
+        }
+        assertThat(archive.maxId()).isEqualTo(60);
+        assertThat(archive.findPage(8, 3)).extracting(RideEntity::getId).containsExactly(9L, 20L, 30L);
+    }
+
+    @Test
+    void compactionMergesSmallSegmentsOfTheSameShard() throws IOException {
+        long otherShard = RideShards.firstId(1);
+        RideArchive archive = open(8);
+        archive.append(rides(1, 4, 7));
+        archive.append(rides(2, 5));
+        archive.append(rides(3, 5, 6));
+        archive.append(rides(10, 11, 12, 13, 14, 15, 16, 17));
+        archive.append(rides(20, 21));
+        archive.append(rides(otherShard + 1));
+        assertThat(archive.segmentCount()).isEqualTo(6);
+
+        // {1-7} se juntan; el de 8 filas ya no es chico; {20, 21} no entra con ellos ni cruza de shard
+        assertThat(archive.compact()).isEqualTo(1);
+
+        assertThat(archive.segmentCount()).isEqualTo(4);
+        assertThat(segmentFiles()).hasSize(4);
+        List<Long> expected = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L,
+                20L, 21L, otherShard + 1);
+        assertThat(ids(archive.iterator())).isEqualTo(expected);
+        assertThat(archive.rowCount()).isEqualTo(expected.size());
+        assertThat(archive.findById(5)).get().extracting(RideEntity::getId).isEqualTo(5L);
+        assertThat(archive.compact()).isZero();
+
+        // Al arrancar se lee lo mismo desde disco, y los ids nuevos no pisan segmentos existentes
+        RideArchive reopened = open(8);
+        assertThat(ids(reopened.iterator())).isEqualTo(expected);
+        reopened.append(rides(22));
+        assertThat(reopened.compact()).isEqualTo(1);
+        assertThat(reopened.findById(22)).isPresent();
+        assertThat(reopened.segmentCount()).isEqualTo(4);
+    }
+
+    private RideArchive open(int compactionMaxRows) throws IOException {
+        RideArchive archive = new RideArchive(dir.toString(), new SimpleMeterRegistry(), false, compactionMaxRows);
+        archive.load();
+        return archive;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+
+    private static List<Long> ids(Iterator<RideEntity> rides) {
+        List<Long> ids = new ArrayList<>();
+        rides.forEachRemaining(ride -> ids.add(ride.getId()));
+        return ids;
+    }
+
+    private static List<RideEntity> rides(long... ids) {
+        List<RideEntity> rides = new ArrayList<>();
+        for (long id : ids) {
+            rides.add(new RideEntity(id, 100 + id % 7, 200 + id % 3, "Origen " + id, "Destino " + id,
+                    4.65, -74.05, 4.70, -74.04, RideEntity.RideStatus.COMPLETED, 12.5,
+                    12.0, 1.0, REQUESTED_AT, REQUESTED_AT.plusMinutes(3), REQUESTED_AT.plusMinutes(20)));
+        }
+        return rides;
+    }
+}
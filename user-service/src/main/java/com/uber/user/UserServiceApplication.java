@@ -1,7 +1,12 @@
 package com.uber.user;
 
+import com.uber.metrics.PortMetricsConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Import;
 
 /**
  * 🚀 APLICACIÓN PRINCIPAL
@@ -10,22 +15,32 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * Spring Boot configura todo automáticamente.
  */
 @SpringBootApplication
+@Import(PortMetricsConfiguration.class)
+@EnableCaching
 public class UserServiceApplication {
 
+    private static final Logger log = LoggerFactory.getLogger(UserServiceApplication.class);
+
     public static void main(String[] args) {
         SpringApplication.run(UserServiceApplication.class, args);
 
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("🚀 USER SERVICE - INICIADO");
-        System.out.println("=".repeat(60));
-        System.out.println("📍 URL: http://localhost:8081");
-        System.out.println("📡 Endpoints:");
-        System.out.println("   POST   /api/users                      - Registrar usuario");
-        System.out.println("   GET    /api/users                      - Listar usuarios");
-        System.out.println("   GET    /api/users/{id}                 - Obtener usuario");
-        System.out.println("   GET    /api/users/drivers/available    - Conductores disponibles");
-        System.out.println("   PUT    /api/users/{id}/rating?rating=4 - Actualizar rating");
-        System.out.println("   PUT    /api/users/{id}/toggle-status   - Activar/Desactivar");
-        System.out.println("=".repeat(60) + "\n");
+        log.info("""
+
+                ============================================================
+                🚀 USER SERVICE - INICIADO
+                ============================================================
+                📍 URL: http://localhost:8081
+                📡 Endpoints:
+                   POST   /api/users                      - Registrar usuario
+                   GET    /api/users?after=&limit=        - Listar usuarios (paginado)
+                   GET    /api/users/export               - Exportar usuarios (NDJSON)
+                   POST   /api/users/import               - Importar usuarios (NDJSON o CSV)
+                   GET    /api/users/{id}                 - Obtener usuario
+                   GET    /api/users/drivers/available    - Conductores disponibles (paginado)
+                   GET    /api/users/drivers/available/count - Cantidad de disponibles
+                   PUT    /api/users/{id}/rating?rating=4 - Actualizar rating
+                   PUT    /api/users/{id}/toggle-status   - Activar/Desactivar
+                   GET    /actuator/prometheus            - Métricas (Prometheus)
+                ============================================================""");
     }
 }
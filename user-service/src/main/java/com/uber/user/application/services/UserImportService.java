@@ -0,0 +1,99 @@
+package com.uber.user.application.services;
+
+import com.uber.imports.ImportProgress;
+import com.uber.user.domain.model.User;
+import com.uber.user.domain.ports.in.UserImportUseCase;
+import com.uber.user.domain.ports.out.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 🧠 SERVICIO DE APLICACIÓN - Importación masiva de usuarios
+ *
+ * Los usuarios llegan como un iterador (el adaptador los va leyendo del
+ * body) y se insertan en bloques de user.import.chunk-size, cada uno en su
+ * propia transacción con INSERT por lotes JDBC. Un email repetido hace
+ * fallar su bloque completo; los bloques anteriores y siguientes siguen.
+ *
+ * Al terminar se vacía la caché "users": una búsqueda previa de un id que
+ * aún no existía pudo dejar guardado un vacío.
+ *
+ * Métricas: users.import.rows (outcome = imported | failed).
+ */
+@Service
+public class UserImportService implements UserImportUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    static final int MAX_ERRORS = 20;
+
+    private final UserRepository userRepository;
+    private final int chunkSize;
+
+    private final Counter importedRows;
+    private final Counter failedRows;
+
+    public UserImportService(UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${user.import.chunk-size:5000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("user.import.chunk-size debe ser positivo");
+        }
+        this.userRepository = userRepository;
+        this.chunkSize = chunkSize;
+        this.importedRows = meterRegistry.counter("users.import.rows", "outcome", "imported");
+        this.failedRows = meterRegistry.counter("users.import.rows", "outcome", "failed");
+    }
+
+    @Override
+    @CacheEvict(cacheNames = UserService.USERS_CACHE, allEntries = true)
+    public ImportProgress importUsers(Iterator<User> users, Consumer<ImportProgress> onChunk) {
+        long start = System.nanoTime();
+        long imported = 0;
+        long failed = 0;
+        List<String> errors = new ArrayList<>();
+        List<User> chunk = new ArrayList<>(chunkSize);
+        int chunkNumber = 0;
+
+        while (users.hasNext()) {
+            chunk.add(users.next());
+            if (chunk.size() < chunkSize && users.hasNext()) {
+                continue;
+            }
+            chunkNumber++;
+            try {
+                imported += userRepository.insertAll(chunk);
+                importedRows.increment(chunk.size());
+            } catch (RuntimeException e) {
+                failed += chunk.size();
+                failedRows.increment(chunk.size());
+                log.warn("⚠️ Bloque {} de la importación rechazado ({} usuarios): {}",
+                        chunkNumber, chunk.size(), e.getMessage());
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add("bloque " + chunkNumber + ": " + e.getMessage());
+                }
+            }
+            chunk.clear();
+            onChunk.accept(new ImportProgress(imported, failed, elapsedMs(start), List.copyOf(errors)));
+        }
+
+        ImportProgress result = new ImportProgress(imported, failed, elapsedMs(start), List.copyOf(errors));
+        log.info("📥 Importación de usuarios: {} insertados, {} rechazados en {} ms",
+                result.imported(), result.failed(), result.elapsedMs());
+        return result;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
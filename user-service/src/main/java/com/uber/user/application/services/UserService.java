@@ -1,12 +1,26 @@
 package com.uber.user.application.services;
 
 import com.uber.user.domain.model.User;
+import com.uber.user.domain.model.UserLookup;
 import com.uber.user.domain.ports.in.UserUseCase;
 import com.uber.user.domain.ports.out.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 🧠 SERVICIO DE APLICACIÓN
@@ -14,42 +28,114 @@ import java.util.Optional;
  * Aquí está la LÓGICA DE NEGOCIO.
  * Coordina entre los puertos de entrada y salida.
  * Es el "cerebro" que toma decisiones.
+ *
+ * Caché "users": getUserById lee a través de ella (tamaño máximo y TTL en
+ * spring.cache.caffeine.spec). Registrar, calificar y activar/desactivar
+ * reemplazan la entrada con el usuario recién guardado.
+ *
+ * getUsersByIds usa la misma caché entrada por entrada: solo los ids que
+ * no están (ni como "no existe") van al repositorio, en una sola
+ * búsqueda, y lo encontrado queda en la caché para la próxima.
  */
 @Service
 public class UserService implements UserUseCase {
 
+    static final String USERS_CACHE = "users";
+
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
     }
 
     @Override
+    @CachePut(cacheNames = USERS_CACHE, key = "#result.id")
     public User registerUser(User user) {
-        System.out.println("👤 Registrando nuevo " + user.getUserType() + ": " + user.getName());
+        log.debug("👤 Registrando nuevo {}: {}", user.getUserType(), user.getName());
         return userRepository.save(user);
     }
 
     @Override
+    @Cacheable(cacheNames = USERS_CACHE, key = "#id")
     public Optional<User> getUserById(Long id) {
-        System.out.println("🔍 Buscando usuario con ID: " + id);
+        log.debug("🔍 Buscando usuario con ID: {}", id);
         return userRepository.findById(id);
     }
 
     @Override
-    public List<User> getAvailableDrivers() {
-        System.out.println("🚗 Buscando conductores disponibles...");
-        return userRepository.findActiveDrivers();
+    public UserLookup getUsersByIds(Collection<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.contains(null)) {
+            throw new IllegalArgumentException("La lista de ids no puede tener nulos");
+        }
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        Map<Long, User> found = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : requested) {
+            // Sin entrada: hay que buscarlo; entrada vacía: ya se sabe que no existe
+            Cache.ValueWrapper cached = cache != null ? cache.get(id) : null;
+            if (cached == null) {
+                uncached.add(id);
+            } else if (cached.get() != null) {
+                found.put(id, (User) cached.get());
+            }
+        }
+        if (!uncached.isEmpty()) {
+            log.debug("🔍 Buscando {} de {} usuarios fuera de la caché", uncached.size(), requested.size());
+            for (User user : userRepository.findAllById(uncached)) {
+                found.put(user.getId(), user);
+            }
+            if (cache != null) {
+                // putIfAbsent: no pisar lo que un registro o actualización guardó mientras tanto
+                for (Long id : uncached) {
+                    cache.putIfAbsent(id, found.get(id));
+                }
+            }
+        }
+
+        List<User> users = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            User user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new UserLookup(users, missing);
+    }
+
+    @Override
+    public List<User> getAvailableDrivers(Long afterId, int limit) {
+        return userRepository.findActiveDrivers(afterId, limit);
+    }
+
+    @Override
+    public long countAvailableDrivers() {
+        return userRepository.countActiveDrivers();
+    }
+
+    @Override
+    public List<User> getAllUsers(Long afterId, int limit) {
+        return userRepository.findPage(afterId, limit);
     }
 
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public void exportAllUsers(Consumer<User> consumer) {
+        userRepository.streamAll(consumer);
     }
 
     @Override
+    @CachePut(cacheNames = USERS_CACHE, key = "#userId")
     public User updateUserRating(Long userId, double rating) {
-        System.out.println("⭐ Actualizando calificación del usuario " + userId + " a " + rating);
+        if (log.isDebugEnabled()) {
+            log.debug("⭐ Actualizando calificación del usuario {} a {}", userId, rating);
+        }
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
@@ -59,13 +145,13 @@ public class UserService implements UserUseCase {
     }
 
     @Override
+    @CachePut(cacheNames = USERS_CACHE, key = "#userId")
     public User toggleUserStatus(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
         user.setActive(!user.isActive());
-        System.out.println("🔄 Usuario " + userId + " ahora está: " +
-                          (user.isActive() ? "ACTIVO" : "INACTIVO"));
+        log.debug("🔄 Usuario {} ahora está: {}", userId, user.isActive() ? "ACTIVO" : "INACTIVO");
 
         return userRepository.save(user);
     }
@@ -0,0 +1,12 @@
+package com.uber.user.domain.model;
+
+import java.util.List;
+
+/**
+ * 👥 DOMINIO - Resultado de buscar varios usuarios por id
+ *
+ * users viene en el orden en que se pidieron los ids (cada id una sola
+ * vez); missingIds son los pedidos que no existen, también en ese orden.
+ */
+public record UserLookup(List<User> users, List<Long> missingIds) {
+}
@@ -0,0 +1,16 @@
+package com.uber.user.domain.ports.in;
+
+import com.uber.imports.ImportProgress;
+import com.uber.user.domain.model.User;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * 🚪 PUERTO DE ENTRADA - Importación masiva de usuarios
+ */
+public interface UserImportUseCase {
+
+    // Inserta los usuarios por bloques; onChunk recibe el avance acumulado después de cada bloque
+    ImportProgress importUsers(Iterator<User> users, Consumer<ImportProgress> onChunk);
+}
@@ -1,8 +1,11 @@
 package com.uber.user.domain.ports.in;
 
 import com.uber.user.domain.model.User;
+import com.uber.user.domain.model.UserLookup;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * 🚪 PUERTO DE ENTRADA
@@ -20,11 +23,20 @@ public interface UserUseCase {
     // Obtener un usuario por ID
     Optional<User> getUserById(Long id);
 
-    // Obtener todos los conductores disponibles
-    List<User> getAvailableDrivers();
+    // Obtener varios usuarios por ID, en el orden pedido, y los ids que no existen
+    UserLookup getUsersByIds(Collection<Long> ids);
 
-    // Obtener todos los usuarios
-    List<User> getAllUsers();
+    // Obtener una página de conductores disponibles (id > afterId)
+    List<User> getAvailableDrivers(Long afterId, int limit);
+
+    // Cantidad de conductores disponibles
+    long countAvailableDrivers();
+
+    // Obtener una página de usuarios (id > afterId)
+    List<User> getAllUsers(Long afterId, int limit);
+
+    // Exportar todos los usuarios, uno por uno
+    void exportAllUsers(Consumer<User> consumer);
 
     // Actualizar calificación de un usuario
     User updateUserRating(Long userId, double rating);
@@ -1,8 +1,10 @@
 package com.uber.user.domain.ports.out;
 
 import com.uber.user.domain.model.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * 🚪 PUERTO DE SALIDA
@@ -14,13 +16,28 @@ public interface UserRepository {
 
     User save(User user);
 
+    // Inserta usuarios nuevos (sin id) en una sola transacción: todos o ninguno
+    int insertAll(List<User> users);
+
     Optional<User> findById(Long id);
 
+    // Los usuarios de 'ids' que existan, sin orden (una consulta IN por bloque de ids)
+    List<User> findAllById(Collection<Long> ids);
+
     List<User> findAll();
 
     List<User> findByUserType(User.UserType userType);
 
-    List<User> findActiveDrivers();
+    // Página de conductores que cumplen User.canDrive() con id > afterId
+    List<User> findActiveDrivers(Long afterId, int limit);
+
+    long countActiveDrivers();
 
     boolean existsById(Long id);
+
+    // Página de usuarios con id > afterId, ordenados por id (paginación por cursor)
+    List<User> findPage(Long afterId, int limit);
+
+    // Recorre todos los usuarios en orden de id sin cargarlos a memoria
+    void streamAll(Consumer<User> consumer);
 }
@@ -1,12 +1,20 @@
 package com.uber.user.infrastructure.adapters.in.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.uber.user.domain.model.User;
+import com.uber.user.domain.model.UserLookup;
 import com.uber.user.domain.ports.in.UserUseCase;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 📡 ADAPTADOR REST (Entrada)
@@ -20,10 +28,16 @@ import java.util.List;
 @RequestMapping("/api/users")
 public class UserController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_LOOKUP_IDS = 1000;
+
     private final UserUseCase userUseCase;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserUseCase userUseCase) {
+    public UserController(UserUseCase userUseCase, ObjectMapper objectMapper) {
         this.userUseCase = userUseCase;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -48,21 +62,72 @@ public class UserController {
     }
 
     /**
-     * GET /api/users
-     * Obtener todos los usuarios
+     * POST /api/users/lookup
+     * Obtener varios usuarios de una vez (body: [1, 2, 3], hasta 1000 ids)
+     *
+     * Responde los usuarios en el orden pedido y, en missingIds, los que no existen.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<UserLookup> getUsersByIds(@RequestBody List<Long> ids) {
+        if (ids.size() > MAX_LOOKUP_IDS || ids.contains(null)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(userUseCase.getUsersByIds(ids));
+    }
+
+    /**
+     * GET /api/users?after=0&limit=100
+     * Obtener usuarios por páginas (el header X-Next-Cursor trae el "after" de la siguiente)
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userUseCase.getAllUsers());
+    public ResponseEntity<List<User>> getAllUsers(@RequestParam(required = false) Long after,
+                                                  @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return page(userUseCase.getAllUsers(after, pageSize), pageSize);
+    }
+
+    /**
+     * GET /api/users/export
+     * Exportar todos los usuarios como NDJSON (un JSON por línea), con memoria constante
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = output -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(output)) {
+                userUseCase.exportAllUsers(user -> {
+                    try {
+                        writer.write(user);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            output.write('\n');
+        };
+        return ResponseEntity.ok(body);
     }
 
     /**
-     * GET /api/users/drivers/available
-     * Obtener conductores disponibles
+     * GET /api/users/drivers/available?after=0&limit=100
+     * Obtener conductores disponibles por páginas
      */
     @GetMapping("/drivers/available")
-    public ResponseEntity<List<User>> getAvailableDrivers() {
-        return ResponseEntity.ok(userUseCase.getAvailableDrivers());
+    public ResponseEntity<List<User>> getAvailableDrivers(@RequestParam(required = false) Long after,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return page(userUseCase.getAvailableDrivers(after, pageSize), pageSize);
+    }
+
+    /**
+     * GET /api/users/drivers/available/count
+     * Cantidad de conductores disponibles
+     */
+    @GetMapping("/drivers/available/count")
+    public ResponseEntity<Map<String, Long>> countAvailableDrivers() {
+        return ResponseEntity.ok(Map.of("count", userUseCase.countAvailableDrivers()));
     }
 
     /**
@@ -92,4 +157,14 @@ public class UserController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
+
+    // ===== PAGINACIÓN =====
+
+    private static ResponseEntity<List<User>> page(List<User> users, int pageSize) {
+        if (users.size() < pageSize) {
+            return ResponseEntity.ok(users);
+        }
+        Long next = users.get(users.size() - 1).getId();
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, String.valueOf(next)).body(users);
+    }
 }
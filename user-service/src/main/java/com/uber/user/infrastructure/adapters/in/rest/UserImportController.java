@@ -0,0 +1,111 @@
+package com.uber.user.infrastructure.adapters.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uber.imports.ImportProgress;
+import com.uber.imports.ImportRowReader;
+import com.uber.user.domain.model.User;
+import com.uber.user.domain.ports.in.UserImportUseCase;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 📡 ADAPTADOR REST - Importación masiva de usuarios
+ *
+ * POST /api/users/import con Content-Type application/x-ndjson o text/csv.
+ * Campos: name, email, phone y opcionales userType (PASSENGER por
+ * defecto), rating (5.0) y active (true).
+ *
+ * La respuesta es NDJSON: una línea de avance por bloque insertado y una
+ * última con done=true, el total por segundo y los errores.
+ */
+@RestController
+@RequestMapping("/api/users/import")
+public class UserImportController {
+
+    private final UserImportUseCase userImportUseCase;
+    private final ObjectMapper objectMapper;
+
+    public UserImportController(UserImportUseCase userImportUseCase, ObjectMapper objectMapper) {
+        this.userImportUseCase = userImportUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * POST /api/users/import
+     * Importar usuarios (NDJSON o CSV con encabezado)
+     */
+    @PostMapping(consumes = {ImportRowReader.NDJSON, ImportRowReader.CSV}, produces = ImportRowReader.NDJSON)
+    public ResponseEntity<StreamingResponseBody> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             InputStream input) {
+        StreamingResponseBody body = output -> {
+            ImportRowReader<User> rows = new ImportRowReader<>(
+                    new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16),
+                    contentType, objectMapper, UserImportController::toUser);
+            ImportProgress result = userImportUseCase.importUsers(rows, progress -> writeLine(output, progress, rows, false));
+            writeLine(output, result, rows, true);
+        };
+        return ResponseEntity.ok(body);
+    }
+
+    private void writeLine(OutputStream output, ImportProgress progress, ImportRowReader<User> rows, boolean done) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("imported", progress.imported());
+        line.put("failed", progress.failed());
+        line.put("rejected", rows.rejected());
+        line.put("elapsedMs", progress.elapsedMs());
+        line.put("rowsPerSecond", Math.round(progress.rowsPerSecond()));
+        if (done) {
+            List<String> errors = new ArrayList<>(rows.errors());
+            errors.addAll(progress.errors());
+            line.put("done", true);
+            line.put("errors", errors);
+        }
+        try {
+            output.write(objectMapper.writeValueAsBytes(line));
+            output.write('\n');
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===== CONVERSIÓN DE FILAS =====
+
+    private static User toUser(ImportRowReader.Row row) {
+        String userType = row.text("userType");
+        User user = new User(
+                null,
+                row.required("name"),
+                row.required("email").trim(),
+                row.required("phone"),
+                userType == null ? User.UserType.PASSENGER : User.UserType.valueOf(userType.trim().toUpperCase(Locale.ROOT))
+        );
+        Double rating = row.doubleValue("rating");
+        if (rating != null) {
+            if (rating < 0 || rating > 5) {
+                throw new IllegalArgumentException("rating fuera de rango: " + rating);
+            }
+            user.setRating(rating);
+        }
+        String active = row.text("active");
+        if (active != null) {
+            user.setActive(Boolean.parseBoolean(active.trim()));
+        }
+        return user;
+    }
+}
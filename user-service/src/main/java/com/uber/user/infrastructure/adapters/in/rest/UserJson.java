@@ -0,0 +1,68 @@
+package com.uber.user.infrastructure.adapters.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.uber.user.domain.model.User;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 🧾 JSON DE USUARIOS - Serialización escrita a mano
+ *
+ * En vez de recorrer User por reflexión, escribe los campos con sus
+ * nombres ya codificados. El JSON es el mismo que generaba Jackson; lo
+ * usan todas las respuestas del ObjectMapper (listas y export incluidos).
+ */
+@JsonComponent
+public class UserJson {
+
+    public static class Serializer extends StdSerializer<User> {
+
+        private static final SerializedString ID = new SerializedString("id");
+        private static final SerializedString NAME = new SerializedString("name");
+        private static final SerializedString EMAIL = new SerializedString("email");
+        private static final SerializedString PHONE = new SerializedString("phone");
+        private static final SerializedString USER_TYPE = new SerializedString("userType");
+        private static final SerializedString RATING = new SerializedString("rating");
+        private static final SerializedString ACTIVE = new SerializedString("active");
+        private static final SerializedString[] USER_TYPE_NAMES = Arrays.stream(User.UserType.values())
+                .map(type -> new SerializedString(type.name()))
+                .toArray(SerializedString[]::new);
+
+        public Serializer() {
+            super(User.class);
+        }
+
+        @Override
+        public void serialize(User user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(user);
+            gen.writeFieldName(ID);
+            if (user.getId() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(user.getId().longValue());
+            }
+            gen.writeFieldName(NAME);
+            gen.writeString(user.getName());
+            gen.writeFieldName(EMAIL);
+            gen.writeString(user.getEmail());
+            gen.writeFieldName(PHONE);
+            gen.writeString(user.getPhone());
+            gen.writeFieldName(USER_TYPE);
+            if (user.getUserType() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(USER_TYPE_NAMES[user.getUserType().ordinal()]);
+            }
+            gen.writeFieldName(RATING);
+            gen.writeNumber(user.getRating());
+            gen.writeFieldName(ACTIVE);
+            gen.writeBoolean(user.isActive());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.uber.user.infrastructure.adapters.in.rpc;
+
+import com.uber.rpc.RpcFrames;
+import com.uber.rpc.RpcServer;
+import com.uber.user.domain.model.User;
+import com.uber.user.domain.ports.in.UserUseCase;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * 🛰️ ADAPTADOR RPC (Entrada) - Usuarios por frames binarios
+ *
+ * Las mismas operaciones de UserUseCase que expone UserController, para
+ * llamadas entre servicios (ver RpcFrames para el formato):
+ *
+ *   1 GET_USER          id: long                 -> usuario | NOT_FOUND
+ *   2 GET_USERS         n: int, n ids: long      -> n: int, n × (existe: byte, usuario)
+ *   4 COUNT_AVAILABLE   (vacío)                  -> cantidad: long
+ *
+ * Usuario: id long, name, email, phone (textos), userType byte (ordinal,
+ * -1 si falta), rating double, active byte.
+ *
+ * No hay una operación con todos los conductores habilitados: no cabe en
+ * un frame con millones de conductores. El despacho busca con GET_USERS
+ * solo a sus candidatos (el código 3 queda sin usar).
+ */
+@Component
+@ConditionalOnProperty(name = "rpc.enabled", havingValue = "true", matchIfMissing = true)
+public class UserRpcEndpoint implements RpcServer.Handler {
+
+    private static final Logger log = LoggerFactory.getLogger(UserRpcEndpoint.class);
+
+    static final byte GET_USER = 1;
+    static final byte GET_USERS = 2;
+    static final byte COUNT_AVAILABLE_DRIVERS = 4;
+
+    private static final int MAX_BATCH = 10_000;
+
+    private final UserUseCase userUseCase;
+    private final Executor executor;
+    private final int port;
+    private RpcServer server;
+
+    public UserRpcEndpoint(UserUseCase userUseCase,
+                           @Qualifier("applicationTaskExecutor") Executor executor,
+                           @Value("${rpc.port:9081}") int port) {
+        this.userUseCase = userUseCase;
+        this.executor = executor;
+        this.port = port;
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            server = new RpcServer("user-rpc", port, this, executor);
+            log.info("🛰️ RPC de usuarios escuchando en el puerto {}", server.port());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el puerto RPC " + port, e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        server.close();
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    @Override
+    public byte handle(byte operation, ByteBuffer request, RpcFrames.Payload response) {
+        switch (operation) {
+            case GET_USER -> {
+                Optional<User> user = userUseCase.getUserById(request.getLong());
+                if (user.isEmpty()) {
+                    return RpcFrames.NOT_FOUND;
+                }
+                writeUser(response, user.get());
+            }
+            case GET_USERS -> {
+                int count = request.getInt();
+                if (count < 0 || count > MAX_BATCH) {
+                    throw new IllegalArgumentException("Entre 0 y " + MAX_BATCH + " ids por llamada");
+                }
+                List<Long> ids = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    ids.add(request.getLong());
+                }
+                // Una sola búsqueda para todos; la respuesta sigue uno a uno los ids pedidos
+                Map<Long, User> found = new HashMap<>();
+                for (User user : userUseCase.getUsersByIds(ids).users()) {
+                    found.put(user.getId(), user);
+                }
+                response.putInt(count);
+                for (Long id : ids) {
+                    User user = found.get(id);
+                    response.putBoolean(user != null);
+                    if (user != null) {
+                        writeUser(response, user);
+                    }
+                }
+            }
+            case COUNT_AVAILABLE_DRIVERS -> response.putLong(userUseCase.countAvailableDrivers());
+            default -> {
+                return RpcFrames.UNKNOWN_OPERATION;
+            }
+        }
+        return RpcFrames.OK;
+    }
+
+    // ===== CODIFICACIÓN =====
+
+    private static void writeUser(RpcFrames.Payload response, User user) {
+        response.putLong(user.getId())
+                .putString(user.getName())
+                .putString(user.getEmail())
+                .putString(user.getPhone())
+                .putByte(user.getUserType() == null ? -1 : (byte) user.getUserType().ordinal())
+                .putDouble(user.getRating())
+                .putBoolean(user.isActive());
+    }
+}
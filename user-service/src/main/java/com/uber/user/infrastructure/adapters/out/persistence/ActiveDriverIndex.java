@@ -0,0 +1,191 @@
+package com.uber.user.infrastructure.adapters.out.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🚦 ÍNDICE - Conductores habilitados (User.canDrive())
+ *
+ * Conjunto de ids en dos partes: una base en un long[] ordenado y los
+ * cambios posteriores en un ConcurrentSkipListMap (id -> true si entró,
+ * false si salió de la base). Se carga una sola vez al arrancar (solo ids)
+ * y después UserRepositoryAdapter lo actualiza en cada save().
+ *
+ * Un conductor que entra o sale del conjunto solo toca los cambios:
+ * O(log n), sin copiar la base. La base es copy-on-write y solo se rehace
+ * en addAll (importación masiva), que mezcla base, cambios y el bloque
+ * nuevo en un arreglo y empieza con cambios vacíos.
+ *
+ * Las lecturas (contar, paginar) no usan lock: toman la base y los cambios
+ * vigentes y los recorren en orden a la vez.
+ */
+@Component
+public class ActiveDriverIndex {
+
+    private static final long[] EMPTY = new long[0];
+    private static final int INITIAL_PAGE_CAPACITY = 64;
+
+    private final JpaUserRepository jpaUserRepository;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(EMPTY);
+    // Solo se escribe con writeLock
+    private volatile int count;
+
+    public ActiveDriverIndex(JpaUserRepository jpaUserRepository, MeterRegistry meterRegistry) {
+        this.jpaUserRepository = jpaUserRepository;
+        Gauge.builder("users.active.drivers", this, ActiveDriverIndex::count)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        long[] loaded = jpaUserRepository.findActiveDriverIds().stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        Arrays.sort(loaded);
+        writeLock.lock();
+        try {
+            snapshot = new Snapshot(loaded);
+            count = loaded.length;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void add(long id) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Boolean change = current.changes().get(id);
+            if (change == null) {
+                if (current.inBase(id)) {
+                    return;
+                }
+                current.changes().put(id, Boolean.TRUE);
+            } else if (change) {
+                return;
+            } else {
+                // Vuelve a la base: basta con olvidar que había salido
+                current.changes().remove(id);
+            }
+            count++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Una sola copia para muchos ids (importación masiva): mezcla de dos arreglos ordenados
+    public void addAll(long[] newIds) {
+        if (newIds.length == 0) {
+            return;
+        }
+        long[] sorted = newIds.clone();
+        Arrays.sort(sorted);
+        writeLock.lock();
+        try {
+            long[] current = collect(snapshot, Long.MIN_VALUE, Integer.MAX_VALUE);
+            long[] next = new long[current.length + sorted.length];
+            int i = 0;
+            int j = 0;
+            int size = 0;
+            while (i < current.length || j < sorted.length) {
+                long id = j == sorted.length || (i < current.length && current[i] <= sorted[j])
+                        ? current[i++]
+                        : sorted[j++];
+                if (size == 0 || next[size - 1] != id) {
+                    next[size++] = id;
+                }
+            }
+            snapshot = new Snapshot(size == next.length ? next : Arrays.copyOf(next, size));
+            count = size;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(long id) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Boolean change = current.changes().get(id);
+            if (change == null) {
+                if (!current.inBase(id)) {
+                    return;
+                }
+                current.changes().put(id, Boolean.FALSE);
+            } else if (!change) {
+                return;
+            } else {
+                // Nunca estuvo en la base: basta con olvidar que había entrado
+                current.changes().remove(id);
+            }
+            count--;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // Hasta 'limit' ids mayores que afterId, en orden
+    public long[] page(long afterId, int limit) {
+        return collect(snapshot, afterId, limit);
+    }
+
+    // Recorre base y cambios en orden: los que salieron se saltan, los que entraron se intercalan
+    private static long[] collect(Snapshot snapshot, long afterId, int limit) {
+        long[] base = snapshot.base();
+        int position = Arrays.binarySearch(base, afterId);
+        int i = position >= 0 ? position + 1 : -position - 1;
+        Iterator<Map.Entry<Long, Boolean>> changes =
+                snapshot.changes().tailMap(afterId, false).entrySet().iterator();
+        Map.Entry<Long, Boolean> change = changes.hasNext() ? changes.next() : null;
+
+        long[] page = new long[Math.min(limit, INITIAL_PAGE_CAPACITY)];
+        int size = 0;
+        while (size < limit) {
+            long id;
+            if (change != null && (i == base.length || change.getKey() <= base[i])) {
+                id = change.getKey();
+                boolean added = change.getValue();
+                change = changes.hasNext() ? changes.next() : null;
+                if (i < base.length && base[i] == id) {
+                    i++;
+                }
+                if (!added) {
+                    continue;
+                }
+            } else if (i < base.length) {
+                id = base[i++];
+            } else {
+                break;
+            }
+            if (size == page.length) {
+                page = Arrays.copyOf(page, (int) Math.min(limit, 2L * size));
+            }
+            page[size++] = id;
+        }
+        return size == 0 ? EMPTY : size == page.length ? page : Arrays.copyOf(page, size);
+    }
+
+    private record Snapshot(long[] base, ConcurrentSkipListMap<Long, Boolean> changes) {
+
+        Snapshot(long[] base) {
+            this(base, new ConcurrentSkipListMap<>());
+        }
+
+        boolean inBase(long id) {
+            return Arrays.binarySearch(base, id) >= 0;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.uber.user.infrastructure.adapters.out.persistence;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 🗄️ REPOSITORIO JPA
@@ -23,7 +28,18 @@ public interface JpaUserRepository extends JpaRepository<UserEntity, Long> {
     // Buscar usuarios por tipo (PASSENGER o DRIVER)
     List<UserEntity> findByUserType(UserEntity.UserType userType);
 
-    // Buscar conductores activos con buena calificación
-    @Query("SELECT u FROM UserEntity u WHERE u.userType = 'DRIVER' AND u.isActive = true AND u.rating >= 3.0")
-    List<UserEntity> findActiveDrivers();
+    // Ids de conductores activos con buena calificación (solo para cargar ActiveDriverIndex al arrancar)
+    @Query("SELECT u.id FROM UserEntity u WHERE u.userType = 'DRIVER' AND u.isActive = true AND u.rating >= 3.0")
+    List<Long> findActiveDriverIds();
+
+    // Paginación por cursor: usuarios con id > afterId
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Cursor JDBC: las filas se leen de a fetch-size mientras se consume el Stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM UserEntity u ORDER BY u.id")
+    Stream<UserEntity> streamAllOrderById();
 }
@@ -10,13 +10,22 @@ import jakarta.persistence.*;
  *
  * IMPORTANTE: Es diferente a la clase User del dominio.
  * El dominio NO debe saber de bases de datos.
+ *
+ * Ids de la secuencia users_seq con optimizador pooled (ID_BLOCK_SIZE ids
+ * por llamada): Hibernate conoce el id antes del INSERT y puede agruparlos
+ * en lotes JDBC, cosa que con IDENTITY no puede.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_type_active", columnList = "userType, isActive, rating")
+})
 public class UserEntity {
 
+    public static final int ID_BLOCK_SIZE = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_BLOCK_SIZE)
     private Long id;
 
     @Column(nullable = false)
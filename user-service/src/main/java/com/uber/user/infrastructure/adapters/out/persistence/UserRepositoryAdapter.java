@@ -2,11 +2,22 @@ package com.uber.user.infrastructure.adapters.out.persistence;
 
 import com.uber.user.domain.model.User;
 import com.uber.user.domain.ports.out.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 🔌 ADAPTADOR DE PERSISTENCIA (Salida)
@@ -15,21 +26,72 @@ import java.util.stream.Collectors;
  * - User (dominio) ↔️ UserEntity (base de datos)
  *
  * Implementa UserRepository usando JPA por debajo.
+ *
+ * Cada save() vuelve a evaluar User.canDrive() y actualiza
+ * ActiveDriverIndex, así los conductores disponibles se leen de memoria.
+ * insertAll() agrega los conductores nuevos de una vez y solo si la
+ * transacción confirma.
  */
 @Component
 public class UserRepositoryAdapter implements UserRepository {
 
+    // Cada flush manda estas filas en lotes JDBC de hibernate.jdbc.batch_size
+    private static final int BULK_FLUSH_SIZE = 1000;
+    // Ids por consulta IN: listas más largas se parten en varias
+    private static final int IN_LIST_CHUNK = 1000;
+
     private final JpaUserRepository jpaUserRepository;
+    private final EntityManager entityManager;
+    private final ActiveDriverIndex activeDriverIndex;
 
-    public UserRepositoryAdapter(JpaUserRepository jpaUserRepository) {
+    public UserRepositoryAdapter(JpaUserRepository jpaUserRepository, EntityManager entityManager,
+                                 ActiveDriverIndex activeDriverIndex) {
         this.jpaUserRepository = jpaUserRepository;
+        this.entityManager = entityManager;
+        this.activeDriverIndex = activeDriverIndex;
     }
 
     @Override
     public User save(User user) {
         UserEntity entity = toEntity(user);
         UserEntity savedEntity = jpaUserRepository.save(entity);
-        return toDomain(savedEntity);
+        User saved = toDomain(savedEntity);
+        if (saved.canDrive()) {
+            activeDriverIndex.add(saved.getId());
+        } else {
+            activeDriverIndex.remove(saved.getId());
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public int insertAll(List<User> users) {
+        long[] driverIds = new long[users.size()];
+        int drivers = 0;
+        for (int i = 0; i < users.size(); i++) {
+            UserEntity entity = toEntity(users.get(i));
+            entityManager.persist(entity);
+            if (users.get(i).canDrive()) {
+                driverIds[drivers++] = entity.getId();
+            }
+            // flush + clear: el contexto de persistencia no acumula el lote entero
+            if ((i + 1) % BULK_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        long[] committedDrivers = Arrays.copyOf(driverIds, drivers);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                activeDriverIndex.addAll(committedDrivers);
+            }
+        });
+        return users.size();
     }
 
     @Override
@@ -38,6 +100,19 @@ public class UserRepositoryAdapter implements UserRepository {
                 .map(this::toDomain);
     }
 
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        List<Long> idList = List.copyOf(ids);
+        List<User> users = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += IN_LIST_CHUNK) {
+            for (UserEntity entity : jpaUserRepository.findAllById(
+                    idList.subList(from, Math.min(idList.size(), from + IN_LIST_CHUNK)))) {
+                users.add(toDomain(entity));
+            }
+        }
+        return users;
+    }
+
     @Override
     public List<User> findAll() {
         return jpaUserRepository.findAll()
@@ -56,18 +131,49 @@ public class UserRepositoryAdapter implements UserRepository {
     }
 
     @Override
-    public List<User> findActiveDrivers() {
-        return jpaUserRepository.findActiveDrivers()
+    public List<User> findActiveDrivers(Long afterId, int limit) {
+        long[] ids = activeDriverIndex.page(afterId != null ? afterId : 0L, limit);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> idList = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        return jpaUserRepository.findAllById(idList)
                 .stream()
                 .map(this::toDomain)
+                .sorted(Comparator.comparing(User::getId))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public long countActiveDrivers() {
+        return activeDriverIndex.count();
+    }
+
     @Override
     public boolean existsById(Long id) {
         return jpaUserRepository.existsById(id);
     }
 
+    @Override
+    public List<User> findPage(Long afterId, int limit) {
+        return jpaUserRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(limit))
+                .stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<User> consumer) {
+        try (Stream<UserEntity> entities = jpaUserRepository.streamAllOrderById()) {
+            entities.forEach(entity -> {
+                consumer.accept(toDomain(entity));
+                // Sin detach, el contexto de persistencia retendría cada fila leída
+                entityManager.detach(entity);
+            });
+        }
+    }
+
     // ===== CONVERSIÓN DOMINIO ↔️ ENTIDAD =====
 
     private UserEntity toEntity(User user) {
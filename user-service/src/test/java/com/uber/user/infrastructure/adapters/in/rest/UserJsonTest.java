@@ -0,0 +1,57 @@
+package com.uber.user.infrastructure.adapters.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uber.user.domain.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🧪 UserJson.Serializer escribe exactamente el mismo JSON que Jackson
+ * por reflexión con la configuración de Spring Boot.
+ */
+class UserJsonTest {
+
+    private static final ObjectMapper REFLECTIVE = Jackson2ObjectMapperBuilder.json().build();
+    private static final ObjectMapper HAND_WRITTEN = Jackson2ObjectMapperBuilder.json()
+            .serializerByType(User.class, new UserJson.Serializer())
+            .build();
+
+    @Test
+    void matchesReflectiveJsonForEverySample() throws Exception {
+        for (User user : samples()) {
+            assertThat(HAND_WRITTEN.writeValueAsString(user))
+                    .as("usuario %s", user)
+                    .isEqualTo(REFLECTIVE.writeValueAsString(user));
+        }
+    }
+
+    @Test
+    void matchesReflectiveJsonInsideLists() throws Exception {
+        List<User> users = samples();
+        assertThat(HAND_WRITTEN.writeValueAsString(users)).isEqualTo(REFLECTIVE.writeValueAsString(users));
+    }
+
+    private static List<User> samples() {
+        List<User> samples = new ArrayList<>();
+        // Todo null salvo rating y active (primitivos)
+        samples.add(new User());
+
+        User passenger = new User(1L, "Ana Pérez", "ana@example.com", "+57 300 000 0000", User.UserType.PASSENGER);
+        samples.add(passenger);
+
+        User driver = new User(2L, "Luis \"Lucho\" Díaz", "luis@example.com", null, User.UserType.DRIVER);
+        driver.setRating(4.333333333333333);
+        driver.setActive(false);
+        samples.add(driver);
+
+        User noType = new User(Long.MAX_VALUE, "Tab\ty\\barra", null, " ", null);
+        noType.setRating(0.1 + 0.2);
+        samples.add(noType);
+        return samples;
+    }
+}
@@ -0,0 +1,81 @@
+package com.uber.user.infrastructure.adapters.out.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🧪 ActiveDriverIndex: altas y bajas sueltas sobre la base, importaciones
+ * que la rehacen y páginas que cruzan ambas partes devuelven siempre el
+ * mismo conjunto que un TreeSet con las mismas operaciones.
+ */
+class ActiveDriverIndexTest {
+
+    @Test
+    void togglesAreVisibleAcrossBulkImports() {
+        ActiveDriverIndex index = newIndex();
+        index.addAll(new long[]{10, 30, 20});
+
+        index.remove(20);
+        index.add(25);
+        index.add(25);
+        index.remove(99);
+        assertThat(index.count()).isEqualTo(3);
+        assertThat(index.page(0L, 10)).containsExactly(10, 25, 30);
+
+        // Baja y alta del mismo id de la base, y baja de uno que solo estaba en los cambios
+        index.remove(10);
+        index.add(10);
+        index.add(5);
+        index.remove(5);
+        assertThat(index.page(0L, 10)).containsExactly(10, 25, 30);
+
+        index.addAll(new long[]{40, 25, 15});
+        assertThat(index.count()).isEqualTo(5);
+        assertThat(index.page(0L, 10)).containsExactly(10, 15, 25, 30, 40);
+        assertThat(index.page(15L, 2)).containsExactly(25, 30);
+        assertThat(index.page(40L, 2)).isEmpty();
+    }
+
+    @Test
+    void matchesTreeSetUnderRandomOperations() {
+        ActiveDriverIndex index = newIndex();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            long id = 1 + random.nextInt(2_000);
+            int operation = random.nextInt(100);
+            if (operation < 45) {
+                index.add(id);
+                expected.add(id);
+            } else if (operation < 90) {
+                index.remove(id);
+                expected.remove(id);
+            } else if (operation < 91) {
+                long[] block = random.longs(50, 1, 2_001).toArray();
+                index.addAll(block);
+                for (long blockId : block) {
+                    expected.add(blockId);
+                }
+            } else {
+                int limit = 1 + random.nextInt(100);
+                long[] page = index.page(id, limit);
+                assertThat(page).containsExactly(expected.tailSet(id, false).stream()
+                        .limit(limit).mapToLong(Long::longValue).toArray());
+            }
+            assertThat(index.count()).isEqualTo(expected.size());
+        }
+        assertThat(index.page(0L, Integer.MAX_VALUE))
+                .containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    // Sin load(): el índice empieza vacío y no consulta la base de datos
+    private static ActiveDriverIndex newIndex() {
+        return new ActiveDriverIndex(null, new SimpleMeterRegistry());
+    }
+}